@@ -0,0 +1,105 @@
+package com.hotel.guessr.cache;
+
+import com.hotel.guessr.dto.CoordenadasResponse;
+import com.hotel.guessr.geo.ArquivoCentroidesCep;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Base offline de centróides de CEP, consultada antes da Geocoding API. O arquivo binário é mapeado em
+ * memória na criação do bean (sem leitura nem conversão, a inicialização continua instantânea) e cada
+ * consulta é uma busca binária no arquivo. Quando um CSV de origem é configurado e está mais novo que o
+ * binário, ele é reimportado depois da inicialização e o novo arquivo passa a ser usado sem reiniciar.
+ */
+@Slf4j
+@Component
+public class CentroidesCep {
+
+    private final Path arquivo;
+    private final Path csv;
+
+    private volatile ArquivoCentroidesCep base;
+
+    private final Counter acertos;
+    private final Counter falhas;
+
+    public CentroidesCep(@Value("${google.geocoding.offline.path:}") String arquivo,
+                         @Value("${google.geocoding.offline.import-csv:}") String csv,
+                         MeterRegistry meterRegistry) {
+        this.arquivo = arquivo.isBlank() ? null : Path.of(arquivo);
+        this.csv = csv.isBlank() ? null : Path.of(csv);
+
+        this.acertos = Counter.builder("geocoding.offline.requests").tag("result", "hit").register(meterRegistry);
+        this.falhas = Counter.builder("geocoding.offline.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("geocoding.offline.size", this, CentroidesCep::tamanho).register(meterRegistry);
+
+        mapear();
+    }
+
+    public Optional<CoordenadasResponse> buscar(int cep) {
+        ArquivoCentroidesCep atual = base;
+        if (atual == null) {
+            return Optional.empty();
+        }
+
+        int posicao = atual.localizar(cep);
+        if (posicao < 0) {
+            falhas.increment();
+            return Optional.empty();
+        }
+
+        acertos.increment();
+        return Optional.of(CoordenadasResponse.builder()
+                .latitude(atual.latitude(posicao))
+                .longitude(atual.longitude(posicao))
+                .build());
+    }
+
+    public int tamanho() {
+        ArquivoCentroidesCep atual = base;
+        return atual != null ? atual.tamanho() : 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void importarSeDesatualizado() {
+        if (arquivo == null || csv == null || !Files.exists(csv)) {
+            return;
+        }
+
+        try {
+            if (Files.exists(arquivo)
+                    && Files.getLastModifiedTime(arquivo).compareTo(Files.getLastModifiedTime(csv)) >= 0) {
+                return;
+            }
+            ArquivoCentroidesCep.importar(csv, arquivo);
+            mapear();
+        } catch (IOException e) {
+            log.warn("Não foi possível importar os centróides de CEP de {}: {}", csv, e.getMessage());
+        }
+    }
+
+    private void mapear() {
+        if (arquivo == null || !Files.exists(arquivo)) {
+            log.info("Base offline de centróides de CEP não encontrada, coordenadas virão apenas da Geocoding API");
+            return;
+        }
+
+        try {
+            base = ArquivoCentroidesCep.mapear(arquivo);
+            log.info("Base offline de centróides de CEP mapeada de {}: {} CEPs", arquivo, base.tamanho());
+        } catch (IOException e) {
+            log.warn("Não foi possível mapear a base offline de centróides de CEP {}: {}", arquivo, e.getMessage());
+        }
+    }
+}
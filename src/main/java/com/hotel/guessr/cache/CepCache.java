@@ -0,0 +1,370 @@
+package com.hotel.guessr.cache;
+
+import com.hotel.guessr.dto.CepApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Dicionário em memória dos endereços retornados pelo ViaCEP, indexado pelo CEP como int e guardado em arrays
+ * primitivos. Cada campo de texto é um id na TabelaStrings compartilhada, então bairro, cidade, UF e os códigos do
+ * município, que se repetem em milhares de CEPs, são gravados uma única vez. Uma entrada ocupa cerca de 53 bytes
+ * (CEP, 9 ids, instante de gravação, bit de referência e o slot da tabela hash) e não gera objetos para o GC:
+ * milhões de endereços cabem em poucas centenas de MB. O CepApiResponse só é montado na leitura.
+ * Cheio, reaproveita a posição de uma entrada escolhida pelo algoritmo do relógio (CLOCK), dando preferência às
+ * expiradas, como o CoordenadasCache. Os textos que deixam de ser referenciados são descartados copiando os vivos
+ * para uma tabela nova sempre que a tabela de strings dobra de tamanho desde a última compactação.
+ */
+@Slf4j
+@Component
+public class CepCache {
+
+    private static final int LOGRADOURO = 0;
+    private static final int COMPLEMENTO = 1;
+    private static final int BAIRRO = 2;
+    private static final int LOCALIDADE = 3;
+    private static final int UF = 4;
+    private static final int IBGE = 5;
+    private static final int GIA = 6;
+    private static final int DDD = 7;
+    private static final int SIAFI = 8;
+    private static final int TOTAL_CAMPOS = 9;
+
+    private static final int SLOT_VAZIO = -1;
+    private static final int CAPACIDADE_INICIAL = 1024;
+    private static final int BYTES_MINIMOS_COMPACTACAO = 1 << 20;
+
+    private final long ttlSegundos;
+    private final int tamanhoMaximo;
+    private final long inicioSegundos = System.currentTimeMillis() / 1000;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TabelaStrings textos = new TabelaStrings();
+    private int limiteCompactacao = BYTES_MINIMOS_COMPACTACAO;
+
+    // Tabela hash (endereçamento aberto) com a posição de cada entrada nos arrays densos abaixo
+    private int[] slots;
+    private int[] ceps;
+    private int[] campos;
+    private int[] armazenadoEm;
+    private boolean[] referenciadas;
+    private int tamanho;
+    private int ponteiroRelogio;
+
+    private final Counter acertos;
+    private final Counter falhas;
+    private final Counter despejos;
+    private final Counter expiradas;
+
+    public CepCache(@Value("${cep.cache.ttl:24h}") Duration ttl,
+                    @Value("${cep.cache.max-size:2000000}") int tamanhoMaximo,
+                    MeterRegistry meterRegistry) {
+        this.ttlSegundos = ttl.toSeconds();
+        this.tamanhoMaximo = Math.max(1, tamanhoMaximo);
+        this.slots = criarSlots(CAPACIDADE_INICIAL * 2);
+        this.ceps = new int[CAPACIDADE_INICIAL];
+        this.campos = new int[CAPACIDADE_INICIAL * TOTAL_CAMPOS];
+        this.armazenadoEm = new int[CAPACIDADE_INICIAL];
+        this.referenciadas = new boolean[CAPACIDADE_INICIAL];
+
+        this.acertos = Counter.builder("cep.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.falhas = Counter.builder("cep.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.despejos = Counter.builder("cep.cache.evictions").tag("cause", "size").register(meterRegistry);
+        this.expiradas = Counter.builder("cep.cache.evictions").tag("cause", "expired").register(meterRegistry);
+        Gauge.builder("cep.cache.size", this, CepCache::tamanho).register(meterRegistry);
+        Gauge.builder("cep.cache.strings", this, CepCache::totalStrings).register(meterRegistry);
+        Gauge.builder("cep.cache.strings.bytes", this, CepCache::bytesStrings).register(meterRegistry);
+        log.info("Cache de CEP configurado (ttl={}, tamanho máximo={})", ttl, tamanhoMaximo);
+    }
+
+    public Optional<CepApiResponse> buscar(String cep) {
+        int chave = converterCep(cep);
+        if (chave < 0) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            int entrada = localizar(chave);
+            if (entrada < 0 || expirada(entrada)) {
+                falhas.increment();
+                return Optional.empty();
+            }
+            acertos.increment();
+            // escrita sem o lock de escrita: no pior caso uma marcação se perde e a entrada sai uma volta antes
+            referenciadas[entrada] = true;
+            return Optional.of(montarEndereco(entrada));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Se o CEP tem endereço válido no cache, sem montar a resposta nem contar acerto ou falha
+     */
+    public boolean contem(String cep) {
+        int chave = converterCep(cep);
+        if (chave < 0) {
+            return false;
+        }
+
+        lock.readLock().lock();
+        try {
+            int entrada = localizar(chave);
+            return entrada >= 0 && !expirada(entrada);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void armazenar(String cep, CepApiResponse endereco) {
+        int chave = converterCep(cep);
+        if (chave < 0) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            int entrada = localizar(chave);
+            if (entrada < 0) {
+                entrada = tamanho >= tamanhoMaximo ? reaproveitar(chave) : adicionar(chave);
+            }
+
+            int base = entrada * TOTAL_CAMPOS;
+            campos[base + LOGRADOURO] = textos.registrar(endereco.getLogradouro());
+            campos[base + COMPLEMENTO] = textos.registrar(endereco.getComplemento());
+            campos[base + BAIRRO] = textos.registrar(endereco.getBairro());
+            campos[base + LOCALIDADE] = textos.registrar(endereco.getLocalidade());
+            campos[base + UF] = textos.registrar(endereco.getUf());
+            campos[base + IBGE] = textos.registrar(endereco.getIbge());
+            campos[base + GIA] = textos.registrar(endereco.getGia());
+            campos[base + DDD] = textos.registrar(endereco.getDdd());
+            campos[base + SIAFI] = textos.registrar(endereco.getSiafi());
+            armazenadoEm[entrada] = (int) (System.currentTimeMillis() / 1000 - inicioSegundos);
+
+            if (textos.bytesUsados() > limiteCompactacao) {
+                compactarTextos();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return tamanho;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Strings distintas guardadas na tabela compartilhada
+     */
+    public int totalStrings() {
+        lock.readLock().lock();
+        try {
+            return textos.total();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int bytesStrings() {
+        lock.readLock().lock();
+        try {
+            return textos.bytesUsados();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean expirada(int entrada) {
+        long idade = System.currentTimeMillis() / 1000 - inicioSegundos - armazenadoEm[entrada];
+        return idade >= ttlSegundos;
+    }
+
+    private CepApiResponse montarEndereco(int entrada) {
+        int base = entrada * TOTAL_CAMPOS;
+        int cep = ceps[entrada];
+        return CepApiResponse.builder()
+                .cep(String.format("%05d-%03d", cep / 1000, cep % 1000))
+                .logradouro(textos.texto(campos[base + LOGRADOURO]))
+                .complemento(textos.texto(campos[base + COMPLEMENTO]))
+                .bairro(textos.texto(campos[base + BAIRRO]))
+                .localidade(textos.texto(campos[base + LOCALIDADE]))
+                .uf(textos.texto(campos[base + UF]))
+                .ibge(textos.texto(campos[base + IBGE]))
+                .gia(textos.texto(campos[base + GIA]))
+                .ddd(textos.texto(campos[base + DDD]))
+                .siafi(textos.texto(campos[base + SIAFI]))
+                .build();
+    }
+
+    private int localizar(int cep) {
+        int mascara = slots.length - 1;
+        int indice = espalhar(cep) & mascara;
+        while (slots[indice] != SLOT_VAZIO) {
+            if (ceps[slots[indice]] == cep) {
+                return slots[indice];
+            }
+            indice = (indice + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private int adicionar(int cep) {
+        if (tamanho == ceps.length) {
+            ceps = Arrays.copyOf(ceps, tamanho * 2);
+            campos = Arrays.copyOf(campos, tamanho * 2 * TOTAL_CAMPOS);
+            armazenadoEm = Arrays.copyOf(armazenadoEm, tamanho * 2);
+            referenciadas = Arrays.copyOf(referenciadas, tamanho * 2);
+        }
+        if ((tamanho + 1) * 2 > slots.length) {
+            redimensionarSlots(slots.length * 2);
+        }
+
+        int entrada = tamanho++;
+        ceps[entrada] = cep;
+        inserirSlot(entrada);
+        return entrada;
+    }
+
+    /**
+     * Troca pelo CEP novo a entrada apontada pelo relógio, mantendo sua posição nos arrays densos
+     */
+    private int reaproveitar(int cep) {
+        int entrada = escolherVitima();
+        removerSlot(entrada);
+        ceps[entrada] = cep;
+        referenciadas[entrada] = false;
+        inserirSlot(entrada);
+        return entrada;
+    }
+
+    /**
+     * Avança o ponteiro do relógio até uma entrada expirada ou não lida desde a última volta, desmarcando as
+     * referenciadas pelo caminho
+     */
+    private int escolherVitima() {
+        while (true) {
+            int entrada = ponteiroRelogio;
+            ponteiroRelogio = (ponteiroRelogio + 1) % tamanho;
+            if (expirada(entrada)) {
+                expiradas.increment();
+                return entrada;
+            }
+            if (referenciadas[entrada]) {
+                referenciadas[entrada] = false;
+                continue;
+            }
+            despejos.increment();
+            return entrada;
+        }
+    }
+
+    /**
+     * Remoção com deslocamento para trás: os slots seguintes do mesmo agrupamento que podem ocupar o espaço
+     * liberado voltam para ele, para que a sondagem linear não precise de marcadores de remoção
+     */
+    private void removerSlot(int entrada) {
+        int mascara = slots.length - 1;
+        int vazio = espalhar(ceps[entrada]) & mascara;
+        while (slots[vazio] != entrada) {
+            vazio = (vazio + 1) & mascara;
+        }
+
+        int atual = vazio;
+        while (true) {
+            atual = (atual + 1) & mascara;
+            if (slots[atual] == SLOT_VAZIO) {
+                break;
+            }
+            int ideal = espalhar(ceps[slots[atual]]) & mascara;
+            if (((atual - ideal) & mascara) >= ((atual - vazio) & mascara)) {
+                slots[vazio] = slots[atual];
+                vazio = atual;
+            }
+        }
+        slots[vazio] = SLOT_VAZIO;
+    }
+
+    /**
+     * Copia para uma tabela nova só os textos ainda referenciados pelas entradas, descartando os de endereços
+     * substituídos ou despejados
+     */
+    private void compactarTextos() {
+        int bytesAntes = textos.bytesUsados();
+        TabelaStrings compactada = new TabelaStrings();
+        int[] novosIds = new int[textos.total()];
+        Arrays.fill(novosIds, TabelaStrings.NULO);
+
+        for (int i = 0; i < tamanho * TOTAL_CAMPOS; i++) {
+            int id = campos[i];
+            if (id == TabelaStrings.NULO) {
+                continue;
+            }
+            if (novosIds[id] == TabelaStrings.NULO) {
+                novosIds[id] = compactada.importar(textos, id);
+            }
+            campos[i] = novosIds[id];
+        }
+
+        textos = compactada;
+        limiteCompactacao = Math.max(BYTES_MINIMOS_COMPACTACAO, compactada.bytesUsados() * 2);
+        log.debug("Tabela de strings do cache de CEP compactada de {} para {} bytes", bytesAntes, compactada.bytesUsados());
+    }
+
+    private void inserirSlot(int entrada) {
+        int mascara = slots.length - 1;
+        int indice = espalhar(ceps[entrada]) & mascara;
+        while (slots[indice] != SLOT_VAZIO) {
+            indice = (indice + 1) & mascara;
+        }
+        slots[indice] = entrada;
+    }
+
+    private void redimensionarSlots(int novaCapacidade) {
+        slots = criarSlots(novaCapacidade);
+        for (int entrada = 0; entrada < tamanho; entrada++) {
+            inserirSlot(entrada);
+        }
+    }
+
+    private static int[] criarSlots(int capacidade) {
+        int[] novos = new int[capacidade];
+        Arrays.fill(novos, SLOT_VAZIO);
+        return novos;
+    }
+
+    /**
+     * CEP normalizado (8 dígitos) como int, ou -1 quando não está nesse formato
+     */
+    private static int converterCep(String cep) {
+        if (cep == null || cep.length() != 8) {
+            return -1;
+        }
+        int valor = 0;
+        for (int i = 0; i < 8; i++) {
+            char digito = cep.charAt(i);
+            if (digito < '0' || digito > '9') {
+                return -1;
+            }
+            valor = valor * 10 + (digito - '0');
+        }
+        return valor;
+    }
+
+    private static int espalhar(int cep) {
+        int h = cep * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,252 @@
+package com.hotel.guessr.cache;
+
+import com.hotel.guessr.dto.CoordenadasResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Cache de coordenadas por CEP armazenado em arrays primitivos (endereçamento aberto com sondagem linear).
+ * A chave é o CEP como int (8 dígitos cabem em um int) e cada entrada ocupa 20 bytes, sem objetos por CEP.
+ * Cheio, libera espaço pelo algoritmo do relógio (CLOCK): cada acerto marca a entrada como referenciada e o
+ * ponteiro percorre a tabela desmarcando as referenciadas até achar uma que não foi lida desde a última volta.
+ * Mantém também o centróide de cada prefixo de 5 dígitos, usado como aproximação quando permitido.
+ */
+@Slf4j
+@Component
+public class CoordenadasCache {
+
+    private static final int CHAVE_VAZIA = -1;
+    private static final int CAPACIDADE_INICIAL = 1024;
+    private static final int TOTAL_PREFIXOS = 100_000;
+
+    private final int tamanhoMaximo;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[] chaves;
+    private double[] latitudes;
+    private double[] longitudes;
+    private boolean[] referenciadas;
+    private int tamanho;
+    private int ponteiroRelogio;
+
+    private final double[] somaLatitudesPrefixo = new double[TOTAL_PREFIXOS];
+    private final double[] somaLongitudesPrefixo = new double[TOTAL_PREFIXOS];
+    private final int[] contagemPrefixo = new int[TOTAL_PREFIXOS];
+
+    private final Counter acertos;
+    private final Counter falhas;
+    private final Counter aproximacoes;
+    private final Counter despejos;
+
+    public CoordenadasCache(@Value("${google.geocoding.cache.max-size:200000}") int tamanhoMaximo,
+                            MeterRegistry meterRegistry) {
+        this.tamanhoMaximo = Math.max(1, tamanhoMaximo);
+        alocar(CAPACIDADE_INICIAL);
+
+        this.acertos = Counter.builder("geocoding.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.falhas = Counter.builder("geocoding.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.aproximacoes = Counter.builder("geocoding.cache.requests").tag("result", "approximate").register(meterRegistry);
+        this.despejos = Counter.builder("geocoding.cache.evictions").register(meterRegistry);
+        Gauge.builder("geocoding.cache.size", this, CoordenadasCache::tamanho).register(meterRegistry);
+    }
+
+    public Optional<CoordenadasResponse> buscar(int cep) {
+        lock.readLock().lock();
+        try {
+            int indice = localizar(cep);
+            if (indice < 0) {
+                falhas.increment();
+                return Optional.empty();
+            }
+            acertos.increment();
+            // escrita sem o lock de escrita: no pior caso uma marcação se perde e a entrada sai uma volta antes
+            referenciadas[indice] = true;
+            return Optional.of(criarCoordenadas(latitudes[indice], longitudes[indice]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Centróide das coordenadas conhecidas para o prefixo de 5 dígitos do CEP
+     */
+    public Optional<CoordenadasResponse> buscarAproximada(int cep) {
+        int prefixo = cep / 1000;
+        lock.readLock().lock();
+        try {
+            int contagem = contagemPrefixo[prefixo];
+            if (contagem == 0) {
+                return Optional.empty();
+            }
+            aproximacoes.increment();
+            return Optional.of(criarCoordenadas(
+                    somaLatitudesPrefixo[prefixo] / contagem,
+                    somaLongitudesPrefixo[prefixo] / contagem));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void armazenar(int cep, double latitude, double longitude) {
+        int prefixo = cep / 1000;
+        lock.writeLock().lock();
+        try {
+            int indice = localizar(cep);
+            if (indice >= 0) {
+                somaLatitudesPrefixo[prefixo] += latitude - latitudes[indice];
+                somaLongitudesPrefixo[prefixo] += longitude - longitudes[indice];
+                latitudes[indice] = latitude;
+                longitudes[indice] = longitude;
+                return;
+            }
+
+            if (tamanho >= tamanhoMaximo) {
+                despejar();
+            }
+
+            if ((tamanho + 1) * 2 > chaves.length) {
+                redimensionar(chaves.length * 2);
+            }
+
+            inserir(cep, latitude, longitude);
+            tamanho++;
+            somaLatitudesPrefixo[prefixo] += latitude;
+            somaLongitudesPrefixo[prefixo] += longitude;
+            contagemPrefixo[prefixo]++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return tamanho;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int localizar(int cep) {
+        int mascara = chaves.length - 1;
+        int indice = espalhar(cep) & mascara;
+        while (chaves[indice] != CHAVE_VAZIA) {
+            if (chaves[indice] == cep) {
+                return indice;
+            }
+            indice = (indice + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private int inserir(int cep, double latitude, double longitude) {
+        int mascara = chaves.length - 1;
+        int indice = espalhar(cep) & mascara;
+        while (chaves[indice] != CHAVE_VAZIA) {
+            indice = (indice + 1) & mascara;
+        }
+        chaves[indice] = cep;
+        latitudes[indice] = latitude;
+        longitudes[indice] = longitude;
+        return indice;
+    }
+
+    /**
+     * Avança o ponteiro do relógio até uma entrada não referenciada e a remove, descontando-a do centróide
+     */
+    private void despejar() {
+        int mascara = chaves.length - 1;
+        while (true) {
+            int indice = ponteiroRelogio;
+            ponteiroRelogio = (ponteiroRelogio + 1) & mascara;
+            if (chaves[indice] == CHAVE_VAZIA) {
+                continue;
+            }
+            if (referenciadas[indice]) {
+                referenciadas[indice] = false;
+                continue;
+            }
+
+            int prefixo = chaves[indice] / 1000;
+            somaLatitudesPrefixo[prefixo] -= latitudes[indice];
+            somaLongitudesPrefixo[prefixo] -= longitudes[indice];
+            contagemPrefixo[prefixo]--;
+            remover(indice);
+            // o deslocamento pode ter trazido para cá uma entrada que o ponteiro ainda não avaliou
+            ponteiroRelogio = indice;
+            tamanho--;
+            despejos.increment();
+            return;
+        }
+    }
+
+    /**
+     * Remoção com deslocamento para trás: as entradas seguintes do mesmo agrupamento que podem ocupar o espaço
+     * liberado voltam para ele, para que a sondagem linear não precise de marcadores de remoção
+     */
+    private void remover(int indice) {
+        int mascara = chaves.length - 1;
+        int vazio = indice;
+        int atual = indice;
+        while (true) {
+            atual = (atual + 1) & mascara;
+            if (chaves[atual] == CHAVE_VAZIA) {
+                break;
+            }
+            int ideal = espalhar(chaves[atual]) & mascara;
+            if (((atual - ideal) & mascara) >= ((atual - vazio) & mascara)) {
+                chaves[vazio] = chaves[atual];
+                latitudes[vazio] = latitudes[atual];
+                longitudes[vazio] = longitudes[atual];
+                referenciadas[vazio] = referenciadas[atual];
+                vazio = atual;
+            }
+        }
+        chaves[vazio] = CHAVE_VAZIA;
+        referenciadas[vazio] = false;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        int[] chavesAntigas = chaves;
+        double[] latitudesAntigas = latitudes;
+        double[] longitudesAntigas = longitudes;
+        boolean[] referenciadasAntigas = referenciadas;
+
+        alocar(novaCapacidade);
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            if (chavesAntigas[i] != CHAVE_VAZIA) {
+                int indice = inserir(chavesAntigas[i], latitudesAntigas[i], longitudesAntigas[i]);
+                referenciadas[indice] = referenciadasAntigas[i];
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new int[capacidade];
+        Arrays.fill(chaves, CHAVE_VAZIA);
+        latitudes = new double[capacidade];
+        longitudes = new double[capacidade];
+        referenciadas = new boolean[capacidade];
+        ponteiroRelogio = 0;
+    }
+
+    private static int espalhar(int cep) {
+        int h = cep * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static CoordenadasResponse criarCoordenadas(double latitude, double longitude) {
+        return CoordenadasResponse.builder()
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.hotel.guessr.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de chaves int: responde "com certeza ausente" ou "possivelmente presente" com taxa de falso
+ * positivo próxima da configurada enquanto não passar da quantidade esperada. Os k índices vêm de dois hashes
+ * combinados (h1 + i * h2) e os bits ficam em um AtomicLongArray, então consultas e inserções concorrentes
+ * dispensam lock. Não remove chaves; para esquecer, constrói-se um filtro novo.
+ */
+final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long totalBits;
+    private final int totalHashes;
+
+    FiltroBloom(int quantidadeEsperada, double taxaFalsoPositivo) {
+        int quantidade = Math.max(1, quantidadeEsperada);
+        long bitsNecessarios = (long) Math.ceil(-quantidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        int palavras = (int) Math.max(1, (bitsNecessarios + 63) / 64);
+        this.bits = new AtomicLongArray(palavras);
+        this.totalBits = (long) palavras * 64;
+        this.totalHashes = Math.max(1, (int) Math.round((double) totalBits / quantidade * Math.log(2)));
+    }
+
+    void adicionar(int chave) {
+        long h1 = misturar(chave);
+        long h2 = misturar((int) (h1 >>> 32) ^ chave) | 1;
+        for (int i = 0; i < totalHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, totalBits);
+            int palavra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long atual = bits.get(palavra);
+            while ((atual & mascara) == 0 && !bits.compareAndSet(palavra, atual, atual | mascara)) {
+                atual = bits.get(palavra);
+            }
+        }
+    }
+
+    boolean possivelmenteContem(int chave) {
+        long h1 = misturar(chave);
+        long h2 = misturar((int) (h1 >>> 32) ^ chave) | 1;
+        for (int i = 0; i < totalHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, totalBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long tamanhoEmBytes() {
+        return totalBits / 8;
+    }
+
+    /**
+     * Finalizador do MurmurHash3 (64 bits): espalha chaves sequenciais, como CEPs vizinhos, por todo o filtro
+     */
+    private static long misturar(int chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,200 @@
+package com.hotel.guessr.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hotel.guessr.exception.CepNaoEncontradoException;
+import com.hotel.guessr.repository.ConsultaCepRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Pré-filtro que descarta CEPs inexistentes sem sair do processo: CEPs fora das faixas dos Correios por UF,
+ * e CEPs que o ViaCEP já respondeu com erro (cache negativo com TTL). Um filtro de Bloom dos CEPs já
+ * confirmados, reconstruído periodicamente a partir de consultas_cep, responde em nanossegundos que um CEP
+ * conhecido é válido e impede que um erro pontual do ViaCEP coloque no cache negativo um CEP que já existiu.
+ */
+@Slf4j
+@Component
+public class FiltroCep {
+
+    /**
+     * Faixas de CEP por UF (Correios), em pares [início, fim]
+     */
+    private static final int[][] FAIXAS_UF = {
+            {1000000, 19999999},   // SP
+            {20000000, 28999999},  // RJ
+            {29000000, 29999999},  // ES
+            {30000000, 39999999},  // MG
+            {40000000, 48999999},  // BA
+            {49000000, 49999999},  // SE
+            {50000000, 56999999},  // PE
+            {57000000, 57999999},  // AL
+            {58000000, 58999999},  // PB
+            {59000000, 59999999},  // RN
+            {60000000, 63999999},  // CE
+            {64000000, 64999999},  // PI
+            {65000000, 65999999},  // MA
+            {66000000, 68899999},  // PA
+            {68900000, 68999999},  // AP
+            {69000000, 69299999},  // AM
+            {69300000, 69399999},  // RR
+            {69400000, 69899999},  // AM
+            {69900000, 69999999},  // AC
+            {70000000, 72799999},  // DF
+            {72800000, 72999999},  // GO
+            {73000000, 73699999},  // DF
+            {73700000, 76799999},  // GO
+            {76800000, 76999999},  // RO
+            {77000000, 77999999},  // TO
+            {78000000, 78899999},  // MT
+            {79000000, 79999999},  // MS
+            {80000000, 87999999},  // PR
+            {88000000, 89999999},  // SC
+            {90000000, 99999999}   // RS
+    };
+
+    private final ConsultaCepRepository repository;
+    private final boolean habilitado;
+    private final int quantidadeEsperada;
+    private final double taxaFalsoPositivo;
+    private final Cache<Integer, Boolean> inexistentes;
+    private final Counter descartadosPorFaixa;
+    private final Counter descartadosPorCacheNegativo;
+
+    private volatile FiltroBloom confirmados;
+
+    public FiltroCep(ConsultaCepRepository repository,
+                     @Value("${cep.filter.enabled:true}") boolean habilitado,
+                     @Value("${cep.filter.negative-ttl:6h}") Duration ttlNegativo,
+                     @Value("${cep.filter.negative-max-size:100000}") long tamanhoMaximoNegativo,
+                     @Value("${cep.filter.bloom.expected-size:2000000}") int quantidadeEsperada,
+                     @Value("${cep.filter.bloom.false-positive-rate:0.01}") double taxaFalsoPositivo,
+                     MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.habilitado = habilitado;
+        this.quantidadeEsperada = quantidadeEsperada;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.confirmados = new FiltroBloom(quantidadeEsperada, taxaFalsoPositivo);
+        this.inexistentes = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoNegativo)
+                .expireAfterWrite(ttlNegativo)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, inexistentes, "cep-inexistentes");
+        this.descartadosPorFaixa = Counter.builder("cep.filter.rejected").tag("reason", "range").register(meterRegistry);
+        this.descartadosPorCacheNegativo = Counter.builder("cep.filter.rejected").tag("reason", "negative-cache")
+                .register(meterRegistry);
+        log.info("Pré-filtro de CEP configurado (habilitado={}, ttl negativo={}, Bloom com {} KB)",
+                habilitado, ttlNegativo, confirmados.tamanhoEmBytes() / 1024);
+    }
+
+    /**
+     * Lança CepNaoEncontradoException quando o CEP (normalizado, 8 dígitos) com certeza não existe
+     */
+    public void verificar(String cepNormalizado) {
+        if (descartar(cepNormalizado)) {
+            throw new CepNaoEncontradoException(cepNormalizado);
+        }
+    }
+
+    /**
+     * true quando o CEP com certeza não existe: está fora das faixas por UF ou o ViaCEP já respondeu erro
+     * para ele dentro do TTL negativo
+     */
+    public boolean descartar(String cepNormalizado) {
+        if (!habilitado) {
+            return false;
+        }
+
+        int cep = Integer.parseInt(cepNormalizado);
+        if (!dentroDasFaixas(cep)) {
+            descartadosPorFaixa.increment();
+            return true;
+        }
+        if (confirmados.possivelmenteContem(cep)) {
+            return false;
+        }
+        if (inexistentes.getIfPresent(cep) != null) {
+            descartadosPorCacheNegativo.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * true quando o CEP possivelmente já foi confirmado pelo ViaCEP (filtro de Bloom, sujeito a falso positivo)
+     */
+    public boolean possivelmenteConfirmado(String cepNormalizado) {
+        return habilitado && confirmados.possivelmenteContem(Integer.parseInt(cepNormalizado));
+    }
+
+    public void registrarConfirmado(String cepNormalizado) {
+        if (habilitado) {
+            int cep = Integer.parseInt(cepNormalizado);
+            confirmados.adicionar(cep);
+            inexistentes.invalidate(cep);
+        }
+    }
+
+    /**
+     * Cache negativo de um CEP que o ViaCEP respondeu com erro, exceto se ele já foi confirmado antes
+     */
+    public void registrarInexistente(String cepNormalizado) {
+        if (!habilitado) {
+            return;
+        }
+
+        int cep = Integer.parseInt(cepNormalizado);
+        if (!confirmados.possivelmenteContem(cep)) {
+            inexistentes.put(cep, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Reconstrói o filtro de Bloom com os CEPs de consultas_cep, descartando as chaves que saíram da base
+     * e mantendo a taxa de falso positivo dentro do configurado
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${cep.filter.bloom.rebuild-interval:1h}",
+            initialDelayString = "${cep.filter.bloom.rebuild-interval:1h}")
+    public void reconstruir() {
+        if (!habilitado) {
+            return;
+        }
+
+        try {
+            List<String> ceps = repository.findCepsDistintos();
+            FiltroBloom novo = new FiltroBloom(Math.max(quantidadeEsperada, ceps.size()), taxaFalsoPositivo);
+            for (String cep : ceps) {
+                String cepNormalizado = cep.replace("-", "");
+                if (cepNormalizado.length() == 8) {
+                    novo.adicionar(Integer.parseInt(cepNormalizado));
+                }
+            }
+            confirmados = novo;
+            log.info("Filtro de CEPs confirmados reconstruído com {} CEPs", ceps.size());
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível reconstruir o filtro de CEPs confirmados: {}", e.getMessage());
+        }
+    }
+
+    private static boolean dentroDasFaixas(int cep) {
+        for (int[] faixa : FAIXAS_UF) {
+            if (cep >= faixa[0] && cep <= faixa[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,368 @@
+package com.hotel.guessr.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hotel.guessr.dto.GooglePlacesResponse;
+import com.hotel.guessr.geo.ArvoreKd;
+import com.hotel.guessr.geo.CalculadoraDistancias;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Índice espacial em memória de todos os hotéis já devolvidos pelo Google Places, sem repetição por place_id.
+ * Guarda também as áreas cobertas: buscas em que o Google devolveu todas as páginas, ou seja, todos os hotéis
+ * daquele círculo são conhecidos. Uma busca contida em uma área coberta recente é respondida pelo índice
+ * (árvore k-d), sem chamar o Google. A árvore é imutável e reconstruída no máximo uma vez por segundo
+ * quando há novos lugares; o conteúdo é salvo periodicamente em disco e recarregado na inicialização.
+ */
+@Slf4j
+@Component
+public class IndiceHoteis {
+
+    private static final long INTERVALO_MINIMO_RECONSTRUCAO_MS = 1000;
+
+    private final boolean habilitado;
+    private final int tamanhoMaximo;
+    private final Duration validadeCobertura;
+    private final Path arquivoSnapshot;
+    private final ObjectWriter escritorSnapshot;
+    private final ObjectReader leitorSnapshot;
+
+    private final ConcurrentHashMap<String, LugarIndexado> lugares = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AreaCoberta> areas = new ConcurrentHashMap<>();
+    private final ReentrantLock reconstrucao = new ReentrantLock();
+
+    private volatile Versao versao = Versao.VAZIA;
+    private volatile boolean alterado;
+    private volatile long ultimaReconstrucao;
+
+    private final Counter acertos;
+    private final Counter falhas;
+    private final Counter coberturasRecusadas;
+
+    public IndiceHoteis(@Value("${google.places.index.enabled:true}") boolean habilitado,
+                        @Value("${google.places.index.max-size:500000}") int tamanhoMaximo,
+                        @Value("${google.places.index.coverage-ttl:7d}") Duration validadeCobertura,
+                        @Value("${google.places.index.snapshot.path:}") String arquivoSnapshot,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry) {
+        this.habilitado = habilitado;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.validadeCobertura = validadeCobertura;
+        this.arquivoSnapshot = arquivoSnapshot.isBlank() ? null : Path.of(arquivoSnapshot);
+        this.escritorSnapshot = objectMapper.writerFor(Snapshot.class).without(SerializationFeature.INDENT_OUTPUT);
+        this.leitorSnapshot = objectMapper.readerFor(Snapshot.class);
+
+        this.acertos = Counter.builder("places.index.requests").tag("result", "hit").register(meterRegistry);
+        this.falhas = Counter.builder("places.index.requests").tag("result", "miss").register(meterRegistry);
+        this.coberturasRecusadas = Counter.builder("places.index.coverage.rejected").register(meterRegistry);
+        Gauge.builder("places.index.size", lugares, ConcurrentHashMap::size).register(meterRegistry);
+        Gauge.builder("places.index.covered.areas", areas, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Indexa os lugares com localização; false quando o índice cheio recusou algum deles
+     */
+    public boolean registrar(List<GooglePlacesResponse.PlaceResult> novosLugares) {
+        if (!habilitado) {
+            return false;
+        }
+
+        boolean todosIndexados = true;
+        long agora = System.currentTimeMillis();
+        for (GooglePlacesResponse.PlaceResult lugar : novosLugares) {
+            if (!possuiLocalizacao(lugar)) {
+                continue;
+            }
+            if (lugares.size() >= tamanhoMaximo && !lugares.containsKey(lugar.getPlaceId())) {
+                log.debug("Índice de hotéis cheio ({} lugares), {} não indexado", lugares.size(), lugar.getPlaceId());
+                todosIndexados = false;
+                continue;
+            }
+            lugares.put(lugar.getPlaceId(), new LugarIndexado(lugar, agora));
+            alterado = true;
+        }
+        return todosIndexados;
+    }
+
+    /**
+     * Registra uma busca que devolveu todos os hotéis do círculo: os lugares do índice dentro dele que o Google
+     * não devolveu mais são removidos, e buscas contidas no círculo passam a ser respondidas localmente. Se o
+     * índice cheio recusar algum lugar do círculo a área não é registrada, para não responder sem ele.
+     */
+    public void registrarAreaCoberta(double latitude, double longitude, int raioMetros,
+                                     List<GooglePlacesResponse.PlaceResult> lugaresDaArea) {
+        if (!habilitado) {
+            return;
+        }
+
+        Set<String> presentes = new HashSet<>();
+        lugaresDaArea.forEach(lugar -> presentes.add(lugar.getPlaceId()));
+        Versao atual = versaoAtual();
+        for (int posicao : atual.arvore.dentroDoRaio(latitude, longitude, raioMetros)) {
+            String placeId = atual.lugares[posicao].getLugar().getPlaceId();
+            if (!presentes.contains(placeId) && lugares.remove(placeId) != null) {
+                log.debug("Hotel {} não aparece mais na área coberta e foi removido do índice", placeId);
+                alterado = true;
+            }
+        }
+
+        // a remoção dos ausentes pode ter liberado espaço para os lugares do círculo
+        if (!registrar(lugaresDaArea)) {
+            log.warn("Índice de hotéis cheio ({} lugares), área ({}, {}) raio {} m não registrada como coberta",
+                    lugares.size(), latitude, longitude, raioMetros);
+            coberturasRecusadas.increment();
+            return;
+        }
+
+        AreaCoberta area = new AreaCoberta(latitude, longitude, raioMetros, System.currentTimeMillis());
+        areas.put(area.chave(), area);
+        ultimaReconstrucao = 0;
+    }
+
+    /**
+     * Todos os hotéis dentro do raio, sem ordem definida (o ranking da busca escolhe os melhores), somente
+     * quando alguma área coberta recente contém o círculo inteiro da busca
+     */
+    public Optional<List<GooglePlacesResponse.PlaceResult>> buscarSeCoberta(double latitude, double longitude,
+                                                                             int raioMetros) {
+        if (!habilitado || !coberta(latitude, longitude, raioMetros)) {
+            falhas.increment();
+            return Optional.empty();
+        }
+
+        acertos.increment();
+        return Optional.of(dentroDoRaio(latitude, longitude, raioMetros));
+    }
+
+    public List<GooglePlacesResponse.PlaceResult> maisProximos(double latitude, double longitude,
+                                                               int quantidade, int raioMetros) {
+        Versao atual = versaoAtual();
+        return atual.lugares(atual.arvore.maisProximos(latitude, longitude, quantidade, raioMetros));
+    }
+
+    public List<GooglePlacesResponse.PlaceResult> dentroDoRaio(double latitude, double longitude, int raioMetros) {
+        Versao atual = versaoAtual();
+        return atual.lugares(atual.arvore.dentroDoRaio(latitude, longitude, raioMetros));
+    }
+
+    /**
+     * Áreas cobertas registradas há mais de {@code idade}, das mais antigas para as mais recentes
+     */
+    public List<AreaCoberta> areasParaAtualizar(Duration idade, int maximo) {
+        long limite = System.currentTimeMillis() - idade.toMillis();
+        return areas.values().stream()
+                .filter(area -> area.getRegistradaEm() < limite)
+                .sorted(Comparator.comparingLong(AreaCoberta::getRegistradaEm))
+                .limit(maximo)
+                .toList();
+    }
+
+    /**
+     * Remove lugares não confirmados pelo Google há mais de {@code validade} e áreas cuja cobertura expirou
+     */
+    public void removerDesatualizados(Duration validade) {
+        long limiteLugares = System.currentTimeMillis() - validade.toMillis();
+        long limiteAreas = System.currentTimeMillis() - validadeCobertura.toMillis();
+
+        if (lugares.values().removeIf(lugar -> lugar.getAtualizadoEm() < limiteLugares)) {
+            alterado = true;
+        }
+        areas.values().removeIf(area -> area.getRegistradaEm() < limiteAreas);
+    }
+
+    public int tamanho() {
+        return lugares.size();
+    }
+
+    public int totalAreas() {
+        return areas.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarSnapshot() {
+        if (!habilitado || arquivoSnapshot == null || !Files.exists(arquivoSnapshot)) {
+            return;
+        }
+
+        try (InputStream entrada = new GZIPInputStream(Files.newInputStream(arquivoSnapshot))) {
+            Snapshot snapshot = leitorSnapshot.readValue(entrada);
+            snapshot.getLugares().forEach(lugar -> lugares.put(lugar.getLugar().getPlaceId(), lugar));
+            snapshot.getAreas().forEach(area -> areas.put(area.chave(), area));
+            alterado = true;
+            log.info("Índice de hotéis carregado de {}: {} lugares, {} áreas cobertas",
+                    arquivoSnapshot, lugares.size(), areas.size());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Não foi possível carregar o índice de hotéis de {}: {}", arquivoSnapshot, e.getMessage());
+        }
+    }
+
+    /**
+     * Grava em um arquivo temporário e substitui o anterior, para nunca deixar um snapshot pela metade
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${google.places.index.snapshot.interval:10m}",
+            initialDelayString = "${google.places.index.snapshot.interval:10m}")
+    public void salvarSnapshot() {
+        if (!habilitado || arquivoSnapshot == null) {
+            return;
+        }
+
+        Snapshot snapshot = new Snapshot(new ArrayList<>(lugares.values()), new ArrayList<>(areas.values()));
+        try {
+            Path diretorio = arquivoSnapshot.toAbsolutePath().getParent();
+            Files.createDirectories(diretorio);
+            Path temporario = Files.createTempFile(diretorio, "indice-hoteis", ".tmp");
+            try (OutputStream saida = new GZIPOutputStream(Files.newOutputStream(temporario))) {
+                escritorSnapshot.writeValue(saida, snapshot);
+            }
+            Files.move(temporario, arquivoSnapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Índice de hotéis salvo em {} ({} lugares)", arquivoSnapshot, snapshot.getLugares().size());
+        } catch (IOException e) {
+            log.warn("Não foi possível salvar o índice de hotéis em {}: {}", arquivoSnapshot, e.getMessage());
+        }
+    }
+
+    private boolean coberta(double latitude, double longitude, int raioMetros) {
+        long limite = System.currentTimeMillis() - validadeCobertura.toMillis();
+        CalculadoraDistancias distancias = new CalculadoraDistancias(latitude, longitude);
+        for (AreaCoberta area : areas.values()) {
+            if (area.getRegistradaEm() >= limite
+                    && distancias.calcular(area.getLatitude(), area.getLongitude()) * 1000 + raioMetros
+                    <= area.getRaioMetros()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reconstrói a árvore quando há alterações, no máximo uma vez por intervalo; enquanto uma thread
+     * reconstrói, as demais seguem consultando a versão anterior
+     */
+    private Versao versaoAtual() {
+        Versao atual = versao;
+        if (!alterado || System.currentTimeMillis() - ultimaReconstrucao < INTERVALO_MINIMO_RECONSTRUCAO_MS
+                || !reconstrucao.tryLock()) {
+            return atual;
+        }
+
+        try {
+            if (alterado) {
+                alterado = false;
+                ultimaReconstrucao = System.currentTimeMillis();
+                atual = Versao.construir(lugares.values().toArray(new LugarIndexado[0]));
+                versao = atual;
+            }
+            return atual;
+        } finally {
+            reconstrucao.unlock();
+        }
+    }
+
+    private static boolean possuiLocalizacao(GooglePlacesResponse.PlaceResult lugar) {
+        return lugar.getPlaceId() != null
+                && lugar.getGeometry() != null
+                && lugar.getGeometry().getLocation() != null
+                && lugar.getGeometry().getLocation().getLat() != null
+                && lugar.getGeometry().getLocation().getLng() != null;
+    }
+
+    private static final class Versao {
+
+        static final Versao VAZIA = construir(new LugarIndexado[0]);
+
+        final ArvoreKd arvore;
+        final LugarIndexado[] lugares;
+
+        private Versao(ArvoreKd arvore, LugarIndexado[] lugares) {
+            this.arvore = arvore;
+            this.lugares = lugares;
+        }
+
+        static Versao construir(LugarIndexado[] lugares) {
+            double[] latitudes = new double[lugares.length];
+            double[] longitudes = new double[lugares.length];
+            for (int i = 0; i < lugares.length; i++) {
+                GooglePlacesResponse.Location localizacao = lugares[i].getLugar().getGeometry().getLocation();
+                latitudes[i] = localizacao.getLat();
+                longitudes[i] = localizacao.getLng();
+            }
+            return new Versao(ArvoreKd.construir(latitudes, longitudes), lugares);
+        }
+
+        List<GooglePlacesResponse.PlaceResult> lugares(int[] posicoes) {
+            return Arrays.stream(posicoes).mapToObj(posicao -> lugares[posicao].getLugar()).toList();
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LugarIndexado {
+
+        private GooglePlacesResponse.PlaceResult lugar;
+        private long atualizadoEm;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AreaCoberta {
+
+        private double latitude;
+        private double longitude;
+        private int raioMetros;
+        private long registradaEm;
+
+        String chave() {
+            return String.format(Locale.US, "%.5f,%.5f:%d", latitude, longitude, raioMetros);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Snapshot {
+
+        private List<LugarIndexado> lugares = new ArrayList<>();
+        private List<AreaCoberta> areas = new ArrayList<>();
+    }
+}
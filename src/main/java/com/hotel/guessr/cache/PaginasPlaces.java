@@ -0,0 +1,84 @@
+package com.hotel.guessr.cache;
+
+import com.hotel.guessr.dto.CoordenadasResponse;
+import com.hotel.guessr.dto.GooglePlacesResponse;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Páginas da Nearby Search já obtidas para uma origem e raio, acumuladas na ordem devolvida pelo Google,
+ * com o token da próxima página e o instante (epoch em ms) a partir do qual o Google passa a aceitá-lo.
+ * A Nearby Search devolve no máximo 20 lugares por página e 60 no total, e depois da terceira página não
+ * manda token mesmo que o círculo tenha mais hotéis: a falta de token sozinha não prova que a busca está completa.
+ * Guarda a origem exata da primeira página: as seguintes continuam aquela busca mesmo quando pedidas a partir de
+ * outra origem da mesma célula, e é em torno dela que a área coberta deve ser registrada.
+ */
+@Getter
+public class PaginasPlaces {
+
+    public static final int LUGARES_POR_PAGINA = 20;
+    public static final int MAXIMO_LUGARES = 60;
+
+    private final CoordenadasResponse origem;
+    private final List<GooglePlacesResponse.PlaceResult> lugares;
+    private final String proximoToken;
+    private final long tokenDisponivelEm;
+    private final int totalPaginas;
+    private final int lugaresUltimaPagina;
+    private final boolean interrompida;
+
+    private PaginasPlaces(CoordenadasResponse origem, List<GooglePlacesResponse.PlaceResult> lugares,
+                          String proximoToken, long tokenDisponivelEm, int totalPaginas, int lugaresUltimaPagina,
+                          boolean interrompida) {
+        this.origem = origem;
+        this.lugares = List.copyOf(lugares);
+        this.proximoToken = proximoToken != null && !proximoToken.isBlank() ? proximoToken : null;
+        this.tokenDisponivelEm = tokenDisponivelEm;
+        this.totalPaginas = totalPaginas;
+        this.lugaresUltimaPagina = lugaresUltimaPagina;
+        this.interrompida = interrompida;
+    }
+
+    public static PaginasPlaces primeiraPagina(CoordenadasResponse origem,
+                                               List<GooglePlacesResponse.PlaceResult> lugares,
+                                               String proximoToken, long tokenDisponivelEm) {
+        return new PaginasPlaces(origem, lugares, proximoToken, tokenDisponivelEm, 1, lugares.size(), false);
+    }
+
+    public PaginasPlaces anexar(List<GooglePlacesResponse.PlaceResult> novosLugares,
+                                String novoToken, long novoTokenDisponivelEm) {
+        List<GooglePlacesResponse.PlaceResult> todos = new ArrayList<>(lugares.size() + novosLugares.size());
+        todos.addAll(lugares);
+        todos.addAll(novosLugares);
+        return new PaginasPlaces(origem, todos, novoToken, novoTokenDisponivelEm, totalPaginas + 1,
+                novosLugares.size(), false);
+    }
+
+    /**
+     * Mesmas páginas sem tentar a seguinte nesta busca (falha ou tempo esgotado); continua incompleta
+     */
+    public PaginasPlaces semProximaPagina() {
+        return new PaginasPlaces(origem, lugares, proximoToken, tokenDisponivelEm, totalPaginas, lugaresUltimaPagina,
+                true);
+    }
+
+    public boolean possuiProximaPagina() {
+        return proximoToken != null && !interrompida;
+    }
+
+    /**
+     * Todos os lugares do círculo foram devolvidos: sem token, com a última página incompleta e abaixo do
+     * teto da Nearby Search. Uma página cheia ou 60 lugares podem ter sido cortados pelo Google.
+     */
+    public boolean isCompleta() {
+        return proximoToken == null
+                && lugaresUltimaPagina < LUGARES_POR_PAGINA
+                && lugares.size() < MAXIMO_LUGARES;
+    }
+
+    public long atrasoAteProximaPagina(long agora) {
+        return Math.max(0, tokenDisponivelEm - agora);
+    }
+}
@@ -0,0 +1,60 @@
+package com.hotel.guessr.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hotel.guessr.dto.CoordenadasResponse;
+import com.hotel.guessr.geo.GeoHash;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache dos resultados brutos da Nearby Search, indexado pela célula geohash da origem e pelo raio da busca.
+ * CEPs vizinhos caem na mesma célula e compartilham uma única chamada ao Google; distâncias e limite
+ * são recalculados a partir das coordenadas exatas de cada requisição. Cada entrada guarda as páginas já
+ * obtidas e o token da seguinte, para que um limite maior continue de onde a busca anterior parou.
+ */
+@Slf4j
+@Component
+public class PlacesCache {
+
+    private final Cache<String, PaginasPlaces> cache;
+    private final int precisao;
+
+    public PlacesCache(@Value("${google.places.cache.ttl:6h}") Duration ttl,
+                       @Value("${google.places.cache.max-size:10000}") long tamanhoMaximo,
+                       @Value("${google.places.cache.precision:6}") int precisao,
+                       MeterRegistry meterRegistry) {
+        this.precisao = precisao;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "places");
+        log.info("Cache do Google Places configurado (ttl={}, tamanho máximo={}, precisão geohash={})",
+                ttl, tamanhoMaximo, precisao);
+    }
+
+    public Optional<PaginasPlaces> buscar(CoordenadasResponse origem, int raioMetros) {
+        return Optional.ofNullable(cache.getIfPresent(chave(origem, raioMetros)));
+    }
+
+    public void armazenar(CoordenadasResponse origem, int raioMetros, PaginasPlaces paginas) {
+        cache.put(chave(origem, raioMetros), paginas);
+    }
+
+    /**
+     * Célula geohash da origem e raio; também identifica as chamadas ao Google coalescidas, para que buscas
+     * que cairiam na mesma entrada do cache compartilhem uma única requisição
+     */
+    public String chave(CoordenadasResponse origem, int raioMetros) {
+        return GeoHash.codificar(origem.getLatitude(), origem.getLongitude(), precisao) + ":" + raioMetros;
+    }
+}
@@ -0,0 +1,131 @@
+package com.hotel.guessr.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Tabela de strings sem repetição em arrays primitivos: cada string distinta é gravada uma única vez, em UTF-8,
+ * em um único array de bytes e passa a ser referenciada por um id int. Endereços repetem muito bairro, cidade,
+ * UF e códigos do município, então cada repetição custa só os 4 bytes do id, sem nenhum objeto por string.
+ * Não é thread-safe e não remove strings individualmente: quem usa controla o acesso e, para descartar as que
+ * deixaram de ser referenciadas, copia as vivas para uma tabela nova com {@link #importar}.
+ */
+final class TabelaStrings {
+
+    static final int NULO = -1;
+
+    private static final int VAZIO = -1;
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private byte[] bytes = new byte[64 * 1024];
+    private int bytesUsados;
+
+    // O texto do id i ocupa bytes[inicios[i]] até bytes[inicios[i + 1]]
+    private int[] inicios = new int[CAPACIDADE_INICIAL + 1];
+    private int[] hashes = new int[CAPACIDADE_INICIAL];
+    private int total;
+
+    private int[] slots = criarSlots(CAPACIDADE_INICIAL * 2);
+
+    /**
+     * Id da string, registrando-a se ainda não existe
+     */
+    int registrar(String texto) {
+        if (texto == null) {
+            return NULO;
+        }
+
+        byte[] codificado = texto.getBytes(StandardCharsets.UTF_8);
+        return registrar(codificado, 0, codificado.length, Arrays.hashCode(codificado));
+    }
+
+    /**
+     * Id nesta tabela da string de id {@code id} na tabela de origem, copiando os bytes sem decodificá-los
+     */
+    int importar(TabelaStrings origem, int id) {
+        if (id == NULO) {
+            return NULO;
+        }
+        return registrar(origem.bytes, origem.inicios[id], origem.inicios[id + 1], origem.hashes[id]);
+    }
+
+    private int registrar(byte[] fonte, int inicio, int fim, int hash) {
+        int mascara = slots.length - 1;
+        int indice = espalhar(hash) & mascara;
+        while (slots[indice] != VAZIO) {
+            int id = slots[indice];
+            if (hashes[id] == hash && iguais(id, fonte, inicio, fim)) {
+                return id;
+            }
+            indice = (indice + 1) & mascara;
+        }
+
+        int id = adicionar(fonte, inicio, fim, hash);
+        slots[indice] = id;
+        if (total * 2 > slots.length) {
+            redimensionarSlots(slots.length * 2);
+        }
+        return id;
+    }
+
+    String texto(int id) {
+        if (id == NULO) {
+            return null;
+        }
+        return new String(bytes, inicios[id], inicios[id + 1] - inicios[id], StandardCharsets.UTF_8);
+    }
+
+    int total() {
+        return total;
+    }
+
+    int bytesUsados() {
+        return bytesUsados;
+    }
+
+    private int adicionar(byte[] fonte, int inicio, int fim, int hash) {
+        int comprimento = fim - inicio;
+        if (bytesUsados + comprimento > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, bytesUsados + comprimento));
+        }
+        if (total == hashes.length) {
+            hashes = Arrays.copyOf(hashes, total * 2);
+            inicios = Arrays.copyOf(inicios, total * 2 + 1);
+        }
+
+        int id = total++;
+        System.arraycopy(fonte, inicio, bytes, bytesUsados, comprimento);
+        inicios[id] = bytesUsados;
+        bytesUsados += comprimento;
+        inicios[id + 1] = bytesUsados;
+        hashes[id] = hash;
+        return id;
+    }
+
+    private boolean iguais(int id, byte[] fonte, int inicio, int fim) {
+        return Arrays.equals(bytes, inicios[id], inicios[id + 1], fonte, inicio, fim);
+    }
+
+    private void redimensionarSlots(int novaCapacidade) {
+        slots = criarSlots(novaCapacidade);
+        int mascara = novaCapacidade - 1;
+        for (int id = 0; id < total; id++) {
+            int indice = espalhar(hashes[id]) & mascara;
+            while (slots[indice] != VAZIO) {
+                indice = (indice + 1) & mascara;
+            }
+            slots[indice] = id;
+        }
+    }
+
+    private static int[] criarSlots(int capacidade) {
+        int[] novos = new int[capacidade];
+        Arrays.fill(novos, VAZIO);
+        return novos;
+    }
+
+    private static int espalhar(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
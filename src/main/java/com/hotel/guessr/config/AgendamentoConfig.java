@@ -0,0 +1,12 @@
+package com.hotel.guessr.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Tarefas periódicas de manutenção (snapshot e atualização do índice de hotéis, reconstrução do pré-filtro de CEPs)
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
@@ -0,0 +1,199 @@
+package com.hotel.guessr.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfig {
+    
+    public static final String EXECUTOR_CONSULTAS_EXTERNAS = "executorConsultasExternas";
+    public static final String EXECUTOR_BUSCA_HOTEIS_LOTE = "executorBuscaHoteisLote";
+    public static final String EXECUTOR_REQUISICOES_ESPECULATIVAS = "executorRequisicoesEspeculativas";
+    public static final String EXECUTOR_GRAVACAO_HOTEIS = "executorGravacaoHoteis";
+    public static final String EXECUTOR_EVENTOS_BUSCA_HOTEIS = "executorEventosBuscaHoteis";
+    
+    /**
+     * Pool limitado usado para disparar em paralelo consultas externas independentes (CEP e geocoding).
+     * Quando a fila enche a tarefa é rejeitada, em vez de acumular requisições sem limite.
+     */
+    @Bean(name = EXECUTOR_CONSULTAS_EXTERNAS, destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService executorConsultasExternas(
+            @Value("${hotel.fan-out.pool-size:32}") int tamanhoPool,
+            @Value("${hotel.fan-out.queue-capacity:256}") int capacidadeFila,
+            MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                tamanhoPool,
+                tamanhoPool,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                new CustomizableThreadFactory("consulta-externa-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "consultas-externas");
+    }
+    
+    /**
+     * Com threads virtuais (Java 21) cada consulta ganha sua própria thread virtual, sem pool: enquanto o
+     * RestTemplate aguarda a resposta a thread carregadora fica livre. O limite de concorrência passa a ser
+     * o pool de conexões de cada provedor (http.client.<provedor>.max-connections).
+     */
+    @Bean(name = EXECUTOR_CONSULTAS_EXTERNAS, destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService executorConsultasExternasVirtual(MeterRegistry meterRegistry) {
+        ThreadFactory fabricaThreads = new VirtualThreadTaskExecutor("consulta-externa-").getVirtualThreadFactory();
+        
+        return ExecutorServiceMetrics.monitor(meterRegistry, criarExecutorPorTarefa(fabricaThreads), "consultas-externas");
+    }
+    
+    /**
+     * Pool das buscas de hotéis em lote, separado do pool de consultas externas: cada busca do lote ocupa uma
+     * thread enquanto aguarda as próprias consultas paralelas, e dividir o mesmo pool poderia esgotá-lo.
+     * Com o pool e a fila cheios a busca roda na própria thread que consome o lote, o que segura o ritmo.
+     */
+    @Bean(name = EXECUTOR_BUSCA_HOTEIS_LOTE, destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService executorBuscaHoteisLote(
+            @Value("${hotel.lote.pool-size:16}") int tamanhoPool,
+            MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                tamanhoPool,
+                tamanhoPool,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(tamanhoPool),
+                new CustomizableThreadFactory("busca-hoteis-lote-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "busca-hoteis-lote");
+    }
+    
+    @Bean(name = EXECUTOR_BUSCA_HOTEIS_LOTE, destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService executorBuscaHoteisLoteVirtual(MeterRegistry meterRegistry) {
+        ThreadFactory fabricaThreads = new VirtualThreadTaskExecutor("busca-hoteis-lote-").getVirtualThreadFactory();
+        
+        return ExecutorServiceMetrics.monitor(meterRegistry, criarExecutorPorTarefa(fabricaThreads), "busca-hoteis-lote");
+    }
+    
+    /**
+     * Buscas com eventos (SSE), cada uma ocupando uma thread até o último evento. Separado do pool do lote, que roda
+     * a tarefa na thread do chamador quando cheio: aqui isso prenderia a thread do Tomcat durante a busca inteira.
+     * Com o pool e a fila cheios a tarefa é rejeitada e o cliente recebe um evento de erro 503.
+     */
+    @Bean(name = EXECUTOR_EVENTOS_BUSCA_HOTEIS, destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService executorEventosBuscaHoteis(
+            @Value("${hotel.sse.pool-size:16}") int tamanhoPool,
+            @Value("${hotel.sse.queue-capacity:64}") int capacidadeFila,
+            MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                tamanhoPool,
+                tamanhoPool,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                new CustomizableThreadFactory("eventos-busca-hoteis-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "eventos-busca-hoteis");
+    }
+    
+    @Bean(name = EXECUTOR_EVENTOS_BUSCA_HOTEIS, destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService executorEventosBuscaHoteisVirtual(MeterRegistry meterRegistry) {
+        ThreadFactory fabricaThreads = new VirtualThreadTaskExecutor("eventos-busca-hoteis-").getVirtualThreadFactory();
+        
+        return ExecutorServiceMetrics.monitor(meterRegistry, criarExecutorPorTarefa(fabricaThreads), "eventos-busca-hoteis");
+    }
+    
+    /**
+     * Threads das requisições com hedging (resiliencia.hedging.*): a chamada do Tomcat aguarda aqui a original e a
+     * extra, e um pool próprio evita aninhar essa espera no pool de consultas externas, que já a dispara. Sem fila:
+     * com o pool cheio a requisição roda na thread do chamador, sem hedging.
+     */
+    @Bean(name = EXECUTOR_REQUISICOES_ESPECULATIVAS, destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService executorRequisicoesEspeculativas(
+            @Value("${resiliencia.hedging.pool-size:64}") int tamanhoPool,
+            MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                tamanhoPool,
+                tamanhoPool,
+                60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new CustomizableThreadFactory("requisicao-especulativa-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "requisicoes-especulativas");
+    }
+    
+    @Bean(name = EXECUTOR_REQUISICOES_ESPECULATIVAS, destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService executorRequisicoesEspeculativasVirtual(MeterRegistry meterRegistry) {
+        ThreadFactory fabricaThreads = new VirtualThreadTaskExecutor("requisicao-especulativa-").getVirtualThreadFactory();
+        
+        return ExecutorServiceMetrics.monitor(meterRegistry, criarExecutorPorTarefa(fabricaThreads), "requisicoes-especulativas");
+    }
+    
+    /**
+     * Gravações da base de hotéis (PostGIS), fora do pool de consultas externas para não disputar threads e fila
+     * com as chamadas da requisição. Com o pool e a fila cheios a gravação roda na thread que a pediu, como o
+     * write-behind das consultas de CEP: atrasa aquela busca, mas nenhum hotel ou área coberta é descartado.
+     */
+    @Bean(name = EXECUTOR_GRAVACAO_HOTEIS, destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService executorGravacaoHoteis(
+            @Value("${hotel.store.writer.pool-size:2}") int tamanhoPool,
+            @Value("${hotel.store.writer.queue-capacity:1000}") int capacidadeFila,
+            MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                tamanhoPool,
+                tamanhoPool,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                new CustomizableThreadFactory("gravacao-hoteis-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "gravacao-hoteis");
+    }
+    
+    @Bean(name = EXECUTOR_GRAVACAO_HOTEIS, destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService executorGravacaoHoteisVirtual(MeterRegistry meterRegistry) {
+        ThreadFactory fabricaThreads = new VirtualThreadTaskExecutor("gravacao-hoteis-").getVirtualThreadFactory();
+        
+        return ExecutorServiceMetrics.monitor(meterRegistry, criarExecutorPorTarefa(fabricaThreads), "gravacao-hoteis");
+    }
+    
+    /**
+     * Executors.newThreadPerTaskExecutor só existe a partir do Java 21; a chamada reflexiva mantém o build em Java 17
+     */
+    private static ExecutorService criarExecutorPorTarefa(ThreadFactory fabricaThreads) {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, fabricaThreads);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Threads virtuais exigem Java 21 (spring.threads.virtual.enabled=true)", e);
+        }
+    }
+}
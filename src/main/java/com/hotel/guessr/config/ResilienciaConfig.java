@@ -0,0 +1,200 @@
+package com.hotel.guessr.config;
+
+import com.hotel.guessr.cache.PaginasPlaces;
+import com.hotel.guessr.dto.CepApiResponse;
+import com.hotel.guessr.dto.CoordenadasResponse;
+import com.hotel.guessr.exception.ApiKeyInvalidaException;
+import com.hotel.guessr.exception.CepNaoEncontradoException;
+import com.hotel.guessr.exception.LimiteRequisicaoExcedidoException;
+import com.hotel.guessr.resiliencia.CoalescedorChamadas;
+import com.hotel.guessr.resiliencia.Compartimento;
+import com.hotel.guessr.resiliencia.Disjuntor;
+import com.hotel.guessr.resiliencia.LimitadorTaxa;
+import com.hotel.guessr.resiliencia.RequisicaoEspeculativa;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+@RequiredArgsConstructor
+public class ResilienciaConfig {
+    
+    public static final String DISJUNTOR_VIACEP = "disjuntorViaCep";
+    public static final String DISJUNTOR_GEOCODING = "disjuntorGeocoding";
+    public static final String DISJUNTOR_PLACES = "disjuntorPlaces";
+    public static final String COMPARTIMENTO_VIACEP = "compartimentoViaCep";
+    public static final String COMPARTIMENTO_GEOCODING = "compartimentoGeocoding";
+    public static final String COMPARTIMENTO_PLACES = "compartimentoPlaces";
+    public static final String LIMITADOR_GEOCODING = "limitadorGeocoding";
+    public static final String LIMITADOR_PLACES = "limitadorPlaces";
+    public static final String HEDGING_VIACEP = "hedgingViaCep";
+    
+    private static final String PREFIXO_DISJUNTOR = "resiliencia.circuit-breaker.";
+    private static final String PREFIXO_COMPARTIMENTO = "resiliencia.bulkhead.";
+    private static final String PREFIXO_LIMITADOR = "resiliencia.rate-limiter.";
+    private static final String PREFIXO_HEDGING = "resiliencia.hedging.";
+    
+    private final Environment environment;
+    
+    @Value("${resiliencia.coalescing.max-wait:15s}")
+    private Duration tempoMaximoEsperaCoalescencia;
+    
+    @Bean
+    public CoalescedorChamadas<String, CepApiResponse> coalescedorViaCep(MeterRegistry meterRegistry) {
+        return new CoalescedorChamadas<>("viacep", tempoMaximoEsperaCoalescencia, meterRegistry);
+    }
+    
+    @Bean
+    public CoalescedorChamadas<Integer, CoordenadasResponse> coalescedorGeocoding(MeterRegistry meterRegistry) {
+        return new CoalescedorChamadas<>("geocoding", tempoMaximoEsperaCoalescencia, meterRegistry);
+    }
+    
+    @Bean
+    public CoalescedorChamadas<String, PaginasPlaces> coalescedorPlaces(MeterRegistry meterRegistry) {
+        return new CoalescedorChamadas<>("places", tempoMaximoEsperaCoalescencia, meterRegistry);
+    }
+    
+    @Bean(DISJUNTOR_VIACEP)
+    public Disjuntor disjuntorViaCep(MeterRegistry meterRegistry) {
+        return criarDisjuntor("viacep", meterRegistry);
+    }
+    
+    @Bean(DISJUNTOR_GEOCODING)
+    public Disjuntor disjuntorGeocoding(MeterRegistry meterRegistry) {
+        return criarDisjuntor("geocoding", meterRegistry);
+    }
+    
+    @Bean(DISJUNTOR_PLACES)
+    public Disjuntor disjuntorPlaces(MeterRegistry meterRegistry) {
+        return criarDisjuntor("places", meterRegistry);
+    }
+    
+    @Bean(COMPARTIMENTO_VIACEP)
+    public Compartimento compartimentoViaCep(MeterRegistry meterRegistry) {
+        return criarCompartimento("viacep", meterRegistry);
+    }
+    
+    @Bean(COMPARTIMENTO_GEOCODING)
+    public Compartimento compartimentoGeocoding(MeterRegistry meterRegistry) {
+        return criarCompartimento("geocoding", meterRegistry);
+    }
+    
+    @Bean(COMPARTIMENTO_PLACES)
+    public Compartimento compartimentoPlaces(MeterRegistry meterRegistry) {
+        return criarCompartimento("places", meterRegistry);
+    }
+    
+    @Bean(LIMITADOR_GEOCODING)
+    public LimitadorTaxa limitadorGeocoding(MeterRegistry meterRegistry) {
+        return criarLimitador("geocoding", 50, meterRegistry);
+    }
+    
+    @Bean(LIMITADOR_PLACES)
+    public LimitadorTaxa limitadorPlaces(MeterRegistry meterRegistry) {
+        return criarLimitador("places", 10, meterRegistry);
+    }
+    
+    /**
+     * Só o ViaCEP tem hedging: é o provedor com a cauda de latência mais longa e o único sem cota paga. A
+     * requisição duplicada ocupa uma vaga a mais no bulkhead do ViaCEP
+     */
+    @Bean(HEDGING_VIACEP)
+    public RequisicaoEspeculativa hedgingViaCep(
+            @Qualifier(ExecutorConfig.EXECUTOR_REQUISICOES_ESPECULATIVAS) ExecutorService executor,
+            @Qualifier(COMPARTIMENTO_VIACEP) Compartimento compartimento,
+            MeterRegistry meterRegistry) {
+        return criarHedging("viacep", executor, compartimento, meterRegistry);
+    }
+    
+    private Disjuntor criarDisjuntor(String provedor, MeterRegistry meterRegistry) {
+        var configuracao = new Disjuntor.Configuracao(
+                propriedade(PREFIXO_DISJUNTOR, provedor, "enabled", Boolean.class, true),
+                propriedade(PREFIXO_DISJUNTOR, provedor, "sliding-window", Integer.class, 50),
+                propriedade(PREFIXO_DISJUNTOR, provedor, "minimum-calls", Integer.class, 10),
+                propriedade(PREFIXO_DISJUNTOR, provedor, "failure-rate-threshold", Double.class, 50.0),
+                propriedade(PREFIXO_DISJUNTOR, provedor, "slow-call-duration", Duration.class, Duration.ofSeconds(3)),
+                propriedade(PREFIXO_DISJUNTOR, provedor, "slow-call-rate-threshold", Double.class, 80.0),
+                propriedade(PREFIXO_DISJUNTOR, provedor, "open-wait", Duration.class, Duration.ofSeconds(30)),
+                Math.max(1, propriedade(PREFIXO_DISJUNTOR, provedor, "half-open-calls", Integer.class, 3)));
+        return new Disjuntor(provedor, configuracao, ResilienciaConfig::falhaDoProvedor, meterRegistry);
+    }
+    
+    private Compartimento criarCompartimento(String provedor, MeterRegistry meterRegistry) {
+        return new Compartimento(provedor,
+                Math.max(1, propriedade(PREFIXO_COMPARTIMENTO, provedor, "max-concurrent", Integer.class, 25)),
+                Math.max(0, propriedade(PREFIXO_COMPARTIMENTO, provedor, "max-queue", Integer.class, 25)),
+                propriedade(PREFIXO_COMPARTIMENTO, provedor, "max-wait", Duration.class, Duration.ofMillis(500)),
+                meterRegistry);
+    }
+    
+    /**
+     * A cota das APIs do Google zera à meia-noite do horário do Pacífico
+     */
+    private LimitadorTaxa criarLimitador(String provedor, double qpsPadrao, MeterRegistry meterRegistry) {
+        double qps = propriedade(PREFIXO_LIMITADOR, provedor, "qps", Double.class, qpsPadrao);
+        return new LimitadorTaxa(provedor,
+                propriedade(PREFIXO_LIMITADOR, provedor, "enabled", Boolean.class, true),
+                qps,
+                propriedade(PREFIXO_LIMITADOR, provedor, "burst", Integer.class, (int) Math.ceil(qps)),
+                propriedade(PREFIXO_LIMITADOR, provedor, "daily-budget", Long.class, 0L),
+                propriedade(PREFIXO_LIMITADOR, provedor, "max-wait", Duration.class, Duration.ofMillis(250)),
+                ZoneId.of(propriedade(PREFIXO_LIMITADOR, provedor, "daily-reset-zone", String.class,
+                        "America/Los_Angeles")),
+                meterRegistry);
+    }
+    
+    private RequisicaoEspeculativa criarHedging(String provedor, ExecutorService executor,
+                                                Compartimento compartimento, MeterRegistry meterRegistry) {
+        return new RequisicaoEspeculativa(provedor,
+                propriedade(PREFIXO_HEDGING, provedor, "enabled", Boolean.class, false),
+                propriedade(PREFIXO_HEDGING, provedor, "percentile", Double.class, 0.95),
+                propriedade(PREFIXO_HEDGING, provedor, "min-delay", Duration.class, Duration.ofMillis(50)),
+                propriedade(PREFIXO_HEDGING, provedor, "window", Integer.class, 200),
+                propriedade(PREFIXO_HEDGING, provedor, "minimum-samples", Integer.class, 50),
+                propriedade(PREFIXO_HEDGING, provedor, "budget-ratio", Double.class, 0.05),
+                propriedade(PREFIXO_HEDGING, provedor, "budget-burst", Integer.class, 10),
+                executor,
+                compartimento,
+                meterRegistry);
+    }
+    
+    /**
+     * <prefixo><provedor>.<nome> sobrescreve <prefixo><nome> para um provedor
+     */
+    private <T> T propriedade(String prefixo, String provedor, String nome, Class<T> tipo, T padrao) {
+        return environment.getProperty(prefixo + provedor + "." + nome, tipo,
+                environment.getProperty(prefixo + nome, tipo, padrao));
+    }
+    
+    /**
+     * CEP inexistente, API key inválida e demais erros 4xx são respostas do provedor, não sinais de degradação;
+     * o 429 conta como falha para que o circuito alivie o provedor que já está recusando requisições. A recusa
+     * do limitador local (LimiteRequisicaoExcedidoException) não chega ao provedor e não conta.
+     */
+    static boolean falhaDoProvedor(Throwable erro) {
+        if (erro instanceof CepNaoEncontradoException
+                || erro instanceof ApiKeyInvalidaException
+                || erro instanceof LimiteRequisicaoExcedidoException) {
+            return false;
+        }
+        if (erro instanceof HttpClientErrorException respostaErro) {
+            return respostaErro.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        if (erro instanceof WebClientResponseException respostaErro) {
+            return respostaErro.getStatusCode().is5xxServerError()
+                    || respostaErro.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return true;
+    }
+}
@@ -1,19 +1,94 @@
 package com.hotel.guessr.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
+/**
+ * Um RestTemplate por provedor externo, cada um com seu pool de conexões keep-alive (Apache HttpClient 5),
+ * limite de conexões por host e timeouts próprios de conexão, leitura e espera por conexão livre no pool.
+ * A ocupação dos pools é publicada como httpcomponents.httpclient.pool.*{httpclient=<provedor>}.
+ */
+@Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class RestTemplateConfig {
     
-    @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(10000);
-        factory.setReadTimeout(10000);
+    public static final String REST_TEMPLATE_VIACEP = "restTemplateViaCep";
+    public static final String REST_TEMPLATE_GEOCODING = "restTemplateGeocoding";
+    public static final String REST_TEMPLATE_PLACES = "restTemplatePlaces";
+    
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    
+    @Bean(REST_TEMPLATE_VIACEP)
+    public RestTemplate restTemplateViaCep() {
+        return criarRestTemplate("viacep");
+    }
+    
+    @Bean(REST_TEMPLATE_GEOCODING)
+    public RestTemplate restTemplateGeocoding() {
+        return criarRestTemplate("geocoding");
+    }
+    
+    @Bean(REST_TEMPLATE_PLACES)
+    public RestTemplate restTemplatePlaces() {
+        return criarRestTemplate("places");
+    }
+    
+    private RestTemplate criarRestTemplate(String provedor) {
+        String prefixo = "http.client." + provedor;
+        Duration timeoutConexao = duracao(prefixo + ".connect-timeout", Duration.ofSeconds(2));
+        Duration timeoutLeitura = duracao(prefixo + ".read-timeout", Duration.ofSeconds(10));
+        Duration timeoutAquisicao = duracao(prefixo + ".pool-acquire-timeout", Duration.ofSeconds(1));
+        Duration tempoVidaConexao = duracao(prefixo + ".connection-ttl", Duration.ofMinutes(5));
+        int maximoConexoes = environment.getProperty(prefixo + ".max-connections", Integer.class, 50);
+        
+        PoolingHttpClientConnectionManager gerenciadorConexoes = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maximoConexoes)
+                .setMaxConnPerRoute(maximoConexoes)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(timeoutConexao))
+                        .setSocketTimeout(Timeout.of(timeoutLeitura))
+                        .setTimeToLive(TimeValue.of(tempoVidaConexao))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        
+        new PoolingHttpClientConnectionManagerMetricsBinder(gerenciadorConexoes, provedor).bindTo(meterRegistry);
+        
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(gerenciadorConexoes)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(timeoutAquisicao))
+                        .setResponseTimeout(Timeout.of(timeoutLeitura))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
         
-        return new RestTemplate(factory);
+        log.info("Cliente HTTP {} configurado (conexões={}, connect={}, read={}, pool={})",
+                provedor, maximoConexoes, timeoutConexao, timeoutLeitura, timeoutAquisicao);
+        
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+    
+    private Duration duracao(String propriedade, Duration padrao) {
+        return environment.getProperty(propriedade, Duration.class, padrao);
     }
 }
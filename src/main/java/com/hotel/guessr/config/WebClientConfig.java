@@ -0,0 +1,81 @@
+package com.hotel.guessr.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Um WebClient (Reactor Netty) por provedor externo para o perfil reactive, com as mesmas propriedades
+ * http.client.<provedor>.* dos RestTemplates. As conexões ficam em pools próprios e nenhuma thread
+ * fica bloqueada aguardando resposta; as métricas dos pools saem como reactor.netty.connection.provider.*.
+ */
+@Slf4j
+@Configuration
+@Profile("reactive")
+@RequiredArgsConstructor
+public class WebClientConfig {
+    
+    public static final String WEB_CLIENT_VIACEP = "webClientViaCep";
+    public static final String WEB_CLIENT_GEOCODING = "webClientGeocoding";
+    public static final String WEB_CLIENT_PLACES = "webClientPlaces";
+    
+    private final Environment environment;
+    private final WebClient.Builder webClientBuilder;
+    
+    @Bean(WEB_CLIENT_VIACEP)
+    public WebClient webClientViaCep() {
+        return criarWebClient("viacep");
+    }
+    
+    @Bean(WEB_CLIENT_GEOCODING)
+    public WebClient webClientGeocoding() {
+        return criarWebClient("geocoding");
+    }
+    
+    @Bean(WEB_CLIENT_PLACES)
+    public WebClient webClientPlaces() {
+        return criarWebClient("places");
+    }
+    
+    private WebClient criarWebClient(String provedor) {
+        String prefixo = "http.client." + provedor;
+        Duration timeoutConexao = duracao(prefixo + ".connect-timeout", Duration.ofSeconds(2));
+        Duration timeoutLeitura = duracao(prefixo + ".read-timeout", Duration.ofSeconds(10));
+        Duration timeoutAquisicao = duracao(prefixo + ".pool-acquire-timeout", Duration.ofSeconds(1));
+        Duration tempoVidaConexao = duracao(prefixo + ".connection-ttl", Duration.ofMinutes(5));
+        int maximoConexoes = environment.getProperty(prefixo + ".max-connections", Integer.class, 50);
+        
+        ConnectionProvider conexoes = ConnectionProvider.builder(provedor)
+                .maxConnections(maximoConexoes)
+                .pendingAcquireTimeout(timeoutAquisicao)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .maxLifeTime(tempoVidaConexao)
+                .metrics(true)
+                .build();
+        
+        HttpClient httpClient = HttpClient.create(conexoes)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) timeoutConexao.toMillis())
+                .responseTimeout(timeoutLeitura);
+        
+        log.info("WebClient {} configurado (conexões={}, connect={}, read={}, pool={})",
+                provedor, maximoConexoes, timeoutConexao, timeoutLeitura, timeoutAquisicao);
+        
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+    
+    private Duration duracao(String propriedade, Duration padrao) {
+        return environment.getProperty(propriedade, Duration.class, padrao);
+    }
+}
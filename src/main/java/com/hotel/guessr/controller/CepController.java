@@ -1,19 +1,26 @@
 package com.hotel.guessr.controller;
 
+import com.hotel.guessr.dto.ConsultaCepLoteRequest;
+import com.hotel.guessr.dto.ConsultaCepLoteResponse;
 import com.hotel.guessr.dto.ConsultaCepResponse;
+import com.hotel.guessr.service.CepLoteService;
 import com.hotel.guessr.service.CepServiceInterface;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @Slf4j
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/cep")
 @RequiredArgsConstructor
 public class CepController implements SwaggerCepController {
     
     private final CepServiceInterface cepService;
+    private final CepLoteService cepLoteService;
     
     @Override
     @GetMapping("/{cep}")
@@ -22,4 +29,12 @@ public class CepController implements SwaggerCepController {
         ConsultaCepResponse response = cepService.consultarCep(cep);
         return ResponseEntity.ok(response);
     }
+    
+    @Override
+    @PostMapping("/lote")
+    public ResponseEntity<ConsultaCepLoteResponse> consultarCepsEmLote(@Valid @RequestBody ConsultaCepLoteRequest request) {
+        log.info("Consultando lote de {} CEPs", request.getCeps().size());
+        ConsultaCepLoteResponse response = cepLoteService.consultarLote(request.getCeps());
+        return ResponseEntity.ok(response);
+    }
 }
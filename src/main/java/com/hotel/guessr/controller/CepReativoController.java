@@ -0,0 +1,50 @@
+package com.hotel.guessr.controller;
+
+import com.hotel.guessr.dto.ConsultaCepLoteRequest;
+import com.hotel.guessr.dto.ConsultaCepLoteResponse;
+import com.hotel.guessr.dto.ConsultaCepResponse;
+import com.hotel.guessr.service.CepLoteService;
+import com.hotel.guessr.service.CepServiceReativoInterface;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Mesmo contrato do CepController, ativo no perfil reactive: a thread do servidor é liberada
+ * enquanto a consulta está em andamento
+ */
+@Slf4j
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/cep")
+@RequiredArgsConstructor
+@Tag(name = "CEP", description = "Operações para consulta de CEP")
+public class CepReativoController {
+    
+    private final CepServiceReativoInterface cepService;
+    private final CepLoteService cepLoteService;
+    
+    @GetMapping("/{cep}")
+    public Mono<ResponseEntity<ConsultaCepResponse>> consultarCep(@PathVariable String cep) {
+        log.info("Consultando CEP: {}", cep);
+        return cepService.consultarCep(cep).map(ResponseEntity::ok);
+    }
+    
+    /**
+     * A consulta em lote já distribui as chamadas ao ViaCEP no pool de consultas externas; aqui ela só sai
+     * da thread do servidor
+     */
+    @PostMapping("/lote")
+    public Mono<ResponseEntity<ConsultaCepLoteResponse>> consultarCepsEmLote(@Valid @RequestBody ConsultaCepLoteRequest request) {
+        log.info("Consultando lote de {} CEPs", request.getCeps().size());
+        return Mono.fromCallable(() -> cepLoteService.consultarLote(request.getCeps()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+}
@@ -1,27 +1,129 @@
 package com.hotel.guessr.controller;
 
+import com.hotel.guessr.config.ExecutorConfig;
+import com.hotel.guessr.dto.ApiErroResponse;
+import com.hotel.guessr.dto.BuscaHoteisLoteRequest;
+import com.hotel.guessr.dto.EventoBuscaHoteis;
 import com.hotel.guessr.dto.HoteisProximosResponse;
+import com.hotel.guessr.exception.ApiExceptionHandler;
+import com.hotel.guessr.ranking.CriterioOrdenacao;
+import com.hotel.guessr.service.HotelLoteService;
 import com.hotel.guessr.service.HotelServiceInterface;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/hoteis")
 @RequiredArgsConstructor
 public class HotelController implements SwaggerHotelController {
     
     private final HotelServiceInterface hotelService;
+    private final HotelLoteService hotelLoteService;
+    private final SerializadorNdjson serializadorNdjson;
+    
+    @Qualifier(ExecutorConfig.EXECUTOR_EVENTOS_BUSCA_HOTEIS)
+    private final ExecutorService executorEventosBuscaHoteis;
+    
+    @Value("${hotel.sse.timeout:60s}")
+    private Duration tempoLimiteEventos;
     
     @Override
     @GetMapping("/proximos/{cep}")
     public ResponseEntity<HoteisProximosResponse> buscarHoteisProximos(
             @PathVariable String cep,
-            @RequestParam(required = false, defaultValue = "5") Integer limite) {
+            @RequestParam(required = false, defaultValue = "5") Integer limite,
+            @RequestParam(required = false, defaultValue = "distancia") String ordenarPor) {
         log.info("Buscando hotéis próximos ao CEP: {}", cep);
-        HoteisProximosResponse response = hotelService.buscarHoteisProximosPorCep(cep, limite);
+        HoteisProximosResponse response = hotelService.buscarHoteisProximosPorCep(
+                cep, limite, CriterioOrdenacao.de(ordenarPor));
         return ResponseEntity.ok(response);
     }
+    
+    @Override
+    @PostMapping(value = "/proximos/lote", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> buscarHoteisProximosEmLote(@Valid @RequestBody BuscaHoteisLoteRequest request) {
+        log.info("Buscando hotéis próximos a {} CEPs em lote", request.getCeps().size());
+        hotelLoteService.validarTamanhoLote(request.getCeps());
+        
+        StreamingResponseBody corpo = saida -> hotelLoteService.buscarEmLote(
+                request.getCeps(),
+                request.getLimite(),
+                linha -> serializadorNdjson.escrever(saida, linha));
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+    
+    @Override
+    @GetMapping(value = "/proximos/{cep}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter buscarHoteisProximosEmEtapas(
+            @PathVariable String cep,
+            @RequestParam(required = false, defaultValue = "5") Integer limite,
+            @RequestParam(required = false, defaultValue = "distancia") String ordenarPor) {
+        log.info("Buscando hotéis próximos ao CEP {} com eventos por etapa", cep);
+        SseEmitter emissor = new SseEmitter(tempoLimiteEventos.toMillis());
+        
+        try {
+            executorEventosBuscaHoteis.execute(() -> buscarEmitindoEventos(emissor, cep, limite, ordenarPor));
+        } catch (RejectedExecutionException e) {
+            log.warn("Pool de buscas com eventos saturado, CEP {} recusado", cep);
+            enviarEventoFinal(emissor, EventoBuscaHoteis.of(EventoBuscaHoteis.ERRO, ApiErroResponse.of(
+                    HttpStatus.SERVICE_UNAVAILABLE, "Serviço sobrecarregado, tente novamente em instantes")));
+        }
+        
+        return emissor;
+    }
+    
+    private void buscarEmitindoEventos(SseEmitter emissor, String cep, Integer limite, String ordenarPor) {
+        try {
+            hotelService.buscarHoteisProximosPorCep(cep, limite, CriterioOrdenacao.de(ordenarPor),
+                    evento -> enviarEvento(emissor, evento));
+            emissor.complete();
+        } catch (UncheckedIOException e) {
+            log.debug("Cliente desconectado durante a busca com eventos do CEP {}", cep);
+            emissor.completeWithError(e.getCause());
+        } catch (Exception e) {
+            HttpStatus status = ApiExceptionHandler.resolverStatus(e);
+            String mensagem = status == HttpStatus.INTERNAL_SERVER_ERROR ? "Erro interno no servidor" : e.getMessage();
+            enviarEventoFinal(emissor, EventoBuscaHoteis.of(EventoBuscaHoteis.ERRO, ApiErroResponse.of(status, mensagem)));
+        }
+    }
+    
+    private void enviarEvento(SseEmitter emissor, EventoBuscaHoteis evento) {
+        try {
+            emissor.send(SseEmitter.event()
+                    .name(evento.getTipo())
+                    .data(evento.getDados(), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private void enviarEventoFinal(SseEmitter emissor, EventoBuscaHoteis evento) {
+        try {
+            enviarEvento(emissor, evento);
+            emissor.complete();
+        } catch (UncheckedIOException e) {
+            emissor.completeWithError(e.getCause());
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package com.hotel.guessr.controller;
+
+import com.hotel.guessr.dto.ApiErroResponse;
+import com.hotel.guessr.dto.BuscaHoteisLoteRequest;
+import com.hotel.guessr.dto.EventoBuscaHoteis;
+import com.hotel.guessr.dto.HoteisProximosResponse;
+import com.hotel.guessr.exception.ApiExceptionHandler;
+import com.hotel.guessr.ranking.CriterioOrdenacao;
+import com.hotel.guessr.service.HotelLoteService;
+import com.hotel.guessr.service.HotelServiceReativoInterface;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mesmo contrato do HotelController, ativo no perfil reactive: a thread do servidor é liberada
+ * enquanto as consultas externas estão em andamento
+ */
+@Slf4j
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/hoteis")
+@RequiredArgsConstructor
+@Tag(name = "Hotéis", description = "Operações para busca de hotéis próximos")
+public class HotelReativoController {
+    
+    private final HotelServiceReativoInterface hotelService;
+    private final HotelLoteService hotelLoteService;
+    private final SerializadorNdjson serializadorNdjson;
+    
+    @GetMapping("/proximos/{cep}")
+    public Mono<ResponseEntity<HoteisProximosResponse>> buscarHoteisProximos(
+            @PathVariable String cep,
+            @RequestParam(required = false, defaultValue = "5") Integer limite,
+            @RequestParam(required = false, defaultValue = "distancia") String ordenarPor) {
+        log.info("Buscando hotéis próximos ao CEP: {}", cep);
+        return hotelService.buscarHoteisProximosPorCep(cep, limite, CriterioOrdenacao.de(ordenarPor))
+                .map(ResponseEntity::ok);
+    }
+    
+    /**
+     * Cada linha já sai serializada como JSON compacto; flatMap limita as buscas simultâneas e emite fora de ordem
+     */
+    @PostMapping(value = "/proximos/lote", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> buscarHoteisProximosEmLote(@Valid @RequestBody BuscaHoteisLoteRequest request) {
+        log.info("Buscando hotéis próximos a {} CEPs em lote", request.getCeps().size());
+        hotelLoteService.validarTamanhoLote(request.getCeps());
+        
+        return Flux.fromIterable(request.getCeps())
+                .flatMap(cep -> hotelService.buscarHoteisProximosPorCep(cep, request.getLimite())
+                                .cast(Object.class)
+                                .onErrorResume(e -> Mono.just(HotelLoteService.criarErro(cep, e))),
+                        hotelLoteService.getParalelismo())
+                .map(serializadorNdjson::linha);
+    }
+    
+    @GetMapping(value = "/proximos/{cep}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> buscarHoteisProximosEmEtapas(
+            @PathVariable String cep,
+            @RequestParam(required = false, defaultValue = "5") Integer limite,
+            @RequestParam(required = false, defaultValue = "distancia") String ordenarPor) {
+        log.info("Buscando hotéis próximos ao CEP {} com eventos por etapa", cep);
+        return Mono.fromCallable(() -> CriterioOrdenacao.de(ordenarPor))
+                .flatMapMany(criterio -> hotelService.buscarHoteisProximosEmEtapas(cep, limite, criterio))
+                .onErrorResume(e -> {
+                    HttpStatus status = ApiExceptionHandler.resolverStatus(e);
+                    String mensagem = status == HttpStatus.INTERNAL_SERVER_ERROR ? "Erro interno no servidor" : e.getMessage();
+                    return Mono.just(EventoBuscaHoteis.of(EventoBuscaHoteis.ERRO, ApiErroResponse.of(status, mensagem)));
+                })
+                .map(evento -> ServerSentEvent.builder(evento.getDados()).event(evento.getTipo()).build());
+    }
+}
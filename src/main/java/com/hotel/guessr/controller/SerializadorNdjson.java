@@ -0,0 +1,48 @@
+package com.hotel.guessr.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serializa objetos como linhas NDJSON (um JSON compacto por linha), ignorando o indent-output global
+ */
+@Component
+class SerializadorNdjson {
+    
+    private static final byte[] QUEBRA_LINHA = "\n".getBytes(StandardCharsets.UTF_8);
+    
+    private final ObjectWriter writer;
+    
+    SerializadorNdjson(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+    
+    String linha(Object valor) {
+        try {
+            return writer.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar linha NDJSON", e);
+        }
+    }
+    
+    /**
+     * Escreve a linha e faz flush, para que o cliente receba cada resultado assim que fica pronto
+     */
+    void escrever(OutputStream saida, Object valor) {
+        try {
+            saida.write(writer.writeValueAsBytes(valor));
+            saida.write(QUEBRA_LINHA);
+            saida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.hotel.guessr.controller;
 
 import com.hotel.guessr.dto.ApiErroResponse;
+import com.hotel.guessr.dto.ConsultaCepLoteRequest;
+import com.hotel.guessr.dto.ConsultaCepLoteResponse;
 import com.hotel.guessr.dto.ConsultaCepResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -47,4 +49,23 @@ public interface SwaggerCepController {
         @Parameter(description = "CEP a ser consultado", required = true, example = "01310100")
         String cep
     );
+
+    @Operation(
+        summary = "Consulta vários CEPs em uma requisição",
+        description = "Normaliza e remove CEPs duplicados, consulta os que não estão em cache com concorrência limitada "
+            + "e registra todas as consultas em lote. Cada CEP recebe seu próprio resultado ou erro"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Ok (erros individuais vêm em cada item)",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ConsultaCepLoteResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Lote vazio ou acima do tamanho máximo",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiErroResponse.class))
+        )
+    })
+    ResponseEntity<ConsultaCepLoteResponse> consultarCepsEmLote(ConsultaCepLoteRequest request);
 }
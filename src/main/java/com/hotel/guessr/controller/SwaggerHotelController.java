@@ -1,6 +1,7 @@
 package com.hotel.guessr.controller;
 
 import com.hotel.guessr.dto.ApiErroResponse;
+import com.hotel.guessr.dto.BuscaHoteisLoteRequest;
 import com.hotel.guessr.dto.HoteisProximosResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,13 +11,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Hotéis", description = "Operações para busca de hotéis próximos")
 public interface SwaggerHotelController {
 
     @Operation(
         summary = "Busca hotéis próximos a um CEP",
-        description = "Endpoint que busca hotéis em um raio próximo ao CEP informado utilizando Google Places API"
+        description = "Endpoint que busca hotéis em um raio próximo ao CEP informado utilizando Google Places API, "
+            + "ordenados por distância (padrão), avaliação, avaliação ponderada pelo número de avaliações ou um score combinado"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -26,7 +30,7 @@ public interface SwaggerHotelController {
         ),
         @ApiResponse(
             responseCode = "400",
-            description = "CEP inválido ou não encontrado",
+            description = "CEP inválido ou não encontrado, ou critério de ordenação inválido",
             content = @Content(
                 mediaType = "application/json",
                 schema = @Schema(implementation = ApiErroResponse.class, example = "{\"apierro\": {\"timestamp\": \"2025-11-27T16:32:41.387Z\", \"status\": \"BAD_REQUEST\", \"codigoErro\": 400, \"mensagemDetalhada\": \"CEP inválido\"}}")
@@ -50,6 +54,50 @@ public interface SwaggerHotelController {
         @Parameter(description = "CEP de referência para busca", required = true, example = "01310100")
         String cep,
         @Parameter(description = "Limite de hotéis retornados", required = false, example = "5")
-        Integer limite
+        Integer limite,
+        @Parameter(description = "Critério de ordenação: distancia, avaliacao, avaliacao-ponderada ou combinado",
+            required = false, example = "distancia")
+        String ordenarPor
+    );
+
+    @Operation(
+        summary = "Busca hotéis próximos a vários CEPs (NDJSON)",
+        description = "Recebe uma lista de CEPs e devolve um objeto JSON por linha, à medida que cada busca termina (fora de ordem). "
+            + "Linhas de sucesso seguem HoteisProximosResponse; linhas de erro trazem cep, status e erro"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Ok (stream application/x-ndjson)",
+            content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = HoteisProximosResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Lote vazio ou acima do tamanho máximo",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiErroResponse.class))
+        )
+    })
+    ResponseEntity<StreamingResponseBody> buscarHoteisProximosEmLote(BuscaHoteisLoteRequest request);
+
+    @Operation(
+        summary = "Busca hotéis próximos a um CEP com eventos por etapa (SSE)",
+        description = "Envia eventos à medida que cada etapa conclui: endereco, coordenadas, um evento hotel por hotel "
+            + "encontrado e, por fim, resumo (mesmo conteúdo da busca individual). Em caso de falha envia um evento erro"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Ok (stream text/event-stream)",
+            content = @Content(mediaType = "text/event-stream")
+        )
+    })
+    SseEmitter buscarHoteisProximosEmEtapas(
+        @Parameter(description = "CEP de referência para busca", required = true, example = "01310100")
+        String cep,
+        @Parameter(description = "Limite de hotéis retornados", required = false, example = "5")
+        Integer limite,
+        @Parameter(description = "Critério de ordenação: distancia, avaliacao, avaliacao-ponderada ou combinado",
+            required = false, example = "distancia")
+        String ordenarPor
     );
 }
@@ -0,0 +1,29 @@
+package com.hotel.guessr.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para requisição de busca de hotéis próximos a vários CEPs
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "CEPs de referência para a busca de hotéis em lote")
+public class BuscaHoteisLoteRequest {
+    
+    @NotEmpty(message = "Informe ao menos um CEP")
+    @Schema(description = "CEPs de referência, nos formatos 00000000 ou 00000-000", example = "[\"01310100\", \"20040-020\"]")
+    private List<String> ceps;
+    
+    @Builder.Default
+    @Schema(description = "Limite de hotéis retornados por CEP", example = "5")
+    private Integer limite = 5;
+}
@@ -0,0 +1,25 @@
+package com.hotel.guessr.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para requisição de consulta de CEPs em lote
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Lista de CEPs a serem consultados em uma única requisição")
+public class ConsultaCepLoteRequest {
+    
+    @NotEmpty(message = "Informe ao menos um CEP")
+    @Schema(description = "CEPs a consultar, nos formatos 00000000 ou 00000-000", example = "[\"01310100\", \"20040-020\"]")
+    private List<String> ceps;
+}
@@ -0,0 +1,32 @@
+package com.hotel.guessr.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para resposta de consulta de CEPs em lote
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado da consulta em lote, um item por CEP distinto na ordem em que foram informados")
+public class ConsultaCepLoteResponse {
+    
+    @Schema(description = "Resultados por CEP")
+    private List<ItemConsultaCepLoteResponse> resultados;
+    
+    @Schema(description = "Quantidade de CEPs distintos processados", example = "2")
+    private Integer totalProcessado;
+    
+    @Schema(description = "Quantidade de CEPs encontrados", example = "1")
+    private Integer totalSucesso;
+    
+    @Schema(description = "Quantidade de CEPs com erro", example = "1")
+    private Integer totalErro;
+}
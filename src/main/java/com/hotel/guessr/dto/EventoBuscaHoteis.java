@@ -0,0 +1,37 @@
+package com.hotel.guessr.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Etapa concluída da busca de hotéis, enviada como evento SSE (o tipo vira o nome do evento)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Etapa concluída da busca de hotéis próximos")
+public class EventoBuscaHoteis {
+    
+    public static final String ENDERECO = "endereco";
+    public static final String COORDENADAS = "coordenadas";
+    public static final String HOTEL = "hotel";
+    public static final String RESUMO = "resumo";
+    public static final String ERRO = "erro";
+    
+    @Schema(description = "Tipo da etapa: endereco, coordenadas, hotel, resumo ou erro", example = "endereco")
+    private String tipo;
+    
+    @Schema(description = "Dados da etapa (ConsultaCepResponse, CoordenadasResponse, HotelResponse, HoteisProximosResponse ou ApiErroResponse)")
+    private Object dados;
+    
+    public static EventoBuscaHoteis of(String tipo, Object dados) {
+        return EventoBuscaHoteis.builder()
+                .tipo(tipo)
+                .dados(dados)
+                .build();
+    }
+}
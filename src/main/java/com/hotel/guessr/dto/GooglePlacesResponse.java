@@ -25,6 +25,9 @@ public class GooglePlacesResponse {
     @JsonProperty("error_message")
     private String errorMessage;
     
+    @JsonProperty("next_page_token")
+    private String nextPageToken;
+    
     @Data
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class PlaceResult {
@@ -27,7 +27,7 @@ public class HoteisProximosResponse {
     @Schema(description = "Estado do CEP consultado", example = "SP")
     private String uf;
     
-    @Schema(description = "Lista de hotéis encontrados ordenados por distância")
+    @Schema(description = "Lista de hotéis encontrados, ordenados pelo critério de ordenarPor (distância por padrão)")
     private List<HotelResponse> hoteis;
     
     @Schema(description = "Total de hotéis encontrados", example = "5")
@@ -0,0 +1,32 @@
+package com.hotel.guessr.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado da consulta de um CEP dentro de um lote: o endereço ou o erro daquele CEP
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Resultado individual de um CEP da consulta em lote")
+public class ItemConsultaCepLoteResponse {
+    
+    @Schema(description = "CEP normalizado (ou como informado, quando inválido)", example = "01310100")
+    private String cep;
+    
+    @Schema(description = "Status HTTP equivalente ao da consulta individual", example = "200")
+    private Integer status;
+    
+    @Schema(description = "Endereço encontrado, presente quando status é 200")
+    private ConsultaCepResponse endereco;
+    
+    @Schema(description = "Mensagem de erro, presente quando status não é 200", example = "CEP 99999999 não encontrado")
+    private String erro;
+}
@@ -0,0 +1,27 @@
+package com.hotel.guessr.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Linha de erro de um CEP dentro de uma busca em lote
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Erro individual de um CEP da busca em lote")
+public class ItemErroLoteResponse {
+    
+    @Schema(description = "CEP como informado na requisição", example = "99999999")
+    private String cep;
+    
+    @Schema(description = "Status HTTP equivalente ao da busca individual", example = "404")
+    private Integer status;
+    
+    @Schema(description = "Mensagem de erro", example = "CEP 99999999 não encontrado")
+    private String erro;
+}
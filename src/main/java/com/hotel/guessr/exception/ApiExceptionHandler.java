@@ -16,6 +16,28 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class ApiExceptionHandler {
     
+    /**
+     * Status HTTP de cada exceção de negócio, o mesmo dos handlers abaixo; usado também nos itens das consultas em lote
+     */
+    public static HttpStatus resolverStatus(Throwable ex) {
+        if (ex instanceof CepNaoEncontradoException || ex instanceof HotelNaoEncontradoException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (ex instanceof CepInvalidoException || ex instanceof IllegalArgumentException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (ex instanceof ErroConsultaExternaException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        if (ex instanceof ApiKeyInvalidaException) {
+            return HttpStatus.UNAUTHORIZED;
+        }
+        if (ex instanceof LimiteRequisicaoExcedidoException) {
+            return HttpStatus.TOO_MANY_REQUESTS;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+    
     @ExceptionHandler(CepNaoEncontradoException.class)
     public ResponseEntity<ApiErroResponse> handleCepNaoEncontrado(CepNaoEncontradoException ex) {
         log.warn("CEP não encontrado: {}", ex.getMessage());
@@ -0,0 +1,199 @@
+package com.hotel.guessr.geo;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Arquivo binário de centróides de CEP, ordenado pelo CEP como int e lido por memory-map. O layout é
+ * um cabeçalho de 16 bytes (assinatura, versão, total, reservado) seguido de três blocos contíguos:
+ * os CEPs (int), as latitudes (float) e as longitudes (float), 12 bytes por CEP. A busca é binária
+ * direto no arquivo mapeado: nada é convertido em objeto na abertura e nenhuma memória de heap é usada
+ * por CEP. Float guarda coordenadas brasileiras com erro abaixo de 1 metro.
+ */
+@Slf4j
+public final class ArquivoCentroidesCep {
+
+    private static final int ASSINATURA = 0x43455043; // "CEPC"
+    private static final int VERSAO = 1;
+    private static final int TAMANHO_CABECALHO = 16;
+
+    private final MappedByteBuffer conteudo;
+    private final int total;
+    private final int inicioLatitudes;
+    private final int inicioLongitudes;
+
+    private ArquivoCentroidesCep(MappedByteBuffer conteudo, int total) {
+        this.conteudo = conteudo;
+        this.total = total;
+        this.inicioLatitudes = TAMANHO_CABECALHO + total * Integer.BYTES;
+        this.inicioLongitudes = inicioLatitudes + total * Float.BYTES;
+    }
+
+    public static ArquivoCentroidesCep mapear(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanhoArquivo = canal.size();
+            if (tamanhoArquivo < TAMANHO_CABECALHO) {
+                throw new IOException("Arquivo de centróides truncado: " + arquivo);
+            }
+
+            // O mapeamento continua válido depois que o canal é fechado
+            MappedByteBuffer conteudo = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanhoArquivo);
+            if (conteudo.getInt(0) != ASSINATURA || conteudo.getInt(4) != VERSAO) {
+                throw new IOException("Arquivo de centróides com formato desconhecido: " + arquivo);
+            }
+
+            int total = conteudo.getInt(8);
+            if (total < 0 || tamanhoArquivo != TAMANHO_CABECALHO + (long) total * 12) {
+                throw new IOException("Arquivo de centróides com tamanho inconsistente: " + arquivo);
+            }
+            return new ArquivoCentroidesCep(conteudo, total);
+        }
+    }
+
+    public int tamanho() {
+        return total;
+    }
+
+    /**
+     * Posição do CEP no arquivo, ou -1 quando ele não está na base
+     */
+    public int localizar(int cep) {
+        int inicio = 0;
+        int fim = total - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            int atual = conteudo.getInt(TAMANHO_CABECALHO + meio * Integer.BYTES);
+            if (atual < cep) {
+                inicio = meio + 1;
+            } else if (atual > cep) {
+                fim = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -1;
+    }
+
+    public double latitude(int posicao) {
+        return conteudo.getFloat(inicioLatitudes + posicao * Float.BYTES);
+    }
+
+    public double longitude(int posicao) {
+        return conteudo.getFloat(inicioLongitudes + posicao * Float.BYTES);
+    }
+
+    /**
+     * Converte um CSV {@code cep,latitude,longitude} (separado por vírgula ou ponto e vírgula, com ou sem
+     * cabeçalho e hífen no CEP) para o formato binário. Linhas inválidas são ignoradas e, quando um CEP se
+     * repete, vale a última linha. O arquivo é gravado em um temporário e movido no final, para que um leitor
+     * nunca mapeie um arquivo pela metade.
+     *
+     * @return quantidade de CEPs gravados
+     */
+    public static int importar(Path csv, Path destino) throws IOException {
+        int[] ceps = new int[1024];
+        float[] latitudes = new float[1024];
+        float[] longitudes = new float[1024];
+        int lidos = 0;
+        int ignorados = 0;
+
+        try (BufferedReader leitor = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                String[] campos = linha.split("[,;]");
+                if (campos.length < 3) {
+                    ignorados += linha.isBlank() ? 0 : 1;
+                    continue;
+                }
+                try {
+                    int cep = converterCep(campos[0]);
+                    double latitude = Double.parseDouble(limpar(campos[1]));
+                    double longitude = Double.parseDouble(limpar(campos[2]));
+                    if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+                        ignorados++;
+                        continue;
+                    }
+                    if (lidos == ceps.length) {
+                        ceps = Arrays.copyOf(ceps, lidos * 2);
+                        latitudes = Arrays.copyOf(latitudes, lidos * 2);
+                        longitudes = Arrays.copyOf(longitudes, lidos * 2);
+                    }
+                    ceps[lidos] = cep;
+                    latitudes[lidos] = (float) latitude;
+                    longitudes[lidos] = (float) longitude;
+                    lidos++;
+                } catch (NumberFormatException e) {
+                    // Cabeçalho ou linha malformada
+                    ignorados++;
+                }
+            }
+        }
+
+        // CEP na parte alta e linha na parte baixa: ordenar os longs ordena por CEP e, no empate, pela linha
+        long[] ordem = new long[lidos];
+        for (int i = 0; i < lidos; i++) {
+            ordem[i] = ((long) ceps[i] << 32) | i;
+        }
+        Arrays.sort(ordem);
+
+        int[] posicoes = new int[lidos];
+        int total = 0;
+        for (int i = 0; i < lidos; i++) {
+            boolean ultimaDoCep = i + 1 == lidos || (ordem[i + 1] >>> 32) != (ordem[i] >>> 32);
+            if (ultimaDoCep) {
+                posicoes[total++] = (int) ordem[i];
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_CABECALHO + total * 12);
+        buffer.putInt(ASSINATURA).putInt(VERSAO).putInt(total).putInt(0);
+        for (int i = 0; i < total; i++) {
+            buffer.putInt(ceps[posicoes[i]]);
+        }
+        for (int i = 0; i < total; i++) {
+            buffer.putFloat(latitudes[posicoes[i]]);
+        }
+        for (int i = 0; i < total; i++) {
+            buffer.putFloat(longitudes[posicoes[i]]);
+        }
+        buffer.flip();
+
+        Path diretorio = destino.toAbsolutePath().getParent();
+        Files.createDirectories(diretorio);
+        Path temporario = Files.createTempFile(diretorio, "centroides-cep", ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            canal.force(false);
+        }
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.info("Centróides de CEP importados de {} para {}: {} CEPs, {} repetidos, {} linhas ignoradas",
+                csv, destino, total, lidos - total, ignorados);
+        return total;
+    }
+
+    private static int converterCep(String valor) {
+        String cep = limpar(valor).replace("-", "");
+        if (cep.length() != 8) {
+            throw new NumberFormatException(valor);
+        }
+        return Integer.parseInt(cep);
+    }
+
+    private static String limpar(String campo) {
+        return campo.replace("\"", "").trim();
+    }
+}
@@ -0,0 +1,251 @@
+package com.hotel.guessr.geo;
+
+import java.util.Arrays;
+
+/**
+ * Árvore k-d estática sobre as coordenadas projetadas na esfera unitária (x, y, z). A distância euclidiana
+ * entre dois pontos projetados (a corda) cresce junto com a distância sobre a superfície, então as buscas
+ * por vizinhos e por raio são exatas em qualquer latitude, sem a distorção de uma projeção plana.
+ * Os pontos ficam em arrays primitivos na ordem da árvore (nó = mediana do intervalo, eixo = profundidade % 3)
+ * e as buscas devolvem a posição original de cada ponto.
+ */
+public final class ArvoreKd {
+
+    public static final double RAIO_TERRA_METROS = 6_371_000;
+
+    private static final int[] VAZIO = new int[0];
+
+    private final double[][] eixos;
+    private final int[] posicoesOriginais;
+
+    private ArvoreKd(double[][] eixos, int[] posicoesOriginais) {
+        this.eixos = eixos;
+        this.posicoesOriginais = posicoesOriginais;
+    }
+
+    public static ArvoreKd construir(double[] latitudes, double[] longitudes) {
+        int tamanho = latitudes.length;
+        double[][] projetados = new double[3][tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            projetar(latitudes[i], longitudes[i], projetados, i);
+        }
+
+        int[] ordem = new int[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            ordem[i] = i;
+        }
+        particionar(ordem, projetados, 0, tamanho, 0);
+
+        double[][] eixos = new double[3][tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            eixos[0][i] = projetados[0][ordem[i]];
+            eixos[1][i] = projetados[1][ordem[i]];
+            eixos[2][i] = projetados[2][ordem[i]];
+        }
+        return new ArvoreKd(eixos, ordem);
+    }
+
+    public int tamanho() {
+        return posicoesOriginais.length;
+    }
+
+    /**
+     * Até {@code quantidade} pontos dentro do raio, do mais próximo para o mais distante
+     */
+    public int[] maisProximos(double latitude, double longitude, int quantidade, double raioMetros) {
+        if (quantidade <= 0 || tamanho() == 0) {
+            return VAZIO;
+        }
+        double[] consulta = projetar(latitude, longitude);
+        Vizinhos vizinhos = new Vizinhos(quantidade, cordaAoQuadrado(raioMetros));
+        buscarVizinhos(0, tamanho(), 0, consulta, vizinhos);
+        return vizinhos.posicoes();
+    }
+
+    /**
+     * Todos os pontos dentro do raio, sem ordem definida
+     */
+    public int[] dentroDoRaio(double latitude, double longitude, double raioMetros) {
+        if (tamanho() == 0) {
+            return VAZIO;
+        }
+        double[] consulta = projetar(latitude, longitude);
+        Encontrados encontrados = new Encontrados();
+        buscarNoRaio(0, tamanho(), 0, consulta, cordaAoQuadrado(raioMetros), encontrados);
+        return encontrados.posicoes();
+    }
+
+    private void buscarVizinhos(int inicio, int fim, int profundidade, double[] consulta, Vizinhos vizinhos) {
+        if (inicio >= fim) {
+            return;
+        }
+        int meio = (inicio + fim) >>> 1;
+        int eixo = profundidade % 3;
+
+        vizinhos.oferecer(posicoesOriginais[meio], distanciaAoQuadrado(meio, consulta));
+
+        double diferenca = consulta[eixo] - eixos[eixo][meio];
+        if (diferenca < 0) {
+            buscarVizinhos(inicio, meio, profundidade + 1, consulta, vizinhos);
+            if (diferenca * diferenca <= vizinhos.limite()) {
+                buscarVizinhos(meio + 1, fim, profundidade + 1, consulta, vizinhos);
+            }
+        } else {
+            buscarVizinhos(meio + 1, fim, profundidade + 1, consulta, vizinhos);
+            if (diferenca * diferenca <= vizinhos.limite()) {
+                buscarVizinhos(inicio, meio, profundidade + 1, consulta, vizinhos);
+            }
+        }
+    }
+
+    private void buscarNoRaio(int inicio, int fim, int profundidade, double[] consulta, double limite,
+                              Encontrados encontrados) {
+        if (inicio >= fim) {
+            return;
+        }
+        int meio = (inicio + fim) >>> 1;
+        int eixo = profundidade % 3;
+
+        if (distanciaAoQuadrado(meio, consulta) <= limite) {
+            encontrados.adicionar(posicoesOriginais[meio]);
+        }
+
+        double diferenca = consulta[eixo] - eixos[eixo][meio];
+        if (diferenca < 0 || diferenca * diferenca <= limite) {
+            buscarNoRaio(inicio, meio, profundidade + 1, consulta, limite, encontrados);
+        }
+        if (diferenca >= 0 || diferenca * diferenca <= limite) {
+            buscarNoRaio(meio + 1, fim, profundidade + 1, consulta, limite, encontrados);
+        }
+    }
+
+    private double distanciaAoQuadrado(int posicao, double[] consulta) {
+        double dx = eixos[0][posicao] - consulta[0];
+        double dy = eixos[1][posicao] - consulta[1];
+        double dz = eixos[2][posicao] - consulta[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Ordena o intervalo para que cada nó seja a mediana do seu eixo (quickselect recursivo por nível)
+     */
+    private static void particionar(int[] ordem, double[][] pontos, int inicio, int fim, int profundidade) {
+        if (fim - inicio <= 1) {
+            return;
+        }
+        int meio = (inicio + fim) >>> 1;
+        selecionar(ordem, pontos[profundidade % 3], inicio, fim - 1, meio);
+        particionar(ordem, pontos, inicio, meio, profundidade + 1);
+        particionar(ordem, pontos, meio + 1, fim, profundidade + 1);
+    }
+
+    private static void selecionar(int[] ordem, double[] chave, int esquerda, int direita, int alvo) {
+        while (esquerda < direita) {
+            double pivo = chave[ordem[(esquerda + direita) >>> 1]];
+            int i = esquerda;
+            int j = direita;
+            while (i <= j) {
+                while (chave[ordem[i]] < pivo) {
+                    i++;
+                }
+                while (chave[ordem[j]] > pivo) {
+                    j--;
+                }
+                if (i <= j) {
+                    int temporario = ordem[i];
+                    ordem[i] = ordem[j];
+                    ordem[j] = temporario;
+                    i++;
+                    j--;
+                }
+            }
+            if (alvo <= j) {
+                direita = j;
+            } else if (alvo >= i) {
+                esquerda = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static double[] projetar(double latitude, double longitude) {
+        double[][] ponto = new double[3][1];
+        projetar(latitude, longitude, ponto, 0);
+        return new double[] {ponto[0][0], ponto[1][0], ponto[2][0]};
+    }
+
+    private static void projetar(double latitude, double longitude, double[][] destino, int posicao) {
+        double lat = Math.toRadians(latitude);
+        double lng = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        destino[0][posicao] = cosLat * Math.cos(lng);
+        destino[1][posicao] = cosLat * Math.sin(lng);
+        destino[2][posicao] = Math.sin(lat);
+    }
+
+    /**
+     * Quadrado da corda na esfera unitária equivalente a uma distância sobre a superfície
+     */
+    private static double cordaAoQuadrado(double raioMetros) {
+        double angulo = Math.min(raioMetros / RAIO_TERRA_METROS, Math.PI);
+        double corda = 2 * Math.sin(angulo / 2);
+        return corda * corda;
+    }
+
+    /**
+     * Os k melhores candidatos em ordem crescente de distância (inserção ordenada; k é pequeno)
+     */
+    private static final class Vizinhos {
+
+        private final int[] posicoes;
+        private final double[] distancias;
+        private final double raioAoQuadrado;
+        private int total;
+
+        Vizinhos(int quantidade, double raioAoQuadrado) {
+            this.posicoes = new int[quantidade];
+            this.distancias = new double[quantidade];
+            this.raioAoQuadrado = raioAoQuadrado;
+        }
+
+        double limite() {
+            return total < posicoes.length ? raioAoQuadrado : Math.min(raioAoQuadrado, distancias[total - 1]);
+        }
+
+        void oferecer(int posicao, double distancia) {
+            if (distancia > limite() || (total == posicoes.length && distancia >= distancias[total - 1])) {
+                return;
+            }
+            int i = total < posicoes.length ? total++ : total - 1;
+            while (i > 0 && distancias[i - 1] > distancia) {
+                distancias[i] = distancias[i - 1];
+                posicoes[i] = posicoes[i - 1];
+                i--;
+            }
+            distancias[i] = distancia;
+            posicoes[i] = posicao;
+        }
+
+        int[] posicoes() {
+            return Arrays.copyOf(posicoes, total);
+        }
+    }
+
+    private static final class Encontrados {
+
+        private int[] posicoes = new int[16];
+        private int total;
+
+        void adicionar(int posicao) {
+            if (total == posicoes.length) {
+                posicoes = Arrays.copyOf(posicoes, total * 2);
+            }
+            posicoes[total++] = posicao;
+        }
+
+        int[] posicoes() {
+            return Arrays.copyOf(posicoes, total);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.hotel.guessr.geo;
+
+/**
+ * Distâncias de uma origem fixa até vários pontos, sobre arrays primitivos (latitudes e longitudes separadas).
+ * A trigonometria da origem é calculada uma vez e cada ponto custa um laço sem alocação nem boxing,
+ * o que permite ranquear centenas de candidatos do índice de hotéis de uma vez. A aproximação
+ * equirretangular dispensa seno/arco-tangente e serve para descartar candidatos antes do cálculo exato.
+ */
+public final class CalculadoraDistancias {
+
+    public static final double RAIO_TERRA_KM = 6371.0;
+
+    private static final double GRAUS_PARA_RADIANOS = Math.PI / 180.0;
+
+    private final double latitudeOrigem;
+    private final double longitudeOrigem;
+    private final double cosLatitudeOrigem;
+
+    public CalculadoraDistancias(double latitudeOrigem, double longitudeOrigem) {
+        this.latitudeOrigem = latitudeOrigem * GRAUS_PARA_RADIANOS;
+        this.longitudeOrigem = longitudeOrigem * GRAUS_PARA_RADIANOS;
+        this.cosLatitudeOrigem = Math.cos(this.latitudeOrigem);
+    }
+
+    /**
+     * Haversine da origem até cada um dos {@code total} primeiros pontos, em km
+     */
+    public void calcular(double[] latitudes, double[] longitudes, int total, double[] distanciasKm) {
+        for (int i = 0; i < total; i++) {
+            double latitude = latitudes[i] * GRAUS_PARA_RADIANOS;
+            double senoMeiaDLat = Math.sin((latitude - latitudeOrigem) * 0.5);
+            double senoMeiaDLng = Math.sin((longitudes[i] * GRAUS_PARA_RADIANOS - longitudeOrigem) * 0.5);
+            double a = senoMeiaDLat * senoMeiaDLat
+                    + cosLatitudeOrigem * Math.cos(latitude) * senoMeiaDLng * senoMeiaDLng;
+            distanciasKm[i] = 2 * RAIO_TERRA_KM * Math.asin(Math.sqrt(Math.min(1.0, a)));
+        }
+    }
+
+    /**
+     * Aproximação equirretangular em km: erro desprezível em escala urbana, crescente com a distância
+     */
+    public void aproximar(double[] latitudes, double[] longitudes, int total, double[] distanciasKm) {
+        for (int i = 0; i < total; i++) {
+            double latitude = latitudes[i] * GRAUS_PARA_RADIANOS;
+            double x = (longitudes[i] * GRAUS_PARA_RADIANOS - longitudeOrigem)
+                    * Math.cos((latitude + latitudeOrigem) * 0.5);
+            double y = latitude - latitudeOrigem;
+            distanciasKm[i] = RAIO_TERRA_KM * Math.sqrt(x * x + y * y);
+        }
+    }
+
+    /**
+     * Posições dos pontos possivelmente dentro do raio pela aproximação equirretangular, com folga
+     * de {@code margem} (0.01 = 1%) para não descartar pontos que o cálculo exato aceitaria
+     */
+    public int filtrarPorRaio(double[] latitudes, double[] longitudes, int total, double raioKm, double margem,
+                              int[] posicoes) {
+        double limite = raioKm * (1 + margem);
+        double limiteAoQuadrado = (limite / RAIO_TERRA_KM) * (limite / RAIO_TERRA_KM);
+        int encontrados = 0;
+        for (int i = 0; i < total; i++) {
+            double latitude = latitudes[i] * GRAUS_PARA_RADIANOS;
+            double x = (longitudes[i] * GRAUS_PARA_RADIANOS - longitudeOrigem)
+                    * Math.cos((latitude + latitudeOrigem) * 0.5);
+            double y = latitude - latitudeOrigem;
+            if (x * x + y * y <= limiteAoQuadrado) {
+                posicoes[encontrados++] = i;
+            }
+        }
+        return encontrados;
+    }
+
+    public double calcular(double latitude, double longitude) {
+        double latitudeRad = latitude * GRAUS_PARA_RADIANOS;
+        double senoMeiaDLat = Math.sin((latitudeRad - latitudeOrigem) * 0.5);
+        double senoMeiaDLng = Math.sin((longitude * GRAUS_PARA_RADIANOS - longitudeOrigem) * 0.5);
+        double a = senoMeiaDLat * senoMeiaDLat
+                + cosLatitudeOrigem * Math.cos(latitudeRad) * senoMeiaDLng * senoMeiaDLng;
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.sqrt(Math.min(1.0, a)));
+    }
+
+    public static double distanciaKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        return new CalculadoraDistancias(latitude1, longitude1).calcular(latitude2, longitude2);
+    }
+}
@@ -0,0 +1,59 @@
+package com.hotel.guessr.geo;
+
+/**
+ * Codificação geohash (base32) de coordenadas. Cada caractere a mais divide a célula por 32:
+ * precisão 5 ≈ 4,9 km x 4,9 km, precisão 6 ≈ 1,2 km x 0,6 km, precisão 7 ≈ 153 m x 153 m.
+ */
+public final class GeoHash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private GeoHash() {
+    }
+
+    public static String codificar(double latitude, double longitude, int precisao) {
+        if (precisao < 1 || precisao > 12) {
+            throw new IllegalArgumentException("Precisão do geohash deve estar entre 1 e 12");
+        }
+
+        double latMin = -90, latMax = 90;
+        double lngMin = -180, lngMax = 180;
+        char[] hash = new char[precisao];
+        boolean bitLongitude = true;
+        int bit = 0;
+        int caractere = 0;
+        int posicao = 0;
+
+        while (posicao < precisao) {
+            if (bitLongitude) {
+                double meio = (lngMin + lngMax) / 2;
+                if (longitude >= meio) {
+                    caractere = (caractere << 1) | 1;
+                    lngMin = meio;
+                } else {
+                    caractere <<= 1;
+                    lngMax = meio;
+                }
+            } else {
+                double meio = (latMin + latMax) / 2;
+                if (latitude >= meio) {
+                    caractere = (caractere << 1) | 1;
+                    latMin = meio;
+                } else {
+                    caractere <<= 1;
+                    latMax = meio;
+                }
+            }
+
+            bitLongitude = !bitLongitude;
+
+            if (++bit == 5) {
+                hash[posicao++] = BASE32[caractere];
+                bit = 0;
+                caractere = 0;
+            }
+        }
+
+        return new String(hash);
+    }
+}
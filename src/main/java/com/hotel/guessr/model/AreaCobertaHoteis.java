@@ -0,0 +1,39 @@
+package com.hotel.guessr.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.locationtech.jts.geom.Point;
+
+import java.time.LocalDateTime;
+
+/**
+ * Círculo de busca para o qual o Google Places devolveu todas as páginas: todos os hotéis dele estão na
+ * tabela hoteis, então buscas contidas nele podem ser respondidas pelo banco
+ */
+@Entity
+@Table(name = "areas_cobertas_hoteis")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AreaCobertaHoteis {
+    
+    @Id
+    @Column(updatable = false, nullable = false, length = 64)
+    private String chave;
+    
+    @JdbcTypeCode(SqlTypes.GEOGRAPHY)
+    @Column(nullable = false, columnDefinition = "geography(Point,4326)")
+    private Point centro;
+    
+    @Column(nullable = false)
+    private int raioMetros;
+    
+    @Column(nullable = false)
+    private LocalDateTime dataRegistro;
+}
@@ -4,24 +4,35 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "consultas_cep")
+@Table(name = "consultas_cep", indexes = {
+        @Index(name = "idx_consultas_cep_cep_data_consulta", columnList = "cep, data_consulta")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ConsultaCep {
+public class ConsultaCep implements Persistable<UUID> {
     
+    /**
+     * Atribuído pela aplicação (e não pelo banco) para que a consulta tenha identificador antes de ser
+     * gravada, permitindo gravação em lote sem um SELECT por registro
+     */
     @Id
-    @GeneratedValue(generator = "UUID")
     @Column(columnDefinition = "uuid", updatable = false, nullable = false)
     private UUID id;
     
@@ -59,10 +70,31 @@ public class ConsultaCep {
     @Column(nullable = false)
     private LocalDateTime dataConsulta;
     
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persistida;
+    
+    @Override
+    public boolean isNew() {
+        return !persistida;
+    }
+    
     @PrePersist
     protected void onCreate() {
+        if (id == null) {
+            id = UUID.randomUUID();
+        }
         if (dataConsulta == null) {
             dataConsulta = LocalDateTime.now();
         }
     }
+    
+    @PostPersist
+    @PostLoad
+    protected void marcarComoPersistida() {
+        persistida = true;
+    }
 }
@@ -0,0 +1,41 @@
+package com.hotel.guessr.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "coordenadas_cep")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoordenadaCep {
+    
+    @Id
+    @NotBlank(message = "CEP não pode ser vazio")
+    @Size(min = 8, max = 8, message = "CEP deve ter 8 dígitos")
+    @Column(length = 8, updatable = false, nullable = false)
+    private String cep;
+    
+    @Column(nullable = false)
+    private double latitude;
+    
+    @Column(nullable = false)
+    private double longitude;
+    
+    @Column(nullable = false)
+    private LocalDateTime dataAtualizacao;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        dataAtualizacao = LocalDateTime.now();
+    }
+}
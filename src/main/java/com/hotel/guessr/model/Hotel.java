@@ -0,0 +1,45 @@
+package com.hotel.guessr.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.locationtech.jts.geom.Point;
+
+import java.time.LocalDateTime;
+
+/**
+ * Hotel devolvido pelo Google Places, identificado pelo place_id. A localização é uma coluna geography
+ * do PostGIS com índice GiST (criado em db/postgis.sql), usada nas buscas por raio e por vizinhos mais próximos.
+ */
+@Entity
+@Table(name = "hoteis")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Hotel {
+    
+    @Id
+    @Column(name = "place_id", updatable = false, nullable = false)
+    private String placeId;
+    
+    @Column(nullable = false)
+    private String nome;
+    
+    private String endereco;
+    
+    private Double avaliacao;
+    
+    private Integer totalAvaliacoes;
+    
+    @JdbcTypeCode(SqlTypes.GEOGRAPHY)
+    @Column(nullable = false, columnDefinition = "geography(Point,4326)")
+    private Point localizacao;
+    
+    @Column(nullable = false)
+    private LocalDateTime dataAtualizacao;
+}
@@ -0,0 +1,94 @@
+package com.hotel.guessr.ranking;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Critérios aceitos em {@code ordenarPor}. Cada critério reduz um hotel a um custo primitivo (menor = melhor),
+ * para que o ranking compare números em vez de objetos; empates são decididos pela distância.
+ */
+public enum CriterioOrdenacao {
+
+    DISTANCIA("distancia") {
+        @Override
+        public double custo(double distanciaKm, double avaliacao, int totalAvaliacoes, double raioKm) {
+            return distanciaKm;
+        }
+    },
+
+    AVALIACAO("avaliacao") {
+        @Override
+        public double custo(double distanciaKm, double avaliacao, int totalAvaliacoes, double raioKm) {
+            return -avaliacao;
+        }
+    },
+
+    /**
+     * Média bayesiana: poucas avaliações puxam a nota para a média geral, então um 5.0 com 3 avaliações
+     * não passa na frente de um 4.7 com 2.000
+     */
+    AVALIACAO_PONDERADA("avaliacao-ponderada") {
+        @Override
+        public double custo(double distanciaKm, double avaliacao, int totalAvaliacoes, double raioKm) {
+            return -avaliacaoPonderada(avaliacao, totalAvaliacoes);
+        }
+    },
+
+    /**
+     * Avaliação ponderada e proximidade normalizadas entre 0 e 1 (a distância relativa ao raio da busca)
+     */
+    COMBINADO("combinado") {
+        @Override
+        public double custo(double distanciaKm, double avaliacao, int totalAvaliacoes, double raioKm) {
+            double nota = avaliacaoPonderada(avaliacao, totalAvaliacoes) / AVALIACAO_MAXIMA;
+            double proximidade = raioKm > 0 ? 1 - Math.min(distanciaKm / raioKm, 1.0) : 0;
+            return -(PESO_AVALIACAO * nota + (1 - PESO_AVALIACAO) * proximidade);
+        }
+    };
+
+    static final double AVALIACAO_MAXIMA = 5.0;
+    static final double AVALIACAO_MEDIA = 3.5;
+    static final int AVALIACOES_MINIMAS = 50;
+    static final double PESO_AVALIACAO = 0.6;
+
+    private final String codigo;
+
+    CriterioOrdenacao(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Custo do hotel neste critério; avaliação 0 e total 0 representam um hotel sem avaliações
+     */
+    public abstract double custo(double distanciaKm, double avaliacao, int totalAvaliacoes, double raioKm);
+
+    static double avaliacaoPonderada(double avaliacao, int totalAvaliacoes) {
+        double total = Math.max(totalAvaliacoes, 0);
+        return (total * avaliacao + AVALIACOES_MINIMAS * AVALIACAO_MEDIA) / (total + AVALIACOES_MINIMAS);
+    }
+
+    /**
+     * Aceita o código ("avaliacao-ponderada") ou o nome da constante, sem diferenciar maiúsculas;
+     * vazio ou nulo é distância
+     */
+    public static CriterioOrdenacao de(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return DISTANCIA;
+        }
+
+        String normalizado = valor.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+        for (CriterioOrdenacao criterio : values()) {
+            if (criterio.codigo.equals(normalizado)) {
+                return criterio;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("Critério de ordenação inválido: %s. Use %s", valor,
+                Arrays.stream(values()).map(CriterioOrdenacao::getCodigo).collect(Collectors.joining(", "))));
+    }
+}
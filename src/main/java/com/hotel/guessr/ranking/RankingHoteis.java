@@ -0,0 +1,98 @@
+package com.hotel.guessr.ranking;
+
+/**
+ * Seleção dos k melhores candidatos sem ordenar todos. Um heap binário de no máximo k posições guarda os
+ * melhores vistos até o momento com o pior deles na raiz: cada candidato é comparado só com a raiz e, quando
+ * entra, custa O(log k), então o ranking inteiro fica em O(n log k). No fim apenas os k escolhidos são
+ * ordenados, esvaziando o próprio heap. Empates no custo são decididos pela distância e depois pela ordem
+ * original, para que o resultado seja determinístico.
+ */
+public final class RankingHoteis {
+
+    private static final int[] VAZIO = new int[0];
+
+    private RankingHoteis() {
+    }
+
+    /**
+     * Posições dos {@code quantidade} melhores entre os {@code total} primeiros candidatos, do melhor para o pior
+     */
+    public static int[] melhores(double[] custos, double[] distancias, int total, int quantidade) {
+        int k = Math.min(quantidade, total);
+        if (k <= 0) {
+            return VAZIO;
+        }
+
+        int[] heap = new int[k];
+        int tamanho = 0;
+        for (int candidato = 0; candidato < total; candidato++) {
+            if (tamanho < k) {
+                heap[tamanho] = candidato;
+                subir(heap, tamanho++, custos, distancias);
+            } else if (antes(candidato, heap[0], custos, distancias)) {
+                heap[0] = candidato;
+                descer(heap, k, custos, distancias);
+            }
+        }
+
+        // A raiz é sempre o pior dos que restam: o resultado é preenchido do fim para o início
+        int[] ordem = new int[k];
+        for (int fim = k - 1; fim >= 0; fim--) {
+            ordem[fim] = heap[0];
+            heap[0] = heap[fim];
+            descer(heap, fim, custos, distancias);
+        }
+        return ordem;
+    }
+
+    /**
+     * Se o candidato {@code a} fica à frente de {@code b} no ranking
+     */
+    static boolean antes(int a, int b, double[] custos, double[] distancias) {
+        int comparacao = Double.compare(custos[a], custos[b]);
+        if (comparacao != 0) {
+            return comparacao < 0;
+        }
+        comparacao = Double.compare(distancias[a], distancias[b]);
+        if (comparacao != 0) {
+            return comparacao < 0;
+        }
+        return a < b;
+    }
+
+    private static void subir(int[] heap, int posicao, double[] custos, double[] distancias) {
+        int item = heap[posicao];
+        while (posicao > 0) {
+            int pai = (posicao - 1) >>> 1;
+            if (!antes(heap[pai], item, custos, distancias)) {
+                break;
+            }
+            heap[posicao] = heap[pai];
+            posicao = pai;
+        }
+        heap[posicao] = item;
+    }
+
+    private static void descer(int[] heap, int tamanho, double[] custos, double[] distancias) {
+        if (tamanho == 0) {
+            return;
+        }
+        int item = heap[0];
+        int posicao = 0;
+        while (true) {
+            int filho = 2 * posicao + 1;
+            if (filho >= tamanho) {
+                break;
+            }
+            if (filho + 1 < tamanho && antes(heap[filho], heap[filho + 1], custos, distancias)) {
+                filho++;
+            }
+            if (!antes(item, heap[filho], custos, distancias)) {
+                break;
+            }
+            heap[posicao] = heap[filho];
+            posicao = filho;
+        }
+        heap[posicao] = item;
+    }
+}
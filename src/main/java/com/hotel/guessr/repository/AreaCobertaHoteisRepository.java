@@ -0,0 +1,50 @@
+package com.hotel.guessr.repository;
+
+import com.hotel.guessr.model.AreaCobertaHoteis;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AreaCobertaHoteisRepository extends JpaRepository<AreaCobertaHoteis, String> {
+    
+    /**
+     * Se alguma área registrada após {@code limite} contém o círculo inteiro da busca: a distância entre os
+     * centros somada ao raio da busca não passa do raio da área
+     */
+    @Query(value = """
+            SELECT EXISTS (
+                SELECT 1 FROM areas_cobertas_hoteis a
+                WHERE a.data_registro > :limite
+                  AND a.raio_metros >= :raioMetros
+                  AND ST_DWithin(a.centro,
+                          CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography),
+                          a.raio_metros - :raioMetros)
+            )
+            """, nativeQuery = true)
+    boolean existeAreaCobrindo(@Param("latitude") double latitude,
+                               @Param("longitude") double longitude,
+                               @Param("raioMetros") int raioMetros,
+                               @Param("limite") LocalDateTime limite);
+    
+    @Modifying
+    @Query(value = """
+            INSERT INTO areas_cobertas_hoteis (chave, centro, raio_metros, data_registro)
+            VALUES (:chave, CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography),
+                    :raioMetros, :dataRegistro)
+            ON CONFLICT (chave) DO UPDATE SET data_registro = EXCLUDED.data_registro
+            """, nativeQuery = true)
+    void registrar(@Param("chave") String chave,
+                   @Param("latitude") double latitude,
+                   @Param("longitude") double longitude,
+                   @Param("raioMetros") int raioMetros,
+                   @Param("dataRegistro") LocalDateTime dataRegistro);
+    
+    @Modifying
+    @Query("DELETE FROM AreaCobertaHoteis a WHERE a.dataRegistro < :limite")
+    int removerRegistradasAntesDe(@Param("limite") LocalDateTime limite);
+}
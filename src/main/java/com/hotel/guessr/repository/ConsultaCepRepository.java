@@ -2,10 +2,31 @@ package com.hotel.guessr.repository;
 
 import com.hotel.guessr.model.ConsultaCep;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ConsultaCepRepository extends JpaRepository<ConsultaCep, UUID> {
+    
+    /**
+     * Consulta mais recente de um CEP registrada após o instante informado (usa o índice cep + data_consulta)
+     */
+    Optional<ConsultaCep> findFirstByCepAndDataConsultaAfterOrderByDataConsultaDesc(String cep, LocalDateTime limite);
+    
+    /**
+     * Consultas de vários CEPs registradas após o instante informado, para o read-through da consulta em lote
+     */
+    List<ConsultaCep> findByCepInAndDataConsultaAfter(Collection<String> ceps, LocalDateTime limite);
+    
+    /**
+     * CEPs distintos já confirmados pelo ViaCEP, para reconstruir o pré-filtro de CEPs
+     */
+    @Query("select distinct c.cep from ConsultaCep c where c.cep is not null")
+    List<String> findCepsDistintos();
 }
@@ -0,0 +1,9 @@
+package com.hotel.guessr.repository;
+
+import com.hotel.guessr.model.CoordenadaCep;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CoordenadaCepRepository extends JpaRepository<CoordenadaCep, String> {
+}
@@ -0,0 +1,80 @@
+package com.hotel.guessr.repository;
+
+import com.hotel.guessr.model.Hotel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HotelRepository extends JpaRepository<Hotel, String> {
+    
+    /**
+     * Até {@code quantidade} hotéis dentro do raio, do mais próximo para o mais distante. O ST_DWithin e o
+     * operador KNN {@code <->} usam o índice GiST da localização: o banco não calcula a distância de todos os hotéis.
+     */
+    @Query(value = """
+            SELECT * FROM hoteis h
+            WHERE ST_DWithin(h.localizacao,
+                    CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography), :raioMetros)
+            ORDER BY h.localizacao <-> CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography)
+            LIMIT :quantidade
+            """, nativeQuery = true)
+    List<Hotel> buscarMaisProximos(@Param("latitude") double latitude,
+                                   @Param("longitude") double longitude,
+                                   @Param("raioMetros") double raioMetros,
+                                   @Param("quantidade") int quantidade);
+    
+    /**
+     * Insere o hotel ou atualiza o existente com o mesmo place_id, em um único comando
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO hoteis (place_id, nome, endereco, avaliacao, total_avaliacoes, localizacao, data_atualizacao)
+            VALUES (:placeId, :nome, CAST(:endereco AS varchar), CAST(:avaliacao AS double precision),
+                    CAST(:totalAvaliacoes AS integer),
+                    CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography), :dataAtualizacao)
+            ON CONFLICT (place_id) DO UPDATE SET
+                nome = EXCLUDED.nome,
+                endereco = EXCLUDED.endereco,
+                avaliacao = EXCLUDED.avaliacao,
+                total_avaliacoes = EXCLUDED.total_avaliacoes,
+                localizacao = EXCLUDED.localizacao,
+                data_atualizacao = EXCLUDED.data_atualizacao
+            """, nativeQuery = true)
+    void salvarOuAtualizar(@Param("placeId") String placeId,
+                           @Param("nome") String nome,
+                           @Param("endereco") String endereco,
+                           @Param("avaliacao") Double avaliacao,
+                           @Param("totalAvaliacoes") Integer totalAvaliacoes,
+                           @Param("latitude") double latitude,
+                           @Param("longitude") double longitude,
+                           @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+    
+    /**
+     * Remove os hotéis do círculo que o Google não devolveu mais em uma busca completa da área
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM hoteis h
+            WHERE ST_DWithin(h.localizacao,
+                    CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography), :raioMetros)
+              AND h.place_id NOT IN (:placeIds)
+            """, nativeQuery = true)
+    int removerAusentesDaArea(@Param("latitude") double latitude,
+                              @Param("longitude") double longitude,
+                              @Param("raioMetros") double raioMetros,
+                              @Param("placeIds") Collection<String> placeIds);
+    
+    /**
+     * Remove hotéis não confirmados pelo Google desde o instante informado
+     */
+    @Modifying
+    @Query("DELETE FROM Hotel h WHERE h.dataAtualizacao < :limite")
+    int removerAtualizadosAntesDe(@Param("limite") LocalDateTime limite);
+}
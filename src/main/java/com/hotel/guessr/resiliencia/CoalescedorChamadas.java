@@ -0,0 +1,121 @@
+package com.hotel.guessr.resiliencia;
+
+import com.hotel.guessr.exception.ErroConsultaExternaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de chamadas concorrentes idênticas (single-flight): o primeiro chamador de uma chave
+ * executa a chamada externa e os demais aguardam o mesmo resultado, inclusive a mesma exceção.
+ */
+@Slf4j
+public class CoalescedorChamadas<K, V> {
+
+    private final String provedor;
+    private final Duration tempoMaximoEspera;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+
+    private final Counter executadas;
+    private final Counter coalescidas;
+
+    public CoalescedorChamadas(String provedor, Duration tempoMaximoEspera, MeterRegistry meterRegistry) {
+        this.provedor = provedor;
+        this.tempoMaximoEspera = tempoMaximoEspera;
+        this.executadas = Counter.builder("coalescing.calls")
+                .tag("provider", provedor).tag("outcome", "executed").register(meterRegistry);
+        this.coalescidas = Counter.builder("coalescing.calls")
+                .tag("provider", provedor).tag("outcome", "collapsed").register(meterRegistry);
+    }
+
+    public V executar(K chave, Supplier<V> chamada) {
+        CompletableFuture<V> chamadaPropria = new CompletableFuture<>();
+        CompletableFuture<V> chamadaExistente = emAndamento.putIfAbsent(chave, chamadaPropria);
+
+        if (chamadaExistente != null) {
+            coalescidas.increment();
+            log.debug("Aguardando chamada em andamento para {} ({})", chave, provedor);
+            return aguardar(chave, chamadaExistente);
+        }
+
+        executadas.increment();
+        try {
+            V resultado = chamada.get();
+            chamadaPropria.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            chamadaPropria.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, chamadaPropria);
+        }
+    }
+
+    /**
+     * Variante não bloqueante: devolve o futuro compartilhado da chamada em andamento ou inicia uma nova.
+     * A chave é liberada assim que a chamada termina, com sucesso ou erro.
+     */
+    public CompletableFuture<V> executarAssincrono(K chave, Supplier<CompletableFuture<V>> chamada) {
+        CompletableFuture<V> chamadaPropria = new CompletableFuture<>();
+        CompletableFuture<V> chamadaExistente = emAndamento.putIfAbsent(chave, chamadaPropria);
+
+        if (chamadaExistente != null) {
+            coalescidas.increment();
+            log.debug("Reaproveitando chamada em andamento para {} ({})", chave, provedor);
+            return chamadaExistente;
+        }
+
+        executadas.increment();
+        try {
+            chamada.get().whenComplete((resultado, erro) -> {
+                emAndamento.remove(chave, chamadaPropria);
+                if (erro instanceof CompletionException && erro.getCause() != null) {
+                    chamadaPropria.completeExceptionally(erro.getCause());
+                } else if (erro != null) {
+                    chamadaPropria.completeExceptionally(erro);
+                } else {
+                    chamadaPropria.complete(resultado);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            emAndamento.remove(chave, chamadaPropria);
+            chamadaPropria.completeExceptionally(e);
+        }
+        return chamadaPropria;
+    }
+
+    public int chamadasEmAndamento() {
+        return emAndamento.size();
+    }
+
+    private V aguardar(K chave, CompletableFuture<V> chamada) {
+        try {
+            return chamada.get(tempoMaximoEspera.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new ErroConsultaExternaException("Erro ao consultar " + provedor, causa);
+        } catch (TimeoutException e) {
+            log.warn("Tempo esgotado aguardando chamada em andamento para {} ({})", chave, provedor);
+            throw new ErroConsultaExternaException(
+                    String.format("Tempo esgotado aguardando resposta de %s", provedor), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ErroConsultaExternaException("Consulta interrompida aguardando " + provedor, e);
+        }
+    }
+}
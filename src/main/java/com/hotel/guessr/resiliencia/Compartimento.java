@@ -0,0 +1,138 @@
+package com.hotel.guessr.resiliencia;
+
+import com.hotel.guessr.exception.ErroConsultaExternaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead de um provedor externo: limita as chamadas simultâneas a ele, para que um provedor lento prenda no
+ * máximo essa quantidade de threads do Tomcat e não esgote as demais rotas. Sem permissão livre o chamador
+ * aguarda em uma fila limitada até o tempo máximo; fila cheia ou espera esgotada falham na hora com
+ * ErroConsultaExternaException (503).
+ */
+@Slf4j
+public class Compartimento {
+
+    private final String provedor;
+    private final Semaphore permissoes;
+    private final int maximoConcorrentes;
+    private final int maximoFila;
+    private final long tempoMaximoEsperaNanos;
+    private final AtomicInteger aguardando = new AtomicInteger();
+
+    private final Counter permitidas;
+    private final Counter rejeitadasFilaCheia;
+    private final Counter rejeitadasTempoEsgotado;
+
+    public Compartimento(String provedor, int maximoConcorrentes, int maximoFila, Duration tempoMaximoEspera,
+                         MeterRegistry meterRegistry) {
+        this.provedor = provedor;
+        this.maximoConcorrentes = maximoConcorrentes;
+        this.maximoFila = maximoFila;
+        this.permissoes = new Semaphore(maximoConcorrentes);
+        this.tempoMaximoEsperaNanos = tempoMaximoEspera.toNanos();
+
+        Gauge.builder("bulkhead.active", this, Compartimento::chamadasEmAndamento)
+                .tag("provider", provedor).register(meterRegistry);
+        Gauge.builder("bulkhead.queued", aguardando, AtomicInteger::get)
+                .tag("provider", provedor).register(meterRegistry);
+        this.permitidas = Counter.builder("bulkhead.calls")
+                .tag("provider", provedor).tag("outcome", "permitted").register(meterRegistry);
+        this.rejeitadasFilaCheia = Counter.builder("bulkhead.calls")
+                .tag("provider", provedor).tag("outcome", "rejected-queue-full").register(meterRegistry);
+        this.rejeitadasTempoEsgotado = Counter.builder("bulkhead.calls")
+                .tag("provider", provedor).tag("outcome", "rejected-timeout").register(meterRegistry);
+    }
+
+    public <T> T executar(Supplier<T> chamada) {
+        adquirirPermissao();
+        try {
+            return chamada.get();
+        } finally {
+            permissoes.release();
+        }
+    }
+
+    /**
+     * Variante não bloqueante: não há fila, sem permissão livre devolve um futuro já falho. A permissão
+     * é liberada quando o futuro completa.
+     */
+    public <T> CompletableFuture<T> executarAssincrono(Supplier<CompletableFuture<T>> chamada) {
+        if (!permissoes.tryAcquire()) {
+            rejeitadasFilaCheia.increment();
+            return CompletableFuture.failedFuture(sobrecarregado());
+        }
+        permitidas.increment();
+
+        CompletableFuture<T> futuro;
+        try {
+            futuro = chamada.get();
+        } catch (RuntimeException | Error e) {
+            permissoes.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return futuro.whenComplete((resultado, erro) -> permissoes.release());
+    }
+
+    /**
+     * Permissão sem fila nem espera, para chamadas opcionais que podem simplesmente não acontecer; a recusa não
+     * conta como rejeição. Quem obtém a permissão a devolve com {@link #liberar()}.
+     */
+    public boolean tentarAdquirir() {
+        if (!permissoes.tryAcquire()) {
+            return false;
+        }
+        permitidas.increment();
+        return true;
+    }
+
+    public void liberar() {
+        permissoes.release();
+    }
+
+    public int chamadasEmAndamento() {
+        return maximoConcorrentes - permissoes.availablePermits();
+    }
+
+    private void adquirirPermissao() {
+        if (permissoes.tryAcquire()) {
+            permitidas.increment();
+            return;
+        }
+
+        if (aguardando.incrementAndGet() > maximoFila) {
+            aguardando.decrementAndGet();
+            rejeitadasFilaCheia.increment();
+            log.warn("Bulkhead de {} cheio ({} em andamento, {} na fila)", provedor, maximoConcorrentes, maximoFila);
+            throw sobrecarregado();
+        }
+
+        try {
+            if (!permissoes.tryAcquire(tempoMaximoEsperaNanos, TimeUnit.NANOSECONDS)) {
+                rejeitadasTempoEsgotado.increment();
+                log.warn("Tempo esgotado aguardando vaga no bulkhead de {}", provedor);
+                throw sobrecarregado();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ErroConsultaExternaException("Consulta interrompida aguardando " + provedor, e);
+        } finally {
+            aguardando.decrementAndGet();
+        }
+        permitidas.increment();
+    }
+
+    private ErroConsultaExternaException sobrecarregado() {
+        return new ErroConsultaExternaException(
+                String.format("Serviço %s sobrecarregado, tente novamente em instantes", provedor));
+    }
+}
@@ -0,0 +1,246 @@
+package com.hotel.guessr.resiliencia;
+
+import com.hotel.guessr.exception.ErroConsultaExternaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker de um provedor externo. Uma janela deslizante com o resultado das últimas chamadas abre o
+ * circuito quando a taxa de falhas ou a de chamadas lentas passa do limite; aberto, toda chamada falha na hora
+ * com ErroConsultaExternaException, sem ocupar thread nem conexão. Depois da espera configurada algumas chamadas
+ * de teste (semiaberto) decidem se o circuito fecha ou volta a abrir.
+ */
+@Slf4j
+public class Disjuntor {
+
+    public enum Estado {
+        FECHADO, ABERTO, SEMIABERTO
+    }
+
+    /**
+     * Taxas em percentual (0-100)
+     */
+    public record Configuracao(boolean habilitado,
+                               int tamanhoJanela,
+                               int minimoChamadas,
+                               double taxaFalhasLimite,
+                               Duration duracaoChamadaLenta,
+                               double taxaChamadasLentasLimite,
+                               Duration esperaEmAberto,
+                               int chamadasSemiaberto) {
+    }
+
+    private final String provedor;
+    private final Configuracao configuracao;
+    private final Predicate<Throwable> falhaDoProvedor;
+    private final long duracaoChamadaLentaNanos;
+    private final long esperaEmAbertoNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] falhas;
+    private final boolean[] lentas;
+    private int posicao;
+    private int chamadasNaJanela;
+    private int falhasNaJanela;
+    private int lentasNaJanela;
+    private int permissoesSemiaberto;
+    private long abertoAte;
+
+    private volatile Estado estado = Estado.FECHADO;
+
+    private final Counter sucessos;
+    private final Counter falhasRegistradas;
+    private final Counter rejeitadas;
+    private final Counter chamadasLentas;
+
+    /**
+     * @param falhaDoProvedor decide quais exceções contam como falha do provedor; as demais (CEP inexistente,
+     *                        API key inválida) são respostas normais e contam como sucesso
+     */
+    public Disjuntor(String provedor, Configuracao configuracao, Predicate<Throwable> falhaDoProvedor,
+                     MeterRegistry meterRegistry) {
+        this.provedor = provedor;
+        this.configuracao = configuracao;
+        this.falhaDoProvedor = falhaDoProvedor;
+        this.duracaoChamadaLentaNanos = configuracao.duracaoChamadaLenta().toNanos();
+        this.esperaEmAbertoNanos = configuracao.esperaEmAberto().toNanos();
+        this.falhas = new boolean[Math.max(1, configuracao.tamanhoJanela())];
+        this.lentas = new boolean[falhas.length];
+
+        Gauge.builder("circuitbreaker.state", this, disjuntor -> disjuntor.estado.ordinal())
+                .description("0 = fechado, 1 = aberto, 2 = semiaberto")
+                .tag("provider", provedor)
+                .register(meterRegistry);
+        this.sucessos = Counter.builder("circuitbreaker.calls")
+                .tag("provider", provedor).tag("outcome", "success").register(meterRegistry);
+        this.falhasRegistradas = Counter.builder("circuitbreaker.calls")
+                .tag("provider", provedor).tag("outcome", "failure").register(meterRegistry);
+        this.rejeitadas = Counter.builder("circuitbreaker.calls")
+                .tag("provider", provedor).tag("outcome", "rejected").register(meterRegistry);
+        this.chamadasLentas = Counter.builder("circuitbreaker.slow.calls")
+                .tag("provider", provedor).register(meterRegistry);
+    }
+
+    public <T> T executar(Supplier<T> chamada) {
+        if (!configuracao.habilitado()) {
+            return chamada.get();
+        }
+
+        adquirirPermissao();
+        long inicio = System.nanoTime();
+        T resultado;
+        try {
+            resultado = chamada.get();
+        } catch (RuntimeException | Error e) {
+            registrar(System.nanoTime() - inicio, e);
+            throw e;
+        }
+        registrar(System.nanoTime() - inicio, null);
+        return resultado;
+    }
+
+    /**
+     * Variante não bloqueante: com o circuito aberto devolve um futuro já falho, e o resultado da chamada
+     * é registrado quando o futuro completa
+     */
+    public <T> CompletableFuture<T> executarAssincrono(Supplier<CompletableFuture<T>> chamada) {
+        if (!configuracao.habilitado()) {
+            return chamada.get();
+        }
+
+        try {
+            adquirirPermissao();
+        } catch (ErroConsultaExternaException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long inicio = System.nanoTime();
+        CompletableFuture<T> futuro;
+        try {
+            futuro = chamada.get();
+        } catch (RuntimeException | Error e) {
+            registrar(System.nanoTime() - inicio, e);
+            return CompletableFuture.failedFuture(e);
+        }
+        return futuro.whenComplete((resultado, erro) -> registrar(System.nanoTime() - inicio,
+                erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro));
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    /**
+     * Com o circuito fechado basta a leitura de um volatile; o lock só é usado aberto ou semiaberto
+     */
+    private void adquirirPermissao() {
+        if (estado == Estado.FECHADO) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (estado == Estado.ABERTO && System.nanoTime() - abertoAte >= 0) {
+                transitar(Estado.SEMIABERTO);
+                permissoesSemiaberto = configuracao.chamadasSemiaberto();
+            }
+            if (estado == Estado.FECHADO) {
+                return;
+            }
+            if (estado == Estado.SEMIABERTO && permissoesSemiaberto > 0) {
+                permissoesSemiaberto--;
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        rejeitadas.increment();
+        throw new ErroConsultaExternaException(
+                String.format("Serviço %s temporariamente indisponível (circuito aberto)", provedor));
+    }
+
+    private void registrar(long duracaoNanos, Throwable erro) {
+        boolean falha = erro != null && falhaDoProvedor.test(erro);
+        boolean lenta = duracaoNanos > duracaoChamadaLentaNanos;
+        (falha ? falhasRegistradas : sucessos).increment();
+        if (lenta) {
+            chamadasLentas.increment();
+        }
+
+        lock.lock();
+        try {
+            // resultado de uma chamada iniciada antes da abertura
+            if (estado == Estado.ABERTO) {
+                return;
+            }
+
+            adicionarNaJanela(falha, lenta);
+
+            if (estado == Estado.SEMIABERTO) {
+                if (chamadasNaJanela >= configuracao.chamadasSemiaberto()) {
+                    if (limiteExcedido()) {
+                        abrir();
+                    } else {
+                        limparJanela();
+                        transitar(Estado.FECHADO);
+                    }
+                }
+            } else if (chamadasNaJanela >= configuracao.minimoChamadas() && limiteExcedido()) {
+                abrir();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adicionarNaJanela(boolean falha, boolean lenta) {
+        if (chamadasNaJanela == falhas.length) {
+            falhasNaJanela -= falhas[posicao] ? 1 : 0;
+            lentasNaJanela -= lentas[posicao] ? 1 : 0;
+        } else {
+            chamadasNaJanela++;
+        }
+        falhas[posicao] = falha;
+        lentas[posicao] = lenta;
+        falhasNaJanela += falha ? 1 : 0;
+        lentasNaJanela += lenta ? 1 : 0;
+        posicao = (posicao + 1) % falhas.length;
+    }
+
+    private boolean limiteExcedido() {
+        return falhasNaJanela * 100.0 / chamadasNaJanela >= configuracao.taxaFalhasLimite()
+                || lentasNaJanela * 100.0 / chamadasNaJanela >= configuracao.taxaChamadasLentasLimite();
+    }
+
+    private void abrir() {
+        log.warn("Circuito de {} aberto por {}: {} falhas e {} chamadas lentas nas últimas {} chamadas",
+                provedor, configuracao.esperaEmAberto(), falhasNaJanela, lentasNaJanela, chamadasNaJanela);
+        abertoAte = System.nanoTime() + esperaEmAbertoNanos;
+        limparJanela();
+        transitar(Estado.ABERTO);
+    }
+
+    private void limparJanela() {
+        posicao = 0;
+        chamadasNaJanela = 0;
+        falhasNaJanela = 0;
+        lentasNaJanela = 0;
+    }
+
+    private void transitar(Estado novo) {
+        if (novo != Estado.ABERTO) {
+            log.info("Circuito de {}: {} -> {}", provedor, estado, novo);
+        }
+        estado = novo;
+    }
+}
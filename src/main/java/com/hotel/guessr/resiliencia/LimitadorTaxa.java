@@ -0,0 +1,227 @@
+package com.hotel.guessr.resiliencia;
+
+import com.hotel.guessr.exception.ErroConsultaExternaException;
+import com.hotel.guessr.exception.LimiteRequisicaoExcedidoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Token bucket local para a cota de uma API do Google: no máximo {@code qps} requisições por segundo, com
+ * rajadas de até {@code capacidade}, e um orçamento diário que zera à meia-noite do fuso da cota. O balde vive
+ * em um único AtomicLong com o instante em que ele volta a ficar cheio (GCRA), atualizado por CAS, sem lock.
+ * Sem token livre a requisição reserva o próximo e aguarda até a espera máxima; acima dela, ou com o orçamento
+ * do dia esgotado, falha na hora com LimiteRequisicaoExcedidoException (429) em vez de ir ao Google e receber
+ * OVER_QUERY_LIMIT.
+ */
+@Slf4j
+public class LimitadorTaxa {
+
+    private static final long SEM_LIMITE = Long.MAX_VALUE;
+
+    private final String provedor;
+    private final boolean habilitado;
+    private final double qps;
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final long orcamentoDiario;
+    private final long esperaMaximaNanos;
+    private final ZoneId fusoOrcamento;
+
+    /**
+     * Instante (System.nanoTime) a partir do qual o balde estaria cheio de novo
+     */
+    private final AtomicLong baldeCheioEm;
+
+    /**
+     * Dia (epochDay) nos 32 bits altos e requisições feitas no dia nos 32 bits baixos
+     */
+    private final AtomicLong consumoDiario = new AtomicLong();
+
+    private final Counter imediatas;
+    private final Counter aguardadas;
+    private final Counter rejeitadasPorTaxa;
+    private final Counter rejeitadasPorOrcamento;
+
+    /**
+     * @param orcamentoDiario requisições permitidas por dia; zero ou negativo desliga o orçamento diário
+     */
+    public LimitadorTaxa(String provedor, boolean habilitado, double qps, int capacidade, long orcamentoDiario,
+                         Duration esperaMaxima, ZoneId fusoOrcamento, MeterRegistry meterRegistry) {
+        this.provedor = provedor;
+        this.habilitado = habilitado;
+        this.qps = qps;
+        this.intervaloNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / qps));
+        this.toleranciaNanos = intervaloNanos * Math.max(1, capacidade);
+        this.orcamentoDiario = orcamentoDiario > 0 ? orcamentoDiario : SEM_LIMITE;
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.fusoOrcamento = fusoOrcamento;
+        this.baldeCheioEm = new AtomicLong(System.nanoTime());
+
+        Gauge.builder("ratelimiter.available.tokens", this, LimitadorTaxa::tokensDisponiveis)
+                .tag("provider", provedor).register(meterRegistry);
+        if (this.orcamentoDiario != SEM_LIMITE) {
+            Gauge.builder("ratelimiter.daily.remaining", this, LimitadorTaxa::orcamentoDiarioRestante)
+                    .tag("provider", provedor).register(meterRegistry);
+        }
+        this.imediatas = Counter.builder("ratelimiter.calls")
+                .tag("provider", provedor).tag("outcome", "permitted").register(meterRegistry);
+        this.aguardadas = Counter.builder("ratelimiter.calls")
+                .tag("provider", provedor).tag("outcome", "delayed").register(meterRegistry);
+        this.rejeitadasPorTaxa = Counter.builder("ratelimiter.calls")
+                .tag("provider", provedor).tag("outcome", "rejected-rate").register(meterRegistry);
+        this.rejeitadasPorOrcamento = Counter.builder("ratelimiter.calls")
+                .tag("provider", provedor).tag("outcome", "rejected-daily-budget").register(meterRegistry);
+    }
+
+    public <T> T executar(Supplier<T> chamada) {
+        adquirir();
+        return chamada.get();
+    }
+
+    /**
+     * Variante não bloqueante: a espera pelo token é agendada (delayedExecutor), sem thread parada
+     */
+    public <T> CompletableFuture<T> executarAssincrono(Supplier<CompletableFuture<T>> chamada) {
+        if (!habilitado) {
+            return chamada.get();
+        }
+
+        long espera;
+        try {
+            espera = reservar();
+        } catch (LimiteRequisicaoExcedidoException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (espera == 0) {
+            return chamada.get();
+        }
+        return CompletableFuture
+                .runAsync(() -> { }, CompletableFuture.delayedExecutor(espera, TimeUnit.NANOSECONDS))
+                .thenCompose(ignorado -> chamada.get());
+    }
+
+    /**
+     * Consome um token, aguardando por ele no máximo a espera configurada
+     */
+    public void adquirir() {
+        if (!habilitado) {
+            return;
+        }
+
+        long espera = reservar();
+        if (espera > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(espera);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ErroConsultaExternaException("Consulta interrompida aguardando cota de " + provedor, e);
+            }
+        }
+    }
+
+    public long tokensDisponiveis() {
+        long agora = System.nanoTime();
+        long cheioEm = baldeCheioEm.get();
+        long faltando = cheioEm - agora > 0 ? cheioEm - agora : 0;
+        return Math.max(0, (toleranciaNanos - faltando) / intervaloNanos);
+    }
+
+    /**
+     * Requisições que ainda cabem no orçamento de hoje; Long.MAX_VALUE quando não há orçamento diário
+     */
+    public long orcamentoDiarioRestante() {
+        if (orcamentoDiario == SEM_LIMITE) {
+            return SEM_LIMITE;
+        }
+        long atual = consumoDiario.get();
+        long usadas = (atual >>> 32) == hoje() ? atual & 0xFFFFFFFFL : 0;
+        return Math.max(0, orcamentoDiario - usadas);
+    }
+
+    /**
+     * Consome o orçamento do dia e reserva o próximo token, devolvendo a espera em nanossegundos até ele
+     */
+    private long reservar() {
+        if (!consumirOrcamentoDiario()) {
+            rejeitadasPorOrcamento.increment();
+            log.warn("Orçamento diário de {} requisições ao {} esgotado", orcamentoDiario, provedor);
+            throw new LimiteRequisicaoExcedidoException(
+                    String.format("Orçamento diário de requisições ao %s esgotado", provedor));
+        }
+
+        long espera = reservarToken();
+        if (espera < 0) {
+            devolverOrcamentoDiario();
+            rejeitadasPorTaxa.increment();
+            throw new LimiteRequisicaoExcedidoException(
+                    String.format("Limite local de %.0f requisições por segundo ao %s atingido", qps, provedor));
+        }
+
+        (espera > 0 ? aguardadas : imediatas).increment();
+        return espera;
+    }
+
+    /**
+     * Cada token empurra o instante de balde cheio um intervalo adiante; enquanto ele estiver a menos de
+     * uma capacidade de distância há token livre, senão a diferença é a espera pelo próximo
+     */
+    private long reservarToken() {
+        while (true) {
+            long agora = System.nanoTime();
+            long cheioEm = baldeCheioEm.get();
+            long novoCheioEm = (cheioEm - agora > 0 ? cheioEm : agora) + intervaloNanos;
+            long espera = novoCheioEm - agora - toleranciaNanos;
+
+            if (espera > esperaMaximaNanos) {
+                return -1;
+            }
+            if (baldeCheioEm.compareAndSet(cheioEm, novoCheioEm)) {
+                return Math.max(0, espera);
+            }
+        }
+    }
+
+    private boolean consumirOrcamentoDiario() {
+        if (orcamentoDiario == SEM_LIMITE) {
+            return true;
+        }
+
+        long hoje = hoje();
+        while (true) {
+            long atual = consumoDiario.get();
+            long usadas = (atual >>> 32) == hoje ? atual & 0xFFFFFFFFL : 0;
+            if (usadas >= orcamentoDiario) {
+                return false;
+            }
+            if (consumoDiario.compareAndSet(atual, (hoje << 32) | (usadas + 1))) {
+                return true;
+            }
+        }
+    }
+
+    private void devolverOrcamentoDiario() {
+        if (orcamentoDiario == SEM_LIMITE) {
+            return;
+        }
+
+        long atual = consumoDiario.get();
+        while ((atual & 0xFFFFFFFFL) > 0 && !consumoDiario.compareAndSet(atual, atual - 1)) {
+            atual = consumoDiario.get();
+        }
+    }
+
+    private long hoje() {
+        return LocalDate.now(fusoOrcamento).toEpochDay();
+    }
+}
@@ -0,0 +1,312 @@
+package com.hotel.guessr.resiliencia;
+
+import com.hotel.guessr.exception.ErroConsultaExternaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Hedging de requisições a um provedor externo: se a primeira requisição não responde até o percentil
+ * configurado (p95) das latências recentes, uma segunda idêntica é disparada e vale a que responder primeiro;
+ * a outra é cancelada. Cada chamada acumula uma fração de crédito (a taxa do orçamento) e cada requisição extra
+ * gasta um crédito inteiro, então a carga extra fica limitada a essa taxa mesmo com o provedor todo lento.
+ * Até haver amostras suficientes para o percentil nenhuma requisição extra é disparada. Com um bulkhead, a
+ * requisição extra ocupa uma permissão própria do início ao fim da execução (cancelar não interrompe uma leitura
+ * bloqueante de socket), e sem permissão livre não é disparada.
+ */
+@Slf4j
+public class RequisicaoEspeculativa {
+
+    private static final long CREDITO = 1000;
+    private static final int AMOSTRAS_ENTRE_RECALCULOS = 16;
+    private static final long SEM_ATRASO_CALCULADO = -1;
+
+    private final String provedor;
+    private final boolean habilitado;
+    private final double percentil;
+    private final long atrasoMinimoNanos;
+    private final int minimoAmostras;
+    private final long creditoPorChamada;
+    private final long creditoMaximo;
+    private final ExecutorService executor;
+    private final Compartimento compartimento;
+
+    /**
+     * Latências (ns) das requisições concluídas, em buffer circular
+     */
+    private final AtomicLongArray amostras;
+    private final AtomicLong proximaAmostra = new AtomicLong();
+
+    /**
+     * Espera antes da requisição extra: o percentil das amostras, nunca abaixo do atraso mínimo
+     */
+    private volatile long atrasoNanos = SEM_ATRASO_CALCULADO;
+
+    /**
+     * Orçamento de requisições extras, em milésimos de requisição
+     */
+    private final AtomicLong creditos = new AtomicLong();
+
+    private final Counter disparadas;
+    private final Counter vencedoras;
+    private final Counter semOrcamento;
+    private final Counter semPermissao;
+
+    /**
+     * @param percentil       entre 0 e 1, por exemplo 0.95 para o p95
+     * @param taxaOrcamento   fração das chamadas que pode ganhar uma requisição extra, por exemplo 0.05
+     * @param rajadaOrcamento requisições extras acumuláveis enquanto o provedor está rápido
+     * @param compartimento   bulkhead do provedor de onde sai a permissão da requisição extra, ou null
+     */
+    public RequisicaoEspeculativa(String provedor, boolean habilitado, double percentil, Duration atrasoMinimo,
+                                  int janela, int minimoAmostras, double taxaOrcamento, int rajadaOrcamento,
+                                  ExecutorService executor, Compartimento compartimento,
+                                  MeterRegistry meterRegistry) {
+        this.provedor = provedor;
+        this.habilitado = habilitado;
+        this.percentil = Math.min(1, Math.max(0, percentil));
+        this.atrasoMinimoNanos = atrasoMinimo.toNanos();
+        this.amostras = new AtomicLongArray(Math.max(1, janela));
+        this.minimoAmostras = Math.max(1, Math.min(minimoAmostras, amostras.length()));
+        this.creditoPorChamada = Math.round(Math.max(0, taxaOrcamento) * CREDITO);
+        this.creditoMaximo = Math.max(1, rajadaOrcamento) * CREDITO;
+        this.executor = executor;
+        this.compartimento = compartimento;
+
+        Gauge.builder("hedging.delay", this, r -> r.atrasoNanos < 0 ? Double.NaN : r.atrasoNanos / 1e6)
+                .tag("provider", provedor).baseUnit("milliseconds").register(meterRegistry);
+        this.disparadas = Counter.builder("hedging.requests")
+                .tag("provider", provedor).tag("outcome", "hedged").register(meterRegistry);
+        this.vencedoras = Counter.builder("hedging.requests")
+                .tag("provider", provedor).tag("outcome", "hedge-won").register(meterRegistry);
+        this.semOrcamento = Counter.builder("hedging.requests")
+                .tag("provider", provedor).tag("outcome", "skipped-budget").register(meterRegistry);
+        this.semPermissao = Counter.builder("hedging.requests")
+                .tag("provider", provedor).tag("outcome", "skipped-bulkhead").register(meterRegistry);
+    }
+
+    /**
+     * Executa a chamada em uma thread do executor e aguarda o resultado; passado o atraso sem resposta, e com
+     * orçamento, dispara a mesma chamada de novo. Vale o primeiro resultado; uma falha só é propagada quando
+     * não há outra requisição em andamento. Com o executor sem thread livre a chamada roda na própria thread,
+     * sem hedging.
+     */
+    public <T> T executar(Supplier<T> chamada) {
+        if (!habilitado) {
+            return chamada.get();
+        }
+
+        acumularCredito();
+        Corrida<T> corrida = new Corrida<>();
+
+        Future<?> principal;
+        try {
+            principal = disparar(chamada, corrida, false);
+        } catch (RejectedExecutionException e) {
+            return chamada.get();
+        }
+
+        Future<?> extra = null;
+        try {
+            long atraso = atrasoNanos;
+            if (atraso != SEM_ATRASO_CALCULADO) {
+                try {
+                    return corrida.resultado.get(atraso, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    extra = dispararExtra(chamada, corrida);
+                }
+            }
+            return corrida.resultado.get();
+        } catch (ExecutionException e) {
+            throw propagar(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ErroConsultaExternaException("Consulta interrompida aguardando " + provedor, e);
+        } finally {
+            cancelar(principal);
+            cancelar(extra);
+            if (extra != null) {
+                liberarExtraNaoIniciada(corrida);
+            }
+        }
+    }
+
+    /**
+     * Espera atual antes da requisição extra, em milissegundos; negativo enquanto faltam amostras
+     */
+    public long atrasoAtualMillis() {
+        long atraso = atrasoNanos;
+        return atraso < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(atraso);
+    }
+
+    private <T> Future<?> dispararExtra(Supplier<T> chamada, Corrida<T> corrida) {
+        if (!consumirCredito()) {
+            semOrcamento.increment();
+            return null;
+        }
+        if (compartimento != null && !compartimento.tentarAdquirir()) {
+            semPermissao.increment();
+            creditos.addAndGet(CREDITO);
+            return null;
+        }
+
+        corrida.pendentes.incrementAndGet();
+        try {
+            Future<?> extra = disparar(chamada, corrida, true);
+            disparadas.increment();
+            log.debug("Requisição extra ao {} após {} ms sem resposta", provedor, atrasoAtualMillis());
+            return extra;
+        } catch (RejectedExecutionException e) {
+            corrida.desistir();
+            liberarPermissao();
+            creditos.addAndGet(CREDITO);
+            return null;
+        }
+    }
+
+    private <T> Future<?> disparar(Supplier<T> chamada, Corrida<T> corrida, boolean extra) {
+        if (!extra) {
+            return executor.submit(() -> executarRequisicao(chamada, corrida, false));
+        }
+        return executor.submit(() -> {
+            // cancelada antes de começar, a permissão já foi devolvida por quem cancelou
+            if (!corrida.extraReivindicada.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executarRequisicao(chamada, corrida, true);
+            } finally {
+                liberarPermissao();
+            }
+        });
+    }
+
+    private <T> void executarRequisicao(Supplier<T> chamada, Corrida<T> corrida, boolean extra) {
+        long inicio = System.nanoTime();
+        T valor;
+        try {
+            valor = chamada.get();
+        } catch (RuntimeException | Error e) {
+            if (!Thread.currentThread().isInterrupted()) {
+                registrarLatencia(System.nanoTime() - inicio);
+            }
+            corrida.falhar(e);
+            return;
+        }
+        registrarLatencia(System.nanoTime() - inicio);
+        if (corrida.resultado.complete(valor) && extra) {
+            vencedoras.increment();
+        }
+    }
+
+    /**
+     * A requisição extra que ainda não começou não vai mais rodar: a permissão dela volta ao bulkhead aqui
+     */
+    private void liberarExtraNaoIniciada(Corrida<?> corrida) {
+        if (corrida.extraReivindicada.compareAndSet(false, true)) {
+            liberarPermissao();
+        }
+    }
+
+    private void liberarPermissao() {
+        if (compartimento != null) {
+            compartimento.liberar();
+        }
+    }
+
+    private static void cancelar(Future<?> requisicao) {
+        if (requisicao != null && !requisicao.isDone()) {
+            requisicao.cancel(true);
+        }
+    }
+
+    private static RuntimeException propagar(Throwable erro) {
+        if (erro instanceof RuntimeException excecao) {
+            return excecao;
+        }
+        if (erro instanceof Error falha) {
+            throw falha;
+        }
+        return new ErroConsultaExternaException("Erro na consulta especulativa", erro);
+    }
+
+    /**
+     * Registra a latência e, a cada poucas amostras, recalcula o percentil sobre uma cópia ordenada da janela
+     */
+    private void registrarLatencia(long nanos) {
+        long total = proximaAmostra.incrementAndGet();
+        amostras.set((int) ((total - 1) % amostras.length()), nanos);
+
+        if (total == minimoAmostras || total > minimoAmostras && total % AMOSTRAS_ENTRE_RECALCULOS == 0) {
+            recalcularAtraso((int) Math.min(total, amostras.length()));
+        }
+    }
+
+    private void recalcularAtraso(int preenchidas) {
+        long[] ordenadas = new long[preenchidas];
+        for (int i = 0; i < preenchidas; i++) {
+            ordenadas[i] = amostras.get(i);
+        }
+        Arrays.sort(ordenadas);
+        int posicao = Math.max(0, (int) Math.ceil(percentil * preenchidas) - 1);
+        atrasoNanos = Math.max(atrasoMinimoNanos, ordenadas[posicao]);
+    }
+
+    private void acumularCredito() {
+        long atual = creditos.get();
+        while (atual < creditoMaximo
+                && !creditos.compareAndSet(atual, Math.min(creditoMaximo, atual + creditoPorChamada))) {
+            atual = creditos.get();
+        }
+    }
+
+    private boolean consumirCredito() {
+        long atual = creditos.get();
+        while (atual >= CREDITO) {
+            if (creditos.compareAndSet(atual, atual - CREDITO)) {
+                return true;
+            }
+            atual = creditos.get();
+        }
+        return false;
+    }
+
+    /**
+     * Requisições de uma mesma chamada: o primeiro valor completa o resultado, e a falha só o completa
+     * quando nenhuma outra requisição ainda pode responder
+     */
+    private static final class Corrida<T> {
+
+        private final CompletableFuture<T> resultado = new CompletableFuture<>();
+        private final AtomicInteger pendentes = new AtomicInteger(1);
+        private final AtomicBoolean extraReivindicada = new AtomicBoolean();
+        private volatile Throwable ultimaFalha;
+
+        private void falhar(Throwable erro) {
+            ultimaFalha = erro;
+            desistir();
+        }
+
+        private void desistir() {
+            if (pendentes.decrementAndGet() == 0) {
+                resultado.completeExceptionally(ultimaFalha);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.cache.IndiceHoteis;
+import com.hotel.guessr.dto.CoordenadasResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Atualização em segundo plano do índice e da base de hotéis: descarta lugares que o Google não confirma há muito
+ * tempo e refaz no Google, poucas por vez, as buscas das áreas cobertas mais antigas, para que continuem
+ * sendo respondidas localmente com dados recentes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AtualizadorIndiceHoteis {
+
+    private final IndiceHoteis indiceHoteis;
+    private final GooglePlacesService googlePlacesService;
+    private final PersistenciaHoteis persistenciaHoteis;
+
+    @Value("${google.places.index.refresh-after:3d}")
+    private Duration atualizarApos;
+
+    @Value("${google.places.index.refresh-batch:5}")
+    private int areasPorExecucao;
+
+    @Value("${google.places.index.entry-ttl:30d}")
+    private Duration validadeLugar;
+
+    @Scheduled(fixedDelayString = "${google.places.index.refresh-interval:10m}",
+            initialDelayString = "${google.places.index.refresh-interval:10m}")
+    public void atualizarAreasAntigas() {
+        persistenciaHoteis.removerDesatualizados(validadeLugar);
+
+        if (!indiceHoteis.isHabilitado()) {
+            return;
+        }
+
+        indiceHoteis.removerDesatualizados(validadeLugar);
+
+        for (IndiceHoteis.AreaCoberta area : indiceHoteis.areasParaAtualizar(atualizarApos, areasPorExecucao)) {
+            CoordenadasResponse centro = CoordenadasResponse.builder()
+                    .latitude(area.getLatitude())
+                    .longitude(area.getLongitude())
+                    .build();
+            try {
+                googlePlacesService.recarregarArea(centro, area.getRaioMetros());
+                log.debug("Área coberta {},{} ({} m) atualizada no índice de hotéis",
+                        area.getLatitude(), area.getLongitude(), area.getRaioMetros());
+            } catch (RuntimeException e) {
+                log.warn("Não foi possível atualizar a área {},{} ({} m) do índice de hotéis: {}",
+                        area.getLatitude(), area.getLongitude(), area.getRaioMetros(), e.getMessage());
+                return;
+            }
+        }
+    }
+}
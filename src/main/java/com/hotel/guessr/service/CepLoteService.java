@@ -0,0 +1,193 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.cache.CepCache;
+import com.hotel.guessr.cache.FiltroCep;
+import com.hotel.guessr.config.ExecutorConfig;
+import com.hotel.guessr.dto.CepApiResponse;
+import com.hotel.guessr.dto.ConsultaCepLoteResponse;
+import com.hotel.guessr.dto.ConsultaCepResponse;
+import com.hotel.guessr.dto.ItemConsultaCepLoteResponse;
+import com.hotel.guessr.exception.ApiExceptionHandler;
+import com.hotel.guessr.exception.CepInvalidoException;
+import com.hotel.guessr.exception.CepNaoEncontradoException;
+import com.hotel.guessr.exception.ErroConsultaExternaException;
+import com.hotel.guessr.model.ConsultaCep;
+import com.hotel.guessr.resiliencia.CoalescedorChamadas;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Consulta de vários CEPs em uma requisição: normaliza e remove duplicados, responde os que estão em cache,
+ * resolve os demais no banco (uma consulta) e no ViaCEP com concorrência limitada, e grava todas as novas
+ * consultas em um único lote. Cada CEP recebe seu próprio resultado ou erro.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CepLoteService {
+
+    private final CepService cepService;
+    private final CepCache cepCache;
+    private final FiltroCep filtroCep;
+    private final CoalescedorChamadas<String, CepApiResponse> coalescedorViaCep;
+
+    @Qualifier(ExecutorConfig.EXECUTOR_CONSULTAS_EXTERNAS)
+    private final ExecutorService executorConsultasExternas;
+
+    @Value("${cep.lote.max-size:500}")
+    private int tamanhoMaximoLote;
+
+    @Value("${cep.lote.concurrency:8}")
+    private int concorrenciaMaxima;
+
+    public ConsultaCepLoteResponse consultarLote(List<String> ceps) {
+        if (ceps.size() > tamanhoMaximoLote) {
+            throw new IllegalArgumentException(
+                    String.format("O lote aceita no máximo %d CEPs (recebidos: %d)", tamanhoMaximoLote, ceps.size()));
+        }
+
+        log.info("Iniciando consulta de {} CEPs em lote", ceps.size());
+
+        Set<String> ordem = new LinkedHashSet<>();
+        Map<String, ItemConsultaCepLoteResponse> resultados = new HashMap<>();
+        Map<String, CepApiResponse> enderecos = new LinkedHashMap<>();
+        List<String> pendentes = new ArrayList<>();
+
+        for (String cep : ceps) {
+            String cepNormalizado;
+            try {
+                cepNormalizado = CepNormalizador.validarENormalizar(cep);
+            } catch (CepInvalidoException e) {
+                String chave = Objects.toString(cep, "");
+                if (ordem.add(chave)) {
+                    resultados.put(chave, criarErro(chave, e));
+                }
+                continue;
+            }
+
+            if (!ordem.add(cepNormalizado)) {
+                continue;
+            }
+
+            if (filtroCep.descartar(cepNormalizado)) {
+                resultados.put(cepNormalizado, criarErro(cepNormalizado, new CepNaoEncontradoException(cepNormalizado)));
+                continue;
+            }
+
+            cepCache.buscar(cepNormalizado).ifPresentOrElse(
+                    endereco -> enderecos.put(cepNormalizado, endereco),
+                    () -> pendentes.add(cepNormalizado));
+        }
+
+        cepService.buscarConsultasRecentesNoBanco(pendentes).forEach((cep, consulta) -> {
+            CepApiResponse endereco = cepService.converterParaApiResponse(consulta);
+            cepCache.armazenar(cep, endereco);
+            enderecos.put(cep, endereco);
+            pendentes.remove(cep);
+        });
+
+        enderecos.putAll(buscarNaApiExterna(pendentes, resultados));
+
+        List<ConsultaCep> novasConsultas = enderecos.values().stream()
+                .map(cepService::converterParaEntity)
+                .toList();
+        List<ConsultaCep> consultasRegistradas = cepService.registrarConsultas(novasConsultas);
+
+        int indice = 0;
+        for (String cep : enderecos.keySet()) {
+            resultados.put(cep, criarSucesso(cep, cepService.converterParaResponse(consultasRegistradas.get(indice++))));
+        }
+
+        List<ItemConsultaCepLoteResponse> itens = ordem.stream().map(resultados::get).toList();
+        long totalSucesso = itens.stream().filter(item -> item.getEndereco() != null).count();
+
+        log.info("Consulta em lote concluída: {} CEPs distintos, {} encontrados, {} novas consultas registradas",
+                itens.size(), totalSucesso, consultasRegistradas.size());
+
+        return ConsultaCepLoteResponse.builder()
+                .resultados(itens)
+                .totalProcessado(itens.size())
+                .totalSucesso((int) totalSucesso)
+                .totalErro(itens.size() - (int) totalSucesso)
+                .build();
+    }
+
+    /**
+     * Dispara as consultas ao ViaCEP com no máximo {@code concorrenciaMaxima} em andamento; as falhas são
+     * registradas diretamente nos resultados
+     */
+    private Map<String, CepApiResponse> buscarNaApiExterna(List<String> ceps,
+                                                          Map<String, ItemConsultaCepLoteResponse> resultados) {
+        Semaphore permissoes = new Semaphore(concorrenciaMaxima);
+        Map<String, CompletableFuture<CepApiResponse>> consultas = new LinkedHashMap<>();
+
+        for (String cep : ceps) {
+            permissoes.acquireUninterruptibly();
+            try {
+                consultas.put(cep, CompletableFuture
+                        .supplyAsync(() -> coalescedorViaCep.executar(cep, () -> cepService.buscarEArmazenarNoCache(cep)),
+                                executorConsultasExternas)
+                        .whenComplete((endereco, erro) -> permissoes.release()));
+            } catch (RejectedExecutionException e) {
+                permissoes.release();
+                consultas.put(cep, CompletableFuture.failedFuture(
+                        new ErroConsultaExternaException("Serviço sobrecarregado, tente novamente em instantes", e)));
+            }
+        }
+
+        Map<String, CepApiResponse> enderecos = new LinkedHashMap<>();
+        consultas.forEach((cep, consulta) -> {
+            try {
+                enderecos.put(cep, consulta.join());
+            } catch (CompletionException e) {
+                resultados.put(cep, criarErro(cep, e.getCause()));
+            }
+        });
+        return enderecos;
+    }
+
+    private static ItemConsultaCepLoteResponse criarSucesso(String cep, ConsultaCepResponse endereco) {
+        return ItemConsultaCepLoteResponse.builder()
+                .cep(cep)
+                .status(HttpStatus.OK.value())
+                .endereco(endereco)
+                .build();
+    }
+
+    /**
+     * Mesmo status que o ApiExceptionHandler devolveria para o CEP consultado individualmente
+     */
+    private static ItemConsultaCepLoteResponse criarErro(String cep, Throwable erro) {
+        HttpStatus status = ApiExceptionHandler.resolverStatus(erro);
+        String mensagem = erro.getMessage();
+
+        if (status == HttpStatus.INTERNAL_SERVER_ERROR) {
+            log.error("Erro inesperado ao consultar CEP {} no lote", cep, erro);
+            mensagem = "Erro interno no servidor";
+        }
+
+        return ItemConsultaCepLoteResponse.builder()
+                .cep(cep)
+                .status(status.value())
+                .erro(mensagem)
+                .build();
+    }
+}
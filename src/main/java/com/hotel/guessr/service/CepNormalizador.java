@@ -0,0 +1,26 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.exception.CepInvalidoException;
+
+/**
+ * Validação e normalização de CEP para o formato de 8 dígitos, sem dependências externas
+ */
+public final class CepNormalizador {
+    
+    private CepNormalizador() {
+    }
+    
+    public static String validarENormalizar(String cep) {
+        if (cep == null || cep.isBlank()) {
+            throw new CepInvalidoException("CEP não pode ser vazio");
+        }
+        
+        String cepLimpo = cep.replaceAll("[^0-9]", "");
+        
+        if (cepLimpo.length() != 8) {
+            throw new CepInvalidoException(cep);
+        }
+        
+        return cepLimpo;
+    }
+}
@@ -1,21 +1,35 @@
 package com.hotel.guessr.service;
 
+import com.hotel.guessr.cache.CepCache;
+import com.hotel.guessr.cache.FiltroCep;
+import com.hotel.guessr.config.ResilienciaConfig;
+import com.hotel.guessr.config.RestTemplateConfig;
 import com.hotel.guessr.dto.CepApiResponse;
 import com.hotel.guessr.dto.ConsultaCepResponse;
-import com.hotel.guessr.exception.CepInvalidoException;
 import com.hotel.guessr.exception.CepNaoEncontradoException;
 import com.hotel.guessr.exception.ErroConsultaExternaException;
 import com.hotel.guessr.model.ConsultaCep;
 import com.hotel.guessr.repository.ConsultaCepRepository;
+import com.hotel.guessr.resiliencia.CoalescedorChamadas;
+import com.hotel.guessr.resiliencia.Compartimento;
+import com.hotel.guessr.resiliencia.Disjuntor;
+import com.hotel.guessr.resiliencia.RequisicaoEspeculativa;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,55 +38,154 @@ import java.util.stream.Collectors;
 public class CepService implements CepServiceInterface {
     
     private final ConsultaCepRepository repository;
+    @Qualifier(RestTemplateConfig.REST_TEMPLATE_VIACEP)
     private final RestTemplate restTemplate;
+    private final CepCache cepCache;
+    private final FiltroCep filtroCep;
+    private final CoalescedorChamadas<String, CepApiResponse> coalescedorViaCep;
+    @Qualifier(ResilienciaConfig.DISJUNTOR_VIACEP)
+    private final Disjuntor disjuntorViaCep;
+    @Qualifier(ResilienciaConfig.COMPARTIMENTO_VIACEP)
+    private final Compartimento compartimentoViaCep;
+    @Qualifier(ResilienciaConfig.HEDGING_VIACEP)
+    private final RequisicaoEspeculativa hedgingViaCep;
+    private final GravadorConsultasCep gravadorConsultas;
     
     @Value("${cep.api.url}")
     private String cepApiUrl;
     
+    @Value("${cep.read-through.enabled:true}")
+    private boolean leituraBancoHabilitada;
+    
+    @Value("${cep.read-through.max-age:30d}")
+    private Duration validadeConsultaBanco;
+    
     @Transactional
     public ConsultaCepResponse consultarCep(String cep) {
         log.info("Iniciando consulta de CEP: {}", cep);
         
-        String cepNormalizado = validarENormalizarCep(cep);
-        CepApiResponse apiResponse = buscarCepNaApiExterna(cepNormalizado);
+        String cepNormalizado = CepNormalizador.validarENormalizar(cep);
+        filtroCep.verificar(cepNormalizado);
+        CepApiResponse apiResponse = cepCache.buscar(cepNormalizado)
+                .or(() -> buscarEnderecoRecenteNoBanco(cepNormalizado))
+                .orElseGet(() -> coalescedorViaCep.executar(cepNormalizado, () -> buscarEArmazenarNoCache(cepNormalizado)));
         
         ConsultaCep consultaCep = converterParaEntity(apiResponse);
-        ConsultaCep consultaSalva = repository.save(consultaCep);
+        ConsultaCep consultaSalva = registrarConsulta(consultaCep);
         
         log.info("Consulta de CEP concluída e registrada: {}", cep);
         
         return converterParaResponse(consultaSalva);
     }
     
-    private String validarENormalizarCep(String cep) {
-        if (cep == null || cep.isBlank()) {
-            throw new CepInvalidoException("CEP não pode ser vazio");
+    /**
+     * Em modo write-behind a consulta é enfileirada para gravação em lote e a resposta não aguarda o banco
+     */
+    ConsultaCep registrarConsulta(ConsultaCep consultaCep) {
+        if (gravadorConsultas.isHabilitado()) {
+            gravadorConsultas.enfileirar(consultaCep);
+            return consultaCep;
+        }
+        return repository.save(consultaCep);
+    }
+    
+    /**
+     * Registro de várias consultas de uma vez: enfileiradas no write-behind ou gravadas em um único saveAll
+     */
+    List<ConsultaCep> registrarConsultas(List<ConsultaCep> consultas) {
+        if (consultas.isEmpty()) {
+            return consultas;
+        }
+        if (gravadorConsultas.isHabilitado()) {
+            consultas.forEach(gravadorConsultas::enfileirar);
+            return consultas;
+        }
+        return repository.saveAll(consultas);
+    }
+    
+    /**
+     * Endereço da consulta recente do banco, que aquece o cache; a consulta atual continua sendo registrada,
+     * como toda consulta, e só a chamada ao ViaCEP é evitada
+     */
+    private Optional<CepApiResponse> buscarEnderecoRecenteNoBanco(String cepNormalizado) {
+        return buscarConsultaRecenteNoBanco(cepNormalizado).map(consulta -> {
+            log.info("CEP {} atendido pela consulta registrada em {}", cepNormalizado, consulta.getDataConsulta());
+            CepApiResponse endereco = converterParaApiResponse(consulta);
+            cepCache.armazenar(cepNormalizado, endereco);
+            return endereco;
+        });
+    }
+    
+    /**
+     * Read-through: reaproveita a consulta mais recente do banco enquanto estiver dentro da validade configurada
+     */
+    Optional<ConsultaCep> buscarConsultaRecenteNoBanco(String cepNormalizado) {
+        if (!leituraBancoHabilitada) {
+            return Optional.empty();
         }
         
-        String cepLimpo = cep.replaceAll("[^0-9]", "");
-        
-        if (cepLimpo.length() != 8) {
-            throw new CepInvalidoException(cep);
+        LocalDateTime limite = LocalDateTime.now().minus(validadeConsultaBanco);
+        return repository.findFirstByCepAndDataConsultaAfterOrderByDataConsultaDesc(
+                formatarCep(cepNormalizado), limite);
+    }
+    
+    /**
+     * Read-through para vários CEPs em uma única consulta, devolvendo a consulta mais recente de cada um
+     * indexada pelo CEP normalizado
+     */
+    Map<String, ConsultaCep> buscarConsultasRecentesNoBanco(Collection<String> cepsNormalizados) {
+        if (!leituraBancoHabilitada || cepsNormalizados.isEmpty()) {
+            return Map.of();
         }
         
-        return cepLimpo;
+        LocalDateTime limite = LocalDateTime.now().minus(validadeConsultaBanco);
+        List<String> cepsFormatados = cepsNormalizados.stream().map(this::formatarCep).toList();
+        
+        return repository.findByCepInAndDataConsultaAfter(cepsFormatados, limite).stream()
+                .collect(Collectors.toMap(
+                        consulta -> consulta.getCep().replace("-", ""),
+                        consulta -> consulta,
+                        (a, b) -> a.getDataConsulta().isAfter(b.getDataConsulta()) ? a : b));
+    }
+    
+    /**
+     * O ViaCEP devolve o CEP no formato 00000-000, que é o formato persistido
+     */
+    private String formatarCep(String cepNormalizado) {
+        return cepNormalizado.substring(0, 5) + "-" + cepNormalizado.substring(5);
+    }
+    
+    /**
+     * Alimenta também o pré-filtro: CEPs confirmados e, no cache negativo, CEPs que o ViaCEP desconhece.
+     * Com o circuito do ViaCEP aberto ou o bulkhead cheio falha na hora, sem requisição. Com hedging habilitado
+     * uma resposta mais lenta que o p95 recente ganha uma requisição duplicada, com vaga própria no bulkhead, e
+     * vale a que chegar primeiro.
+     */
+    CepApiResponse buscarEArmazenarNoCache(String cep) {
+        CepApiResponse response;
+        try {
+            response = compartimentoViaCep.executar(
+                    () -> disjuntorViaCep.executar(
+                            () -> hedgingViaCep.executar(() -> buscarCepNaApiExterna(cep))));
+        } catch (CepNaoEncontradoException e) {
+            filtroCep.registrarInexistente(cep);
+            throw e;
+        }
+        cepCache.armazenar(cep, response);
+        filtroCep.registrarConfirmado(cep);
+        return response;
     }
     
     /**
      * Busca o CEP na API externa (ViaCEP)
      */
     private CepApiResponse buscarCepNaApiExterna(String cep) {
+        CepApiResponse response;
         try {
             String url = String.format("%s/%s/json/", cepApiUrl, cep);
             log.debug("Consultando API externa: {}", url);
             
-            CepApiResponse response = restTemplate.getForObject(url, CepApiResponse.class);
-            
-            if (response == null || Boolean.TRUE.equals(response.getErro())) {
-                throw new CepNaoEncontradoException(cep);
-            }
-            
-            return response;
+            response = restTemplate.getForObject(url, CepApiResponse.class);
             
         } catch (HttpClientErrorException.NotFound e) {
             log.warn("CEP não encontrado na API externa: {}", cep);
@@ -81,13 +194,22 @@ public class CepService implements CepServiceInterface {
             log.error("Erro ao consultar API externa para CEP: {}", cep, e);
             throw new ErroConsultaExternaException("Erro ao consultar API externa de CEP", e);
         }
+        
+        // CEP inexistente é uma resposta normal do ViaCEP, não uma falha da integração
+        if (response == null || Boolean.TRUE.equals(response.getErro())) {
+            log.info("CEP não encontrado na API externa: {}", cep);
+            throw new CepNaoEncontradoException(cep);
+        }
+        
+        return response;
     }
     
     /**
      * Converte DTO da API para Entity
      */
-    private ConsultaCep converterParaEntity(CepApiResponse apiResponse) {
+    ConsultaCep converterParaEntity(CepApiResponse apiResponse) {
         return ConsultaCep.builder()
+                .id(UUID.randomUUID())
                 .cep(apiResponse.getCep())
                 .logradouro(apiResponse.getLogradouro())
                 .complemento(apiResponse.getComplemento())
@@ -98,13 +220,32 @@ public class CepService implements CepServiceInterface {
                 .gia(apiResponse.getGia())
                 .ddd(apiResponse.getDdd())
                 .siafi(apiResponse.getSiafi())
+                .dataConsulta(LocalDateTime.now())
+                .build();
+    }
+    
+    /**
+     * Converte Entity para o DTO da API (usado para popular o cache)
+     */
+    CepApiResponse converterParaApiResponse(ConsultaCep entity) {
+        return CepApiResponse.builder()
+                .cep(entity.getCep())
+                .logradouro(entity.getLogradouro())
+                .complemento(entity.getComplemento())
+                .bairro(entity.getBairro())
+                .localidade(entity.getLocalidade())
+                .uf(entity.getUf())
+                .ibge(entity.getIbge())
+                .gia(entity.getGia())
+                .ddd(entity.getDdd())
+                .siafi(entity.getSiafi())
                 .build();
     }
     
     /**
      * Converte Entity para DTO de resposta
      */
-    private ConsultaCepResponse converterParaResponse(ConsultaCep entity) {
+    ConsultaCepResponse converterParaResponse(ConsultaCep entity) {
         return ConsultaCepResponse.builder()
                 .id(entity.getId())
                 .cep(entity.getCep())
@@ -0,0 +1,108 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.cache.CepCache;
+import com.hotel.guessr.cache.FiltroCep;
+import com.hotel.guessr.config.ResilienciaConfig;
+import com.hotel.guessr.config.WebClientConfig;
+import com.hotel.guessr.dto.CepApiResponse;
+import com.hotel.guessr.dto.ConsultaCepResponse;
+import com.hotel.guessr.exception.CepNaoEncontradoException;
+import com.hotel.guessr.exception.ErroConsultaExternaException;
+import com.hotel.guessr.resiliencia.CoalescedorChamadas;
+import com.hotel.guessr.resiliencia.Compartimento;
+import com.hotel.guessr.resiliencia.Disjuntor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Consulta de CEP não bloqueante: o ViaCEP é chamado via WebClient e somente as operações de banco
+ * (read-through e registro da consulta) rodam no scheduler boundedElastic, reaproveitando o CepService.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class CepServiceReativo implements CepServiceReativoInterface {
+    
+    private final CepService cepService;
+    private final CepCache cepCache;
+    private final FiltroCep filtroCep;
+    @Qualifier(WebClientConfig.WEB_CLIENT_VIACEP)
+    private final WebClient webClient;
+    private final CoalescedorChamadas<String, CepApiResponse> coalescedorViaCep;
+    @Qualifier(ResilienciaConfig.DISJUNTOR_VIACEP)
+    private final Disjuntor disjuntorViaCep;
+    @Qualifier(ResilienciaConfig.COMPARTIMENTO_VIACEP)
+    private final Compartimento compartimentoViaCep;
+    
+    @Value("${cep.api.url}")
+    private String cepApiUrl;
+    
+    @Override
+    public Mono<ConsultaCepResponse> consultarCep(String cep) {
+        return Mono.fromCallable(() -> CepNormalizador.validarENormalizar(cep))
+                .doOnNext(filtroCep::verificar)
+                .flatMap(cepNormalizado -> cepCache.buscar(cepNormalizado)
+                        .map(this::registrarConsulta)
+                        .orElseGet(() -> buscarEnderecoRecenteNoBanco(cepNormalizado)
+                                .switchIfEmpty(Mono.defer(() -> buscarNaApiExterna(cepNormalizado)))
+                                .flatMap(this::registrarConsulta)))
+                .doOnSuccess(response -> log.info("Consulta de CEP concluída e registrada: {}", cep));
+    }
+    
+    private Mono<CepApiResponse> buscarEnderecoRecenteNoBanco(String cepNormalizado) {
+        return Mono.fromCallable(() -> cepService.buscarConsultaRecenteNoBanco(cepNormalizado))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::justOrEmpty)
+                .map(cepService::converterParaApiResponse)
+                .doOnNext(endereco -> cepCache.armazenar(cepNormalizado, endereco));
+    }
+    
+    private Mono<ConsultaCepResponse> registrarConsulta(CepApiResponse endereco) {
+        return Mono.fromCallable(() -> cepService.registrarConsulta(cepService.converterParaEntity(endereco)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(cepService::converterParaResponse);
+    }
+    
+    /**
+     * Chamadas concorrentes para o mesmo CEP compartilham a mesma requisição ao ViaCEP, que passa pelo
+     * bulkhead e pelo circuito do provedor
+     */
+    private Mono<CepApiResponse> buscarNaApiExterna(String cep) {
+        return Mono.fromFuture(() -> coalescedorViaCep.executarAssincrono(cep,
+                () -> compartimentoViaCep.executarAssincrono(
+                        () -> disjuntorViaCep.executarAssincrono(() -> requisitarViaCep(cep).toFuture()))), true);
+    }
+    
+    private Mono<CepApiResponse> requisitarViaCep(String cep) {
+        log.debug("Consultando API externa: {}/{}/json/", cepApiUrl, cep);
+        
+        return webClient.get()
+                .uri(cepApiUrl + "/{cep}/json/", cep)
+                .retrieve()
+                .bodyToMono(CepApiResponse.class)
+                .filter(response -> !Boolean.TRUE.equals(response.getErro()))
+                .switchIfEmpty(Mono.error(() -> new CepNaoEncontradoException(cep)))
+                .doOnNext(response -> {
+                    cepCache.armazenar(cep, response);
+                    filtroCep.registrarConfirmado(cep);
+                })
+                .onErrorMap(WebClientResponseException.NotFound.class, e -> {
+                    log.warn("CEP não encontrado na API externa: {}", cep);
+                    return new CepNaoEncontradoException(cep, e);
+                })
+                .doOnError(CepNaoEncontradoException.class, e -> filtroCep.registrarInexistente(cep))
+                .onErrorMap(e -> !(e instanceof CepNaoEncontradoException), e -> {
+                    log.error("Erro ao consultar API externa para CEP: {}", cep, e);
+                    return new ErroConsultaExternaException("Erro ao consultar API externa de CEP", e);
+                });
+    }
+}
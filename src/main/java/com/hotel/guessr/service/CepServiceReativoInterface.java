@@ -0,0 +1,9 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.dto.ConsultaCepResponse;
+import reactor.core.publisher.Mono;
+
+public interface CepServiceReativoInterface {
+    
+    Mono<ConsultaCepResponse> consultarCep(String cep);
+}
@@ -1,15 +1,30 @@
 package com.hotel.guessr.service;
 
+import com.hotel.guessr.cache.CentroidesCep;
+import com.hotel.guessr.cache.CoordenadasCache;
+import com.hotel.guessr.config.ResilienciaConfig;
+import com.hotel.guessr.config.RestTemplateConfig;
 import com.hotel.guessr.dto.CoordenadasResponse;
 import com.hotel.guessr.dto.GeocodingResponse;
 import com.hotel.guessr.exception.ErroConsultaExternaException;
+import com.hotel.guessr.exception.LimiteRequisicaoExcedidoException;
+import com.hotel.guessr.model.CoordenadaCep;
+import com.hotel.guessr.repository.CoordenadaCepRepository;
+import com.hotel.guessr.resiliencia.CoalescedorChamadas;
+import com.hotel.guessr.resiliencia.Compartimento;
+import com.hotel.guessr.resiliencia.Disjuntor;
+import com.hotel.guessr.resiliencia.LimitadorTaxa;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Locale;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -22,43 +37,151 @@ public class GeolocalizacaoService implements GeolocalizacaoServiceInterface {
     @Value("${google.geocoding.api.url}")
     private String geocodingApiUrl;
     
+    @Value("${google.geocoding.cache.persistence.enabled:false}")
+    private boolean persistenciaHabilitada;
+    
+    @Value("${google.geocoding.cache.approximate-by-prefix:false}")
+    private boolean aproximacaoPorPrefixoHabilitada;
+    
+    @Qualifier(RestTemplateConfig.REST_TEMPLATE_GEOCODING)
     private final RestTemplate restTemplate;
+    private final CoordenadasCache coordenadasCache;
+    private final CentroidesCep centroidesCep;
+    private final CoordenadaCepRepository coordenadaCepRepository;
+    private final CoalescedorChamadas<Integer, CoordenadasResponse> coalescedorGeocoding;
+    @Qualifier(ResilienciaConfig.DISJUNTOR_GEOCODING)
+    private final Disjuntor disjuntorGeocoding;
+    @Qualifier(ResilienciaConfig.COMPARTIMENTO_GEOCODING)
+    private final Compartimento compartimentoGeocoding;
+    @Qualifier(ResilienciaConfig.LIMITADOR_GEOCODING)
+    private final LimitadorTaxa limitadorGeocoding;
     
     @Override
     public CoordenadasResponse obterCoordenadasPorCep(String cep) {
         log.info("Obtendo coordenadas reais para CEP: {}", cep);
         
+        Integer cepNumerico = converterCepParaNumero(cep);
+        
+        if (cepNumerico == null) {
+            return buscarCoordenadasNaApiExterna(cep);
+        }
+        
+        Optional<CoordenadasResponse> coordenadasEmCache = buscarNoCache(cepNumerico);
+        if (coordenadasEmCache.isPresent()) {
+            log.debug("Coordenadas do CEP {} obtidas do cache", cep);
+            return coordenadasEmCache.get();
+        }
+        
+        return coalescedorGeocoding.executar(cepNumerico, () -> buscarEArmazenarCoordenadas(cepNumerico, cep));
+    }
+    
+    /**
+     * Recarrega no cache as coordenadas persistidas, para que sobrevivam a reinicializações
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarCoordenadasPersistidas() {
+        if (!persistenciaHabilitada) {
+            return;
+        }
+        
+        coordenadaCepRepository.findAll().forEach(coordenada -> coordenadasCache.armazenar(
+                Integer.parseInt(coordenada.getCep()), coordenada.getLatitude(), coordenada.getLongitude()));
+        
+        log.info("{} coordenadas de CEP carregadas do banco", coordenadasCache.tamanho());
+    }
+    
+    /**
+     * Base offline de centróides, depois o cache das respostas da Geocoding API e, se permitido,
+     * o centróide do prefixo
+     */
+    Optional<CoordenadasResponse> buscarNoCache(int cep) {
+        Optional<CoordenadasResponse> coordenadas = centroidesCep.buscar(cep)
+                .or(() -> coordenadasCache.buscar(cep));
+        
+        if (coordenadas.isEmpty() && aproximacaoPorPrefixoHabilitada) {
+            coordenadas = coordenadasCache.buscarAproximada(cep);
+            coordenadas.ifPresent(c -> log.info("Usando centróide do prefixo {} como aproximação para o CEP {}",
+                    String.format("%05d", cep / 1000), String.format("%08d", cep)));
+        }
+        
+        return coordenadas;
+    }
+    
+    private CoordenadasResponse buscarCoordenadasNaApiExterna(String cep) {
         try {
-            String url = String.format(Locale.US, "%s?address=%s,Brazil&key=%s",
-                    geocodingApiUrl,
-                    cep.replace("-", ""),
-                    apiKey);
-            
             log.debug("Consultando Geocoding API para CEP: {}", cep);
             
-            GeocodingResponse response = restTemplate.getForObject(url, GeocodingResponse.class);
-            
-            if (response == null || response.getResults() == null || response.getResults().isEmpty()) {
-                log.warn("Nenhuma coordenada encontrada para CEP: {}", cep);
-                throw new ErroConsultaExternaException("Não foi possível obter coordenadas para o CEP informado");
-            }
-            
-            GeocodingResponse.Location location = response.getResults().get(0)
-                    .getGeometry().getLocation();
-            
-            CoordenadasResponse coordenadas = CoordenadasResponse.builder()
-                    .latitude(location.getLat())
-                    .longitude(location.getLng())
-                    .build();
-            
-            log.info("Coordenadas obtidas: lat={}, lng={}", 
-                    coordenadas.getLatitude(), coordenadas.getLongitude());
+            GeocodingResponse response = compartimentoGeocoding.executar(() -> disjuntorGeocoding.executar(
+                    () -> limitadorGeocoding.executar(
+                            () -> restTemplate.getForObject(construirUrl(cep), GeocodingResponse.class))));
             
-            return coordenadas;
+            return extrairCoordenadas(response, cep);
             
+        } catch (ErroConsultaExternaException | LimiteRequisicaoExcedidoException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Erro ao obter coordenadas para CEP {}: {}", cep, e.getMessage());
             throw new ErroConsultaExternaException("Erro ao consultar serviço de geolocalização", e);
         }
     }
+    
+    String construirUrl(String cep) {
+        return String.format(Locale.US, "%s?address=%s,Brazil&key=%s",
+                geocodingApiUrl,
+                cep.replace("-", ""),
+                apiKey);
+    }
+    
+    CoordenadasResponse extrairCoordenadas(GeocodingResponse response, String cep) {
+        if (response == null || response.getResults() == null || response.getResults().isEmpty()) {
+            log.warn("Nenhuma coordenada encontrada para CEP: {}", cep);
+            throw new ErroConsultaExternaException("Não foi possível obter coordenadas para o CEP informado");
+        }
+        
+        GeocodingResponse.Location location = response.getResults().get(0)
+                .getGeometry().getLocation();
+        
+        CoordenadasResponse coordenadas = CoordenadasResponse.builder()
+                .latitude(location.getLat())
+                .longitude(location.getLng())
+                .build();
+        
+        log.info("Coordenadas obtidas: lat={}, lng={}", 
+                coordenadas.getLatitude(), coordenadas.getLongitude());
+        
+        return coordenadas;
+    }
+    
+    private CoordenadasResponse buscarEArmazenarCoordenadas(int cepNumerico, String cep) {
+        CoordenadasResponse coordenadas = buscarCoordenadasNaApiExterna(cep);
+        armazenarCoordenadas(cepNumerico, coordenadas);
+        return coordenadas;
+    }
+    
+    void armazenarCoordenadas(int cep, CoordenadasResponse coordenadas) {
+        coordenadasCache.armazenar(cep, coordenadas.getLatitude(), coordenadas.getLongitude());
+        
+        if (!persistenciaHabilitada) {
+            return;
+        }
+        
+        try {
+            coordenadaCepRepository.save(CoordenadaCep.builder()
+                    .cep(String.format("%08d", cep))
+                    .latitude(coordenadas.getLatitude())
+                    .longitude(coordenadas.getLongitude())
+                    .build());
+        } catch (Exception e) {
+            log.warn("Não foi possível persistir coordenadas do CEP {}: {}", cep, e.getMessage());
+        }
+    }
+    
+    Integer converterCepParaNumero(String cep) {
+        if (cep == null) {
+            return null;
+        }
+        
+        String cepLimpo = cep.replaceAll("[^0-9]", "");
+        return cepLimpo.length() == 8 ? Integer.valueOf(cepLimpo) : null;
+    }
 }
@@ -0,0 +1,89 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.config.ResilienciaConfig;
+import com.hotel.guessr.config.WebClientConfig;
+import com.hotel.guessr.dto.CoordenadasResponse;
+import com.hotel.guessr.dto.GeocodingResponse;
+import com.hotel.guessr.exception.ErroConsultaExternaException;
+import com.hotel.guessr.exception.LimiteRequisicaoExcedidoException;
+import com.hotel.guessr.resiliencia.CoalescedorChamadas;
+import com.hotel.guessr.resiliencia.Compartimento;
+import com.hotel.guessr.resiliencia.Disjuntor;
+import com.hotel.guessr.resiliencia.LimitadorTaxa;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+
+/**
+ * Geocodificação não bloqueante: mesmo cache e mesma coalescência do GeolocalizacaoService,
+ * com a Geocoding API chamada via WebClient e a persistência das coordenadas no boundedElastic.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class GeolocalizacaoServiceReativo implements GeolocalizacaoServiceReativoInterface {
+    
+    private final GeolocalizacaoService geolocalizacaoService;
+    @Qualifier(WebClientConfig.WEB_CLIENT_GEOCODING)
+    private final WebClient webClient;
+    private final CoalescedorChamadas<Integer, CoordenadasResponse> coalescedorGeocoding;
+    @Qualifier(ResilienciaConfig.DISJUNTOR_GEOCODING)
+    private final Disjuntor disjuntorGeocoding;
+    @Qualifier(ResilienciaConfig.COMPARTIMENTO_GEOCODING)
+    private final Compartimento compartimentoGeocoding;
+    @Qualifier(ResilienciaConfig.LIMITADOR_GEOCODING)
+    private final LimitadorTaxa limitadorGeocoding;
+    
+    @Override
+    public Mono<CoordenadasResponse> obterCoordenadasPorCep(String cep) {
+        return Mono.defer(() -> {
+            log.info("Obtendo coordenadas reais para CEP: {}", cep);
+            
+            Integer cepNumerico = geolocalizacaoService.converterCepParaNumero(cep);
+            
+            if (cepNumerico == null) {
+                return requisitarGeocoding(cep);
+            }
+            
+            return Mono.justOrEmpty(geolocalizacaoService.buscarNoCache(cepNumerico))
+                    .doOnNext(coordenadas -> log.debug("Coordenadas do CEP {} obtidas do cache", cep))
+                    .switchIfEmpty(Mono.fromFuture(() -> coalescedorGeocoding.executarAssincrono(cepNumerico,
+                            () -> buscarEArmazenarCoordenadas(cepNumerico, cep).toFuture()), true));
+        });
+    }
+    
+    private Mono<CoordenadasResponse> buscarEArmazenarCoordenadas(int cepNumerico, String cep) {
+        return requisitarGeocoding(cep)
+                .flatMap(coordenadas -> Mono.fromRunnable(
+                                () -> geolocalizacaoService.armazenarCoordenadas(cepNumerico, coordenadas))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(coordenadas));
+    }
+    
+    private Mono<CoordenadasResponse> requisitarGeocoding(String cep) {
+        log.debug("Consultando Geocoding API para CEP: {}", cep);
+        
+        return Mono.fromFuture(() -> compartimentoGeocoding.executarAssincrono(
+                        () -> disjuntorGeocoding.executarAssincrono(() -> limitadorGeocoding.executarAssincrono(
+                                () -> webClient.get()
+                                        .uri(URI.create(geolocalizacaoService.construirUrl(cep)))
+                                        .retrieve()
+                                        .bodyToMono(GeocodingResponse.class)
+                                        .switchIfEmpty(Mono.fromSupplier(GeocodingResponse::new))
+                                        .toFuture()))), true)
+                .map(response -> geolocalizacaoService.extrairCoordenadas(response, cep))
+                .onErrorMap(e -> !(e instanceof ErroConsultaExternaException
+                        || e instanceof LimiteRequisicaoExcedidoException), e -> {
+                    log.error("Erro ao obter coordenadas para CEP {}: {}", cep, e.getMessage());
+                    return new ErroConsultaExternaException("Erro ao consultar serviço de geolocalização", e);
+                });
+    }
+}
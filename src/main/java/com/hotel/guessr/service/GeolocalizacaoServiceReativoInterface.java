@@ -0,0 +1,9 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.dto.CoordenadasResponse;
+import reactor.core.publisher.Mono;
+
+public interface GeolocalizacaoServiceReativoInterface {
+    
+    Mono<CoordenadasResponse> obterCoordenadasPorCep(String cep);
+}
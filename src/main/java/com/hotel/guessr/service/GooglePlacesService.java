@@ -1,13 +1,27 @@
 package com.hotel.guessr.service;
 
+import com.hotel.guessr.cache.IndiceHoteis;
+import com.hotel.guessr.cache.PaginasPlaces;
+import com.hotel.guessr.cache.PlacesCache;
+import com.hotel.guessr.config.ExecutorConfig;
+import com.hotel.guessr.config.ResilienciaConfig;
+import com.hotel.guessr.config.RestTemplateConfig;
 import com.hotel.guessr.dto.CoordenadasResponse;
 import com.hotel.guessr.dto.GooglePlacesResponse;
 import com.hotel.guessr.dto.HotelResponse;
 import com.hotel.guessr.exception.ApiKeyInvalidaException;
 import com.hotel.guessr.exception.ErroConsultaExternaException;
 import com.hotel.guessr.exception.LimiteRequisicaoExcedidoException;
+import com.hotel.guessr.geo.CalculadoraDistancias;
+import com.hotel.guessr.ranking.CriterioOrdenacao;
+import com.hotel.guessr.ranking.RankingHoteis;
+import com.hotel.guessr.resiliencia.CoalescedorChamadas;
+import com.hotel.guessr.resiliencia.Compartimento;
+import com.hotel.guessr.resiliencia.Disjuntor;
+import com.hotel.guessr.resiliencia.LimitadorTaxa;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -16,9 +30,18 @@ import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -31,38 +54,65 @@ public class GooglePlacesService {
     @Value("${google.places.api.url}")
     private String apiUrl;
     
+    @Value("${google.places.cache.radius-bucket:1000}")
+    private int baldeRaioMetros;
+    
+    @Value("${google.places.pagination.max-pages:3}")
+    private int maximoPaginas;
+    
+    @Value("${google.places.pagination.token-delay:2s}")
+    private Duration atrasoAtivacaoToken = Duration.ofSeconds(2);
+    
+    @Value("${google.places.pagination.page-timeout:15s}")
+    private Duration tempoLimitePagina = Duration.ofSeconds(15);
+    
+    @Qualifier(RestTemplateConfig.REST_TEMPLATE_PLACES)
     private final RestTemplate restTemplate;
+    private final PlacesCache placesCache;
+    private final IndiceHoteis indiceHoteis;
+    private final PersistenciaHoteis persistenciaHoteis;
+    private final CoalescedorChamadas<String, PaginasPlaces> coalescedorPlaces;
+    @Qualifier(ResilienciaConfig.DISJUNTOR_PLACES)
+    private final Disjuntor disjuntorPlaces;
+    @Qualifier(ResilienciaConfig.COMPARTIMENTO_PLACES)
+    private final Compartimento compartimentoPlaces;
+    @Qualifier(ResilienciaConfig.LIMITADOR_PLACES)
+    private final LimitadorTaxa limitadorPlaces;
+    
+    @Qualifier(ExecutorConfig.EXECUTOR_CONSULTAS_EXTERNAS)
+    private final ExecutorService executorConsultasExternas;
     
     public List<HotelResponse> buscarHoteisProximos(CoordenadasResponse coordenadas, Integer limite, Integer raio) {
+        return buscarHoteisProximos(coordenadas, limite, raio, CriterioOrdenacao.DISTANCIA);
+    }
+    
+    public List<HotelResponse> buscarHoteisProximos(CoordenadasResponse coordenadas, Integer limite, Integer raio,
+                                                    CriterioOrdenacao criterio) {
+        return buscarHoteisProximos(coordenadas, limite, raio, criterio, hotel -> { });
+    }
+    
+    /**
+     * Mesma busca, entregando cada hotel ao consumidor assim que é convertido, na ordem do ranking. O consumidor
+     * roda fora do tratamento de erros do Google: uma falha nele chega ao chamador como foi lançada.
+     */
+    public List<HotelResponse> buscarHoteisProximos(CoordenadasResponse coordenadas, Integer limite, Integer raio,
+                                                    CriterioOrdenacao criterio, Consumer<HotelResponse> aoConverter) {
         validarApiKey();
         
+        int raioSolicitado = raio != null ? raio : 5000;
+        int raioMetros = arredondarRaio(raioSolicitado);
+        PaginasPlaces paginas;
         try {
-            String url = construirUrl(coordenadas, raio);
-            log.info("Consultando Google Places API: {}", url);
-            
-            GooglePlacesResponse response = restTemplate.getForObject(url, GooglePlacesResponse.class);
-            
-            if (response == null) {
-                log.error("Resposta nula da Google Places API");
-                throw new ErroConsultaExternaException("Resposta vazia do Google Places");
-            }
+            paginas = buscarLocalmente(coordenadas, raioMetros)
+                    .or(() -> buscarNaBase(coordenadas, raioMetros))
+                    .orElseGet(() -> coalescedorPlaces.executar(
+                            chaveCoalescencia(coordenadas, raioMetros),
+                            () -> buscarLocalmente(coordenadas, raioMetros)
+                                    .orElseGet(() -> buscarEArmazenarNoCache(coordenadas, raioMetros))));
             
-            log.info("Status da resposta: {}", response.getStatus());
-            log.info("Mensagem de erro: {}", response.getErrorMessage());
-            
-            validarStatusResposta(response.getStatus());
-            
-            if (response.getResults() == null) {
-                log.warn("Nenhum resultado encontrado");
-                return Collections.emptyList();
+            if (precisaProximaPagina(paginas, limite)) {
+                paginas = aguardarPaginas(completarPaginas(coordenadas, raioMetros, paginas, limite), paginas);
             }
-            
-            log.info("Google Places retornou {} resultados", response.getResults().size());
-            
-            return response.getResults().stream()
-                    .limit(limite != null ? limite : 5)
-                    .map(place -> converterParaHotelResponse(place, coordenadas))
-                    .collect(Collectors.toList());
                     
         } catch (HttpClientErrorException e) {
             tratarErroCliente(e);
@@ -83,9 +133,270 @@ public class GooglePlacesService {
             log.error("Erro inesperado ao consultar Google Places API", e);
             throw new ErroConsultaExternaException("Erro ao buscar hotéis próximos", e);
         }
+        
+        return converterLugares(paginas.getLugares(), coordenadas, limite, raioSolicitado, criterio, aoConverter);
+    }
+    
+    /**
+     * Refaz a busca de uma área diretamente no Google, com todas as páginas, atualizando cache e índice
+     */
+    public void recarregarArea(CoordenadasResponse coordenadas, int raioMetros) {
+        validarApiKey();
+        
+        PaginasPlaces paginas = coalescedorPlaces.executar(
+                chaveCoalescencia(coordenadas, raioMetros),
+                () -> buscarEArmazenarNoCache(coordenadas, raioMetros));
+        aguardarPaginas(completarPaginas(coordenadas, raioMetros, paginas, Integer.MAX_VALUE), paginas);
+    }
+    
+    /**
+     * Cache da célula e, na falta dele, o índice de hotéis quando a área da busca já está coberta (com todos
+     * os hotéis do raio, que o ranking reduz ao limite)
+     */
+    Optional<PaginasPlaces> buscarLocalmente(CoordenadasResponse coordenadas, int raioMetros) {
+        return placesCache.buscar(coordenadas, raioMetros)
+                .or(() -> indiceHoteis.buscarSeCoberta(
+                                coordenadas.getLatitude(), coordenadas.getLongitude(), raioMetros)
+                        .map(lugares -> PaginasPlaces.primeiraPagina(coordenadas, lugares, null, 0)));
+    }
+    
+    /**
+     * Base de hotéis (PostGIS) quando a área da busca está coberta nela; o resultado aquece o cache da célula
+     */
+    Optional<PaginasPlaces> buscarNaBase(CoordenadasResponse coordenadas, int raioMetros) {
+        Optional<PaginasPlaces> paginas = persistenciaHoteis
+                .buscarSeCoberta(coordenadas.getLatitude(), coordenadas.getLongitude(), raioMetros)
+                .map(lugares -> PaginasPlaces.primeiraPagina(coordenadas, lugares, null, 0));
+        paginas.ifPresent(encontradas -> placesCache.armazenar(coordenadas, raioMetros, encontradas));
+        return paginas;
+    }
+    
+    /**
+     * Guarda as páginas no cache e os lugares no índice e na base de hotéis; só uma busca comprovadamente
+     * completa vira área coberta (e remove os hotéis ausentes), nunca uma cortada no teto da Nearby Search.
+     * A área é centrada na origem da busca que gerou as páginas, não na de quem pediu a última delas.
+     */
+    void armazenar(CoordenadasResponse coordenadas, int raioMetros, PaginasPlaces paginas) {
+        placesCache.armazenar(coordenadas, raioMetros, paginas);
+        
+        if (paginas.isCompleta()) {
+            CoordenadasResponse origem = paginas.getOrigem();
+            indiceHoteis.registrarAreaCoberta(
+                    origem.getLatitude(), origem.getLongitude(), raioMetros, paginas.getLugares());
+            persistenciaHoteis.registrarAreaCoberta(
+                    origem.getLatitude(), origem.getLongitude(), raioMetros, paginas.getLugares());
+        } else {
+            indiceHoteis.registrar(paginas.getLugares());
+            persistenciaHoteis.registrar(paginas.getLugares());
+        }
+    }
+    
+    private PaginasPlaces buscarEArmazenarNoCache(CoordenadasResponse coordenadas, int raioMetros) {
+        PaginasPlaces paginas = buscarLugaresNaApiExterna(coordenadas, raioMetros);
+        armazenar(coordenadas, raioMetros, paginas);
+        return paginas;
+    }
+    
+    private PaginasPlaces buscarLugaresNaApiExterna(CoordenadasResponse coordenadas, int raioMetros) {
+        String url = construirUrl(coordenadas, raioMetros);
+        log.info("Consultando Google Places API: {}", url);
+        
+        GooglePlacesResponse response = consultar(url);
+        
+        return primeiraPagina(coordenadas, response);
+    }
+    
+    /**
+     * Busca as páginas seguintes até cobrir o limite. O token só é aceito pelo Google alguns segundos depois
+     * de emitido: a busca é agendada para esse instante (delayedExecutor), sem thread parada durante a espera.
+     * Uma falha na página seguinte não derruba a busca: devolve o que já foi obtido.
+     */
+    private CompletableFuture<PaginasPlaces> completarPaginas(CoordenadasResponse coordenadas, int raioMetros,
+                                                              PaginasPlaces paginas, Integer limite) {
+        if (!precisaProximaPagina(paginas, limite)) {
+            return CompletableFuture.completedFuture(paginas);
+        }
+        
+        long atraso = paginas.atrasoAteProximaPagina(System.currentTimeMillis());
+        Executor aposAtivacaoToken = CompletableFuture.delayedExecutor(
+                atraso, TimeUnit.MILLISECONDS, executorConsultasExternas);
+        
+        return coalescedorPlaces.executarAssincrono(
+                        chaveCoalescenciaPagina(coordenadas, raioMetros, paginas),
+                        () -> CompletableFuture
+                                .supplyAsync(() -> buscarProximaPagina(coordenadas, raioMetros, paginas), aposAtivacaoToken)
+                                .orTimeout(atraso + tempoLimitePagina.toMillis(), TimeUnit.MILLISECONDS))
+                .exceptionally(e -> {
+                    log.warn("Não foi possível obter a página {} do Google Places, usando {} resultados já obtidos: {}",
+                            paginas.getTotalPaginas() + 1, paginas.getLugares().size(), e.toString());
+                    return paginas.semProximaPagina();
+                })
+                .thenCompose(proximas -> completarPaginas(coordenadas, raioMetros, proximas, limite));
+    }
+    
+    private PaginasPlaces buscarProximaPagina(CoordenadasResponse coordenadas, int raioMetros, PaginasPlaces paginas) {
+        log.info("Consultando página {} do Google Places", paginas.getTotalPaginas() + 1);
+        
+        GooglePlacesResponse response = consultar(construirUrlProximaPagina(paginas.getProximoToken()));
+        
+        PaginasPlaces proximas = proximaPagina(paginas, response);
+        armazenar(coordenadas, raioMetros, proximas);
+        return proximas;
+    }
+    
+    /**
+     * Toda requisição ao Google Places passa pelo bulkhead, pelo circuito e pela cota local do provedor
+     */
+    private GooglePlacesResponse consultar(String url) {
+        return compartimentoPlaces.executar(() -> disjuntorPlaces.executar(
+                () -> limitadorPlaces.executar(() -> restTemplate.getForObject(url, GooglePlacesResponse.class))));
     }
     
-    private void validarApiKey() {
+    /**
+     * Aguarda as páginas seguintes por no máximo o prazo de cada uma que ainda falta (ativação do token mais
+     * page-timeout); esgotado o prazo a requisição segue com as páginas já obtidas
+     */
+    private PaginasPlaces aguardarPaginas(CompletableFuture<PaginasPlaces> futuro, PaginasPlaces paginasAtuais) {
+        int paginasRestantes = Math.max(1, maximoPaginas - paginasAtuais.getTotalPaginas());
+        long prazo = paginasRestantes * (atrasoAtivacaoToken.toMillis() + tempoLimitePagina.toMillis());
+        try {
+            return futuro.get(prazo, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Páginas seguintes do Google Places não chegaram em {} ms, usando {} resultados já obtidos",
+                    prazo, paginasAtuais.getLugares().size());
+            return paginasAtuais;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return paginasAtuais;
+        } catch (ExecutionException e) {
+            return paginasAtuais;
+        }
+    }
+    
+    PaginasPlaces primeiraPagina(CoordenadasResponse coordenadas, GooglePlacesResponse response) {
+        List<GooglePlacesResponse.PlaceResult> lugares = extrairLugares(response);
+        return PaginasPlaces.primeiraPagina(coordenadas, lugares, response.getNextPageToken(), ativacaoToken(response));
+    }
+    
+    PaginasPlaces proximaPagina(PaginasPlaces paginas, GooglePlacesResponse response) {
+        List<GooglePlacesResponse.PlaceResult> lugares = extrairLugares(response);
+        return paginas.anexar(lugares, response.getNextPageToken(), ativacaoToken(response));
+    }
+    
+    private long ativacaoToken(GooglePlacesResponse response) {
+        if (response.getNextPageToken() == null) {
+            return 0;
+        }
+        long atraso = atrasoAtivacaoToken != null ? atrasoAtivacaoToken.toMillis() : 0;
+        return System.currentTimeMillis() + atraso;
+    }
+    
+    /**
+     * Só vale buscar outra página quando as já obtidas não cobrem o limite e o Google indicou que há mais
+     */
+    boolean precisaProximaPagina(PaginasPlaces paginas, Integer limite) {
+        return paginas.possuiProximaPagina()
+                && paginas.getLugares().size() < (limite != null ? limite : 5)
+                && paginas.getTotalPaginas() < maximoPaginas;
+    }
+    
+    String chaveCoalescenciaPagina(CoordenadasResponse coordenadas, int raioMetros, PaginasPlaces paginas) {
+        return chaveCoalescencia(coordenadas, raioMetros) + "#" + (paginas.getTotalPaginas() + 1);
+    }
+    
+    List<GooglePlacesResponse.PlaceResult> extrairLugares(GooglePlacesResponse response) {
+        if (response == null) {
+            log.error("Resposta nula da Google Places API");
+            throw new ErroConsultaExternaException("Resposta vazia do Google Places");
+        }
+        
+        log.info("Status da resposta: {}", response.getStatus());
+        log.info("Mensagem de erro: {}", response.getErrorMessage());
+        
+        validarStatusResposta(response.getStatus());
+        
+        if (response.getResults() == null) {
+            log.warn("Nenhum resultado encontrado");
+            return Collections.emptyList();
+        }
+        
+        log.info("Google Places retornou {} resultados", response.getResults().size());
+        
+        return response.getResults();
+    }
+    
+    /**
+     * Distâncias de todos os candidatos calculadas de uma vez sobre arrays primitivos; o ranking escolhe os
+     * {@code limite} melhores pelo critério sem ordenar a lista inteira e só eles viram HotelResponse.
+     * Os lugares vêm do raio arredondado e de uma célula inteira do cache, então os que ficam além do raio
+     * pedido, medido da origem exata, são descartados antes do ranking.
+     */
+    List<HotelResponse> converterLugares(List<GooglePlacesResponse.PlaceResult> lugares,
+                                         CoordenadasResponse coordenadas, Integer limite,
+                                         int raioSolicitadoMetros, CriterioOrdenacao criterio,
+                                         Consumer<HotelResponse> aoConverter) {
+        int total = lugares.size();
+        double[] latitudes = new double[total];
+        double[] longitudes = new double[total];
+        for (int i = 0; i < total; i++) {
+            GooglePlacesResponse.Location localizacao = lugares.get(i).getGeometry().getLocation();
+            latitudes[i] = localizacao.getLat();
+            longitudes[i] = localizacao.getLng();
+        }
+        
+        double[] distanciasKm = new double[total];
+        new CalculadoraDistancias(coordenadas.getLatitude(), coordenadas.getLongitude())
+                .calcular(latitudes, longitudes, total, distanciasKm);
+        
+        double raioKm = raioSolicitadoMetros / 1000.0;
+        int[] posicoes = new int[total];
+        double[] distanciasNoRaio = new double[total];
+        double[] custos = new double[total];
+        int noRaio = 0;
+        for (int i = 0; i < total; i++) {
+            if (distanciasKm[i] > raioKm) {
+                continue;
+            }
+            GooglePlacesResponse.PlaceResult lugar = lugares.get(i);
+            posicoes[noRaio] = i;
+            distanciasNoRaio[noRaio] = distanciasKm[i];
+            custos[noRaio] = criterio.custo(distanciasKm[i],
+                    lugar.getRating() != null ? lugar.getRating() : 0.0,
+                    lugar.getUserRatingsTotal() != null ? lugar.getUserRatingsTotal() : 0,
+                    raioKm);
+            noRaio++;
+        }
+        
+        int[] melhores = RankingHoteis.melhores(custos, distanciasNoRaio, noRaio, limite != null ? limite : 5);
+        
+        List<HotelResponse> hoteis = new ArrayList<>(melhores.length);
+        for (int posicao : melhores) {
+            HotelResponse hotel = converterParaHotelResponse(lugares.get(posicoes[posicao]), distanciasNoRaio[posicao]);
+            hoteis.add(hotel);
+            aoConverter.accept(hotel);
+        }
+        return hoteis;
+    }
+    
+    /**
+     * Mesma chave do cache (célula geohash e raio): origens vizinhas que dividiriam a entrada do cache também
+     * dividem a chamada ao Google em andamento
+     */
+    String chaveCoalescencia(CoordenadasResponse coordenadas, int raioMetros) {
+        return placesCache.chave(coordenadas, raioMetros);
+    }
+    
+    /**
+     * Arredonda o raio para cima até o múltiplo do balde configurado, para que raios próximos compartilhem cache
+     */
+    int arredondarRaio(int raioMetros) {
+        if (baldeRaioMetros <= 0) {
+            return raioMetros;
+        }
+        return ((raioMetros + baldeRaioMetros - 1) / baldeRaioMetros) * baldeRaioMetros;
+    }
+    
+    void validarApiKey() {
         if (apiKey == null || apiKey.isBlank() || apiKey.equals("YOUR_API_KEY_HERE")) {
             log.error("API Key do Google Places não configurada");
             throw new ApiKeyInvalidaException(
@@ -142,9 +453,7 @@ public class GooglePlacesService {
         log.error("Erro do cliente ao consultar Google Places ({}): {}", status, e.getMessage());
     }
     
-    private String construirUrl(CoordenadasResponse coordenadas, Integer raio) {
-        int raioMetros = raio != null ? raio : 5000;
-        
+    String construirUrl(CoordenadasResponse coordenadas, int raioMetros) {
         String url = String.format(java.util.Locale.US, "%s?location=%.6f,%.6f&radius=%d&type=lodging&key=%s",
                 apiUrl,
                 coordenadas.getLatitude(),
@@ -160,19 +469,15 @@ public class GooglePlacesService {
         return url;
     }
     
-    private HotelResponse converterParaHotelResponse(GooglePlacesResponse.PlaceResult place, 
-                                                     CoordenadasResponse coordenadasOrigem) {
-        Double distancia = calcularDistancia(
-                coordenadasOrigem.getLatitude(),
-                coordenadasOrigem.getLongitude(),
-                place.getGeometry().getLocation().getLat(),
-                place.getGeometry().getLocation().getLng()
-        );
-        
+    String construirUrlProximaPagina(String token) {
+        return String.format("%s?pagetoken=%s&key=%s", apiUrl, token, apiKey);
+    }
+    
+    private HotelResponse converterParaHotelResponse(GooglePlacesResponse.PlaceResult place, double distanciaKm) {
         return HotelResponse.builder()
                 .nome(place.getName())
                 .endereco(place.getVicinity())
-                .distanciaKm(Math.round(distancia * 100.0) / 100.0)
+                .distanciaKm(Math.round(distanciaKm * 100.0) / 100.0)
                 .estrelas(converterRatingParaEstrelas(place.getRating()))
                 .descricao(String.format("Avaliação: %.1f (%d avaliações)", 
                         place.getRating() != null ? place.getRating() : 0.0,
@@ -184,19 +489,4 @@ public class GooglePlacesService {
         if (rating == null) return null;
         return (int) Math.round(rating);
     }
-    
-    private Double calcularDistancia(Double lat1, Double lon1, Double lat2, Double lon2) {
-        final int RAIO_TERRA_KM = 6371;
-        
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        
-        return RAIO_TERRA_KM * c;
-    }
 }
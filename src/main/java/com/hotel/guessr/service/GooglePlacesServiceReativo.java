@@ -0,0 +1,170 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.cache.PaginasPlaces;
+import com.hotel.guessr.config.ResilienciaConfig;
+import com.hotel.guessr.config.WebClientConfig;
+import com.hotel.guessr.dto.CoordenadasResponse;
+import com.hotel.guessr.dto.GooglePlacesResponse;
+import com.hotel.guessr.dto.HotelResponse;
+import com.hotel.guessr.exception.ApiKeyInvalidaException;
+import com.hotel.guessr.exception.ErroConsultaExternaException;
+import com.hotel.guessr.exception.LimiteRequisicaoExcedidoException;
+import com.hotel.guessr.ranking.CriterioOrdenacao;
+import com.hotel.guessr.resiliencia.CoalescedorChamadas;
+import com.hotel.guessr.resiliencia.Compartimento;
+import com.hotel.guessr.resiliencia.Disjuntor;
+import com.hotel.guessr.resiliencia.LimitadorTaxa;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Busca de hotéis não bloqueante no Google Places, com o mesmo cache, coalescência e tratamento
+ * de status do GooglePlacesService.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class GooglePlacesServiceReativo {
+    
+    private final GooglePlacesService googlePlacesService;
+    private final PersistenciaHoteis persistenciaHoteis;
+    @Qualifier(WebClientConfig.WEB_CLIENT_PLACES)
+    private final WebClient webClient;
+    private final CoalescedorChamadas<String, PaginasPlaces> coalescedorPlaces;
+    @Qualifier(ResilienciaConfig.DISJUNTOR_PLACES)
+    private final Disjuntor disjuntorPlaces;
+    @Qualifier(ResilienciaConfig.COMPARTIMENTO_PLACES)
+    private final Compartimento compartimentoPlaces;
+    @Qualifier(ResilienciaConfig.LIMITADOR_PLACES)
+    private final LimitadorTaxa limitadorPlaces;
+    
+    public Mono<List<HotelResponse>> buscarHoteisProximos(CoordenadasResponse coordenadas, Integer limite, Integer raio) {
+        return buscarHoteisProximos(coordenadas, limite, raio, CriterioOrdenacao.DISTANCIA);
+    }
+    
+    public Mono<List<HotelResponse>> buscarHoteisProximos(CoordenadasResponse coordenadas, Integer limite, Integer raio,
+                                                          CriterioOrdenacao criterio) {
+        return Mono.defer(() -> {
+            googlePlacesService.validarApiKey();
+            
+            int raioSolicitado = raio != null ? raio : 5000;
+            int raioMetros = googlePlacesService.arredondarRaio(raioSolicitado);
+            
+            return Mono.justOrEmpty(googlePlacesService.buscarLocalmente(coordenadas, raioMetros))
+                    .switchIfEmpty(buscarNaBase(coordenadas, raioMetros))
+                    .switchIfEmpty(Mono.fromFuture(() -> coalescedorPlaces.executarAssincrono(
+                            googlePlacesService.chaveCoalescencia(coordenadas, raioMetros),
+                            () -> Mono.justOrEmpty(googlePlacesService.buscarLocalmente(coordenadas, raioMetros))
+                                    .switchIfEmpty(buscarEArmazenarNoCache(coordenadas, raioMetros))
+                                    .toFuture()), true))
+                    .flatMap(paginas -> completarPaginas(coordenadas, raioMetros, paginas, limite))
+                    .map(paginas -> googlePlacesService.converterLugares(
+                            paginas.getLugares(), coordenadas, limite, raioSolicitado, criterio, hotel -> { }));
+        });
+    }
+    
+    /**
+     * A consulta à base de hotéis é bloqueante (JDBC) e roda no scheduler boundedElastic
+     */
+    private Mono<PaginasPlaces> buscarNaBase(CoordenadasResponse coordenadas, int raioMetros) {
+        if (!persistenciaHoteis.isHabilitada()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> googlePlacesService.buscarNaBase(coordenadas, raioMetros))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::justOrEmpty);
+    }
+    
+    private Mono<PaginasPlaces> buscarEArmazenarNoCache(CoordenadasResponse coordenadas, int raioMetros) {
+        return consultar(googlePlacesService.construirUrl(coordenadas, raioMetros))
+                .map(response -> googlePlacesService.primeiraPagina(coordenadas, response))
+                .doOnNext(paginas -> googlePlacesService.armazenar(coordenadas, raioMetros, paginas))
+                .onErrorMap(this::traduzirErro);
+    }
+    
+    /**
+     * Mesma paginação do GooglePlacesService; a espera pela ativação do token é um Mono.delay
+     */
+    private Mono<PaginasPlaces> completarPaginas(CoordenadasResponse coordenadas, int raioMetros,
+                                                 PaginasPlaces paginas, Integer limite) {
+        if (!googlePlacesService.precisaProximaPagina(paginas, limite)) {
+            return Mono.just(paginas);
+        }
+        
+        return Mono.fromFuture(() -> coalescedorPlaces.executarAssincrono(
+                        googlePlacesService.chaveCoalescenciaPagina(coordenadas, raioMetros, paginas),
+                        () -> Mono.delay(Duration.ofMillis(paginas.atrasoAteProximaPagina(System.currentTimeMillis())))
+                                .then(consultar(googlePlacesService.construirUrlProximaPagina(paginas.getProximoToken())))
+                                .map(response -> googlePlacesService.proximaPagina(paginas, response))
+                                .doOnNext(proximas -> googlePlacesService.armazenar(coordenadas, raioMetros, proximas))
+                                .toFuture()), true)
+                .onErrorResume(e -> {
+                    log.warn("Não foi possível obter a página {} do Google Places, usando {} resultados já obtidos: {}",
+                            paginas.getTotalPaginas() + 1, paginas.getLugares().size(), e.toString());
+                    return Mono.just(paginas.semProximaPagina());
+                })
+                .flatMap(proximas -> completarPaginas(coordenadas, raioMetros, proximas, limite));
+    }
+    
+    private Mono<GooglePlacesResponse> consultar(String url) {
+        return Mono.fromFuture(() -> compartimentoPlaces.executarAssincrono(
+                () -> disjuntorPlaces.executarAssincrono(() -> limitadorPlaces.executarAssincrono(() -> webClient.get()
+                        .uri(URI.create(url))
+                        .retrieve()
+                        .bodyToMono(GooglePlacesResponse.class)
+                        .switchIfEmpty(Mono.error(() -> new ErroConsultaExternaException("Resposta vazia do Google Places")))
+                        .toFuture()))), true);
+    }
+    
+    /**
+     * Mesmo mapeamento de erros HTTP do GooglePlacesService, para que o ApiExceptionHandler responda igual
+     */
+    private Throwable traduzirErro(Throwable e) {
+        if (e instanceof ApiKeyInvalidaException
+                || e instanceof LimiteRequisicaoExcedidoException
+                || e instanceof ErroConsultaExternaException) {
+            return e;
+        }
+        
+        if (e instanceof WebClientResponseException respostaErro) {
+            HttpStatus status = HttpStatus.resolve(respostaErro.getStatusCode().value());
+            
+            if (status == HttpStatus.FORBIDDEN || status == HttpStatus.UNAUTHORIZED) {
+                log.error("Acesso negado ao Google Places: {}", e.getMessage());
+                return new ApiKeyInvalidaException("API Key do Google Places inválida ou sem permissões", e);
+            }
+            
+            if (status == HttpStatus.TOO_MANY_REQUESTS) {
+                log.error("Rate limit excedido no Google Places");
+                return new LimiteRequisicaoExcedidoException("Limite de requisições excedido", e);
+            }
+            
+            if (respostaErro.getStatusCode().is5xxServerError()) {
+                log.error("Erro no servidor do Google Places ({}): {}", respostaErro.getStatusCode(), e.getMessage());
+                return new ErroConsultaExternaException("Serviço do Google Places temporariamente indisponível", e);
+            }
+        }
+        
+        if (e instanceof WebClientRequestException) {
+            log.error("Timeout ou erro de conexão com Google Places: {}", e.getMessage());
+            return new ErroConsultaExternaException("Não foi possível conectar ao serviço de busca de hotéis", e);
+        }
+        
+        log.error("Erro inesperado ao consultar Google Places API", e);
+        return new ErroConsultaExternaException("Erro ao buscar hotéis próximos", e);
+    }
+}
@@ -0,0 +1,210 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.model.ConsultaCep;
+import com.hotel.guessr.repository.ConsultaCepRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gravação write-behind das consultas de CEP: as consultas entram em uma fila limitada e uma thread
+ * dedicada grava em lote (saveAll + batch do Hibernate) ao atingir o tamanho do lote ou o intervalo máximo.
+ * Com a fila cheia o chamador aguarda um tempo curto e, persistindo a lotação, grava de forma síncrona.
+ */
+@Slf4j
+@Component
+public class GravadorConsultasCep implements SmartLifecycle {
+
+    /**
+     * Para depois do servidor web, para que nenhuma requisição enfileire consultas após o último esvaziamento
+     */
+    private static final int FASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final long INTERVALO_VERIFICACAO_MS = 100;
+
+    private final ConsultaCepRepository repository;
+    private final boolean habilitado;
+    private final int tamanhoLote;
+    private final Duration intervaloGravacao;
+    private final Duration esperaFilaCheia;
+    private final BlockingQueue<ConsultaCep> fila;
+
+    private final Timer tempoGravacao;
+    private final Counter consultasGravadas;
+    private final Counter falhasGravacao;
+    private final Counter gravacoesSincronas;
+
+    private volatile boolean executando;
+    private Thread gravador;
+
+    public GravadorConsultasCep(ConsultaCepRepository repository,
+                                @Value("${cep.write-behind.enabled:false}") boolean habilitado,
+                                @Value("${cep.write-behind.batch-size:100}") int tamanhoLote,
+                                @Value("${cep.write-behind.flush-interval:500ms}") Duration intervaloGravacao,
+                                @Value("${cep.write-behind.queue-capacity:10000}") int capacidadeFila,
+                                @Value("${cep.write-behind.offer-timeout:50ms}") Duration esperaFilaCheia,
+                                MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.habilitado = habilitado;
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloGravacao = intervaloGravacao;
+        this.esperaFilaCheia = esperaFilaCheia;
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+
+        this.tempoGravacao = Timer.builder("cep.writebehind.flush")
+                .description("Tempo de gravação de um lote de consultas de CEP")
+                .register(meterRegistry);
+        this.consultasGravadas = Counter.builder("cep.writebehind.records")
+                .tag("result", "written").register(meterRegistry);
+        this.falhasGravacao = Counter.builder("cep.writebehind.records")
+                .tag("result", "failed").register(meterRegistry);
+        this.gravacoesSincronas = Counter.builder("cep.writebehind.records")
+                .tag("result", "synchronous").register(meterRegistry);
+        Gauge.builder("cep.writebehind.queue.depth", fila, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void enfileirar(ConsultaCep consulta) {
+        if (!executando) {
+            gravarSincrono(consulta);
+            return;
+        }
+
+        try {
+            if (!fila.offer(consulta, esperaFilaCheia.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Fila de gravação de consultas cheia ({} itens), gravando de forma síncrona", fila.size());
+                gravarSincrono(consulta);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            gravarSincrono(consulta);
+        }
+    }
+
+    public int tamanhoFila() {
+        return fila.size();
+    }
+
+    @Override
+    public void start() {
+        if (!habilitado || executando) {
+            return;
+        }
+
+        executando = true;
+        gravador = new Thread(this::executar, "gravador-consultas-cep");
+        gravador.setDaemon(true);
+        gravador.start();
+        log.info("Gravação write-behind de consultas de CEP iniciada (lote={}, intervalo={})", tamanhoLote, intervaloGravacao);
+    }
+
+    @Override
+    public void stop() {
+        if (!executando) {
+            return;
+        }
+
+        executando = false;
+        try {
+            gravador.join(intervaloGravacao.multipliedBy(4).toMillis() + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<ConsultaCep> pendentes = new ArrayList<>();
+        fila.drainTo(pendentes);
+        if (!pendentes.isEmpty()) {
+            gravarLote(pendentes);
+        }
+        log.info("Gravação write-behind de consultas de CEP finalizada");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    @Override
+    public int getPhase() {
+        return FASE;
+    }
+
+    /**
+     * Cada lote é uma lista nova: o repositório (e quem mais guardar a referência) recebe um lote que o coletor
+     * não altera depois
+     */
+    private void executar() {
+        while (executando || !fila.isEmpty()) {
+            List<ConsultaCep> lote = new ArrayList<>(tamanhoLote);
+            try {
+                coletarLote(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executando = false;
+            }
+
+            if (!lote.isEmpty()) {
+                gravarLote(lote);
+            }
+        }
+    }
+
+    /**
+     * Aguarda a primeira consulta e completa o lote até o tamanho máximo ou até o intervalo de gravação expirar.
+     * As esperas são fatiadas para que o encerramento seja percebido rapidamente.
+     */
+    private void coletarLote(List<ConsultaCep> lote) throws InterruptedException {
+        ConsultaCep primeira = fila.poll(INTERVALO_VERIFICACAO_MS, TimeUnit.MILLISECONDS);
+        if (primeira == null) {
+            return;
+        }
+        lote.add(primeira);
+
+        long prazo = System.nanoTime() + intervaloGravacao.toNanos();
+        while (lote.size() < tamanhoLote && executando) {
+            fila.drainTo(lote, tamanhoLote - lote.size());
+            long restante = prazo - System.nanoTime();
+            if (lote.size() >= tamanhoLote || restante <= 0) {
+                return;
+            }
+            ConsultaCep proxima = fila.poll(
+                    Math.min(restante, TimeUnit.MILLISECONDS.toNanos(INTERVALO_VERIFICACAO_MS)), TimeUnit.NANOSECONDS);
+            if (proxima != null) {
+                lote.add(proxima);
+            }
+        }
+    }
+
+    private void gravarLote(List<ConsultaCep> lote) {
+        try {
+            tempoGravacao.record(() -> {
+                repository.saveAll(lote);
+            });
+            consultasGravadas.increment(lote.size());
+            log.debug("Lote de {} consultas de CEP gravado", lote.size());
+        } catch (Exception e) {
+            falhasGravacao.increment(lote.size());
+            log.error("Erro ao gravar lote de {} consultas de CEP: {}", lote.size(), e.getMessage(), e);
+        }
+    }
+
+    private void gravarSincrono(ConsultaCep consulta) {
+        gravacoesSincronas.increment();
+        repository.save(consulta);
+    }
+}
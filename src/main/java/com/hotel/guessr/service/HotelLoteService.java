@@ -0,0 +1,119 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.config.ExecutorConfig;
+import com.hotel.guessr.dto.ItemErroLoteResponse;
+import com.hotel.guessr.exception.ApiExceptionHandler;
+import com.hotel.guessr.exception.ErroConsultaExternaException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Busca de hotéis para muitos CEPs: no máximo {@code hotel.lote.concurrency} buscas em andamento e cada
+ * resultado entregue assim que fica pronto, fora de ordem. Só as buscas em andamento ficam em memória,
+ * independentemente do tamanho do lote.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotelLoteService {
+
+    private final HotelServiceInterface hotelService;
+
+    @Qualifier(ExecutorConfig.EXECUTOR_BUSCA_HOTEIS_LOTE)
+    private final ExecutorService executorBuscaHoteisLote;
+
+    @Value("${hotel.lote.max-size:5000}")
+    private int tamanhoMaximoLote;
+
+    @Value("${hotel.lote.concurrency:8}")
+    private int paralelismo;
+
+    public void validarTamanhoLote(List<String> ceps) {
+        if (ceps.size() > tamanhoMaximoLote) {
+            throw new IllegalArgumentException(
+                    String.format("O lote aceita no máximo %d CEPs (recebidos: %d)", tamanhoMaximoLote, ceps.size()));
+        }
+    }
+
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    /**
+     * Entrega ao consumidor um HoteisProximosResponse ou um ItemErroLoteResponse por CEP. Se o consumidor
+     * falhar (cliente desconectado), as buscas em andamento são canceladas e o erro é propagado.
+     */
+    public void buscarEmLote(List<String> ceps, Integer limite, Consumer<Object> consumidor) {
+        validarTamanhoLote(ceps);
+        log.info("Iniciando busca de hotéis em lote para {} CEPs (paralelismo: {})", ceps.size(), paralelismo);
+
+        CompletionService<Object> buscas = new ExecutorCompletionService<>(executorBuscaHoteisLote);
+        Set<Future<Object>> emAndamento = new HashSet<>();
+        Iterator<String> pendentes = ceps.iterator();
+        int concluidas = 0;
+
+        try {
+            while (pendentes.hasNext() || !emAndamento.isEmpty()) {
+                while (emAndamento.size() < paralelismo && pendentes.hasNext()) {
+                    String cep = pendentes.next();
+                    emAndamento.add(buscas.submit(() -> buscar(cep, limite)));
+                }
+
+                Future<Object> concluida = buscas.take();
+                emAndamento.remove(concluida);
+                consumidor.accept(concluida.get());
+                concluidas++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ErroConsultaExternaException("Busca de hotéis em lote interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha inesperada na busca de hotéis em lote", e.getCause());
+        } finally {
+            emAndamento.forEach(busca -> busca.cancel(true));
+            log.info("Busca de hotéis em lote finalizada: {} de {} CEPs entregues", concluidas, ceps.size());
+        }
+    }
+
+    private Object buscar(String cep, Integer limite) {
+        try {
+            return hotelService.buscarHoteisProximosPorCep(cep, limite);
+        } catch (Exception e) {
+            return criarErro(cep, e);
+        }
+    }
+
+    /**
+     * Mesmo status que o ApiExceptionHandler devolveria para o CEP buscado individualmente
+     */
+    public static ItemErroLoteResponse criarErro(String cep, Throwable erro) {
+        HttpStatus status = ApiExceptionHandler.resolverStatus(erro);
+        String mensagem = erro.getMessage();
+
+        if (status == HttpStatus.INTERNAL_SERVER_ERROR) {
+            log.error("Erro inesperado ao buscar hotéis para o CEP {} no lote", cep, erro);
+            mensagem = "Erro interno no servidor";
+        }
+
+        return ItemErroLoteResponse.builder()
+                .cep(cep)
+                .status(status.value())
+                .erro(mensagem)
+                .build();
+    }
+}
@@ -1,14 +1,28 @@
 package com.hotel.guessr.service;
 
+import com.hotel.guessr.cache.CepCache;
+import com.hotel.guessr.cache.FiltroCep;
+import com.hotel.guessr.config.ExecutorConfig;
+import com.hotel.guessr.dto.ConsultaCepResponse;
 import com.hotel.guessr.dto.CoordenadasResponse;
+import com.hotel.guessr.dto.EventoBuscaHoteis;
 import com.hotel.guessr.dto.HotelResponse;
 import com.hotel.guessr.dto.HoteisProximosResponse;
+import com.hotel.guessr.exception.ErroConsultaExternaException;
 import com.hotel.guessr.exception.HotelNaoEncontradoException;
+import com.hotel.guessr.ranking.CriterioOrdenacao;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
@@ -18,19 +32,64 @@ public class HotelService implements HotelServiceInterface {
     private final CepServiceInterface cepService;
     private final GeolocalizacaoServiceInterface geolocalizacaoService;
     private final GooglePlacesService googlePlacesService;
+    private final FiltroCep filtroCep;
+    private final CepCache cepCache;
+    
+    @Qualifier(ExecutorConfig.EXECUTOR_CONSULTAS_EXTERNAS)
+    private final ExecutorService executorConsultasExternas;
     
     @Override
     public HoteisProximosResponse buscarHoteisProximosPorCep(String cep, Integer limite) {
-        log.info("Buscando hotéis próximos ao CEP: {} (limite: {})", cep, limite);
+        return buscarHoteisProximosPorCep(cep, limite, CriterioOrdenacao.DISTANCIA);
+    }
+    
+    @Override
+    public HoteisProximosResponse buscarHoteisProximosPorCep(String cep, Integer limite, CriterioOrdenacao criterio) {
+        return buscarHoteisProximosPorCep(cep, limite, criterio, evento -> { });
+    }
+    
+    /**
+     * Mesma busca, notificando cada etapa assim que conclui: endereço, coordenadas, cada hotel e o resumo final
+     */
+    @Override
+    public HoteisProximosResponse buscarHoteisProximosPorCep(String cep, Integer limite, CriterioOrdenacao criterio,
+                                                             Consumer<EventoBuscaHoteis> aoAvancar) {
+        log.info("Buscando hotéis próximos ao CEP: {} (limite: {}, ordenação: {})", cep, limite, criterio.getCodigo());
         
         try {
-            var endereco = cepService.consultarCep(cep);
-            CoordenadasResponse coordenadas = geolocalizacaoService.obterCoordenadasPorCep(cep);
+            String cepNormalizado = CepNormalizador.validarENormalizar(cep);
+            filtroCep.verificar(cepNormalizado);
+            
+            ConsultaCepResponse endereco;
+            CoordenadasResponse coordenadas;
+            if (cepCache.contem(cepNormalizado) || filtroCep.possivelmenteConfirmado(cepNormalizado)) {
+                // CEP possivelmente já confirmado pelo ViaCEP: o geocoding roda em paralelo com a consulta do CEP
+                CompletableFuture<CoordenadasResponse> coordenadasFuturo = executarEmParalelo(
+                        () -> geolocalizacaoService.obterCoordenadasPorCep(cep));
+                try {
+                    endereco = cepService.consultarCep(cep);
+                } catch (RuntimeException e) {
+                    // ainda na fila, o geocoding cancelado não chega a ser cobrado
+                    coordenadasFuturo.cancel(true);
+                    throw e;
+                }
+                aoAvancar.accept(EventoBuscaHoteis.of(EventoBuscaHoteis.ENDERECO, endereco));
+                coordenadas = aguardar(coordenadasFuturo);
+            } else {
+                // CEP desconhecido: o ViaCEP confirma que ele existe antes de pagar pelo geocoding
+                endereco = cepService.consultarCep(cep);
+                aoAvancar.accept(EventoBuscaHoteis.of(EventoBuscaHoteis.ENDERECO, endereco));
+                coordenadas = geolocalizacaoService.obterCoordenadasPorCep(cep);
+            }
+            aoAvancar.accept(EventoBuscaHoteis.of(EventoBuscaHoteis.COORDENADAS, coordenadas));
             
+            // Cada hotel é notificado assim que sai do ranking, antes de a lista inteira ficar pronta
             List<HotelResponse> hoteis = googlePlacesService.buscarHoteisProximos(
                     coordenadas,
                     limite,
-                    5000
+                    5000,
+                    criterio,
+                    hotel -> aoAvancar.accept(EventoBuscaHoteis.of(EventoBuscaHoteis.HOTEL, hotel))
             );
             
             if (hoteis.isEmpty()) {
@@ -42,14 +101,9 @@ public class HotelService implements HotelServiceInterface {
             
             log.info("Encontrados {} hotéis próximos via Google Places", hoteis.size());
             
-            return HoteisProximosResponse.builder()
-                    .cepConsultado(endereco.getCep())
-                    .enderecoConsultado(String.format("%s, %s", endereco.getLogradouro(), endereco.getBairro()))
-                    .cidade(endereco.getLocalidade())
-                    .uf(endereco.getUf())
-                    .hoteis(hoteis)
-                    .totalEncontrado(hoteis.size())
-                    .build();
+            HoteisProximosResponse resposta = montarResposta(endereco, hoteis);
+            aoAvancar.accept(EventoBuscaHoteis.of(EventoBuscaHoteis.RESUMO, resposta));
+            return resposta;
                     
         } catch (HotelNaoEncontradoException e) {
             throw e;
@@ -58,4 +112,42 @@ public class HotelService implements HotelServiceInterface {
             throw e;
         }
     }
+    
+    static HoteisProximosResponse montarResposta(ConsultaCepResponse endereco, List<HotelResponse> hoteis) {
+        return HoteisProximosResponse.builder()
+                .cepConsultado(endereco.getCep())
+                .enderecoConsultado(String.format("%s, %s", endereco.getLogradouro(), endereco.getBairro()))
+                .cidade(endereco.getLocalidade())
+                .uf(endereco.getUf())
+                .hoteis(hoteis)
+                .totalEncontrado(hoteis.size())
+                .build();
+    }
+    
+    private <T> CompletableFuture<T> executarEmParalelo(Supplier<T> consulta) {
+        try {
+            return CompletableFuture.supplyAsync(consulta, executorConsultasExternas);
+        } catch (RejectedExecutionException e) {
+            log.warn("Pool de consultas externas saturado: {}", e.getMessage());
+            throw new ErroConsultaExternaException("Serviço sobrecarregado, tente novamente em instantes", e);
+        }
+    }
+    
+    /**
+     * Aguarda o resultado devolvendo a exceção original, para manter o mapeamento de status do ApiExceptionHandler
+     */
+    private <T> T aguardar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new ErroConsultaExternaException("Erro ao consultar serviço externo", causa);
+        }
+    }
 }
@@ -1,9 +1,18 @@
 package com.hotel.guessr.service;
 
+import com.hotel.guessr.dto.EventoBuscaHoteis;
 import com.hotel.guessr.dto.HotelResponse;
 import com.hotel.guessr.dto.HoteisProximosResponse;
+import com.hotel.guessr.ranking.CriterioOrdenacao;
+
+import java.util.function.Consumer;
 
 public interface HotelServiceInterface {
     
     HoteisProximosResponse buscarHoteisProximosPorCep(String cep, Integer limite);
+    
+    HoteisProximosResponse buscarHoteisProximosPorCep(String cep, Integer limite, CriterioOrdenacao criterio);
+    
+    HoteisProximosResponse buscarHoteisProximosPorCep(String cep, Integer limite, CriterioOrdenacao criterio,
+                                                      Consumer<EventoBuscaHoteis> aoAvancar);
 }
@@ -0,0 +1,95 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.dto.ConsultaCepResponse;
+import com.hotel.guessr.dto.CoordenadasResponse;
+import com.hotel.guessr.dto.EventoBuscaHoteis;
+import com.hotel.guessr.dto.HotelResponse;
+import com.hotel.guessr.dto.HoteisProximosResponse;
+import com.hotel.guessr.exception.HotelNaoEncontradoException;
+import com.hotel.guessr.ranking.CriterioOrdenacao;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Pipeline não bloqueante da busca de hotéis: endereço e coordenadas em paralelo (Mono.zip) e, em seguida,
+ * o Google Places. Uma falha em qualquer ramo cancela o outro.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class HotelServiceReativo implements HotelServiceReativoInterface {
+    
+    private final CepServiceReativoInterface cepService;
+    private final GeolocalizacaoServiceReativoInterface geolocalizacaoService;
+    private final GooglePlacesServiceReativo googlePlacesService;
+    
+    @Override
+    public Mono<HoteisProximosResponse> buscarHoteisProximosPorCep(String cep, Integer limite) {
+        return buscarHoteisProximosPorCep(cep, limite, CriterioOrdenacao.DISTANCIA);
+    }
+    
+    @Override
+    public Mono<HoteisProximosResponse> buscarHoteisProximosPorCep(String cep, Integer limite, CriterioOrdenacao criterio) {
+        log.info("Buscando hotéis próximos ao CEP: {} (limite: {}, ordenação: {})", cep, limite, criterio.getCodigo());
+        
+        return Mono.fromCallable(() -> CepNormalizador.validarENormalizar(cep))
+                .then(Mono.defer(() -> Mono.zip(
+                        cepService.consultarCep(cep),
+                        geolocalizacaoService.obterCoordenadasPorCep(cep))))
+                .flatMap(enderecoECoordenadas -> googlePlacesService
+                        .buscarHoteisProximos(enderecoECoordenadas.getT2(), limite, 5000, criterio)
+                        .map(hoteis -> HotelService.montarResposta(enderecoECoordenadas.getT1(), validarHoteis(cep, hoteis))))
+                .doOnError(e -> !(e instanceof HotelNaoEncontradoException),
+                        e -> log.error("Erro ao buscar hotéis próximos ao CEP: {}", cep, e));
+    }
+    
+    /**
+     * Emite cada etapa assim que conclui. mergeSequential assina todos os ramos de imediato (endereço e
+     * coordenadas seguem em paralelo) mas preserva a ordem: endereco, coordenadas, hotel... e resumo.
+     */
+    @Override
+    public Flux<EventoBuscaHoteis> buscarHoteisProximosEmEtapas(String cep, Integer limite, CriterioOrdenacao criterio) {
+        log.info("Buscando hotéis próximos ao CEP: {} (limite: {}, ordenação: {}) com eventos por etapa",
+                cep, limite, criterio.getCodigo());
+        
+        return Mono.fromCallable(() -> CepNormalizador.validarENormalizar(cep))
+                .thenMany(Flux.defer(() -> {
+                    Mono<ConsultaCepResponse> endereco = cepService.consultarCep(cep).cache();
+                    Mono<CoordenadasResponse> coordenadas = geolocalizacaoService.obterCoordenadasPorCep(cep).cache();
+                    Mono<List<HotelResponse>> hoteis = coordenadas
+                            .flatMap(c -> googlePlacesService.buscarHoteisProximos(c, limite, 5000, criterio))
+                            .map(lista -> validarHoteis(cep, lista))
+                            .cache();
+                    
+                    return Flux.mergeSequential(
+                            endereco.map(e -> EventoBuscaHoteis.of(EventoBuscaHoteis.ENDERECO, e)),
+                            coordenadas.map(c -> EventoBuscaHoteis.of(EventoBuscaHoteis.COORDENADAS, c)),
+                            hoteis.flatMapIterable(lista -> lista)
+                                    .map(h -> EventoBuscaHoteis.of(EventoBuscaHoteis.HOTEL, h)),
+                            Mono.zip(endereco, hoteis)
+                                    .map(t -> EventoBuscaHoteis.of(EventoBuscaHoteis.RESUMO,
+                                            HotelService.montarResposta(t.getT1(), t.getT2()))));
+                }))
+                .doOnError(e -> !(e instanceof HotelNaoEncontradoException),
+                        e -> log.error("Erro ao buscar hotéis próximos ao CEP: {}", cep, e));
+    }
+    
+    private static List<HotelResponse> validarHoteis(String cep, List<HotelResponse> hoteis) {
+        if (hoteis.isEmpty()) {
+            log.warn("Nenhum hotel encontrado próximo ao CEP: {}", cep);
+            throw new HotelNaoEncontradoException(
+                String.format("Nenhum hotel encontrado próximo ao CEP: %s", cep)
+            );
+        }
+        
+        log.info("Encontrados {} hotéis próximos via Google Places", hoteis.size());
+        return hoteis;
+    }
+}
@@ -0,0 +1,16 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.dto.EventoBuscaHoteis;
+import com.hotel.guessr.dto.HoteisProximosResponse;
+import com.hotel.guessr.ranking.CriterioOrdenacao;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface HotelServiceReativoInterface {
+    
+    Mono<HoteisProximosResponse> buscarHoteisProximosPorCep(String cep, Integer limite);
+    
+    Mono<HoteisProximosResponse> buscarHoteisProximosPorCep(String cep, Integer limite, CriterioOrdenacao criterio);
+    
+    Flux<EventoBuscaHoteis> buscarHoteisProximosEmEtapas(String cep, Integer limite, CriterioOrdenacao criterio);
+}
@@ -0,0 +1,188 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.config.ExecutorConfig;
+import com.hotel.guessr.dto.GooglePlacesResponse;
+import com.hotel.guessr.model.Hotel;
+import com.hotel.guessr.repository.AreaCobertaHoteisRepository;
+import com.hotel.guessr.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Base de hotéis no PostGIS: todo hotel devolvido pelo Google Places é gravado (upsert por place_id) junto com
+ * as áreas em que a busca foi comprovadamente completa (PaginasPlaces.isCompleta). Uma busca contida em uma área coberta recente é respondida
+ * pelo banco com uma consulta KNN no índice GiST, inclusive após reinicializações e entre instâncias; o Google só
+ * é chamado quando a área não está coberta ou a cobertura expirou. As gravações rodam no pool próprio de
+ * gravação, fora da requisição.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PersistenciaHoteis {
+
+    private final HotelRepository hotelRepository;
+    private final AreaCobertaHoteisRepository areaCobertaRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Qualifier(ExecutorConfig.EXECUTOR_GRAVACAO_HOTEIS)
+    private final ExecutorService executorGravacaoHoteis;
+
+    @Value("${hotel.store.enabled:false}")
+    private boolean habilitada;
+
+    @Value("${hotel.store.max-candidates:500}")
+    private int maximoCandidatos;
+
+    @Value("${google.places.index.coverage-ttl:7d}")
+    private Duration validadeCobertura;
+
+    public boolean isHabilitada() {
+        return habilitada;
+    }
+
+    /**
+     * Hotéis do raio, do mais próximo para o mais distante (até {@code hotel.store.max-candidates}), somente
+     * quando alguma área coberta recente contém o círculo inteiro da busca. Falhas do banco não derrubam a
+     * busca: ela segue para o Google.
+     */
+    public Optional<List<GooglePlacesResponse.PlaceResult>> buscarSeCoberta(double latitude, double longitude,
+                                                                             int raioMetros) {
+        if (!habilitada) {
+            return Optional.empty();
+        }
+
+        try {
+            LocalDateTime limite = LocalDateTime.now().minus(validadeCobertura);
+            if (!areaCobertaRepository.existeAreaCobrindo(latitude, longitude, raioMetros, limite)) {
+                return Optional.empty();
+            }
+
+            List<GooglePlacesResponse.PlaceResult> lugares = hotelRepository
+                    .buscarMaisProximos(latitude, longitude, raioMetros, maximoCandidatos).stream()
+                    .map(this::converterParaLugar)
+                    .toList();
+            log.debug("{} hotéis obtidos da base para {},{} ({} m)", lugares.size(), latitude, longitude, raioMetros);
+            return Optional.of(lugares);
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível consultar a base de hotéis: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void registrar(List<GooglePlacesResponse.PlaceResult> lugares) {
+        gravarEmSegundoPlano(() -> salvar(lugares, LocalDateTime.now()));
+    }
+
+    /**
+     * Grava os hotéis de uma busca completa, remove os do círculo que o Google não devolveu mais e registra
+     * a área como coberta, tudo na mesma transação. Só pode receber buscas completas: uma busca cortada no teto
+     * de 60 lugares da Nearby Search apagaria hotéis que existem e marcaria a área como coberta por dias.
+     */
+    public void registrarAreaCoberta(double latitude, double longitude, int raioMetros,
+                                     List<GooglePlacesResponse.PlaceResult> lugares) {
+        gravarEmSegundoPlano(() -> {
+            LocalDateTime agora = LocalDateTime.now();
+            salvar(lugares, agora);
+
+            List<String> presentes = lugares.stream()
+                    .map(GooglePlacesResponse.PlaceResult::getPlaceId)
+                    .filter(Objects::nonNull)
+                    .toList();
+            // NOT IN () não é SQL válido: com a área vazia nenhum place_id real coincide com ""
+            hotelRepository.removerAusentesDaArea(latitude, longitude, raioMetros,
+                    presentes.isEmpty() ? List.of("") : presentes);
+
+            areaCobertaRepository.registrar(chaveArea(latitude, longitude, raioMetros),
+                    latitude, longitude, raioMetros, agora);
+        });
+    }
+
+    /**
+     * Remove hotéis não confirmados pelo Google há mais de {@code validade} e áreas cuja cobertura expirou
+     */
+    public void removerDesatualizados(Duration validade) {
+        if (!habilitada) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int hoteis = hotelRepository.removerAtualizadosAntesDe(LocalDateTime.now().minus(validade));
+                int areas = areaCobertaRepository.removerRegistradasAntesDe(LocalDateTime.now().minus(validadeCobertura));
+                log.debug("Base de hotéis: {} hotéis e {} áreas desatualizados removidos", hoteis, areas);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível remover hotéis desatualizados da base: {}", e.getMessage());
+        }
+    }
+
+    private void salvar(List<GooglePlacesResponse.PlaceResult> lugares, LocalDateTime agora) {
+        for (GooglePlacesResponse.PlaceResult lugar : lugares) {
+            if (!possuiLocalizacao(lugar)) {
+                continue;
+            }
+            GooglePlacesResponse.Location localizacao = lugar.getGeometry().getLocation();
+            hotelRepository.salvarOuAtualizar(lugar.getPlaceId(), Objects.toString(lugar.getName(), ""),
+                    lugar.getVicinity(), lugar.getRating(), lugar.getUserRatingsTotal(),
+                    localizacao.getLat(), localizacao.getLng(), agora);
+        }
+    }
+
+    private void gravarEmSegundoPlano(Runnable gravacao) {
+        if (!habilitada) {
+            return;
+        }
+
+        CompletableFuture
+                .runAsync(() -> transactionTemplate.executeWithoutResult(status -> gravacao.run()),
+                        executorGravacaoHoteis)
+                .exceptionally(e -> {
+                    log.warn("Não foi possível gravar hotéis na base: {}", e.getMessage());
+                    return null;
+                });
+    }
+
+    private GooglePlacesResponse.PlaceResult converterParaLugar(Hotel hotel) {
+        GooglePlacesResponse.Location localizacao = new GooglePlacesResponse.Location();
+        localizacao.setLat(hotel.getLocalizacao().getY());
+        localizacao.setLng(hotel.getLocalizacao().getX());
+
+        GooglePlacesResponse.Geometry geometria = new GooglePlacesResponse.Geometry();
+        geometria.setLocation(localizacao);
+
+        GooglePlacesResponse.PlaceResult lugar = new GooglePlacesResponse.PlaceResult();
+        lugar.setPlaceId(hotel.getPlaceId());
+        lugar.setName(hotel.getNome());
+        lugar.setVicinity(hotel.getEndereco());
+        lugar.setRating(hotel.getAvaliacao());
+        lugar.setUserRatingsTotal(hotel.getTotalAvaliacoes());
+        lugar.setGeometry(geometria);
+        return lugar;
+    }
+
+    private static String chaveArea(double latitude, double longitude, int raioMetros) {
+        return String.format(Locale.US, "%.6f,%.6f:%d", latitude, longitude, raioMetros);
+    }
+
+    private static boolean possuiLocalizacao(GooglePlacesResponse.PlaceResult lugar) {
+        return lugar.getPlaceId() != null
+                && lugar.getGeometry() != null
+                && lugar.getGeometry().getLocation() != null
+                && lugar.getGeometry().getLocation().getLat() != null
+                && lugar.getGeometry().getLocation().getLng() != null;
+    }
+}
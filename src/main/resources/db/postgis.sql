@@ -0,0 +1,25 @@
+-- Tabelas geográficas dos hotéis (PostGIS). Executado antes do Hibernate (spring.sql.init), que só cria
+-- as demais tabelas; sem a extensão PostGIS os comandos falham e a base de hotéis fica desabilitada.
+CREATE EXTENSION IF NOT EXISTS postgis;
+
+CREATE TABLE IF NOT EXISTS hoteis (
+    place_id          VARCHAR(255)           PRIMARY KEY,
+    nome              VARCHAR(255)           NOT NULL,
+    endereco          VARCHAR(255),
+    avaliacao         DOUBLE PRECISION,
+    total_avaliacoes  INTEGER,
+    localizacao       GEOGRAPHY(Point, 4326) NOT NULL,
+    data_atualizacao  TIMESTAMP(6)           NOT NULL
+);
+
+-- Índice GiST: atende o ST_DWithin (raio) e o operador <-> (vizinhos mais próximos, KNN)
+CREATE INDEX IF NOT EXISTS idx_hoteis_localizacao ON hoteis USING GIST (localizacao);
+
+CREATE TABLE IF NOT EXISTS areas_cobertas_hoteis (
+    chave          VARCHAR(64)            PRIMARY KEY,
+    centro         GEOGRAPHY(Point, 4326) NOT NULL,
+    raio_metros    INTEGER                NOT NULL,
+    data_registro  TIMESTAMP(6)           NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_areas_cobertas_hoteis_centro ON areas_cobertas_hoteis USING GIST (centro);
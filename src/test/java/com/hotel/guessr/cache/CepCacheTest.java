@@ -0,0 +1,213 @@
+package com.hotel.guessr.cache;
+
+import com.hotel.guessr.dto.CepApiResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CepCacheTest {
+
+    private static final Duration TTL = Duration.ofHours(24);
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private CepApiResponse criarEndereco(String cep, String logradouro) {
+        return CepApiResponse.builder()
+                .cep(cep)
+                .logradouro(logradouro)
+                .complemento("")
+                .bairro("Bela Vista")
+                .localidade("São Paulo")
+                .uf("SP")
+                .ibge("3550308")
+                .gia("1004")
+                .ddd("11")
+                .siafi("7107")
+                .build();
+    }
+
+    // ==================== TESTES ====================
+
+    @Test
+    @DisplayName("Deve retornar o endereço armazenado para o CEP")
+    void deveRetornarEnderecoArmazenadoParaCep() {
+        // Given
+        var cache = new CepCache(TTL, 100, new SimpleMeterRegistry());
+        cache.armazenar("01310100", criarEndereco("01310-100", "Avenida Paulista"));
+
+        // When
+        var resultado = cache.buscar("01310100");
+
+        // Then
+        assertTrue(resultado.isPresent());
+        assertEquals("01310-100", resultado.get().getCep());
+        assertEquals("Avenida Paulista", resultado.get().getLogradouro());
+        assertEquals("", resultado.get().getComplemento());
+        assertEquals("São Paulo", resultado.get().getLocalidade());
+        assertEquals("7107", resultado.get().getSiafi());
+        assertTrue(cache.buscar("01310200").isEmpty());
+        assertTrue(cache.buscar("abc").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve gravar uma única vez os textos repetidos entre CEPs")
+    void deveGravarUmaUnicaVezTextosRepetidos() {
+        // Given
+        var cache = new CepCache(TTL, 100, new SimpleMeterRegistry());
+
+        // When
+        cache.armazenar("01310100", criarEndereco("01310-100", "Avenida Paulista"));
+        cache.armazenar("01310200", criarEndereco("01310-200", "Avenida Paulista"));
+        cache.armazenar("01311000", criarEndereco("01311-000", "Rua Augusta"));
+
+        // Then
+        assertEquals(3, cache.tamanho());
+        // 2 logradouros + complemento, bairro, cidade, UF, IBGE, GIA, DDD e SIAFI compartilhados
+        assertEquals(10, cache.totalStrings());
+        assertEquals("Rua Augusta", cache.buscar("01311000").orElseThrow().getLogradouro());
+    }
+
+    @Test
+    @DisplayName("Deve substituir o endereço ao armazenar o mesmo CEP novamente")
+    void deveSubstituirEnderecoDoMesmoCep() {
+        // Given
+        var cache = new CepCache(TTL, 100, new SimpleMeterRegistry());
+        cache.armazenar("01310100", criarEndereco("01310-100", "Avenida Paulista"));
+
+        // When
+        cache.armazenar("01310100", criarEndereco("01310-100", "Av. Paulista"));
+
+        // Then
+        assertEquals(1, cache.tamanho());
+        assertEquals("Av. Paulista", cache.buscar("01310100").orElseThrow().getLogradouro());
+    }
+
+    @Test
+    @DisplayName("Deve tratar como ausente o endereço com tempo de vida expirado")
+    void deveTratarComoAusenteEnderecoExpirado() {
+        // Given
+        var cache = new CepCache(Duration.ZERO, 100, new SimpleMeterRegistry());
+        cache.armazenar("01310100", criarEndereco("01310-100", "Avenida Paulista"));
+
+        // When
+        var resultado = cache.buscar("01310100");
+
+        // Then
+        assertTrue(resultado.isEmpty());
+        assertFalse(cache.contem("01310100"));
+    }
+
+    @Test
+    @DisplayName("Deve informar se contém o CEP sem contar acerto ou falha")
+    void deveInformarSeContemCepSemContarAcertoOuFalha() {
+        // Given
+        var meterRegistry = new SimpleMeterRegistry();
+        var cache = new CepCache(TTL, 100, meterRegistry);
+        cache.armazenar("01310100", criarEndereco("01310-100", "Avenida Paulista"));
+
+        // When & Then
+        assertTrue(cache.contem("01310100"));
+        assertFalse(cache.contem("01310200"));
+        assertFalse(cache.contem("abc"));
+        assertTrue(meterRegistry.find("cep.cache.requests").counters().stream().allMatch(c -> c.count() == 0));
+    }
+
+    @Test
+    @DisplayName("Deve manter todas as entradas após redimensionar a tabela")
+    void deveManterTodasEntradasAposRedimensionar() {
+        // Given
+        var cache = new CepCache(TTL, 10_000, new SimpleMeterRegistry());
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            String cep = String.format("%08d", i * 17);
+            cache.armazenar(cep, criarEndereco(cep, "Rua " + i));
+        }
+
+        // Then
+        assertEquals(5_000, cache.tamanho());
+        for (int i = 0; i < 5_000; i++) {
+            var endereco = cache.buscar(String.format("%08d", i * 17));
+            assertTrue(endereco.isPresent());
+            assertEquals("Rua " + i, endereco.get().getLogradouro());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve despejar o CEP não consultado desde a última volta do relógio quando cheio")
+    void deveDespejarCepNaoConsultadoQuandoCheio() {
+        // Given
+        var meterRegistry = new SimpleMeterRegistry();
+        var cache = new CepCache(TTL, 2, meterRegistry);
+        cache.armazenar("01310100", criarEndereco("01310-100", "Avenida Paulista"));
+        cache.armazenar("01310200", criarEndereco("01310-200", "Avenida Paulista"));
+        cache.buscar("01310100");
+
+        // When
+        cache.armazenar("01311000", criarEndereco("01311-000", "Rua Augusta"));
+
+        // Then
+        assertEquals(2, cache.tamanho());
+        assertTrue(cache.contem("01310100"));
+        assertFalse(cache.contem("01310200"));
+        assertEquals("Rua Augusta", cache.buscar("01311000").orElseThrow().getLogradouro());
+        assertEquals(1.0, meterRegistry.get("cep.cache.evictions").tag("cause", "size").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar primeiro a posição de um endereço expirado")
+    void deveReaproveitarPrimeiroEnderecoExpirado() {
+        // Given
+        var meterRegistry = new SimpleMeterRegistry();
+        var cache = new CepCache(Duration.ZERO, 1, meterRegistry);
+        cache.armazenar("01310100", criarEndereco("01310-100", "Avenida Paulista"));
+
+        // When
+        cache.armazenar("01311000", criarEndereco("01311-000", "Rua Augusta"));
+
+        // Then
+        assertEquals(1, cache.tamanho());
+        assertEquals(1.0, meterRegistry.get("cep.cache.evictions").tag("cause", "expired").counter().count());
+        assertEquals(0.0, meterRegistry.get("cep.cache.evictions").tag("cause", "size").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve descartar da tabela de strings os textos dos endereços despejados")
+    void deveDescartarTextosDosEnderecosDespejados() {
+        // Given
+        var cache = new CepCache(TTL, 10, new SimpleMeterRegistry());
+        String sufixo = "x".repeat(100);
+
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            String cep = String.format("%08d", i);
+            cache.armazenar(cep, criarEndereco(cep, "Rua " + i + sufixo));
+        }
+
+        // Then
+        assertEquals(10, cache.tamanho());
+        assertTrue(cache.bytesStrings() < 20_000 * 100 / 2);
+        assertEquals("Rua 19999" + sufixo, cache.buscar("00019999").orElseThrow().getLogradouro());
+        assertEquals("Bela Vista", cache.buscar("00019990").orElseThrow().getBairro());
+    }
+
+    @Test
+    @DisplayName("Não deve ultrapassar o tamanho máximo configurado")
+    void naoDeveUltrapassarTamanhoMaximo() {
+        // Given
+        var cache = new CepCache(TTL, 2, new SimpleMeterRegistry());
+
+        // When
+        cache.armazenar("01310100", criarEndereco("01310-100", "Avenida Paulista"));
+        cache.armazenar("01310200", criarEndereco("01310-200", "Avenida Paulista"));
+        cache.armazenar("01311000", criarEndereco("01311-000", "Rua Augusta"));
+
+        // Then
+        assertEquals(2, cache.tamanho());
+        assertTrue(cache.contem("01311000"));
+    }
+}
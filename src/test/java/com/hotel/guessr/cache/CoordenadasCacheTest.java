@@ -0,0 +1,129 @@
+package com.hotel.guessr.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoordenadasCacheTest {
+
+    private static final int CEP_PAULISTA = 1310100;
+    private static final int CEP_PAULISTA_VIZINHO = 1310200;
+    
+    // ==================== TESTES ====================
+    
+    @Test
+    @DisplayName("Deve retornar coordenadas armazenadas para o CEP")
+    void deveRetornarCoordenadasArmazenadasParaCep() {
+        // Given
+        var cache = new CoordenadasCache(100, new SimpleMeterRegistry());
+        cache.armazenar(CEP_PAULISTA, -23.561684, -46.656139);
+        
+        // When
+        var resultado = cache.buscar(CEP_PAULISTA);
+        
+        // Then
+        assertTrue(resultado.isPresent());
+        assertEquals(-23.561684, resultado.get().getLatitude());
+        assertEquals(-46.656139, resultado.get().getLongitude());
+        assertTrue(cache.buscar(CEP_PAULISTA_VIZINHO).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Deve manter todas as entradas após redimensionar a tabela")
+    void deveManterTodasEntradasAposRedimensionar() {
+        // Given
+        var cache = new CoordenadasCache(10_000, new SimpleMeterRegistry());
+        
+        // When
+        for (int cep = 0; cep < 5_000; cep++) {
+            cache.armazenar(cep * 17, cep, -cep);
+        }
+        
+        // Then
+        assertEquals(5_000, cache.tamanho());
+        for (int cep = 0; cep < 5_000; cep++) {
+            var coordenadas = cache.buscar(cep * 17);
+            assertTrue(coordenadas.isPresent());
+            assertEquals((double) cep, coordenadas.get().getLatitude());
+        }
+    }
+    
+    @Test
+    @DisplayName("Não deve ultrapassar o tamanho máximo configurado e deve guardar o CEP novo")
+    void naoDeveUltrapassarTamanhoMaximo() {
+        // Given
+        var cache = new CoordenadasCache(2, new SimpleMeterRegistry());
+        
+        // When
+        cache.armazenar(1, 1.0, 1.0);
+        cache.armazenar(2, 2.0, 2.0);
+        cache.armazenar(3, 3.0, 3.0);
+        
+        // Then
+        assertEquals(2, cache.tamanho());
+        assertTrue(cache.buscar(3).isPresent());
+    }
+    
+    @Test
+    @DisplayName("Deve despejar primeiro os CEPs não consultados desde a última volta do relógio")
+    void deveDespejarPrimeiroCepsNaoConsultados() {
+        // Given
+        var meterRegistry = new SimpleMeterRegistry();
+        var cache = new CoordenadasCache(1_000, meterRegistry);
+        for (int cep = 0; cep < 1_000; cep++) {
+            cache.armazenar(cep * 31, cep, -cep);
+        }
+        for (int cep = 0; cep < 1_000; cep += 2) {
+            cache.buscar(cep * 31);
+        }
+        
+        // When
+        for (int cep = 1_000; cep < 1_400; cep++) {
+            cache.armazenar(cep * 31, cep, -cep);
+        }
+        
+        // Then
+        assertEquals(1_000, cache.tamanho());
+        assertEquals(400, meterRegistry.counter("geocoding.cache.evictions").count());
+        for (int cep = 0; cep < 1_000; cep += 2) {
+            assertEquals((double) cep, cache.buscar(cep * 31).orElseThrow().getLatitude());
+        }
+        assertTrue(cache.buscar(1_399 * 31).isPresent());
+    }
+    
+    @Test
+    @DisplayName("Deve descontar o CEP despejado do centróide do prefixo")
+    void deveDescontarCepDespejadoDoCentroide() {
+        // Given
+        var cache = new CoordenadasCache(1, new SimpleMeterRegistry());
+        cache.armazenar(CEP_PAULISTA, -23.0, -46.0);
+        
+        // When
+        cache.armazenar(CEP_PAULISTA + 1, -24.0, -47.0);
+        
+        // Then
+        assertTrue(cache.buscar(CEP_PAULISTA).isEmpty());
+        assertEquals(-24.0, cache.buscarAproximada(CEP_PAULISTA_VIZINHO).orElseThrow().getLatitude());
+    }
+    
+    @Test
+    @DisplayName("Deve calcular centróide do prefixo de 5 dígitos")
+    void deveCalcularCentroideDoPrefixo() {
+        // Given
+        var cache = new CoordenadasCache(100, new SimpleMeterRegistry());
+        cache.armazenar(CEP_PAULISTA, -23.0, -46.0);
+        cache.armazenar(CEP_PAULISTA + 1, -24.0, -47.0);
+        cache.armazenar(CEP_PAULISTA + 1, -25.0, -48.0);
+        
+        // When
+        var aproximada = cache.buscarAproximada(CEP_PAULISTA_VIZINHO);
+        
+        // Then
+        assertTrue(aproximada.isPresent());
+        assertEquals(-24.0, aproximada.get().getLatitude(), 1e-9);
+        assertEquals(-47.0, aproximada.get().getLongitude(), 1e-9);
+        assertTrue(cache.buscarAproximada(2000000).isEmpty());
+    }
+}
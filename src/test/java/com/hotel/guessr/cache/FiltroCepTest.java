@@ -0,0 +1,126 @@
+package com.hotel.guessr.cache;
+
+import com.hotel.guessr.exception.CepNaoEncontradoException;
+import com.hotel.guessr.repository.ConsultaCepRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FiltroCepTest {
+
+    @Mock
+    private ConsultaCepRepository repository;
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private FiltroCep criarFiltro(Duration ttlNegativo) {
+        return new FiltroCep(repository, true, ttlNegativo, 1_000, 10_000, 0.01, new SimpleMeterRegistry());
+    }
+
+    // ==================== TESTES ====================
+
+    @Test
+    @DisplayName("Deve descartar CEPs fora das faixas dos Correios")
+    void deveDescartarCepsForaDasFaixas() {
+        // Given
+        var filtro = criarFiltro(Duration.ofHours(6));
+
+        // When & Then
+        assertTrue(filtro.descartar("00000000"));
+        assertTrue(filtro.descartar("00999999"));
+        assertFalse(filtro.descartar("01310100"));
+        assertFalse(filtro.descartar("99999999"));
+        assertThrows(CepNaoEncontradoException.class, () -> filtro.verificar("00012345"));
+    }
+
+    @Test
+    @DisplayName("Deve descartar CEPs que o ViaCEP respondeu com erro até o TTL negativo expirar")
+    void deveDescartarCepsInexistentesAteTtlExpirar() {
+        // Given
+        var filtro = criarFiltro(Duration.ofHours(6));
+        var filtroSemTtl = criarFiltro(Duration.ZERO);
+
+        // When
+        filtro.registrarInexistente("12345678");
+        filtroSemTtl.registrarInexistente("12345678");
+
+        // Then
+        assertTrue(filtro.descartar("12345678"));
+        assertFalse(filtro.descartar("12345679"));
+        assertFalse(filtroSemTtl.descartar("12345678"));
+    }
+
+    @Test
+    @DisplayName("Não deve colocar no cache negativo um CEP já confirmado")
+    void naoDeveColocarNoCacheNegativoCepJaConfirmado() {
+        // Given
+        var filtro = criarFiltro(Duration.ofHours(6));
+        filtro.registrarConfirmado("01310100");
+
+        // When
+        filtro.registrarInexistente("01310100");
+
+        // Then
+        assertFalse(filtro.descartar("01310100"));
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer os CEPs de consultas_cep após reconstruir o filtro")
+    void deveReconhecerCepsDoBancoAposReconstruir() {
+        // Given
+        var filtro = criarFiltro(Duration.ofHours(6));
+        filtro.registrarInexistente("20040020");
+        when(repository.findCepsDistintos()).thenReturn(List.of("01310-100", "20040-020"));
+
+        // When
+        filtro.reconstruir();
+
+        // Then
+        assertFalse(filtro.descartar("20040020"));
+        verify(repository).findCepsDistintos();
+    }
+
+    @Test
+    @DisplayName("Não deve descartar nada quando o pré-filtro está desabilitado")
+    void naoDeveDescartarQuandoDesabilitado() {
+        // Given
+        var filtro = new FiltroCep(repository, false, Duration.ofHours(6), 1_000, 10_000, 0.01,
+                new SimpleMeterRegistry());
+
+        // When
+        filtro.registrarInexistente("12345678");
+
+        // Then
+        assertFalse(filtro.descartar("00000000"));
+        assertFalse(filtro.descartar("12345678"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Deve informar como possivelmente confirmado só o CEP registrado como confirmado")
+    void deveInformarCepPossivelmenteConfirmado() {
+        // Given
+        var filtro = criarFiltro(Duration.ofHours(6));
+        var filtroDesabilitado = new FiltroCep(repository, false, Duration.ofHours(6), 1_000, 10_000, 0.01,
+                new SimpleMeterRegistry());
+
+        // When
+        filtro.registrarConfirmado("01310100");
+        filtroDesabilitado.registrarConfirmado("01310100");
+
+        // Then
+        assertTrue(filtro.possivelmenteConfirmado("01310100"));
+        assertFalse(filtro.possivelmenteConfirmado("01310200"));
+        assertFalse(filtroDesabilitado.possivelmenteConfirmado("01310100"));
+    }
+}
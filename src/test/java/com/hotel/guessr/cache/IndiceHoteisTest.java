@@ -0,0 +1,151 @@
+package com.hotel.guessr.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.guessr.dto.GooglePlacesResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceHoteisTest {
+
+    private static final double LATITUDE_PAULISTA = -23.561684;
+    private static final double LONGITUDE_PAULISTA = -46.656139;
+    
+    // ==================== MÉTODOS AUXILIARES ====================
+    
+    private IndiceHoteis criarIndice(String arquivoSnapshot) {
+        return new IndiceHoteis(true, 1_000, Duration.ofDays(7), arquivoSnapshot,
+                new ObjectMapper(), new SimpleMeterRegistry());
+    }
+    
+    private GooglePlacesResponse.PlaceResult criarLugar(String placeId, double latitude, double longitude) {
+        GooglePlacesResponse.Location location = new GooglePlacesResponse.Location();
+        location.setLat(latitude);
+        location.setLng(longitude);
+        GooglePlacesResponse.Geometry geometry = new GooglePlacesResponse.Geometry();
+        geometry.setLocation(location);
+        
+        GooglePlacesResponse.PlaceResult lugar = new GooglePlacesResponse.PlaceResult();
+        lugar.setPlaceId(placeId);
+        lugar.setName("Hotel " + placeId);
+        lugar.setGeometry(geometry);
+        return lugar;
+    }
+    
+    // ==================== TESTES ====================
+    
+    @Test
+    @DisplayName("Deve responder buscas contidas em uma área coberta com todos os hotéis do raio")
+    void deveResponderBuscasContidasEmAreaCoberta() {
+        // Given
+        var indice = criarIndice("");
+        indice.registrarAreaCoberta(LATITUDE_PAULISTA, LONGITUDE_PAULISTA, 5_000, List.of(
+                criarLugar("longe", -23.580000, -46.656139),
+                criarLugar("perto", -23.562000, -46.656139),
+                criarLugar("medio", -23.570000, -46.656139)));
+        
+        // When
+        var resultado = indice.buscarSeCoberta(-23.565000, LONGITUDE_PAULISTA, 1_000);
+        
+        // Then
+        assertTrue(resultado.isPresent());
+        assertEquals(Set.of("perto", "medio"),
+                resultado.get().stream().map(GooglePlacesResponse.PlaceResult::getPlaceId).collect(Collectors.toSet()));
+    }
+    
+    @Test
+    @DisplayName("Não deve responder quando a busca sai da área coberta")
+    void naoDeveResponderQuandoBuscaSaiDaAreaCoberta() {
+        // Given
+        var indice = criarIndice("");
+        indice.registrarAreaCoberta(LATITUDE_PAULISTA, LONGITUDE_PAULISTA, 2_000, List.of(
+                criarLugar("perto", -23.562000, -46.656139)));
+        
+        // When & Then
+        assertTrue(indice.buscarSeCoberta(LATITUDE_PAULISTA, LONGITUDE_PAULISTA, 3_000).isEmpty());
+        assertTrue(indice.buscarSeCoberta(-23.600000, LONGITUDE_PAULISTA, 500).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Deve manter um único lugar por place_id")
+    void deveManterUnicoLugarPorPlaceId() {
+        // Given
+        var indice = criarIndice("");
+        
+        // When
+        indice.registrar(List.of(criarLugar("a", -23.562, -46.656), criarLugar("b", -23.563, -46.657)));
+        indice.registrar(List.of(criarLugar("a", -23.562, -46.656)));
+        
+        // Then
+        assertEquals(2, indice.tamanho());
+    }
+    
+    @Test
+    @DisplayName("Deve remover do índice os hotéis que a área coberta não devolve mais")
+    void deveRemoverHoteisQueAreaCobertaNaoDevolveMais() {
+        // Given
+        var indice = criarIndice("");
+        indice.registrarAreaCoberta(LATITUDE_PAULISTA, LONGITUDE_PAULISTA, 2_000, List.of(
+                criarLugar("fechado", -23.562000, -46.656139),
+                criarLugar("aberto", -23.563000, -46.656139)));
+        indice.maisProximos(LATITUDE_PAULISTA, LONGITUDE_PAULISTA, 5, 2_000);
+        
+        // When
+        indice.registrarAreaCoberta(LATITUDE_PAULISTA, LONGITUDE_PAULISTA, 2_000, List.of(
+                criarLugar("aberto", -23.563000, -46.656139)));
+        
+        // Then
+        assertEquals(1, indice.tamanho());
+        assertEquals(1, indice.totalAreas());
+    }
+    
+    @Test
+    @DisplayName("Não deve registrar a área coberta quando o índice cheio recusa algum lugar dela")
+    void naoDeveRegistrarAreaCobertaQuandoIndiceCheioRecusaLugar() {
+        // Given
+        var meterRegistry = new SimpleMeterRegistry();
+        var indice = new IndiceHoteis(true, 2, Duration.ofDays(7), "", new ObjectMapper(), meterRegistry);
+        
+        // When
+        indice.registrarAreaCoberta(LATITUDE_PAULISTA, LONGITUDE_PAULISTA, 5_000, List.of(
+                criarLugar("a", -23.562000, -46.656139),
+                criarLugar("b", -23.563000, -46.656139),
+                criarLugar("c", -23.564000, -46.656139)));
+        
+        // Then
+        assertEquals(2, indice.tamanho());
+        assertEquals(0, indice.totalAreas());
+        assertTrue(indice.buscarSeCoberta(LATITUDE_PAULISTA, LONGITUDE_PAULISTA, 1_000).isEmpty());
+        assertEquals(1.0, meterRegistry.get("places.index.coverage.rejected").counter().count());
+    }
+    
+    @Test
+    @DisplayName("Deve recarregar lugares e áreas cobertas a partir do snapshot em disco")
+    void deveRecarregarLugaresEAreasDoSnapshot(@TempDir Path diretorio) {
+        // Given
+        String arquivo = diretorio.resolve("indice-hoteis.json.gz").toString();
+        var indice = criarIndice(arquivo);
+        indice.registrarAreaCoberta(LATITUDE_PAULISTA, LONGITUDE_PAULISTA, 5_000, List.of(
+                criarLugar("perto", -23.562000, -46.656139)));
+        indice.salvarSnapshot();
+        
+        // When
+        var indiceRecarregado = criarIndice(arquivo);
+        indiceRecarregado.carregarSnapshot();
+        
+        // Then
+        assertEquals(1, indiceRecarregado.tamanho());
+        var resultado = indiceRecarregado.buscarSeCoberta(LATITUDE_PAULISTA, LONGITUDE_PAULISTA, 1_000);
+        assertTrue(resultado.isPresent());
+        assertEquals("Hotel perto", resultado.get().get(0).getName());
+    }
+}
@@ -0,0 +1,85 @@
+package com.hotel.guessr.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArquivoCentroidesCepTest {
+
+    // ==================== MÉTODOS AUXILIARES ====================
+    
+    private Path criarCsv(Path diretorio, String... linhas) throws IOException {
+        return Files.write(diretorio.resolve("centroides.csv"), List.of(linhas));
+    }
+    
+    // ==================== TESTES ====================
+    
+    @Test
+    @DisplayName("Deve importar o CSV fora de ordem e localizar cada CEP por busca binária no arquivo mapeado")
+    void deveImportarCsvELocalizarCeps(@TempDir Path diretorio) throws IOException {
+        // Given
+        Path csv = criarCsv(diretorio,
+                "cep,latitude,longitude",
+                "20040-020,-22.906847,-43.172897",
+                "01310100,-23.561684,-46.656139",
+                "\"30130-010\";\"-19.924502\";\"-43.935238\"",
+                "",
+                "texto,qualquer,coisa",
+                "1234,-10.0,-40.0");
+        Path destino = diretorio.resolve("centroides-cep.bin");
+        
+        // When
+        int importados = ArquivoCentroidesCep.importar(csv, destino);
+        var arquivo = ArquivoCentroidesCep.mapear(destino);
+        
+        // Then
+        assertEquals(3, importados);
+        assertEquals(3, arquivo.tamanho());
+        assertEquals(16 + 3 * 12, Files.size(destino));
+        
+        int posicao = arquivo.localizar(1310100);
+        assertEquals(0, posicao);
+        assertEquals(-23.561684, arquivo.latitude(posicao), 1e-5);
+        assertEquals(-46.656139, arquivo.longitude(posicao), 1e-5);
+        assertEquals(-43.935238, arquivo.longitude(arquivo.localizar(30130010)), 1e-5);
+        assertEquals(-22.906847, arquivo.latitude(arquivo.localizar(20040020)), 1e-5);
+        assertEquals(-1, arquivo.localizar(99999999));
+        assertEquals(-1, arquivo.localizar(0));
+    }
+    
+    @Test
+    @DisplayName("Deve manter a última linha quando o CEP se repete no CSV")
+    void deveManterUltimaLinhaQuandoCepSeRepete(@TempDir Path diretorio) throws IOException {
+        // Given
+        Path csv = criarCsv(diretorio,
+                "01310100,-23.000000,-46.000000",
+                "01310200,-23.562000,-46.657000",
+                "01310-100,-23.561684,-46.656139");
+        Path destino = diretorio.resolve("centroides-cep.bin");
+        
+        // When
+        int importados = ArquivoCentroidesCep.importar(csv, destino);
+        var arquivo = ArquivoCentroidesCep.mapear(destino);
+        
+        // Then
+        assertEquals(2, importados);
+        assertEquals(-23.561684, arquivo.latitude(arquivo.localizar(1310100)), 1e-5);
+    }
+    
+    @Test
+    @DisplayName("Deve recusar arquivo que não está no formato de centróides")
+    void deveRecusarArquivoForaDoFormato(@TempDir Path diretorio) throws IOException {
+        // Given
+        Path invalido = Files.write(diretorio.resolve("invalido.bin"), new byte[32]);
+        
+        // When & Then
+        assertThrows(IOException.class, () -> ArquivoCentroidesCep.mapear(invalido));
+    }
+}
@@ -0,0 +1,87 @@
+package com.hotel.guessr.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArvoreKdTest {
+
+    // ==================== MÉTODOS AUXILIARES ====================
+    
+    private static double distanciaMetros(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return ArvoreKd.RAIO_TERRA_METROS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+    
+    // ==================== TESTES ====================
+    
+    @Test
+    @DisplayName("Deve devolver os vizinhos mais próximos na mesma ordem de uma busca exaustiva")
+    void deveDevolverVizinhosMaisProximosIguaisBuscaExaustiva() {
+        // Given
+        var aleatorio = new Random(42);
+        double[] latitudes = new double[2_000];
+        double[] longitudes = new double[2_000];
+        for (int i = 0; i < latitudes.length; i++) {
+            latitudes[i] = -23.70 + aleatorio.nextDouble() * 0.4;
+            longitudes[i] = -46.85 + aleatorio.nextDouble() * 0.4;
+        }
+        var arvore = ArvoreKd.construir(latitudes, longitudes);
+        
+        // When
+        int[] resultado = arvore.maisProximos(-23.561684, -46.656139, 10, 5_000);
+        
+        // Then
+        int[] esperado = IntStream.range(0, latitudes.length).boxed()
+                .filter(i -> distanciaMetros(-23.561684, -46.656139, latitudes[i], longitudes[i]) <= 5_000)
+                .sorted(Comparator.comparingDouble(i -> distanciaMetros(-23.561684, -46.656139, latitudes[i], longitudes[i])))
+                .limit(10)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        assertArrayEquals(esperado, resultado);
+    }
+    
+    @Test
+    @DisplayName("Deve devolver exatamente os pontos dentro do raio")
+    void deveDevolverExatamentePontosDentroDoRaio() {
+        // Given
+        var aleatorio = new Random(7);
+        double[] latitudes = new double[1_000];
+        double[] longitudes = new double[1_000];
+        for (int i = 0; i < latitudes.length; i++) {
+            latitudes[i] = -22.95 + aleatorio.nextDouble() * 0.2;
+            longitudes[i] = -43.25 + aleatorio.nextDouble() * 0.2;
+        }
+        var arvore = ArvoreKd.construir(latitudes, longitudes);
+        
+        // When
+        int[] resultado = arvore.dentroDoRaio(-22.90, -43.18, 3_000);
+        
+        // Then
+        int[] esperado = IntStream.range(0, latitudes.length)
+                .filter(i -> distanciaMetros(-22.90, -43.18, latitudes[i], longitudes[i]) <= 3_000)
+                .toArray();
+        Arrays.sort(resultado);
+        assertArrayEquals(esperado, resultado);
+        assertTrue(resultado.length > 0);
+    }
+    
+    @Test
+    @DisplayName("Deve devolver vazio quando a árvore não tem pontos")
+    void deveDevolverVazioQuandoArvoreSemPontos() {
+        var arvore = ArvoreKd.construir(new double[0], new double[0]);
+        
+        assertEquals(0, arvore.maisProximos(0, 0, 5, 1_000).length);
+        assertEquals(0, arvore.dentroDoRaio(0, 0, 1_000).length);
+    }
+}
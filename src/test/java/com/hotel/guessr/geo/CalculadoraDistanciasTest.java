@@ -0,0 +1,75 @@
+package com.hotel.guessr.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculadoraDistanciasTest {
+
+    private static final double LATITUDE_PAULISTA = -23.561684;
+    private static final double LONGITUDE_PAULISTA = -46.656139;
+    
+    // ==================== TESTES ====================
+    
+    @Test
+    @DisplayName("Deve calcular as distâncias em lote iguais ao cálculo ponto a ponto")
+    void deveCalcularDistanciasEmLoteIguaisCalculoPontoAPonto() {
+        // Given
+        double[] latitudes = {-23.561684, -23.570684, -22.906847, -23.550520};
+        double[] longitudes = {-46.656139, -46.656139, -43.172897, -46.633308};
+        double[] distancias = new double[latitudes.length];
+        var calculadora = new CalculadoraDistancias(LATITUDE_PAULISTA, LONGITUDE_PAULISTA);
+        
+        // When
+        calculadora.calcular(latitudes, longitudes, latitudes.length, distancias);
+        
+        // Then
+        assertEquals(0.0, distancias[0], 1e-9);
+        assertEquals(1.0, distancias[1], 0.01);
+        assertEquals(363.3, distancias[2], 0.5);
+        for (int i = 0; i < latitudes.length; i++) {
+            assertEquals(CalculadoraDistancias.distanciaKm(LATITUDE_PAULISTA, LONGITUDE_PAULISTA, latitudes[i], longitudes[i]),
+                    distancias[i], 1e-9);
+        }
+    }
+    
+    @Test
+    @DisplayName("Deve aproximar distâncias urbanas com erro menor que 0,1%")
+    void deveAproximarDistanciasUrbanasComErroPequeno() {
+        // Given
+        double[] latitudes = {-23.600000, -23.520000, -23.561684};
+        double[] longitudes = {-46.700000, -46.610000, -46.560000};
+        double[] exatas = new double[latitudes.length];
+        double[] aproximadas = new double[latitudes.length];
+        var calculadora = new CalculadoraDistancias(LATITUDE_PAULISTA, LONGITUDE_PAULISTA);
+        
+        // When
+        calculadora.calcular(latitudes, longitudes, latitudes.length, exatas);
+        calculadora.aproximar(latitudes, longitudes, latitudes.length, aproximadas);
+        
+        // Then
+        for (int i = 0; i < latitudes.length; i++) {
+            assertEquals(exatas[i], aproximadas[i], exatas[i] * 0.001);
+        }
+    }
+    
+    @Test
+    @DisplayName("Deve filtrar pelo raio sem descartar pontos que o cálculo exato aceita")
+    void deveFiltrarPeloRaioSemDescartarPontosAceitos() {
+        // Given
+        double[] latitudes = {-23.565000, -23.600000, -23.561684, -22.906847};
+        double[] longitudes = {-46.656139, -46.656139, -46.610000, -43.172897};
+        int[] posicoes = new int[latitudes.length];
+        var calculadora = new CalculadoraDistancias(LATITUDE_PAULISTA, LONGITUDE_PAULISTA);
+        
+        // When
+        int encontrados = calculadora.filtrarPorRaio(latitudes, longitudes, latitudes.length, 5.0, 0.01, posicoes);
+        
+        // Then
+        assertEquals(3, encontrados);
+        assertArrayEquals(new int[] {0, 1, 2}, Arrays.copyOf(posicoes, encontrados));
+    }
+}
@@ -0,0 +1,35 @@
+package com.hotel.guessr.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoHashTest {
+
+    // ==================== TESTES ====================
+    
+    @Test
+    @DisplayName("Deve codificar coordenadas conforme o geohash de referência")
+    void deveCodificarCoordenadasConformeReferencia() {
+        assertEquals("ezs42", GeoHash.codificar(42.60, -5.60, 5));
+        assertEquals("6gycfqd", GeoHash.codificar(-23.561684, -46.656139, 7));
+    }
+    
+    @Test
+    @DisplayName("Deve colocar coordenadas vizinhas na mesma célula")
+    void deveColocarCoordenadasVizinhasNaMesmaCelula() {
+        var celula = GeoHash.codificar(-23.561684, -46.656139, 6);
+        var celulaVizinha = GeoHash.codificar(-23.562100, -46.656500, 6);
+        
+        assertEquals(celula, celulaVizinha);
+        assertTrue(celula.startsWith(GeoHash.codificar(-23.561684, -46.656139, 5)));
+    }
+    
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando precisão é inválida")
+    void deveLancarIllegalArgumentExceptionQuandoPrecisaoInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.codificar(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.codificar(0, 0, 13));
+    }
+}
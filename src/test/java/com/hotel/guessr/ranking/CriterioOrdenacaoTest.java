@@ -0,0 +1,65 @@
+package com.hotel.guessr.ranking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CriterioOrdenacaoTest {
+
+    private static final double RAIO_KM = 5.0;
+    
+    // ==================== TESTES ====================
+    
+    @Test
+    @DisplayName("Deve aceitar o código ou o nome do critério e usar distância quando vazio")
+    void deveAceitarCodigoOuNomeDoCriterio() {
+        // When & Then
+        assertEquals(CriterioOrdenacao.DISTANCIA, CriterioOrdenacao.de(null));
+        assertEquals(CriterioOrdenacao.DISTANCIA, CriterioOrdenacao.de(" "));
+        assertEquals(CriterioOrdenacao.AVALIACAO, CriterioOrdenacao.de("Avaliacao"));
+        assertEquals(CriterioOrdenacao.AVALIACAO_PONDERADA, CriterioOrdenacao.de("avaliacao-ponderada"));
+        assertEquals(CriterioOrdenacao.AVALIACAO_PONDERADA, CriterioOrdenacao.de("AVALIACAO_PONDERADA"));
+        assertEquals(CriterioOrdenacao.COMBINADO, CriterioOrdenacao.de("combinado"));
+    }
+    
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException para critério desconhecido")
+    void deveLancarIllegalArgumentExceptionParaCriterioDesconhecido() {
+        // When & Then
+        var exception = assertThrows(IllegalArgumentException.class, () -> CriterioOrdenacao.de("preco"));
+        assertTrue(exception.getMessage().contains("preco"));
+    }
+    
+    @Test
+    @DisplayName("Deve preferir muitas avaliações boas a poucas avaliações perfeitas na avaliação ponderada")
+    void devePreferirMuitasAvaliacoesBoasNaAvaliacaoPonderada() {
+        // Given
+        var criterio = CriterioOrdenacao.AVALIACAO_PONDERADA;
+        
+        // When
+        double poucasPerfeitas = criterio.custo(1.0, 5.0, 3, RAIO_KM);
+        double muitasBoas = criterio.custo(1.0, 4.7, 2_000, RAIO_KM);
+        
+        // Then
+        assertTrue(muitasBoas < poucasPerfeitas);
+        assertTrue(CriterioOrdenacao.AVALIACAO.custo(1.0, 5.0, 3, RAIO_KM)
+                < CriterioOrdenacao.AVALIACAO.custo(1.0, 4.7, 2_000, RAIO_KM));
+    }
+    
+    @Test
+    @DisplayName("Deve equilibrar avaliação e proximidade no critério combinado")
+    void deveEquilibrarAvaliacaoEProximidadeNoCriterioCombinado() {
+        // Given
+        var criterio = CriterioOrdenacao.COMBINADO;
+        
+        // When
+        double pertoMediano = criterio.custo(0.2, 4.0, 500, RAIO_KM);
+        double longeMediano = criterio.custo(4.5, 4.0, 500, RAIO_KM);
+        double longeExcelente = criterio.custo(1.5, 4.9, 3_000, RAIO_KM);
+        
+        // Then
+        assertTrue(pertoMediano < longeMediano);
+        assertTrue(longeExcelente < longeMediano);
+    }
+}
@@ -0,0 +1,71 @@
+package com.hotel.guessr.ranking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingHoteisTest {
+
+    // ==================== TESTES ====================
+    
+    @Test
+    @DisplayName("Deve selecionar os k melhores na mesma ordem que uma ordenação completa")
+    void deveSelecionarOsMelhoresNaMesmaOrdemQueOrdenacaoCompleta() {
+        // Given
+        var aleatorio = new Random(42);
+        int total = 1_000;
+        double[] custos = new double[total];
+        double[] distancias = new double[total];
+        for (int i = 0; i < total; i++) {
+            custos[i] = aleatorio.nextInt(50);
+            distancias[i] = aleatorio.nextInt(20);
+        }
+        
+        int[] esperado = IntStream.range(0, total).boxed()
+                .sorted(Comparator.<Integer>comparingDouble(i -> custos[i])
+                        .thenComparingDouble(i -> distancias[i])
+                        .thenComparingInt(i -> i))
+                .limit(25)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        
+        // When
+        int[] resultado = RankingHoteis.melhores(custos, distancias, total, 25);
+        
+        // Then
+        assertArrayEquals(esperado, resultado);
+    }
+    
+    @Test
+    @DisplayName("Deve desempatar pela distância e depois pela ordem original")
+    void deveDesempatarPelaDistanciaEDepoisPelaOrdemOriginal() {
+        // Given
+        double[] custos = {1.0, 1.0, 1.0, 0.5};
+        double[] distancias = {3.0, 2.0, 2.0, 9.0};
+        
+        // When
+        int[] resultado = RankingHoteis.melhores(custos, distancias, custos.length, 4);
+        
+        // Then
+        assertArrayEquals(new int[] {3, 1, 2, 0}, resultado);
+    }
+    
+    @Test
+    @DisplayName("Deve devolver todos os candidatos quando há menos que o limite e nenhum quando o limite é zero")
+    void deveRespeitarTotalELimite() {
+        // Given
+        double[] custos = {2.0, 1.0};
+        double[] distancias = {0.0, 0.0};
+        
+        // When & Then
+        assertArrayEquals(new int[] {1, 0}, RankingHoteis.melhores(custos, distancias, 2, 10));
+        assertArrayEquals(new int[] {1}, RankingHoteis.melhores(custos, distancias, 2, 1));
+        assertEquals(0, RankingHoteis.melhores(custos, distancias, 2, 0).length);
+        assertEquals(0, RankingHoteis.melhores(new double[0], new double[0], 0, 5).length);
+    }
+}
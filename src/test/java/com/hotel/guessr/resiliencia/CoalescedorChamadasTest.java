@@ -0,0 +1,216 @@
+package com.hotel.guessr.resiliencia;
+
+import com.hotel.guessr.exception.CepNaoEncontradoException;
+import com.hotel.guessr.exception.ErroConsultaExternaException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescedorChamadasTest {
+
+    private static final int CHAMADORES = 8;
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    // ==================== MÉTODOS AUXILIARES ====================
+    
+    private List<Future<String>> dispararChamadasConcorrentes(CoalescedorChamadas<String, String> coalescedor,
+                                                              ExecutorService executor,
+                                                              CountDownLatch liberarChamada,
+                                                              AtomicInteger execucoes,
+                                                              RuntimeException erro) throws InterruptedException {
+        CountDownLatch chamadaIniciada = new CountDownLatch(1);
+        List<Future<String>> resultados = new ArrayList<>();
+        
+        resultados.add(executor.submit(() -> coalescedor.executar("01310100", () -> {
+            execucoes.incrementAndGet();
+            chamadaIniciada.countDown();
+            aguardar(liberarChamada);
+            if (erro != null) {
+                throw erro;
+            }
+            return "Avenida Paulista";
+        })));
+        
+        assertTrue(chamadaIniciada.await(5, TimeUnit.SECONDS));
+        
+        for (int i = 1; i < CHAMADORES; i++) {
+            resultados.add(executor.submit(() -> coalescedor.executar("01310100", () -> {
+                execucoes.incrementAndGet();
+                return "Outra chamada";
+            })));
+        }
+        
+        return resultados;
+    }
+    
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void aguardarChamadoresCoalescidos(int quantidade) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("coalescing.calls", "provider", "viacep", "outcome", "collapsed").count() < quantidade
+                && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+    }
+    
+    // ==================== TESTES ====================
+    
+    @Test
+    @DisplayName("Deve executar uma única chamada para requisições concorrentes da mesma chave")
+    void deveExecutarUmaUnicaChamadaParaRequisicoesConcorrentes() throws Exception {
+        // Given
+        var coalescedor = new CoalescedorChamadas<String, String>("viacep", Duration.ofSeconds(5), meterRegistry);
+        var executor = Executors.newFixedThreadPool(CHAMADORES);
+        var liberarChamada = new CountDownLatch(1);
+        var execucoes = new AtomicInteger();
+        
+        try {
+            // When
+            var resultados = dispararChamadasConcorrentes(coalescedor, executor, liberarChamada, execucoes, null);
+            aguardarChamadoresCoalescidos(CHAMADORES - 1);
+            liberarChamada.countDown();
+            
+            // Then
+            for (var resultado : resultados) {
+                assertEquals("Avenida Paulista", resultado.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, execucoes.get());
+            assertEquals(CHAMADORES - 1,
+                    meterRegistry.counter("coalescing.calls", "provider", "viacep", "outcome", "collapsed").count());
+            assertEquals(0, coalescedor.chamadasEmAndamento());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    @DisplayName("Deve propagar a mesma exceção para todos os chamadores aguardando")
+    void devePropagarMesmaExcecaoParaTodosChamadores() throws Exception {
+        // Given
+        var coalescedor = new CoalescedorChamadas<String, String>("viacep", Duration.ofSeconds(5), meterRegistry);
+        var executor = Executors.newFixedThreadPool(CHAMADORES);
+        var liberarChamada = new CountDownLatch(1);
+        var erro = new CepNaoEncontradoException("01310100");
+        
+        try {
+            // When
+            var resultados = dispararChamadasConcorrentes(coalescedor, executor, liberarChamada, new AtomicInteger(), erro);
+            aguardarChamadoresCoalescidos(CHAMADORES - 1);
+            liberarChamada.countDown();
+            
+            // Then
+            for (var resultado : resultados) {
+                var excecao = assertThrows(java.util.concurrent.ExecutionException.class,
+                        () -> resultado.get(5, TimeUnit.SECONDS));
+                assertSame(erro, excecao.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    @DisplayName("Deve lançar ErroConsultaExternaException quando espera excede o tempo máximo")
+    void deveLancarErroConsultaExternaExceptionQuandoEsperaExcedeTempoMaximo() throws Exception {
+        // Given
+        var coalescedor = new CoalescedorChamadas<String, String>("viacep", Duration.ofMillis(50), meterRegistry);
+        var executor = Executors.newSingleThreadExecutor();
+        var liberarChamada = new CountDownLatch(1);
+        var chamadaIniciada = new CountDownLatch(1);
+        
+        try {
+            executor.submit(() -> coalescedor.executar("01310100", () -> {
+                chamadaIniciada.countDown();
+                aguardar(liberarChamada);
+                return "Avenida Paulista";
+            }));
+            assertTrue(chamadaIniciada.await(5, TimeUnit.SECONDS));
+            
+            // When & Then
+            assertThrows(ErroConsultaExternaException.class,
+                    () -> coalescedor.executar("01310100", () -> "Outra chamada"));
+        } finally {
+            liberarChamada.countDown();
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    @DisplayName("Deve executar novamente após a chamada anterior terminar")
+    void deveExecutarNovamenteAposChamadaAnteriorTerminar() {
+        // Given
+        var coalescedor = new CoalescedorChamadas<String, String>("viacep", Duration.ofSeconds(5), meterRegistry);
+        var execucoes = new AtomicInteger();
+        
+        // When
+        coalescedor.executar("01310100", () -> "v" + execucoes.incrementAndGet());
+        var segundo = coalescedor.executar("01310100", () -> "v" + execucoes.incrementAndGet());
+        
+        // Then
+        assertEquals("v2", segundo);
+        assertEquals(2, execucoes.get());
+    }
+    
+    @Test
+    @DisplayName("Deve compartilhar o futuro da chamada assíncrona em andamento")
+    void deveCompartilharFuturoDaChamadaAssincronaEmAndamento() throws Exception {
+        // Given
+        var coalescedor = new CoalescedorChamadas<String, String>("viacep", Duration.ofSeconds(5), meterRegistry);
+        var chamadaExterna = new CompletableFuture<String>();
+        var execucoes = new AtomicInteger();
+        
+        // When
+        var primeiro = coalescedor.executarAssincrono("01310100", () -> {
+            execucoes.incrementAndGet();
+            return chamadaExterna;
+        });
+        var segundo = coalescedor.executarAssincrono("01310100", () -> {
+            execucoes.incrementAndGet();
+            return CompletableFuture.completedFuture("Outra chamada");
+        });
+        chamadaExterna.complete("Avenida Paulista");
+        
+        // Then
+        assertEquals("Avenida Paulista", primeiro.get(5, TimeUnit.SECONDS));
+        assertEquals("Avenida Paulista", segundo.get(5, TimeUnit.SECONDS));
+        assertEquals(1, execucoes.get());
+        assertEquals(0, coalescedor.chamadasEmAndamento());
+    }
+    
+    @Test
+    @DisplayName("Deve liberar a chave quando a chamada assíncrona falha")
+    void deveLiberarChaveQuandoChamadaAssincronaFalha() {
+        // Given
+        var coalescedor = new CoalescedorChamadas<String, String>("viacep", Duration.ofSeconds(5), meterRegistry);
+        var erro = new CepNaoEncontradoException("01310100");
+        
+        // When
+        var resultado = coalescedor.executarAssincrono("01310100", () -> CompletableFuture.failedFuture(erro));
+        
+        // Then
+        var excecao = assertThrows(java.util.concurrent.ExecutionException.class,
+                () -> resultado.get(5, TimeUnit.SECONDS));
+        assertSame(erro, excecao.getCause());
+        assertEquals(0, coalescedor.chamadasEmAndamento());
+    }
+}
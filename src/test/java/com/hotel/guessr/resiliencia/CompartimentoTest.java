@@ -0,0 +1,149 @@
+package com.hotel.guessr.resiliencia;
+
+import com.hotel.guessr.exception.ErroConsultaExternaException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompartimentoTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    /**
+     * Ocupa a única permissão do compartimento até o latch ser liberado
+     */
+    private Future<String> ocuparPermissao(Compartimento compartimento, CountDownLatch liberar)
+            throws InterruptedException {
+        CountDownLatch iniciada = new CountDownLatch(1);
+        Future<String> chamada = executor.submit(() -> compartimento.executar(() -> {
+            iniciada.countDown();
+            aguardar(liberar);
+            return "Hotel Paulista";
+        }));
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+        return chamada;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double contagem(String outcome) {
+        return meterRegistry.counter("bulkhead.calls", "provider", "places", "outcome", outcome).count();
+    }
+
+    // ==================== TESTES ====================
+
+    @Test
+    @DisplayName("Deve rejeitar imediatamente quando as permissões e a fila estão ocupadas")
+    void deveRejeitarImediatamenteQuandoFilaCheia() throws Exception {
+        // Given
+        var compartimento = new Compartimento("places", 1, 0, Duration.ofSeconds(5), meterRegistry);
+        var liberar = new CountDownLatch(1);
+        Future<String> emAndamento = ocuparPermissao(compartimento, liberar);
+
+        // When
+        long inicio = System.nanoTime();
+        var excecao = assertThrows(ErroConsultaExternaException.class, () -> compartimento.executar(() -> "outro"));
+        long duracao = System.nanoTime() - inicio;
+
+        // Then
+        assertTrue(excecao.getMessage().contains("sobrecarregado"));
+        assertTrue(duracao < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, contagem("rejected-queue-full"));
+        liberar.countDown();
+        assertEquals("Hotel Paulista", emAndamento.get(5, TimeUnit.SECONDS));
+        assertEquals(0, compartimento.chamadasEmAndamento());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar quando a espera na fila passa do tempo máximo")
+    void deveRejeitarQuandoEsperaPassaDoTempoMaximo() throws Exception {
+        // Given
+        var compartimento = new Compartimento("places", 1, 1, Duration.ofMillis(50), meterRegistry);
+        var liberar = new CountDownLatch(1);
+        ocuparPermissao(compartimento, liberar);
+
+        // When & Then
+        assertThrows(ErroConsultaExternaException.class, () -> compartimento.executar(() -> "outro"));
+        assertEquals(1, contagem("rejected-timeout"));
+        liberar.countDown();
+    }
+
+    @Test
+    @DisplayName("Deve aguardar na fila e executar quando uma permissão é liberada")
+    void deveAguardarNaFilaEExecutarQuandoPermissaoLiberada() throws Exception {
+        // Given
+        var compartimento = new Compartimento("places", 1, 1, Duration.ofSeconds(5), meterRegistry);
+        var liberar = new CountDownLatch(1);
+        ocuparPermissao(compartimento, liberar);
+        Future<String> naFila = executor.submit(() -> compartimento.executar(() -> "Hotel Augusta"));
+
+        // When
+        liberar.countDown();
+
+        // Then
+        assertEquals("Hotel Augusta", naFila.get(5, TimeUnit.SECONDS));
+        assertEquals(2, contagem("permitted"));
+    }
+
+    @Test
+    @DisplayName("Deve liberar a permissão quando a chamada falha")
+    void deveLiberarPermissaoQuandoChamadaFalha() {
+        // Given
+        var compartimento = new Compartimento("places", 1, 0, Duration.ZERO, meterRegistry);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> compartimento.executar(() -> {
+            throw new IllegalStateException("Falha na chamada");
+        }));
+
+        // Then
+        assertEquals(0, compartimento.chamadasEmAndamento());
+        assertEquals("ok", compartimento.executar(() -> "ok"));
+    }
+
+    @Test
+    @DisplayName("Deve devolver futuro falho sem aguardar quando não há permissão na variante assíncrona")
+    void deveDevolverFuturoFalhoQuandoSemPermissaoNaVarianteAssincrona() throws Exception {
+        // Given
+        var compartimento = new Compartimento("places", 1, 10, Duration.ofSeconds(5), meterRegistry);
+        var pendente = new CompletableFuture<String>();
+        compartimento.executarAssincrono(() -> pendente);
+
+        // When
+        CompletableFuture<String> rejeitado = compartimento.executarAssincrono(
+                () -> CompletableFuture.completedFuture("outro"));
+
+        // Then
+        var excecao = assertThrows(ExecutionException.class, rejeitado::get);
+        assertInstanceOf(ErroConsultaExternaException.class, excecao.getCause());
+        pendente.complete("Hotel Paulista");
+        assertEquals(0, compartimento.chamadasEmAndamento());
+    }
+}
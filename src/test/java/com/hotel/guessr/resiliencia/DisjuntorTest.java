@@ -0,0 +1,170 @@
+package com.hotel.guessr.resiliencia;
+
+import com.hotel.guessr.exception.CepNaoEncontradoException;
+import com.hotel.guessr.exception.ErroConsultaExternaException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisjuntorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private Disjuntor criarDisjuntor(Duration duracaoChamadaLenta, Duration esperaEmAberto) {
+        var configuracao = new Disjuntor.Configuracao(true, 10, 4, 50, duracaoChamadaLenta, 50, esperaEmAberto, 2);
+        return new Disjuntor("places", configuracao, e -> !(e instanceof CepNaoEncontradoException), meterRegistry);
+    }
+
+    private static String falhar() {
+        throw new ErroConsultaExternaException("Serviço do Google Places temporariamente indisponível");
+    }
+
+    private static void tentar(Disjuntor disjuntor, Supplier<String> chamada) {
+        try {
+            disjuntor.executar(chamada);
+        } catch (RuntimeException e) {
+            // resultado registrado pelo disjuntor
+        }
+    }
+
+    private double contagem(String outcome) {
+        return meterRegistry.counter("circuitbreaker.calls", "provider", "places", "outcome", outcome).count();
+    }
+
+    // ==================== TESTES ====================
+
+    @Test
+    @DisplayName("Deve abrir o circuito e falhar imediatamente quando a taxa de falhas passa do limite")
+    void deveAbrirCircuitoQuandoTaxaDeFalhasPassaDoLimite() {
+        // Given
+        var disjuntor = criarDisjuntor(Duration.ofSeconds(3), Duration.ofMinutes(1));
+        var chamadas = new AtomicInteger();
+        tentar(disjuntor, () -> "ok");
+        tentar(disjuntor, () -> "ok");
+        tentar(disjuntor, DisjuntorTest::falhar);
+        assertEquals(Disjuntor.Estado.FECHADO, disjuntor.getEstado());
+        tentar(disjuntor, DisjuntorTest::falhar);
+
+        // When
+        var excecao = assertThrows(ErroConsultaExternaException.class, () -> disjuntor.executar(() -> {
+            chamadas.incrementAndGet();
+            return "ok";
+        }));
+
+        // Then
+        assertEquals(Disjuntor.Estado.ABERTO, disjuntor.getEstado());
+        assertTrue(excecao.getMessage().contains("circuito aberto"));
+        assertEquals(0, chamadas.get());
+        assertEquals(1, contagem("rejected"));
+        assertEquals(1, meterRegistry.get("circuitbreaker.state").tag("provider", "places").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Não deve abrir o circuito com respostas de negócio do provedor")
+    void naoDeveAbrirCircuitoComRespostasDeNegocio() {
+        // Given
+        var disjuntor = criarDisjuntor(Duration.ofSeconds(3), Duration.ofMinutes(1));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            tentar(disjuntor, () -> {
+                throw new CepNaoEncontradoException("12345678");
+            });
+        }
+
+        // Then
+        assertEquals(Disjuntor.Estado.FECHADO, disjuntor.getEstado());
+        assertEquals(10, contagem("success"));
+    }
+
+    @Test
+    @DisplayName("Deve abrir o circuito quando as chamadas ficam lentas mesmo sem falhas")
+    void deveAbrirCircuitoQuandoChamadasFicamLentas() {
+        // Given
+        var disjuntor = criarDisjuntor(Duration.ZERO, Duration.ofMinutes(1));
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            tentar(disjuntor, () -> {
+                long inicio = System.nanoTime();
+                while (System.nanoTime() == inicio) {
+                    Thread.onSpinWait();
+                }
+                return "ok";
+            });
+        }
+
+        // Then
+        assertEquals(Disjuntor.Estado.ABERTO, disjuntor.getEstado());
+        assertEquals(4, meterRegistry.counter("circuitbreaker.slow.calls", "provider", "places").count());
+    }
+
+    @Test
+    @DisplayName("Deve fechar o circuito quando as chamadas de teste do semiaberto têm sucesso")
+    void deveFecharCircuitoQuandoChamadasDeTesteTemSucesso() {
+        // Given
+        var disjuntor = criarDisjuntor(Duration.ofSeconds(3), Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            tentar(disjuntor, DisjuntorTest::falhar);
+        }
+        assertEquals(Disjuntor.Estado.ABERTO, disjuntor.getEstado());
+
+        // When
+        assertEquals("ok", disjuntor.executar(() -> "ok"));
+        assertEquals(Disjuntor.Estado.SEMIABERTO, disjuntor.getEstado());
+        assertEquals("ok", disjuntor.executar(() -> "ok"));
+
+        // Then
+        assertEquals(Disjuntor.Estado.FECHADO, disjuntor.getEstado());
+    }
+
+    @Test
+    @DisplayName("Deve reabrir o circuito quando as chamadas de teste do semiaberto falham")
+    void deveReabrirCircuitoQuandoChamadasDeTesteFalham() {
+        // Given
+        var disjuntor = criarDisjuntor(Duration.ofSeconds(3), Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            tentar(disjuntor, DisjuntorTest::falhar);
+        }
+
+        // When
+        tentar(disjuntor, DisjuntorTest::falhar);
+        tentar(disjuntor, () -> "ok");
+
+        // Then
+        assertEquals(Disjuntor.Estado.ABERTO, disjuntor.getEstado());
+    }
+
+    @Test
+    @DisplayName("Deve devolver um futuro já falho sem iniciar a chamada quando o circuito está aberto")
+    void deveDevolverFuturoFalhoQuandoCircuitoAberto() {
+        // Given
+        var disjuntor = criarDisjuntor(Duration.ofSeconds(3), Duration.ofMinutes(1));
+        for (int i = 0; i < 4; i++) {
+            disjuntor.executarAssincrono(() -> CompletableFuture.failedFuture(
+                    new ErroConsultaExternaException("Erro ao consultar Google Places")));
+        }
+        var chamadas = new AtomicInteger();
+
+        // When
+        CompletableFuture<String> futuro = disjuntor.executarAssincrono(() -> {
+            chamadas.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        // Then
+        var excecao = assertThrows(ExecutionException.class, futuro::get);
+        assertInstanceOf(ErroConsultaExternaException.class, excecao.getCause());
+        assertEquals(0, chamadas.get());
+    }
+}
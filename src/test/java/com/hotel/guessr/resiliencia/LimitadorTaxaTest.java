@@ -0,0 +1,179 @@
+package com.hotel.guessr.resiliencia;
+
+import com.hotel.guessr.exception.LimiteRequisicaoExcedidoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitadorTaxaTest {
+
+    private static final ZoneId FUSO_COTA = ZoneId.of("America/Los_Angeles");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private LimitadorTaxa criarLimitador(double qps, int capacidade, long orcamentoDiario, Duration esperaMaxima) {
+        return new LimitadorTaxa("places", true, qps, capacidade, orcamentoDiario, esperaMaxima, FUSO_COTA,
+                meterRegistry);
+    }
+
+    private double contagem(String outcome) {
+        return meterRegistry.counter("ratelimiter.calls", "provider", "places", "outcome", outcome).count();
+    }
+
+    // ==================== TESTES ====================
+
+    @Test
+    @DisplayName("Deve permitir uma rajada do tamanho da capacidade e recusar a seguinte sem espera")
+    void devePermitirRajadaERecusarExcedente() {
+        // Given
+        var limitador = criarLimitador(1, 3, 0, Duration.ZERO);
+        assertEquals(3, limitador.tokensDisponiveis());
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            limitador.adquirir();
+        }
+
+        // Then
+        var excecao = assertThrows(LimiteRequisicaoExcedidoException.class, limitador::adquirir);
+        assertTrue(excecao.getMessage().contains("por segundo"));
+        assertEquals(0, limitador.tokensDisponiveis());
+        assertEquals(3, contagem("permitted"));
+        assertEquals(1, contagem("rejected-rate"));
+    }
+
+    @Test
+    @DisplayName("Deve aguardar o próximo token quando a espera cabe no prazo máximo")
+    void deveAguardarProximoTokenDentroDoPrazo() {
+        // Given
+        var limitador = criarLimitador(20, 1, 0, Duration.ofSeconds(1));
+        limitador.adquirir();
+
+        // When
+        long inicio = System.nanoTime();
+        limitador.adquirir();
+        long duracao = System.nanoTime() - inicio;
+
+        // Then
+        assertTrue(duracao >= TimeUnit.MILLISECONDS.toNanos(30), "aguardou " + duracao + " ns");
+        assertEquals(1, contagem("delayed"));
+    }
+
+    @Test
+    @DisplayName("Não deve passar do qps configurado com chamadores concorrentes")
+    void naoDevePassarDoQpsComChamadoresConcorrentes() throws Exception {
+        // Given
+        var limitador = criarLimitador(100, 1, 0, Duration.ZERO);
+        var permitidas = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> chamadas = new ArrayList<>();
+
+        // When
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 8; i++) {
+            chamadas.add(executor.submit(() -> {
+                while (System.nanoTime() - inicio < TimeUnit.MILLISECONDS.toNanos(200)) {
+                    try {
+                        limitador.adquirir();
+                        permitidas.incrementAndGet();
+                    } catch (LimiteRequisicaoExcedidoException e) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+        for (Future<?> chamada : chamadas) {
+            chamada.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        long decorridoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        assertTrue(permitidas.get() <= 1 + decorridoMs / 10, permitidas.get() + " em " + decorridoMs + " ms");
+    }
+
+    @Test
+    @DisplayName("Deve recusar quando o orçamento diário se esgota e expor o restante")
+    void deveRecusarQuandoOrcamentoDiarioEsgota() {
+        // Given
+        var limitador = criarLimitador(1000, 1000, 2, Duration.ZERO);
+
+        // When
+        limitador.adquirir();
+        assertEquals(1, limitador.orcamentoDiarioRestante());
+        limitador.adquirir();
+
+        // Then
+        var excecao = assertThrows(LimiteRequisicaoExcedidoException.class, limitador::adquirir);
+        assertTrue(excecao.getMessage().contains("Orçamento diário"));
+        assertEquals(0, limitador.orcamentoDiarioRestante());
+        assertEquals(0, meterRegistry.get("ratelimiter.daily.remaining").tag("provider", "places").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Não deve consumir o orçamento diário quando a taxa recusa a chamada")
+    void naoDeveConsumirOrcamentoQuandoTaxaRecusa() {
+        // Given
+        var limitador = criarLimitador(1, 1, 10, Duration.ZERO);
+        limitador.adquirir();
+
+        // When
+        assertThrows(LimiteRequisicaoExcedidoException.class, limitador::adquirir);
+
+        // Then
+        assertEquals(9, limitador.orcamentoDiarioRestante());
+    }
+
+    @Test
+    @DisplayName("Deve agendar a chamada assíncrona para quando o token for liberado")
+    void deveAgendarChamadaAssincronaParaLiberacaoDoToken() throws Exception {
+        // Given
+        var limitador = criarLimitador(20, 1, 0, Duration.ofSeconds(1));
+        limitador.adquirir();
+
+        // When
+        long inicio = System.nanoTime();
+        CompletableFuture<String> futuro = limitador.executarAssincrono(
+                () -> CompletableFuture.completedFuture("Hotel Paulista"));
+
+        // Then
+        assertEquals("Hotel Paulista", futuro.get(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - inicio >= TimeUnit.MILLISECONDS.toNanos(30));
+    }
+
+    @Test
+    @DisplayName("Deve devolver futuro falho sem iniciar a chamada assíncrona quando a taxa recusa")
+    void deveDevolverFuturoFalhoQuandoTaxaRecusaNaVarianteAssincrona() {
+        // Given
+        var limitador = criarLimitador(1, 1, 0, Duration.ZERO);
+        limitador.adquirir();
+        var chamadas = new AtomicInteger();
+
+        // When
+        CompletableFuture<String> futuro = limitador.executarAssincrono(() -> {
+            chamadas.incrementAndGet();
+            return CompletableFuture.completedFuture("Hotel Paulista");
+        });
+
+        // Then
+        var excecao = assertThrows(ExecutionException.class, futuro::get);
+        assertInstanceOf(LimiteRequisicaoExcedidoException.class, excecao.getCause());
+        assertEquals(0, chamadas.get());
+    }
+}
@@ -0,0 +1,252 @@
+package com.hotel.guessr.resiliencia;
+
+import com.hotel.guessr.exception.CepNaoEncontradoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequisicaoEspeculativaTest {
+
+    private static final int MINIMO_AMOSTRAS = 5;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        executor.shutdownNow();
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private RequisicaoEspeculativa criarHedging(double taxaOrcamento) {
+        return criarHedging(taxaOrcamento, null);
+    }
+
+    private RequisicaoEspeculativa criarHedging(double taxaOrcamento, Compartimento compartimento) {
+        return new RequisicaoEspeculativa("viacep", true, 0.95, Duration.ofMillis(20), 10, MINIMO_AMOSTRAS,
+                taxaOrcamento, 10, executor, compartimento, meterRegistry);
+    }
+
+    private Compartimento criarCompartimento(int maximoConcorrentes) {
+        return new Compartimento("viacep", maximoConcorrentes, 0, Duration.ZERO, meterRegistry);
+    }
+
+    /**
+     * Registra latências rápidas até o percentil ficar disponível
+     */
+    private static void aquecer(RequisicaoEspeculativa hedging) {
+        for (int i = 0; i < MINIMO_AMOSTRAS; i++) {
+            hedging.executar(() -> "ok");
+        }
+        assertEquals(20, hedging.atrasoAtualMillis());
+    }
+
+    private String aguardarLiberacao() {
+        try {
+            liberar.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "Hotel Paulista";
+    }
+
+    private static void pausar(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double contagem(String outcome) {
+        return meterRegistry.counter("hedging.requests", "provider", "viacep", "outcome", outcome).count();
+    }
+
+    // ==================== TESTES ====================
+
+    @Test
+    @DisplayName("Deve devolver a resposta da requisição duplicada quando a original passa do percentil")
+    void deveDevolverRespostaDaDuplicadaQuandoOriginalPassaDoPercentil() {
+        // Given
+        var hedging = criarHedging(1.0);
+        aquecer(hedging);
+        var chamadas = new AtomicInteger();
+
+        // When
+        long inicio = System.nanoTime();
+        String resultado = hedging.executar(
+                () -> chamadas.incrementAndGet() == 1 ? aguardarLiberacao() : "Hotel Augusta");
+        long duracao = System.nanoTime() - inicio;
+
+        // Then
+        assertEquals("Hotel Augusta", resultado);
+        assertEquals(2, chamadas.get());
+        assertTrue(duracao < TimeUnit.SECONDS.toNanos(1), "aguardou " + duracao + " ns");
+        assertEquals(1, contagem("hedged"));
+        assertEquals(1, contagem("hedge-won"));
+    }
+
+    @Test
+    @DisplayName("Não deve disparar requisição duplicada antes de haver amostras suficientes")
+    void naoDeveDispararDuplicadaSemAmostrasSuficientes() {
+        // Given
+        var hedging = criarHedging(1.0);
+        var chamadas = new AtomicInteger();
+
+        // When
+        String resultado = hedging.executar(() -> {
+            chamadas.incrementAndGet();
+            pausar(100);
+            return "Hotel Paulista";
+        });
+
+        // Then
+        assertEquals("Hotel Paulista", resultado);
+        assertEquals(1, chamadas.get());
+        assertEquals(-1, hedging.atrasoAtualMillis());
+        assertEquals(0, contagem("hedged"));
+    }
+
+    @Test
+    @DisplayName("Não deve disparar requisição duplicada quando o orçamento está esgotado")
+    void naoDeveDispararDuplicadaSemOrcamento() {
+        // Given
+        var hedging = criarHedging(0);
+        aquecer(hedging);
+        var chamadas = new AtomicInteger();
+
+        // When
+        String resultado = hedging.executar(() -> {
+            chamadas.incrementAndGet();
+            pausar(100);
+            return "Hotel Paulista";
+        });
+
+        // Then
+        assertEquals("Hotel Paulista", resultado);
+        assertEquals(1, chamadas.get());
+        assertEquals(1, contagem("skipped-budget"));
+    }
+
+    @Test
+    @DisplayName("Não deve disparar requisição duplicada quando o bulkhead não tem permissão livre")
+    void naoDeveDispararDuplicadaSemPermissaoNoBulkhead() {
+        // Given
+        var compartimento = criarCompartimento(1);
+        var hedging = criarHedging(1.0, compartimento);
+        aquecer(hedging);
+        var chamadas = new AtomicInteger();
+
+        // When
+        String resultado = compartimento.executar(() -> hedging.executar(() -> {
+            chamadas.incrementAndGet();
+            pausar(100);
+            return "Hotel Paulista";
+        }));
+
+        // Then
+        assertEquals("Hotel Paulista", resultado);
+        assertEquals(1, chamadas.get());
+        assertEquals(1, contagem("skipped-bulkhead"));
+        assertEquals(0, contagem("hedged"));
+        assertEquals(0, compartimento.chamadasEmAndamento());
+    }
+
+    @Test
+    @DisplayName("Deve ocupar uma permissão do bulkhead enquanto a requisição duplicada executa")
+    void deveOcuparPermissaoDoBulkheadNaDuplicada() {
+        // Given
+        var compartimento = criarCompartimento(2);
+        var hedging = criarHedging(1.0, compartimento);
+        aquecer(hedging);
+        var chamadas = new AtomicInteger();
+        var emAndamentoNaDuplicada = new AtomicInteger();
+
+        // When
+        String resultado = compartimento.executar(() -> hedging.executar(() -> {
+            if (chamadas.incrementAndGet() == 1) {
+                return aguardarLiberacao();
+            }
+            emAndamentoNaDuplicada.set(compartimento.chamadasEmAndamento());
+            return "Hotel Augusta";
+        }));
+        for (int i = 0; i < 50 && compartimento.chamadasEmAndamento() > 0; i++) {
+            pausar(10);
+        }
+
+        // Then
+        assertEquals("Hotel Augusta", resultado);
+        assertEquals(2, emAndamentoNaDuplicada.get());
+        assertEquals(0, compartimento.chamadasEmAndamento());
+    }
+
+    @Test
+    @DisplayName("Deve propagar a resposta de negócio da requisição original sem duplicá-la")
+    void devePropagarRespostaDeNegocioSemDuplicar() {
+        // Given
+        var hedging = criarHedging(1.0);
+        aquecer(hedging);
+        var chamadas = new AtomicInteger();
+
+        // When & Then
+        assertThrows(CepNaoEncontradoException.class, () -> hedging.executar(() -> {
+            chamadas.incrementAndGet();
+            throw new CepNaoEncontradoException("99999999");
+        }));
+        assertEquals(1, chamadas.get());
+        assertEquals(0, contagem("hedged"));
+    }
+
+    @Test
+    @DisplayName("Deve aguardar a requisição duplicada quando a original falha depois do percentil")
+    void deveAguardarDuplicadaQuandoOriginalFalha() {
+        // Given
+        var hedging = criarHedging(1.0);
+        aquecer(hedging);
+        var chamadas = new AtomicInteger();
+
+        // When
+        String resultado = hedging.executar(() -> {
+            if (chamadas.incrementAndGet() == 1) {
+                pausar(60);
+                throw new IllegalStateException("Conexão encerrada pelo ViaCEP");
+            }
+            pausar(150);
+            return "Hotel Augusta";
+        });
+
+        // Then
+        assertEquals("Hotel Augusta", resultado);
+        assertEquals(2, chamadas.get());
+    }
+
+    @Test
+    @DisplayName("Deve executar na própria thread quando o hedging está desligado")
+    void deveExecutarNaPropriaThreadQuandoDesligado() {
+        // Given
+        var hedging = new RequisicaoEspeculativa("viacep", false, 0.95, Duration.ofMillis(20), 10, MINIMO_AMOSTRAS,
+                1.0, 10, executor, null, meterRegistry);
+        Thread chamador = Thread.currentThread();
+
+        // When
+        Thread executora = hedging.executar(Thread::currentThread);
+
+        // Then
+        assertSame(chamador, executora);
+    }
+}
@@ -0,0 +1,221 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.cache.CepCache;
+import com.hotel.guessr.cache.FiltroCep;
+import com.hotel.guessr.dto.CepApiResponse;
+import com.hotel.guessr.dto.ItemConsultaCepLoteResponse;
+import com.hotel.guessr.exception.CepNaoEncontradoException;
+import com.hotel.guessr.model.ConsultaCep;
+import com.hotel.guessr.resiliencia.CoalescedorChamadas;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CepLoteServiceTest {
+
+    @Mock
+    private CepService cepService;
+
+    @Mock
+    private CepCache cepCache;
+
+    @Mock
+    private FiltroCep filtroCep;
+
+    private ExecutorService executorConsultasExternas;
+
+    private CepLoteService cepLoteService;
+
+    @BeforeEach
+    void setUp() {
+        executorConsultasExternas = Executors.newFixedThreadPool(8);
+        cepLoteService = new CepLoteService(cepService, cepCache, filtroCep,
+                new CoalescedorChamadas<>("viacep", Duration.ofSeconds(5), new SimpleMeterRegistry()),
+                executorConsultasExternas);
+        ReflectionTestUtils.setField(cepLoteService, "tamanhoMaximoLote", 10);
+        ReflectionTestUtils.setField(cepLoteService, "concorrenciaMaxima", 4);
+
+        lenient().when(cepService.converterParaEntity(any())).thenCallRealMethod();
+        lenient().when(cepService.converterParaResponse(any())).thenCallRealMethod();
+        lenient().when(cepService.converterParaApiResponse(any())).thenCallRealMethod();
+        lenient().when(cepService.registrarConsultas(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorConsultasExternas.shutdownNow();
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private CepApiResponse criarCepApiResponse(String cep, String logradouro) {
+        return CepApiResponse.builder()
+                .cep(cep.substring(0, 5) + "-" + cep.substring(5))
+                .logradouro(logradouro)
+                .bairro("Centro")
+                .localidade("São Paulo")
+                .uf("SP")
+                .ddd("11")
+                .build();
+    }
+
+    private static void aguardar(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== TESTES ====================
+
+    @Test
+    @DisplayName("Deve remover duplicados e devolver um resultado por CEP na ordem informada")
+    void deveRemoverDuplicadosEDevolverResultadoPorCepNaOrdemInformada() {
+        // Given
+        when(cepCache.buscar(anyString())).thenReturn(Optional.empty());
+        when(cepCache.buscar("01310100")).thenReturn(Optional.of(criarCepApiResponse("01310100", "Avenida Paulista")));
+        when(cepService.buscarEArmazenarNoCache("20040020")).thenReturn(criarCepApiResponse("20040020", "Rua da Assembleia"));
+        when(cepService.buscarEArmazenarNoCache("99999999")).thenThrow(new CepNaoEncontradoException("99999999"));
+
+        // When
+        var resultado = cepLoteService.consultarLote(
+                List.of("01310-100", "20040020", "01310100", "123", "99999999", "20040-020"));
+
+        // Then
+        assertEquals(List.of("01310100", "20040020", "123", "99999999"),
+                resultado.getResultados().stream().map(ItemConsultaCepLoteResponse::getCep).toList());
+        assertEquals(4, resultado.getTotalProcessado());
+        assertEquals(2, resultado.getTotalSucesso());
+        assertEquals(2, resultado.getTotalErro());
+
+        assertEquals(200, resultado.getResultados().get(0).getStatus());
+        assertEquals("Avenida Paulista", resultado.getResultados().get(0).getEndereco().getLogradouro());
+        assertEquals("Rua da Assembleia", resultado.getResultados().get(1).getEndereco().getLogradouro());
+        assertEquals(400, resultado.getResultados().get(2).getStatus());
+        assertEquals(404, resultado.getResultados().get(3).getStatus());
+        assertNotNull(resultado.getResultados().get(3).getErro());
+
+        verify(cepService, never()).buscarEArmazenarNoCache("01310100");
+        verify(cepService, times(1)).buscarEArmazenarNoCache("20040020");
+    }
+
+    @Test
+    @DisplayName("Deve responder 404 sem consultar o ViaCEP para CEPs descartados pelo pré-filtro")
+    void deveResponder404SemConsultarViaCepParaCepsDescartados() {
+        // Given
+        when(cepCache.buscar(anyString())).thenReturn(Optional.empty());
+        when(filtroCep.descartar(anyString())).thenReturn(false);
+        when(filtroCep.descartar("00000001")).thenReturn(true);
+        when(cepService.buscarEArmazenarNoCache("20040020")).thenReturn(criarCepApiResponse("20040020", "Rua da Assembleia"));
+
+        // When
+        var resultado = cepLoteService.consultarLote(List.of("00000001", "20040020"));
+
+        // Then
+        assertEquals(404, resultado.getResultados().get(0).getStatus());
+        assertEquals(200, resultado.getResultados().get(1).getStatus());
+        verify(cepService, never()).buscarEArmazenarNoCache("00000001");
+        verify(cepCache, never()).buscar("00000001");
+    }
+
+    @Test
+    @DisplayName("Deve registrar todas as novas consultas em uma única gravação")
+    void deveRegistrarTodasNovasConsultasEmUmaUnicaGravacao() {
+        // Given
+        when(cepCache.buscar(anyString())).thenReturn(Optional.empty());
+        when(cepService.buscarEArmazenarNoCache(anyString()))
+                .thenAnswer(invocation -> criarCepApiResponse(invocation.getArgument(0), "Rua"));
+
+        // When
+        cepLoteService.consultarLote(List.of("01310100", "20040020", "30130000"));
+
+        // Then
+        verify(cepService, times(1)).registrarConsultas(argThat(consultas -> consultas.size() == 3));
+        verify(cepService, never()).registrarConsulta(any(ConsultaCep.class));
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o endereço das consultas recentes do banco e registrar as novas consultas")
+    void deveReaproveitarConsultasRecentesDoBancoERegistrarNovasConsultas() {
+        // Given
+        var consultaRegistrada = ConsultaCep.builder()
+                .id(UUID.randomUUID())
+                .cep("01310-100")
+                .logradouro("Avenida Paulista")
+                .dataConsulta(LocalDateTime.now().minusDays(1))
+                .build();
+        var endereco = criarCepApiResponse("01310100", "Avenida Paulista");
+
+        when(cepCache.buscar(anyString())).thenReturn(Optional.empty());
+        when(cepService.buscarConsultasRecentesNoBanco(anyList())).thenReturn(Map.of("01310100", consultaRegistrada));
+        when(cepService.converterParaApiResponse(consultaRegistrada)).thenReturn(endereco);
+
+        // When
+        cepLoteService.consultarLote(List.of("01310100"));
+
+        // Then
+        verify(cepService, never()).buscarEArmazenarNoCache(anyString());
+        verify(cepService, times(1)).converterParaEntity(endereco);
+        verify(cepService, times(1)).registrarConsultas(argThat(consultas -> consultas.size() == 1));
+        verify(cepCache, times(1)).armazenar("01310100", endereco);
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de consultas externas simultâneas")
+    void deveLimitarQuantidadeConsultasExternasSimultaneas() {
+        // Given
+        var emAndamento = new AtomicInteger();
+        var maximoObservado = new AtomicInteger();
+
+        when(cepCache.buscar(anyString())).thenReturn(Optional.empty());
+        when(cepService.buscarEArmazenarNoCache(anyString())).thenAnswer(invocation -> {
+            maximoObservado.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            aguardar(50);
+            emAndamento.decrementAndGet();
+            return criarCepApiResponse(invocation.getArgument(0), "Rua");
+        });
+
+        // When
+        var resultado = cepLoteService.consultarLote(List.of(
+                "01000001", "01000002", "01000003", "01000004", "01000005",
+                "01000006", "01000007", "01000008", "01000009", "01000010"));
+
+        // Then
+        assertEquals(10, resultado.getTotalSucesso());
+        assertTrue(maximoObservado.get() <= 4, "Máximo de consultas simultâneas: " + maximoObservado.get());
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando o lote excede o tamanho máximo")
+    void deveLancarIllegalArgumentExceptionQuandoLoteExcedeTamanhoMaximo() {
+        // Given
+        var ceps = Collections.nCopies(11, "01310100");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> cepLoteService.consultarLote(ceps));
+        verifyNoInteractions(cepCache);
+    }
+}
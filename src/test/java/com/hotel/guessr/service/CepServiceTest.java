@@ -1,5 +1,7 @@
 package com.hotel.guessr.service;
 
+import com.hotel.guessr.cache.CepCache;
+import com.hotel.guessr.cache.FiltroCep;
 import com.hotel.guessr.dto.CepApiResponse;
 import com.hotel.guessr.dto.ConsultaCepResponse;
 import com.hotel.guessr.exception.CepInvalidoException;
@@ -7,6 +9,11 @@ import com.hotel.guessr.exception.CepNaoEncontradoException;
 import com.hotel.guessr.exception.ErroConsultaExternaException;
 import com.hotel.guessr.model.ConsultaCep;
 import com.hotel.guessr.repository.ConsultaCepRepository;
+import com.hotel.guessr.resiliencia.CoalescedorChamadas;
+import com.hotel.guessr.resiliencia.Compartimento;
+import com.hotel.guessr.resiliencia.Disjuntor;
+import com.hotel.guessr.resiliencia.RequisicaoEspeculativa;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,14 +22,18 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,6 +50,27 @@ class CepServiceTest {
     @Mock
     private RestTemplate restTemplate;
     
+    @Mock
+    private CepCache cepCache;
+    
+    @Mock
+    private FiltroCep filtroCep;
+    
+    @Mock
+    private GravadorConsultasCep gravadorConsultas;
+    
+    @Spy
+    private CoalescedorChamadas<String, CepApiResponse> coalescedorViaCep = new CoalescedorChamadas<>("viacep", Duration.ofSeconds(5), new SimpleMeterRegistry());
+    
+    @Spy
+    private Disjuntor disjuntorViaCep = new Disjuntor("viacep", new Disjuntor.Configuracao(true, 50, 10, 50, Duration.ofSeconds(3), 80, Duration.ofSeconds(30), 3), e -> true, new SimpleMeterRegistry());
+    
+    @Spy
+    private Compartimento compartimentoViaCep = new Compartimento("viacep", 25, 25, Duration.ofMillis(500), new SimpleMeterRegistry());
+    
+    @Spy
+    private RequisicaoEspeculativa hedgingViaCep = new RequisicaoEspeculativa("viacep", false, 0.95, Duration.ofMillis(50), 200, 50, 0.05, 10, Executors.newSingleThreadExecutor(), null, new SimpleMeterRegistry());
+    
     @InjectMocks
     private CepService cepService;
     
@@ -193,8 +225,33 @@ class CepServiceTest {
     }
     
     @Test
-    @DisplayName("Deve lançar ErroConsultaExternaException quando API retorna CEP com erro")
-    void deveLancarErroConsultaExternaExceptionQuandoApiRetornaCepComErro() {
+    @DisplayName("Deve falhar imediatamente sem consultar o ViaCEP quando o circuito está aberto")
+    void deveFalharImediatamenteQuandoCircuitoDoViaCepAberto() {
+        // Given
+        ReflectionTestUtils.setField(cepService, "cepApiUrl", URL_API_CEP);
+        ReflectionTestUtils.setField(cepService, "disjuntorViaCep", new Disjuntor("viacep",
+                new Disjuntor.Configuracao(true, 10, 2, 50, Duration.ofSeconds(3), 80, Duration.ofMinutes(1), 1),
+                e -> true, new SimpleMeterRegistry()));
+        
+        when(restTemplate.getForObject(anyString(), eq(CepApiResponse.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+        assertThrows(ErroConsultaExternaException.class, () -> cepService.consultarCep(CEP_VALIDO));
+        assertThrows(ErroConsultaExternaException.class, () -> cepService.consultarCep(CEP_VALIDO));
+        
+        // When
+        var excecao = assertThrows(ErroConsultaExternaException.class, 
+            () -> cepService.consultarCep(CEP_VALIDO)
+        );
+        
+        // Then
+        assertTrue(excecao.getMessage().contains("circuito aberto"));
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(CepApiResponse.class));
+        verify(filtroCep, never()).registrarInexistente(anyString());
+    }
+    
+    @Test
+    @DisplayName("Deve lançar CepNaoEncontradoException e registrar no cache negativo quando API retorna CEP com erro")
+    void deveLancarCepNaoEncontradoExceptionQuandoApiRetornaCepComErro() {
         // Given
         ReflectionTestUtils.setField(cepService, "cepApiUrl", URL_API_CEP);
         var apiResponse = new CepApiResponse();
@@ -203,17 +260,29 @@ class CepServiceTest {
         when(restTemplate.getForObject(anyString(), eq(CepApiResponse.class))).thenReturn(apiResponse);
         
         // When & Then
-        var excecao = assertThrows(ErroConsultaExternaException.class, 
+        assertThrows(CepNaoEncontradoException.class, 
             () -> cepService.consultarCep(CEP_VALIDO)
         );
         
-        assertNotNull(excecao.getCause());
-        assertTrue(excecao.getCause() instanceof CepNaoEncontradoException);
-        
         verify(restTemplate, times(1)).getForObject(anyString(), eq(CepApiResponse.class));
+        verify(filtroCep).registrarInexistente(CEP_VALIDO);
         verify(repository, never()).save(any(ConsultaCep.class));
     }
     
+    @Test
+    @DisplayName("Não deve consultar cache, banco nem API externa quando o pré-filtro descarta o CEP")
+    void naoDeveConsultarNadaQuandoPreFiltroDescartaCep() {
+        // Given
+        doThrow(new CepNaoEncontradoException("00000001")).when(filtroCep).verificar("00000001");
+        
+        // When & Then
+        assertThrows(CepNaoEncontradoException.class, 
+            () -> cepService.consultarCep("00000-001")
+        );
+        
+        verifyNoInteractions(cepCache, repository, restTemplate);
+    }
+    
     @Test
     @DisplayName("Deve salvar consulta no repositório após busca bem-sucedida")
     void deveSalvarConsultaNoRepositorioAposBuscaBemSucedida() {
@@ -231,4 +300,107 @@ class CepServiceTest {
         // Then
         verify(repository, times(1)).save(any(ConsultaCep.class));
     }
+    
+    @Test
+    @DisplayName("Deve armazenar endereço no cache após consulta à API externa")
+    void deveArmazenarEnderecoNoCacheAposConsultaApiExterna() {
+        // Given
+        ReflectionTestUtils.setField(cepService, "cepApiUrl", URL_API_CEP);
+        var apiResponse = criarCepApiResponseValido();
+        
+        when(restTemplate.getForObject(anyString(), eq(CepApiResponse.class))).thenReturn(apiResponse);
+        when(repository.save(any(ConsultaCep.class))).thenReturn(criarConsultaCepEntity());
+        
+        // When
+        cepService.consultarCep(CEP_VALIDO_FORMATADO);
+        
+        // Then
+        verify(cepCache, times(1)).buscar(CEP_VALIDO);
+        verify(cepCache, times(1)).armazenar(CEP_VALIDO, apiResponse);
+    }
+    
+    @Test
+    @DisplayName("Não deve consultar API externa quando CEP está no cache")
+    void naoDeveConsultarApiExternaQuandoCepEstaNoCache() {
+        // Given
+        var apiResponse = criarCepApiResponseValido();
+        
+        when(cepCache.buscar(CEP_VALIDO)).thenReturn(Optional.of(apiResponse));
+        when(repository.save(any(ConsultaCep.class))).thenReturn(criarConsultaCepEntity());
+        
+        // When
+        var resultado = cepService.consultarCep(CEP_VALIDO);
+        
+        // Then
+        assertEquals("Avenida Paulista", resultado.getLogradouro());
+        verify(restTemplate, never()).getForObject(anyString(), eq(CepApiResponse.class));
+        verify(cepCache, never()).armazenar(anyString(), any(CepApiResponse.class));
+        verify(repository, times(1)).save(any(ConsultaCep.class));
+    }
+    
+    @Test
+    @DisplayName("Deve usar o endereço da consulta recente do banco sem chamar API externa e registrar a nova consulta")
+    void deveUsarConsultaRecenteDoBancoERegistrarNovaConsultaQuandoReadThroughHabilitado() {
+        // Given
+        ReflectionTestUtils.setField(cepService, "leituraBancoHabilitada", true);
+        ReflectionTestUtils.setField(cepService, "validadeConsultaBanco", Duration.ofDays(30));
+        var consultaRegistrada = criarConsultaCepEntity();
+        consultaRegistrada.setDataConsulta(LocalDateTime.now().minusDays(3));
+        
+        when(repository.findFirstByCepAndDataConsultaAfterOrderByDataConsultaDesc(eq(CEP_VALIDO_FORMATADO), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(consultaRegistrada));
+        when(repository.save(any(ConsultaCep.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        var resultado = cepService.consultarCep(CEP_VALIDO);
+        
+        // Then
+        assertEquals("Avenida Paulista", resultado.getLogradouro());
+        assertNotEquals(consultaRegistrada.getId(), resultado.getId());
+        assertTrue(resultado.getDataConsulta().isAfter(consultaRegistrada.getDataConsulta()));
+        verify(restTemplate, never()).getForObject(anyString(), eq(CepApiResponse.class));
+        verify(repository, times(1)).save(any(ConsultaCep.class));
+        verify(cepCache, times(1)).armazenar(eq(CEP_VALIDO), any(CepApiResponse.class));
+    }
+    
+    @Test
+    @DisplayName("Deve consultar API externa quando não há consulta recente no banco")
+    void deveConsultarApiExternaQuandoNaoHaConsultaRecenteNoBanco() {
+        // Given
+        ReflectionTestUtils.setField(cepService, "cepApiUrl", URL_API_CEP);
+        ReflectionTestUtils.setField(cepService, "leituraBancoHabilitada", true);
+        ReflectionTestUtils.setField(cepService, "validadeConsultaBanco", Duration.ofDays(30));
+        
+        when(repository.findFirstByCepAndDataConsultaAfterOrderByDataConsultaDesc(eq(CEP_VALIDO_FORMATADO), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(restTemplate.getForObject(anyString(), eq(CepApiResponse.class))).thenReturn(criarCepApiResponseValido());
+        when(repository.save(any(ConsultaCep.class))).thenReturn(criarConsultaCepEntity());
+        
+        // When
+        cepService.consultarCep(CEP_VALIDO);
+        
+        // Then
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(CepApiResponse.class));
+        verify(repository, times(1)).save(any(ConsultaCep.class));
+    }
+    
+    @Test
+    @DisplayName("Deve enfileirar consulta sem gravar de forma síncrona quando write-behind está habilitado")
+    void deveEnfileirarConsultaQuandoWriteBehindHabilitado() {
+        // Given
+        ReflectionTestUtils.setField(cepService, "cepApiUrl", URL_API_CEP);
+        
+        when(restTemplate.getForObject(anyString(), eq(CepApiResponse.class))).thenReturn(criarCepApiResponseValido());
+        when(gravadorConsultas.isHabilitado()).thenReturn(true);
+        
+        // When
+        var resultado = cepService.consultarCep(CEP_VALIDO);
+        
+        // Then
+        assertNotNull(resultado.getId());
+        assertNotNull(resultado.getDataConsulta());
+        assertEquals("Avenida Paulista", resultado.getLogradouro());
+        verify(gravadorConsultas, times(1)).enfileirar(argThat(consulta -> consulta.getId().equals(resultado.getId())));
+        verify(repository, never()).save(any(ConsultaCep.class));
+    }
 }
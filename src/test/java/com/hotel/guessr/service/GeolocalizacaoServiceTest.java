@@ -1,8 +1,17 @@
 package com.hotel.guessr.service;
 
+import com.hotel.guessr.cache.CentroidesCep;
+import com.hotel.guessr.cache.CoordenadasCache;
 import com.hotel.guessr.dto.CoordenadasResponse;
 import com.hotel.guessr.dto.GeocodingResponse;
 import com.hotel.guessr.exception.ErroConsultaExternaException;
+import com.hotel.guessr.model.CoordenadaCep;
+import com.hotel.guessr.repository.CoordenadaCepRepository;
+import com.hotel.guessr.resiliencia.CoalescedorChamadas;
+import com.hotel.guessr.resiliencia.Compartimento;
+import com.hotel.guessr.resiliencia.Disjuntor;
+import com.hotel.guessr.resiliencia.LimitadorTaxa;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,15 +20,21 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -30,6 +45,27 @@ class GeolocalizacaoServiceTest {
     @Mock
     private RestTemplate restTemplate;
     
+    @Mock
+    private CoordenadasCache coordenadasCache;
+    
+    @Mock
+    private CentroidesCep centroidesCep;
+    
+    @Mock
+    private CoordenadaCepRepository coordenadaCepRepository;
+    
+    @Spy
+    private CoalescedorChamadas<Integer, CoordenadasResponse> coalescedorGeocoding = new CoalescedorChamadas<>("geocoding", Duration.ofSeconds(5), new SimpleMeterRegistry());
+    
+    @Spy
+    private Disjuntor disjuntorGeocoding = new Disjuntor("geocoding", new Disjuntor.Configuracao(true, 50, 10, 50, Duration.ofSeconds(3), 80, Duration.ofSeconds(30), 3), e -> true, new SimpleMeterRegistry());
+    
+    @Spy
+    private Compartimento compartimentoGeocoding = new Compartimento("geocoding", 25, 25, Duration.ofMillis(500), new SimpleMeterRegistry());
+    
+    @Spy
+    private LimitadorTaxa limitadorGeocoding = new LimitadorTaxa("geocoding", true, 1000, 1000, 0, Duration.ZERO, ZoneId.of("America/Los_Angeles"), new SimpleMeterRegistry());
+    
     @InjectMocks
     private GeolocalizacaoService geolocalizacaoService;
     
@@ -239,4 +275,88 @@ class GeolocalizacaoServiceTest {
         assertEquals(-23.561684, resultado.getLatitude());
         assertEquals(-46.656139, resultado.getLongitude());
     }
+    
+    @Test
+    @DisplayName("Deve retornar coordenadas do cache sem consultar a Geocoding API")
+    void deveRetornarCoordenadasDoCacheSemConsultarGeocodingApi() {
+        // Given
+        var coordenadas = CoordenadasResponse.builder().latitude(-23.561684).longitude(-46.656139).build();
+        
+        when(coordenadasCache.buscar(1310100)).thenReturn(Optional.of(coordenadas));
+        
+        // When
+        var resultado = geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO);
+        
+        // Then
+        assertEquals(-23.561684, resultado.getLatitude());
+        verify(restTemplate, never()).getForObject(anyString(), eq(GeocodingResponse.class));
+    }
+    
+    @Test
+    @DisplayName("Deve usar a base offline de centróides sem consultar cache nem Geocoding API")
+    void deveUsarBaseOfflineDeCentroides() {
+        // Given
+        var coordenadas = CoordenadasResponse.builder().latitude(-23.561684).longitude(-46.656139).build();
+        
+        when(centroidesCep.buscar(1310100)).thenReturn(Optional.of(coordenadas));
+        
+        // When
+        var resultado = geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO);
+        
+        // Then
+        assertEquals(-46.656139, resultado.getLongitude());
+        verify(coordenadasCache, never()).buscar(anyInt());
+        verify(restTemplate, never()).getForObject(anyString(), eq(GeocodingResponse.class));
+    }
+    
+    @Test
+    @DisplayName("Deve armazenar e persistir coordenadas obtidas da Geocoding API")
+    void deveArmazenarEPersistirCoordenadasObtidasDaGeocodingApi() {
+        // Given
+        configurarApiKey();
+        ReflectionTestUtils.setField(geolocalizacaoService, "persistenciaHabilitada", true);
+        
+        when(restTemplate.getForObject(anyString(), eq(GeocodingResponse.class))).thenReturn(criarGeocodingResponseValido());
+        
+        // When
+        geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO);
+        
+        // Then
+        verify(coordenadasCache, times(1)).armazenar(1310100, -23.561684, -46.656139);
+        verify(coordenadaCepRepository, times(1)).save(argThat((CoordenadaCep c) -> c.getCep().equals(CEP_SEM_FORMATACAO)));
+    }
+    
+    @Test
+    @DisplayName("Deve usar centróide do prefixo quando aproximação está habilitada")
+    void deveUsarCentroideDoPrefixoQuandoAproximacaoHabilitada() {
+        // Given
+        ReflectionTestUtils.setField(geolocalizacaoService, "aproximacaoPorPrefixoHabilitada", true);
+        var aproximada = CoordenadasResponse.builder().latitude(-23.56).longitude(-46.65).build();
+        
+        when(coordenadasCache.buscarAproximada(1310100)).thenReturn(Optional.of(aproximada));
+        
+        // When
+        var resultado = geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO);
+        
+        // Then
+        assertEquals(-23.56, resultado.getLatitude());
+        verify(restTemplate, never()).getForObject(anyString(), eq(GeocodingResponse.class));
+        verify(coordenadasCache, never()).armazenar(anyInt(), anyDouble(), anyDouble());
+    }
+    
+    @Test
+    @DisplayName("Não deve consultar aproximação por prefixo quando está desabilitada")
+    void naoDeveConsultarAproximacaoPorPrefixoQuandoDesabilitada() {
+        // Given
+        configurarApiKey();
+        
+        when(restTemplate.getForObject(anyString(), eq(GeocodingResponse.class))).thenReturn(criarGeocodingResponseValido());
+        
+        // When
+        geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO);
+        
+        // Then
+        verify(coordenadasCache, never()).buscarAproximada(anyInt());
+        verify(coordenadaCepRepository, never()).save(any(CoordenadaCep.class));
+    }
 }
@@ -1,16 +1,29 @@
 package com.hotel.guessr.service;
 
+import com.hotel.guessr.cache.IndiceHoteis;
+import com.hotel.guessr.cache.PaginasPlaces;
+import com.hotel.guessr.cache.PlacesCache;
 import com.hotel.guessr.dto.CoordenadasResponse;
 import com.hotel.guessr.dto.GooglePlacesResponse;
 import com.hotel.guessr.dto.HotelResponse;
 import com.hotel.guessr.exception.ApiKeyInvalidaException;
 import com.hotel.guessr.exception.ErroConsultaExternaException;
 import com.hotel.guessr.exception.LimiteRequisicaoExcedidoException;
+import com.hotel.guessr.geo.GeoHash;
+import com.hotel.guessr.ranking.CriterioOrdenacao;
+import com.hotel.guessr.resiliencia.CoalescedorChamadas;
+import com.hotel.guessr.resiliencia.Compartimento;
+import com.hotel.guessr.resiliencia.Disjuntor;
+import com.hotel.guessr.resiliencia.LimitadorTaxa;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -19,10 +32,19 @@ import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -33,6 +55,27 @@ class GooglePlacesServiceTest {
     @Mock
     private RestTemplate restTemplate;
     
+    @Mock
+    private PlacesCache placesCache;
+    
+    @Mock
+    private IndiceHoteis indiceHoteis;
+    
+    @Mock
+    private PersistenciaHoteis persistenciaHoteis;
+    
+    @Spy
+    private CoalescedorChamadas<String, PaginasPlaces> coalescedorPlaces = new CoalescedorChamadas<>("places", Duration.ofSeconds(5), new SimpleMeterRegistry());
+    
+    @Spy
+    private Disjuntor disjuntorPlaces = new Disjuntor("places", new Disjuntor.Configuracao(true, 50, 10, 50, Duration.ofSeconds(3), 80, Duration.ofSeconds(30), 3), e -> true, new SimpleMeterRegistry());
+    
+    @Spy
+    private Compartimento compartimentoPlaces = new Compartimento("places", 25, 25, Duration.ofMillis(500), new SimpleMeterRegistry());
+    
+    @Spy
+    private LimitadorTaxa limitadorPlaces = new LimitadorTaxa("places", true, 1000, 1000, 0, Duration.ZERO, ZoneId.of("America/Los_Angeles"), new SimpleMeterRegistry());
+    
     @InjectMocks
     private GooglePlacesService googlePlacesService;
     
@@ -41,6 +84,23 @@ class GooglePlacesServiceTest {
     private static final Integer LIMITE = 5;
     private static final Integer RAIO = 5000;
     
+    private ExecutorService executorConsultasExternas;
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(placesCache.chave(any(), anyInt())).thenAnswer(invocacao -> {
+            CoordenadasResponse origem = invocacao.getArgument(0);
+            return GeoHash.codificar(origem.getLatitude(), origem.getLongitude(), 6) + ":" + invocacao.getArgument(1);
+        });
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (executorConsultasExternas != null) {
+            executorConsultasExternas.shutdownNow();
+        }
+    }
+    
     // ==================== MÉTODOS AUXILIARES ====================
     
     private CoordenadasResponse criarCoordenadasValidas() {
@@ -75,6 +135,60 @@ class GooglePlacesServiceTest {
         return response;
     }
     
+    private GooglePlacesResponse criarPagina(String token, String... nomes) {
+        GooglePlacesResponse response = new GooglePlacesResponse();
+        response.setStatus("OK");
+        response.setNextPageToken(token);
+        
+        List<GooglePlacesResponse.PlaceResult> results = new ArrayList<>();
+        for (String nome : nomes) {
+            GooglePlacesResponse.Location location = new GooglePlacesResponse.Location();
+            location.setLat(-23.561684);
+            location.setLng(-46.656139);
+            GooglePlacesResponse.Geometry geometry = new GooglePlacesResponse.Geometry();
+            geometry.setLocation(location);
+            
+            GooglePlacesResponse.PlaceResult place = new GooglePlacesResponse.PlaceResult();
+            place.setName(nome);
+            place.setGeometry(geometry);
+            results.add(place);
+        }
+        response.setResults(results);
+        
+        return response;
+    }
+    
+    private GooglePlacesResponse.PlaceResult criarLugar(String nome, double latitude, Double rating, Integer totalAvaliacoes) {
+        GooglePlacesResponse.Location location = new GooglePlacesResponse.Location();
+        location.setLat(latitude);
+        location.setLng(-46.656139);
+        GooglePlacesResponse.Geometry geometry = new GooglePlacesResponse.Geometry();
+        geometry.setLocation(location);
+        
+        GooglePlacesResponse.PlaceResult place = new GooglePlacesResponse.PlaceResult();
+        place.setName(nome);
+        place.setGeometry(geometry);
+        place.setRating(rating);
+        place.setUserRatingsTotal(totalAvaliacoes);
+        return place;
+    }
+    
+    private GooglePlacesResponse criarPaginaCheia(String token, int primeiroHotel) {
+        String[] nomes = new String[PaginasPlaces.LUGARES_POR_PAGINA];
+        for (int i = 0; i < nomes.length; i++) {
+            nomes[i] = "Hotel " + (primeiroHotel + i);
+        }
+        return criarPagina(token, nomes);
+    }
+    
+    private void configurarPaginacao() {
+        executorConsultasExternas = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(googlePlacesService, "executorConsultasExternas", executorConsultasExternas);
+        ReflectionTestUtils.setField(googlePlacesService, "maximoPaginas", 3);
+        ReflectionTestUtils.setField(googlePlacesService, "atrasoAtivacaoToken", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(googlePlacesService, "tempoLimitePagina", Duration.ofSeconds(5));
+    }
+    
     private void configurarApiKey() {
         ReflectionTestUtils.setField(googlePlacesService, "apiKey", API_KEY_VALIDA);
         ReflectionTestUtils.setField(googlePlacesService, "apiUrl", API_URL);
@@ -172,6 +286,28 @@ class GooglePlacesServiceTest {
         );
     }
     
+    @Test
+    @DisplayName("Deve recusar localmente sem consultar o Google quando o orçamento diário está esgotado")
+    void deveRecusarLocalmenteQuandoOrcamentoDiarioEsgotado() {
+        // Given
+        configurarApiKey();
+        ReflectionTestUtils.setField(googlePlacesService, "limitadorPlaces", new LimitadorTaxa("places", true,
+                1000, 1000, 1, Duration.ZERO, ZoneId.of("America/Los_Angeles"), new SimpleMeterRegistry()));
+        var coordenadas = criarCoordenadasValidas();
+        var outrasCoordenadas = CoordenadasResponse.builder().latitude(-22.906847).longitude(-43.172896).build();
+        
+        when(restTemplate.getForObject(anyString(), eq(GooglePlacesResponse.class)))
+                .thenReturn(criarGooglePlacesResponseValido());
+        googlePlacesService.buscarHoteisProximos(coordenadas, LIMITE, RAIO);
+        
+        // When & Then
+        var excecao = assertThrows(LimiteRequisicaoExcedidoException.class,
+                () -> googlePlacesService.buscarHoteisProximos(outrasCoordenadas, LIMITE, RAIO)
+        );
+        assertTrue(excecao.getMessage().contains("Orçamento diário"));
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(GooglePlacesResponse.class));
+    }
+    
     @Test
     @DisplayName("Deve lançar ErroConsultaExternaException quando ocorre erro 500")
     void deveLancarErroConsultaExternaExceptionQuandoOcorreErro500() {
@@ -423,4 +559,420 @@ class GooglePlacesServiceTest {
         
         assertTrue(excecao.getMessage().contains("API Key do Google Places inválida"));
     }
+    
+    @Test
+    @DisplayName("Deve usar lugares do cache e recalcular distância a partir da origem exata")
+    void deveUsarLugaresDoCacheERecalcularDistancia() {
+        // Given
+        configurarApiKey();
+        var origemVizinha = CoordenadasResponse.builder()
+                .latitude(-23.570684)
+                .longitude(-46.656139)
+                .build();
+        var lugaresEmCache = criarGooglePlacesResponseValido().getResults();
+        
+        when(placesCache.buscar(origemVizinha, RAIO))
+                .thenReturn(Optional.of(PaginasPlaces.primeiraPagina(origemVizinha, lugaresEmCache, null, 0)));
+        
+        // When
+        var resultado = googlePlacesService.buscarHoteisProximos(origemVizinha, LIMITE, RAIO);
+        
+        // Then
+        assertEquals(1, resultado.size());
+        assertEquals(1.0, resultado.get(0).getDistanciaKm(), 0.01);
+        verify(restTemplate, never()).getForObject(anyString(), eq(GooglePlacesResponse.class));
+        verify(placesCache, never()).armazenar(any(), anyInt(), any(PaginasPlaces.class));
+    }
+    
+    @Test
+    @DisplayName("Deve armazenar no cache os lugares retornados pelo Google Places")
+    void deveArmazenarNoCacheLugaresRetornadosPeloGooglePlaces() {
+        // Given
+        configurarApiKey();
+        var coordenadas = criarCoordenadasValidas();
+        var response = criarGooglePlacesResponseValido();
+        
+        when(restTemplate.getForObject(anyString(), eq(GooglePlacesResponse.class))).thenReturn(response);
+        
+        // When
+        googlePlacesService.buscarHoteisProximos(coordenadas, LIMITE, RAIO);
+        
+        // Then
+        verify(placesCache, times(1)).armazenar(eq(coordenadas), eq(RAIO),
+                argThat(paginas -> paginas.getLugares().equals(response.getResults())));
+    }
+    
+    @Test
+    @DisplayName("Deve arredondar o raio para o balde configurado")
+    void deveArredondarRaioParaBaldeConfigurado() {
+        // Given
+        configurarApiKey();
+        ReflectionTestUtils.setField(googlePlacesService, "baldeRaioMetros", 1000);
+        var coordenadas = criarCoordenadasValidas();
+        
+        when(restTemplate.getForObject(anyString(), eq(GooglePlacesResponse.class))).thenReturn(criarGooglePlacesResponseValido());
+        
+        // When
+        googlePlacesService.buscarHoteisProximos(coordenadas, LIMITE, 4200);
+        
+        // Then
+        verify(restTemplate, times(1)).getForObject(
+                argThat((String url) -> url.contains("radius=5000")),
+                eq(GooglePlacesResponse.class)
+        );
+    }
+    
+    @Test
+    @DisplayName("Deve buscar as próximas páginas quando o limite excede a primeira página")
+    void deveBuscarProximasPaginasQuandoLimiteExcedePrimeiraPagina() {
+        // Given
+        configurarApiKey();
+        configurarPaginacao();
+        var coordenadas = criarCoordenadasValidas();
+        
+        when(restTemplate.getForObject(contains("location="), eq(GooglePlacesResponse.class)))
+                .thenReturn(criarPagina("TOKEN_2", "Hotel 1", "Hotel 2"));
+        when(restTemplate.getForObject(contains("pagetoken=TOKEN_2"), eq(GooglePlacesResponse.class)))
+                .thenReturn(criarPagina("TOKEN_3", "Hotel 3", "Hotel 4"));
+        
+        // When
+        var resultado = googlePlacesService.buscarHoteisProximos(coordenadas, 4, RAIO);
+        
+        // Then
+        assertEquals(List.of("Hotel 1", "Hotel 2", "Hotel 3", "Hotel 4"),
+                resultado.stream().map(HotelResponse::getNome).toList());
+        verify(restTemplate, never()).getForObject(
+                argThat((String url) -> url.contains("pagetoken=TOKEN_3")), eq(GooglePlacesResponse.class));
+        verify(placesCache, times(1)).armazenar(eq(coordenadas), eq(RAIO),
+                argThat(paginas -> paginas.getTotalPaginas() == 2 && "TOKEN_3".equals(paginas.getProximoToken())));
+    }
+    
+    @Test
+    @DisplayName("Não deve buscar a próxima página quando a primeira cobre o limite")
+    void naoDeveBuscarProximaPaginaQuandoPrimeiraCobreLimite() {
+        // Given
+        configurarApiKey();
+        configurarPaginacao();
+        var coordenadas = criarCoordenadasValidas();
+        
+        when(restTemplate.getForObject(anyString(), eq(GooglePlacesResponse.class)))
+                .thenReturn(criarPagina("TOKEN_2", "Hotel 1", "Hotel 2", "Hotel 3"));
+        
+        // When
+        var resultado = googlePlacesService.buscarHoteisProximos(coordenadas, 2, RAIO);
+        
+        // Then
+        assertEquals(2, resultado.size());
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(GooglePlacesResponse.class));
+    }
+    
+    @Test
+    @DisplayName("Deve continuar a partir das páginas em cache sem consultar a primeira novamente")
+    void deveContinuarAPartirDasPaginasEmCache() {
+        // Given
+        configurarApiKey();
+        configurarPaginacao();
+        var coordenadas = criarCoordenadasValidas();
+        var paginasEmCache = PaginasPlaces.primeiraPagina(coordenadas,
+                criarPagina(null, "Hotel 1").getResults(), "TOKEN_2", System.currentTimeMillis());
+        
+        when(placesCache.buscar(coordenadas, RAIO)).thenReturn(Optional.of(paginasEmCache));
+        when(restTemplate.getForObject(anyString(), eq(GooglePlacesResponse.class)))
+                .thenReturn(criarPagina(null, "Hotel 2"));
+        
+        // When
+        var resultado = googlePlacesService.buscarHoteisProximos(coordenadas, 5, RAIO);
+        
+        // Then
+        assertEquals(2, resultado.size());
+        verify(restTemplate, times(1)).getForObject(
+                argThat((String url) -> url.contains("pagetoken=TOKEN_2") && !url.contains("location=")),
+                eq(GooglePlacesResponse.class));
+    }
+    
+    @Test
+    @DisplayName("Deve registrar a área coberta na origem da busca que gerou as páginas em cache")
+    void deveRegistrarAreaCobertaNaOrigemDasPaginasEmCache() {
+        // Given
+        configurarApiKey();
+        configurarPaginacao();
+        var coordenadas = criarCoordenadasValidas();
+        var origemDaPrimeiraPagina = CoordenadasResponse.builder()
+                .latitude(coordenadas.getLatitude() + 0.001)
+                .longitude(coordenadas.getLongitude() + 0.001)
+                .build();
+        var paginasEmCache = PaginasPlaces.primeiraPagina(origemDaPrimeiraPagina,
+                criarPagina(null, "Hotel 1").getResults(), "TOKEN_2", System.currentTimeMillis());
+        
+        when(placesCache.buscar(coordenadas, RAIO)).thenReturn(Optional.of(paginasEmCache));
+        when(restTemplate.getForObject(anyString(), eq(GooglePlacesResponse.class)))
+                .thenReturn(criarPagina(null, "Hotel 2"));
+        
+        // When
+        googlePlacesService.buscarHoteisProximos(coordenadas, 5, RAIO);
+        
+        // Then
+        verify(indiceHoteis, times(1)).registrarAreaCoberta(eq(origemDaPrimeiraPagina.getLatitude()),
+                eq(origemDaPrimeiraPagina.getLongitude()), eq(RAIO), any());
+        verify(persistenciaHoteis, times(1)).registrarAreaCoberta(eq(origemDaPrimeiraPagina.getLatitude()),
+                eq(origemDaPrimeiraPagina.getLongitude()), eq(RAIO), any());
+    }
+    
+    @Test
+    @DisplayName("Deve devolver os resultados já obtidos quando a próxima página falha")
+    void deveDevolverResultadosJaObtidosQuandoProximaPaginaFalha() {
+        // Given
+        configurarApiKey();
+        configurarPaginacao();
+        var coordenadas = criarCoordenadasValidas();
+        
+        when(restTemplate.getForObject(contains("location="), eq(GooglePlacesResponse.class)))
+                .thenReturn(criarPagina("TOKEN_2", "Hotel 1"));
+        when(restTemplate.getForObject(contains("pagetoken="), eq(GooglePlacesResponse.class)))
+                .thenThrow(new ResourceAccessException("Timeout"));
+        
+        // When
+        var resultado = googlePlacesService.buscarHoteisProximos(coordenadas, 5, RAIO);
+        
+        // Then
+        assertEquals(1, resultado.size());
+        assertEquals("Hotel 1", resultado.get(0).getNome());
+    }
+    
+    @Test
+    @DisplayName("Deve responder pelo índice de hotéis quando a área da busca está coberta")
+    void deveResponderPeloIndiceQuandoAreaCoberta() {
+        // Given
+        configurarApiKey();
+        var coordenadas = criarCoordenadasValidas();
+        
+        when(indiceHoteis.buscarSeCoberta(coordenadas.getLatitude(), coordenadas.getLongitude(), RAIO))
+                .thenReturn(Optional.of(criarPagina(null, "Hotel Indexado").getResults()));
+        
+        // When
+        var resultado = googlePlacesService.buscarHoteisProximos(coordenadas, LIMITE, RAIO);
+        
+        // Then
+        assertEquals("Hotel Indexado", resultado.get(0).getNome());
+        verify(restTemplate, never()).getForObject(anyString(), eq(GooglePlacesResponse.class));
+    }
+    
+    @Test
+    @DisplayName("Deve responder pela base de hotéis quando a área está coberta no banco e não no índice")
+    void deveResponderPelaBaseDeHoteisQuandoAreaCobertaNoBanco() {
+        // Given
+        configurarApiKey();
+        var coordenadas = criarCoordenadasValidas();
+        
+        when(persistenciaHoteis.buscarSeCoberta(coordenadas.getLatitude(), coordenadas.getLongitude(), RAIO))
+                .thenReturn(Optional.of(criarPagina(null, "Hotel da Base").getResults()));
+        
+        // When
+        var resultado = googlePlacesService.buscarHoteisProximos(coordenadas, LIMITE, RAIO);
+        
+        // Then
+        assertEquals("Hotel da Base", resultado.get(0).getNome());
+        verify(restTemplate, never()).getForObject(anyString(), eq(GooglePlacesResponse.class));
+        verify(placesCache, times(1)).armazenar(eq(coordenadas), eq(RAIO), any(PaginasPlaces.class));
+        verify(persistenciaHoteis, never()).registrarAreaCoberta(anyDouble(), anyDouble(), anyInt(), any());
+    }
+    
+    @Test
+    @DisplayName("Deve registrar a área como coberta quando o Google não tem mais páginas")
+    void deveRegistrarAreaCobertaQuandoGoogleNaoTemMaisPaginas() {
+        // Given
+        configurarApiKey();
+        var coordenadas = criarCoordenadasValidas();
+        var response = criarPagina(null, "Hotel 1", "Hotel 2");
+        
+        when(restTemplate.getForObject(anyString(), eq(GooglePlacesResponse.class))).thenReturn(response);
+        
+        // When
+        googlePlacesService.buscarHoteisProximos(coordenadas, LIMITE, RAIO);
+        
+        // Then
+        verify(indiceHoteis, times(1)).registrarAreaCoberta(
+                coordenadas.getLatitude(), coordenadas.getLongitude(), RAIO, response.getResults());
+        verify(indiceHoteis, never()).registrar(any());
+        verify(persistenciaHoteis, times(1)).registrarAreaCoberta(
+                coordenadas.getLatitude(), coordenadas.getLongitude(), RAIO, response.getResults());
+    }
+    
+    @Test
+    @DisplayName("Deve ordenar por distância todos os candidatos, não só os primeiros devolvidos pelo Google")
+    void deveOrdenarPorDistanciaTodosOsCandidatos() {
+        // Given
+        configurarApiKey();
+        var coordenadas = criarCoordenadasValidas();
+        var response = criarPagina(null);
+        response.getResults().addAll(List.of(
+                criarLugar("Hotel Longe", -23.590000, 4.5, 800),
+                criarLugar("Hotel Medio", -23.575000, 4.0, 300),
+                criarLugar("Hotel Perto", -23.562000, 3.8, 120)));
+        
+        when(restTemplate.getForObject(anyString(), eq(GooglePlacesResponse.class))).thenReturn(response);
+        
+        // When
+        var resultado = googlePlacesService.buscarHoteisProximos(coordenadas, 2, RAIO);
+        
+        // Then
+        assertEquals(List.of("Hotel Perto", "Hotel Medio"), resultado.stream().map(HotelResponse::getNome).toList());
+        assertTrue(resultado.get(0).getDistanciaKm() <= resultado.get(1).getDistanciaKm());
+    }
+    
+    @Test
+    @DisplayName("Deve ordenar pela avaliação ponderada pelo número de avaliações quando solicitado")
+    void deveOrdenarPelaAvaliacaoPonderadaQuandoSolicitado() {
+        // Given
+        configurarApiKey();
+        var coordenadas = criarCoordenadasValidas();
+        var response = criarPagina(null);
+        response.getResults().addAll(List.of(
+                criarLugar("Hotel Novo", -23.562000, 5.0, 2),
+                criarLugar("Hotel Consagrado", -23.580000, 4.7, 2_500),
+                criarLugar("Hotel Sem Avaliacao", -23.561700, null, null),
+                criarLugar("Hotel Regular", -23.570000, 4.1, 900)));
+        
+        when(restTemplate.getForObject(anyString(), eq(GooglePlacesResponse.class))).thenReturn(response);
+        
+        // When
+        var resultado = googlePlacesService.buscarHoteisProximos(
+                coordenadas, 3, RAIO, CriterioOrdenacao.AVALIACAO_PONDERADA);
+        
+        // Then
+        assertEquals(List.of("Hotel Consagrado", "Hotel Regular", "Hotel Novo"),
+                resultado.stream().map(HotelResponse::getNome).toList());
+    }
+    
+    @Test
+    @DisplayName("Deve descartar hotéis além do raio pedido mesmo quando vêm do raio arredondado do cache")
+    void deveDescartarHoteisAlemDoRaioPedido() {
+        // Given
+        configurarApiKey();
+        ReflectionTestUtils.setField(googlePlacesService, "baldeRaioMetros", 1000);
+        var coordenadas = criarCoordenadasValidas();
+        var lugaresEmCache = List.of(
+                criarLugar("Hotel Fora do Raio", -23.576000, 5.0, 3_000),
+                criarLugar("Hotel Dentro do Raio", -23.570000, 3.9, 40));
+        
+        when(placesCache.buscar(coordenadas, 2000))
+                .thenReturn(Optional.of(PaginasPlaces.primeiraPagina(coordenadas, lugaresEmCache, null, 0)));
+        
+        // When
+        var resultado = googlePlacesService.buscarHoteisProximos(
+                coordenadas, LIMITE, 1200, CriterioOrdenacao.COMBINADO);
+        
+        // Then
+        assertEquals(List.of("Hotel Dentro do Raio"), resultado.stream().map(HotelResponse::getNome).toList());
+        assertTrue(resultado.get(0).getDistanciaKm() <= 1.2);
+    }
+    
+    @Test
+    @DisplayName("Deve reaproveitar o cache preenchido por outra busca da mesma célula antes de chamar o Google")
+    void deveReaproveitarCachePreenchidoAntesDeChamarGoogle() {
+        // Given
+        configurarApiKey();
+        var coordenadas = criarCoordenadasValidas();
+        var paginasDaBuscaVizinha = PaginasPlaces.primeiraPagina(
+                coordenadas, criarGooglePlacesResponseValido().getResults(), null, 0);
+        
+        when(placesCache.buscar(coordenadas, RAIO))
+                .thenReturn(Optional.empty(), Optional.of(paginasDaBuscaVizinha));
+        
+        // When
+        var resultado = googlePlacesService.buscarHoteisProximos(coordenadas, LIMITE, RAIO);
+        
+        // Then
+        assertEquals(1, resultado.size());
+        verify(restTemplate, never()).getForObject(anyString(), eq(GooglePlacesResponse.class));
+    }
+    
+    @Test
+    @DisplayName("Deve coalescer origens vizinhas pela mesma chave do cache")
+    void deveCoalescerOrigensVizinhasPelaChaveDoCache() {
+        // Given
+        var origem = criarCoordenadasValidas();
+        var vizinha = CoordenadasResponse.builder()
+                .latitude(origem.getLatitude() + 0.0001)
+                .longitude(origem.getLongitude() + 0.0001)
+                .build();
+        
+        // When & Then
+        assertEquals(googlePlacesService.chaveCoalescencia(origem, RAIO),
+                googlePlacesService.chaveCoalescencia(vizinha, RAIO));
+        assertNotEquals(googlePlacesService.chaveCoalescencia(origem, RAIO),
+                googlePlacesService.chaveCoalescencia(origem, 2 * RAIO));
+    }
+    
+    @Test
+    @DisplayName("Deve parar de aguardar as próximas páginas ao esgotar o prazo da paginação")
+    void devePararDeAguardarProximasPaginasAoEsgotarPrazo() {
+        // Given
+        configurarApiKey();
+        configurarPaginacao();
+        ReflectionTestUtils.setField(googlePlacesService, "tempoLimitePagina", Duration.ofMillis(100));
+        var coordenadas = criarCoordenadasValidas();
+        var paginasEmCache = PaginasPlaces.primeiraPagina(coordenadas,
+                criarPagina(null, "Hotel 1").getResults(), "TOKEN_2", System.currentTimeMillis());
+        
+        when(placesCache.buscar(coordenadas, RAIO)).thenReturn(Optional.of(paginasEmCache));
+        doReturn(new CompletableFuture<PaginasPlaces>()).when(coalescedorPlaces).executarAssincrono(anyString(), any());
+        
+        // When
+        long inicio = System.nanoTime();
+        var resultado = googlePlacesService.buscarHoteisProximos(coordenadas, 5, RAIO);
+        long duracaoMillis = (System.nanoTime() - inicio) / 1_000_000;
+        
+        // Then
+        assertEquals(List.of("Hotel 1"), resultado.stream().map(HotelResponse::getNome).toList());
+        assertTrue(duracaoMillis < 2_000, "aguardou " + duracaoMillis + " ms");
+    }
+    
+    @Test
+    @DisplayName("Não deve registrar área coberta quando o Google devolve três páginas cheias")
+    void naoDeveRegistrarAreaCobertaQuandoGoogleDevolveTresPaginasCheias() {
+        // Given
+        configurarApiKey();
+        configurarPaginacao();
+        var coordenadas = criarCoordenadasValidas();
+        
+        when(restTemplate.getForObject(contains("location="), eq(GooglePlacesResponse.class)))
+                .thenReturn(criarPaginaCheia("TOKEN_2", 1));
+        when(restTemplate.getForObject(contains("pagetoken=TOKEN_2"), eq(GooglePlacesResponse.class)))
+                .thenReturn(criarPaginaCheia("TOKEN_3", 21));
+        when(restTemplate.getForObject(contains("pagetoken=TOKEN_3"), eq(GooglePlacesResponse.class)))
+                .thenReturn(criarPaginaCheia(null, 41));
+        
+        // When
+        var resultado = googlePlacesService.buscarHoteisProximos(coordenadas, 60, RAIO);
+        
+        // Then
+        assertEquals(60, resultado.size());
+        verify(indiceHoteis, never()).registrarAreaCoberta(anyDouble(), anyDouble(), anyInt(), any());
+        verify(persistenciaHoteis, never()).registrarAreaCoberta(anyDouble(), anyDouble(), anyInt(), any());
+        verify(indiceHoteis, times(3)).registrar(any());
+    }
+    
+    @Test
+    @DisplayName("Deve entregar cada hotel ao consumidor na ordem do ranking")
+    void deveEntregarCadaHotelAoConsumidorNaOrdemDoRanking() {
+        // Given
+        configurarApiKey();
+        var coordenadas = criarCoordenadasValidas();
+        var response = criarPagina(null);
+        response.getResults().addAll(List.of(
+                criarLugar("Hotel Longe", -23.590000, 4.5, 800),
+                criarLugar("Hotel Perto", -23.562000, 3.8, 120)));
+        var entregues = new ArrayList<HotelResponse>();
+        
+        when(restTemplate.getForObject(anyString(), eq(GooglePlacesResponse.class))).thenReturn(response);
+        
+        // When
+        var resultado = googlePlacesService.buscarHoteisProximos(
+                coordenadas, LIMITE, RAIO, CriterioOrdenacao.DISTANCIA, entregues::add);
+        
+        // Then
+        assertEquals(resultado, entregues);
+        assertEquals("Hotel Perto", entregues.get(0).getNome());
+    }
 }
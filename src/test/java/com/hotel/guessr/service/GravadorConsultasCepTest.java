@@ -0,0 +1,130 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.model.ConsultaCep;
+import com.hotel.guessr.repository.ConsultaCepRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GravadorConsultasCepTest {
+
+    @Mock
+    private ConsultaCepRepository repository;
+    
+    // ==================== MÉTODOS AUXILIARES ====================
+    
+    private GravadorConsultasCep criarGravador(boolean habilitado, int tamanhoLote, Duration intervalo, int capacidadeFila) {
+        return new GravadorConsultasCep(repository, habilitado, tamanhoLote, intervalo, capacidadeFila,
+                Duration.ofMillis(10), new SimpleMeterRegistry());
+    }
+    
+    private ConsultaCep criarConsulta() {
+        return ConsultaCep.builder()
+                .id(UUID.randomUUID())
+                .cep("01310-100")
+                .logradouro("Avenida Paulista")
+                .localidade("São Paulo")
+                .uf("SP")
+                .dataConsulta(LocalDateTime.now())
+                .build();
+    }
+    
+    // ==================== TESTES ====================
+    
+    @Test
+    @DisplayName("Deve gravar consultas enfileiradas em lotes do tamanho configurado")
+    @SuppressWarnings("unchecked")
+    void deveGravarConsultasEmLotes() {
+        // Given
+        var gravador = criarGravador(true, 5, Duration.ofSeconds(10), 100);
+        gravador.start();
+        
+        // When
+        for (int i = 0; i < 10; i++) {
+            gravador.enfileirar(criarConsulta());
+        }
+        gravador.stop();
+        
+        // Then
+        ArgumentCaptor<List<ConsultaCep>> lotes = ArgumentCaptor.forClass(List.class);
+        verify(repository, atLeast(2)).saveAll(lotes.capture());
+        assertEquals(10, lotes.getAllValues().stream().mapToInt(List::size).sum());
+        assertTrue(lotes.getAllValues().stream().allMatch(lote -> lote.size() <= 5));
+        verify(repository, never()).save(any(ConsultaCep.class));
+        assertEquals(0, gravador.tamanhoFila());
+    }
+    
+    @Test
+    @DisplayName("Deve gravar lote incompleto quando o intervalo de gravação expira")
+    void deveGravarLoteIncompletoQuandoIntervaloExpira() {
+        // Given
+        var gravador = criarGravador(true, 100, Duration.ofMillis(20), 100);
+        gravador.start();
+        
+        try {
+            // When
+            gravador.enfileirar(criarConsulta());
+            
+            // Then
+            verify(repository, timeout(2000).times(1)).saveAll(anyList());
+        } finally {
+            gravador.stop();
+        }
+    }
+    
+    @Test
+    @DisplayName("Deve gravar de forma síncrona quando a fila está cheia")
+    void deveGravarDeFormaSincronaQuandoFilaCheia() {
+        // Given
+        var gravador = criarGravador(true, 1, Duration.ofSeconds(10), 1);
+        
+        when(repository.saveAll(anyList())).thenAnswer(invocacao -> {
+            Thread.sleep(500);
+            return invocacao.getArgument(0);
+        });
+        gravador.start();
+        
+        try {
+            // When
+            for (int i = 0; i < 5; i++) {
+                gravador.enfileirar(criarConsulta());
+            }
+            
+            // Then
+            verify(repository, atLeastOnce()).save(any(ConsultaCep.class));
+        } finally {
+            gravador.stop();
+        }
+    }
+    
+    @Test
+    @DisplayName("Deve gravar de forma síncrona quando o gravador não está em execução")
+    void deveGravarDeFormaSincronaQuandoGravadorNaoEstaEmExecucao() {
+        // Given
+        var gravador = criarGravador(false, 100, Duration.ofMillis(20), 100);
+        gravador.start();
+        
+        // When
+        gravador.enfileirar(criarConsulta());
+        
+        // Then
+        assertFalse(gravador.isRunning());
+        verify(repository, times(1)).save(any(ConsultaCep.class));
+        verify(repository, never()).saveAll(anyList());
+    }
+}
@@ -0,0 +1,171 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.dto.HoteisProximosResponse;
+import com.hotel.guessr.dto.ItemErroLoteResponse;
+import com.hotel.guessr.exception.CepNaoEncontradoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotelLoteServiceTest {
+
+    @Mock
+    private HotelServiceInterface hotelService;
+
+    private ExecutorService executorBuscaHoteisLote;
+
+    private HotelLoteService hotelLoteService;
+
+    private static final Integer LIMITE_HOTEIS = 5;
+
+    @BeforeEach
+    void setUp() {
+        executorBuscaHoteisLote = Executors.newFixedThreadPool(8);
+        hotelLoteService = new HotelLoteService(hotelService, executorBuscaHoteisLote);
+        ReflectionTestUtils.setField(hotelLoteService, "tamanhoMaximoLote", 20);
+        ReflectionTestUtils.setField(hotelLoteService, "paralelismo", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorBuscaHoteisLote.shutdownNow();
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private HoteisProximosResponse criarResposta(String cep) {
+        return HoteisProximosResponse.builder()
+                .cepConsultado(cep)
+                .cidade("São Paulo")
+                .uf("SP")
+                .hoteis(List.of())
+                .totalEncontrado(0)
+                .build();
+    }
+
+    private static void aguardar(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== TESTES ====================
+
+    @Test
+    @DisplayName("Deve emitir uma linha por CEP, com linhas de erro para os CEPs que falharem")
+    void deveEmitirUmaLinhaPorCepComLinhasDeErro() {
+        // Given
+        var linhas = new ArrayList<Object>();
+
+        when(hotelService.buscarHoteisProximosPorCep(anyString(), eq(LIMITE_HOTEIS)))
+                .thenAnswer(invocation -> criarResposta(invocation.getArgument(0)));
+        when(hotelService.buscarHoteisProximosPorCep("99999999", LIMITE_HOTEIS))
+                .thenThrow(new CepNaoEncontradoException("99999999"));
+
+        // When
+        hotelLoteService.buscarEmLote(List.of("01310100", "99999999", "20040020"), LIMITE_HOTEIS, linhas::add);
+
+        // Then
+        assertEquals(3, linhas.size());
+        assertEquals(2, linhas.stream().filter(HoteisProximosResponse.class::isInstance).count());
+
+        var erro = linhas.stream()
+                .filter(ItemErroLoteResponse.class::isInstance)
+                .map(ItemErroLoteResponse.class::cast)
+                .findFirst()
+                .orElseThrow();
+        assertEquals("99999999", erro.getCep());
+        assertEquals(404, erro.getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve entregar cada resultado assim que fica pronto, fora de ordem")
+    void deveEntregarResultadosForaDeOrdem() {
+        // Given
+        var linhas = new ArrayList<Object>();
+
+        when(hotelService.buscarHoteisProximosPorCep("01310100", LIMITE_HOTEIS)).thenAnswer(invocation -> {
+            aguardar(300);
+            return criarResposta("01310100");
+        });
+        when(hotelService.buscarHoteisProximosPorCep("20040020", LIMITE_HOTEIS)).thenReturn(criarResposta("20040020"));
+
+        // When
+        hotelLoteService.buscarEmLote(List.of("01310100", "20040020"), LIMITE_HOTEIS, linhas::add);
+
+        // Then
+        assertEquals("20040020", ((HoteisProximosResponse) linhas.get(0)).getCepConsultado());
+        assertEquals("01310100", ((HoteisProximosResponse) linhas.get(1)).getCepConsultado());
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de buscas simultâneas")
+    void deveLimitarQuantidadeBuscasSimultaneas() {
+        // Given
+        var emAndamento = new AtomicInteger();
+        var maximoObservado = new AtomicInteger();
+        var linhas = new CopyOnWriteArrayList<Object>();
+
+        when(hotelService.buscarHoteisProximosPorCep(anyString(), eq(LIMITE_HOTEIS))).thenAnswer(invocation -> {
+            maximoObservado.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            aguardar(30);
+            emAndamento.decrementAndGet();
+            return criarResposta(invocation.getArgument(0));
+        });
+
+        // When
+        hotelLoteService.buscarEmLote(Collections.nCopies(12, "01310100"), LIMITE_HOTEIS, linhas::add);
+
+        // Then
+        assertEquals(12, linhas.size());
+        assertTrue(maximoObservado.get() <= 3, "Máximo de buscas simultâneas: " + maximoObservado.get());
+    }
+
+    @Test
+    @DisplayName("Deve interromper o lote quando o consumidor falha")
+    void deveInterromperLoteQuandoConsumidorFalha() {
+        // Given
+        when(hotelService.buscarHoteisProximosPorCep(anyString(), eq(LIMITE_HOTEIS)))
+                .thenAnswer(invocation -> criarResposta(invocation.getArgument(0)));
+
+        // When & Then
+        assertThrows(UncheckedIOException.class, () -> hotelLoteService.buscarEmLote(
+                Collections.nCopies(12, "01310100"), LIMITE_HOTEIS,
+                linha -> {
+                    throw new UncheckedIOException(new java.io.IOException("Cliente desconectado"));
+                }));
+
+        verify(hotelService, atMost(3)).buscarHoteisProximosPorCep(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando o lote excede o tamanho máximo")
+    void deveLancarIllegalArgumentExceptionQuandoLoteExcedeTamanhoMaximo() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> hotelLoteService.buscarEmLote(
+                Collections.nCopies(21, "01310100"), LIMITE_HOTEIS, linha -> { }));
+
+        verifyNoInteractions(hotelService);
+    }
+}
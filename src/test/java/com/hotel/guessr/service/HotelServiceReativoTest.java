@@ -0,0 +1,185 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.dto.ConsultaCepResponse;
+import com.hotel.guessr.dto.CoordenadasResponse;
+import com.hotel.guessr.dto.HotelResponse;
+import com.hotel.guessr.exception.CepInvalidoException;
+import com.hotel.guessr.exception.CepNaoEncontradoException;
+import com.hotel.guessr.exception.HotelNaoEncontradoException;
+import com.hotel.guessr.ranking.CriterioOrdenacao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotelServiceReativoTest {
+
+    @Mock
+    private CepServiceReativoInterface cepService;
+    
+    @Mock
+    private GeolocalizacaoServiceReativoInterface geolocalizacaoService;
+    
+    @Mock
+    private GooglePlacesServiceReativo googlePlacesService;
+    
+    @InjectMocks
+    private HotelServiceReativo hotelService;
+    
+    private static final String CEP_VALIDO = "01310-100";
+    private static final Integer LIMITE_HOTEIS = 10;
+    private static final Integer RAIO_PADRAO = 5000;
+    
+    // ==================== MÉTODOS AUXILIARES ====================
+    
+    private ConsultaCepResponse criarConsultaCepResponse() {
+        return ConsultaCepResponse.builder()
+                .id(UUID.randomUUID())
+                .cep(CEP_VALIDO)
+                .logradouro("Avenida Paulista")
+                .bairro("Bela Vista")
+                .localidade("São Paulo")
+                .uf("SP")
+                .ddd("11")
+                .dataConsulta(LocalDateTime.now())
+                .build();
+    }
+    
+    private CoordenadasResponse criarCoordenadasResponse() {
+        return CoordenadasResponse.builder()
+                .latitude(-23.561684)
+                .longitude(-46.656139)
+                .build();
+    }
+    
+    private List<HotelResponse> criarListaHoteisValida() {
+        return List.of(
+                HotelResponse.builder()
+                        .nome("Hotel Paulista Plaza")
+                        .endereco("Av. Paulista, 2000")
+                        .distanciaKm(0.5)
+                        .estrelas(4)
+                        .build(),
+                HotelResponse.builder()
+                        .nome("Hotel Centro SP")
+                        .endereco("Rua da Consolação, 1500")
+                        .distanciaKm(1.2)
+                        .estrelas(4)
+                        .build());
+    }
+    
+    // ==================== TESTES ====================
+    
+    @Test
+    @DisplayName("Deve buscar hotéis próximos com sucesso quando CEP é válido")
+    void deveBuscarHoteisProximosComSucessoQuandoCepValido() {
+        // Given
+        var coordenadas = criarCoordenadasResponse();
+        
+        when(cepService.consultarCep(CEP_VALIDO)).thenReturn(Mono.just(criarConsultaCepResponse()));
+        when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenReturn(Mono.just(coordenadas));
+        when(googlePlacesService.buscarHoteisProximos(coordenadas, LIMITE_HOTEIS, RAIO_PADRAO, CriterioOrdenacao.DISTANCIA))
+                .thenReturn(Mono.just(criarListaHoteisValida()));
+        
+        // When & Then
+        StepVerifier.create(hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS))
+                .assertNext(resultado -> {
+                    assertEquals(CEP_VALIDO, resultado.getCepConsultado());
+                    assertEquals("Avenida Paulista, Bela Vista", resultado.getEnderecoConsultado());
+                    assertEquals("São Paulo", resultado.getCidade());
+                    assertEquals("SP", resultado.getUf());
+                    assertEquals(2, resultado.getTotalEncontrado());
+                })
+                .verifyComplete();
+    }
+    
+    @Test
+    @DisplayName("Deve emitir HotelNaoEncontradoException quando nenhum hotel é encontrado")
+    void deveEmitirHotelNaoEncontradoExceptionQuandoNenhumHotelEncontrado() {
+        // Given
+        var coordenadas = criarCoordenadasResponse();
+        
+        when(cepService.consultarCep(CEP_VALIDO)).thenReturn(Mono.just(criarConsultaCepResponse()));
+        when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenReturn(Mono.just(coordenadas));
+        when(googlePlacesService.buscarHoteisProximos(coordenadas, LIMITE_HOTEIS, RAIO_PADRAO, CriterioOrdenacao.DISTANCIA))
+                .thenReturn(Mono.just(List.of()));
+        
+        // When & Then
+        StepVerifier.create(hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS))
+                .expectErrorSatisfies(erro -> {
+                    assertInstanceOf(HotelNaoEncontradoException.class, erro);
+                    assertTrue(erro.getMessage().contains(CEP_VALIDO));
+                })
+                .verify();
+    }
+    
+    @Test
+    @DisplayName("Deve cancelar a geolocalização quando a consulta do CEP falha")
+    void deveCancelarGeolocalizacaoQuandoConsultaCepFalha() {
+        // Given
+        var geolocalizacaoCancelada = new AtomicBoolean();
+        
+        when(cepService.consultarCep(CEP_VALIDO)).thenReturn(Mono.error(new CepNaoEncontradoException(CEP_VALIDO)));
+        when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenReturn(
+                Mono.delay(Duration.ofSeconds(5))
+                        .map(tick -> criarCoordenadasResponse())
+                        .doOnCancel(() -> geolocalizacaoCancelada.set(true)));
+        
+        // When & Then
+        StepVerifier.create(hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS))
+                .expectError(CepNaoEncontradoException.class)
+                .verify(Duration.ofSeconds(2));
+        
+        assertTrue(geolocalizacaoCancelada.get());
+        verify(googlePlacesService, never()).buscarHoteisProximos(any(), any(), any(), any());
+    }
+    
+    @Test
+    @DisplayName("Deve consultar CEP e coordenadas em paralelo")
+    void deveConsultarCepECoordenadasEmParalelo() {
+        // Given
+        var coordenadas = criarCoordenadasResponse();
+        
+        when(cepService.consultarCep(CEP_VALIDO)).thenReturn(
+                Mono.delay(Duration.ofMillis(300)).map(tick -> criarConsultaCepResponse()));
+        when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenReturn(
+                Mono.delay(Duration.ofMillis(300)).map(tick -> coordenadas));
+        when(googlePlacesService.buscarHoteisProximos(coordenadas, LIMITE_HOTEIS, RAIO_PADRAO, CriterioOrdenacao.DISTANCIA))
+                .thenReturn(Mono.just(criarListaHoteisValida()));
+        
+        // When
+        var duracao = StepVerifier.create(hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS))
+                .expectNextCount(1)
+                .verifyComplete();
+        
+        // Then
+        assertTrue(duracao.compareTo(Duration.ofMillis(550)) < 0,
+                "As consultas deveriam sobrepor-se, mas levaram " + duracao);
+    }
+    
+    @Test
+    @DisplayName("Deve emitir CepInvalidoException sem consultar serviços externos")
+    void deveEmitirCepInvalidoExceptionSemConsultarServicosExternos() {
+        // When & Then
+        StepVerifier.create(hotelService.buscarHoteisProximosPorCep("123", LIMITE_HOTEIS))
+                .expectError(CepInvalidoException.class)
+                .verify();
+        
+        verify(googlePlacesService, never()).buscarHoteisProximos(any(), any(), any(), any());
+    }
+}
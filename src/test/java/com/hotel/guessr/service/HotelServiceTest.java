@@ -1,21 +1,34 @@
 package com.hotel.guessr.service;
 
+import com.hotel.guessr.cache.CepCache;
+import com.hotel.guessr.cache.FiltroCep;
 import com.hotel.guessr.dto.CoordenadasResponse;
 import com.hotel.guessr.dto.ConsultaCepResponse;
+import com.hotel.guessr.dto.EventoBuscaHoteis;
 import com.hotel.guessr.dto.HotelResponse;
+import com.hotel.guessr.exception.CepInvalidoException;
 import com.hotel.guessr.exception.CepNaoEncontradoException;
+import com.hotel.guessr.exception.ErroConsultaExternaException;
 import com.hotel.guessr.exception.HotelNaoEncontradoException;
+import com.hotel.guessr.ranking.CriterioOrdenacao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.stubbing.Answer;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,13 +46,32 @@ class HotelServiceTest {
     @Mock
     private GooglePlacesService googlePlacesService;
     
-    @InjectMocks
+    @Mock
+    private FiltroCep filtroCep;
+    
+    @Mock
+    private CepCache cepCache;
+    
+    private ExecutorService executorConsultasExternas;
+    
     private HotelService hotelService;
     
     private static final String CEP_VALIDO = "01310-100";
     private static final Integer LIMITE_HOTEIS = 10;
     private static final Integer RAIO_PADRAO = 5000;
     
+    @BeforeEach
+    void setUp() {
+        executorConsultasExternas = Executors.newFixedThreadPool(2);
+        hotelService = new HotelService(cepService, geolocalizacaoService, googlePlacesService, filtroCep, cepCache,
+                executorConsultasExternas);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        executorConsultasExternas.shutdownNow();
+    }
+    
     // ==================== MÉTODOS AUXILIARES ====================
     
     private ConsultaCepResponse criarConsultaCepResponse() {
@@ -82,6 +114,17 @@ class HotelServiceTest {
         return hoteis;
     }
     
+    /**
+     * Devolve os hotéis entregando cada um ao consumidor antes, como o GooglePlacesService faz ao convertê-los
+     */
+    private static Answer<List<HotelResponse>> entregarHoteis(List<HotelResponse> hoteis) {
+        return invocacao -> {
+            Consumer<HotelResponse> aoConverter = invocacao.getArgument(4);
+            hoteis.forEach(aoConverter);
+            return hoteis;
+        };
+    }
+    
     // ==================== TESTES ====================
     
     @Test
@@ -94,8 +137,9 @@ class HotelServiceTest {
         
         when(cepService.consultarCep(CEP_VALIDO)).thenReturn(enderecoResponse);
         when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenReturn(coordenadas);
-        when(googlePlacesService.buscarHoteisProximos(coordenadas, LIMITE_HOTEIS, RAIO_PADRAO))
-                .thenReturn(hoteisEncontrados);
+        when(googlePlacesService.buscarHoteisProximos(eq(coordenadas), eq(LIMITE_HOTEIS), eq(RAIO_PADRAO),
+                eq(CriterioOrdenacao.DISTANCIA), any()))
+                .thenAnswer(entregarHoteis(hoteisEncontrados));
         
         // When
         var resultado = hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS);
@@ -110,7 +154,8 @@ class HotelServiceTest {
         
         verify(cepService, times(1)).consultarCep(CEP_VALIDO);
         verify(geolocalizacaoService, times(1)).obterCoordenadasPorCep(CEP_VALIDO);
-        verify(googlePlacesService, times(1)).buscarHoteisProximos(coordenadas, LIMITE_HOTEIS, RAIO_PADRAO);
+        verify(googlePlacesService, times(1)).buscarHoteisProximos(eq(coordenadas), eq(LIMITE_HOTEIS), eq(RAIO_PADRAO),
+                eq(CriterioOrdenacao.DISTANCIA), any());
     }
     
     @Test
@@ -123,8 +168,9 @@ class HotelServiceTest {
         
         when(cepService.consultarCep(CEP_VALIDO)).thenReturn(enderecoResponse);
         when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenReturn(coordenadas);
-        when(googlePlacesService.buscarHoteisProximos(coordenadas, LIMITE_HOTEIS, RAIO_PADRAO))
-                .thenReturn(listaVazia);
+        when(googlePlacesService.buscarHoteisProximos(eq(coordenadas), eq(LIMITE_HOTEIS), eq(RAIO_PADRAO),
+                eq(CriterioOrdenacao.DISTANCIA), any()))
+                .thenAnswer(entregarHoteis(listaVazia));
         
         // When & Then
         var excecao = assertThrows(HotelNaoEncontradoException.class,
@@ -135,7 +181,8 @@ class HotelServiceTest {
         
         verify(cepService, times(1)).consultarCep(CEP_VALIDO);
         verify(geolocalizacaoService, times(1)).obterCoordenadasPorCep(CEP_VALIDO);
-        verify(googlePlacesService, times(1)).buscarHoteisProximos(coordenadas, LIMITE_HOTEIS, RAIO_PADRAO);
+        verify(googlePlacesService, times(1)).buscarHoteisProximos(eq(coordenadas), eq(LIMITE_HOTEIS), eq(RAIO_PADRAO),
+                eq(CriterioOrdenacao.DISTANCIA), any());
     }
     
     @Test
@@ -152,7 +199,22 @@ class HotelServiceTest {
         
         verify(cepService, times(1)).consultarCep(CEP_VALIDO);
         verify(geolocalizacaoService, never()).obterCoordenadasPorCep(anyString());
-        verify(googlePlacesService, never()).buscarHoteisProximos(any(), any(), any());
+        verify(googlePlacesService, never()).buscarHoteisProximos(any(), any(), any(), any(), any());
+    }
+    
+    @Test
+    @DisplayName("Não deve consultar serviços externos quando o pré-filtro descarta o CEP")
+    void naoDeveConsultarServicosExternosQuandoPreFiltroDescartaCep() {
+        // Given
+        doThrow(new CepNaoEncontradoException("01310100")).when(filtroCep).verificar("01310100");
+        
+        // When & Then
+        assertThrows(CepNaoEncontradoException.class,
+                () -> hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS)
+        );
+        
+        verify(cepService, never()).consultarCep(anyString());
+        verify(geolocalizacaoService, never()).obterCoordenadasPorCep(anyString());
     }
     
     @Test
@@ -165,7 +227,8 @@ class HotelServiceTest {
         
         when(cepService.consultarCep(CEP_VALIDO)).thenReturn(enderecoResponse);
         when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenReturn(coordenadas);
-        when(googlePlacesService.buscarHoteisProximos(any(), any(), any())).thenReturn(hoteisEncontrados);
+        when(googlePlacesService.buscarHoteisProximos(any(), any(), any(), any(), any()))
+                .thenAnswer(entregarHoteis(hoteisEncontrados));
         
         // When
         var resultado = hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS);
@@ -186,13 +249,14 @@ class HotelServiceTest {
         
         when(cepService.consultarCep(CEP_VALIDO)).thenReturn(enderecoResponse);
         when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenReturn(coordenadas);
-        when(googlePlacesService.buscarHoteisProximos(any(), any(), eq(5000))).thenReturn(hoteisEncontrados);
+        when(googlePlacesService.buscarHoteisProximos(any(), any(), eq(5000), any(), any()))
+                .thenAnswer(entregarHoteis(hoteisEncontrados));
         
         // When
         hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS);
         
         // Then
-        verify(googlePlacesService, times(1)).buscarHoteisProximos(any(), any(), eq(5000));
+        verify(googlePlacesService, times(1)).buscarHoteisProximos(any(), any(), eq(5000), any(), any());
     }
     
     @Test
@@ -205,7 +269,8 @@ class HotelServiceTest {
         
         when(cepService.consultarCep(CEP_VALIDO)).thenReturn(enderecoResponse);
         when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenReturn(coordenadas);
-        when(googlePlacesService.buscarHoteisProximos(any(), any(), any())).thenReturn(hoteisEncontrados);
+        when(googlePlacesService.buscarHoteisProximos(any(), any(), any(), any(), any()))
+                .thenAnswer(entregarHoteis(hoteisEncontrados));
         
         // When
         var resultado = hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS);
@@ -214,4 +279,188 @@ class HotelServiceTest {
         assertEquals(hoteisEncontrados.size(), resultado.getTotalEncontrado());
         assertEquals(hoteisEncontrados.size(), resultado.getHoteis().size());
     }
+    
+    @Test
+    @DisplayName("Deve propagar exceção original quando geolocalização falha")
+    void devePropagarExcecaoOriginalQuandoGeolocalizacaoFalha() {
+        // Given
+        when(cepService.consultarCep(CEP_VALIDO)).thenReturn(criarConsultaCepResponse());
+        when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO))
+                .thenThrow(new ErroConsultaExternaException("Erro ao consultar serviço de geolocalização"));
+        
+        // When & Then
+        var excecao = assertThrows(ErroConsultaExternaException.class,
+                () -> hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS)
+        );
+        
+        assertEquals("Erro ao consultar serviço de geolocalização", excecao.getMessage());
+        verify(googlePlacesService, never()).buscarHoteisProximos(any(), any(), any(), any(), any());
+    }
+    
+    @Test
+    @DisplayName("Não deve disparar consultas externas quando CEP é inválido")
+    void naoDeveDispararConsultasExternasQuandoCepInvalido() {
+        // When & Then
+        assertThrows(CepInvalidoException.class,
+                () -> hotelService.buscarHoteisProximosPorCep("123", LIMITE_HOTEIS)
+        );
+        
+        verify(cepService, never()).consultarCep(anyString());
+        verify(geolocalizacaoService, never()).obterCoordenadasPorCep(anyString());
+    }
+    
+    @Test
+    @DisplayName("Deve consultar CEP e coordenadas em paralelo quando o CEP já está no cache")
+    void deveConsultarCepECoordenadasEmParaleloQuandoCepEmCache() {
+        // Given
+        var geocodingIniciado = new CountDownLatch(1);
+        var coordenadas = criarCoordenadasResponse();
+        
+        when(cepCache.contem("01310100")).thenReturn(true);
+        when(cepService.consultarCep(CEP_VALIDO)).thenAnswer(invocacao -> {
+            // O CEP só responde depois que o geocoding começou: só termina se as duas consultas rodarem juntas
+            assertTrue(geocodingIniciado.await(5, TimeUnit.SECONDS));
+            return criarConsultaCepResponse();
+        });
+        when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenAnswer(invocacao -> {
+            geocodingIniciado.countDown();
+            return coordenadas;
+        });
+        when(googlePlacesService.buscarHoteisProximos(eq(coordenadas), eq(LIMITE_HOTEIS), eq(RAIO_PADRAO),
+                eq(CriterioOrdenacao.DISTANCIA), any()))
+                .thenAnswer(entregarHoteis(criarListaHoteisValida()));
+        
+        // When
+        var resultado = hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS);
+        
+        // Then
+        assertEquals(2, resultado.getTotalEncontrado());
+    }
+    
+    @Test
+    @DisplayName("Deve consultar CEP e coordenadas em paralelo quando o filtro de Bloom conhece o CEP")
+    void deveConsultarCepECoordenadasEmParaleloQuandoFiltroConheceCep() {
+        // Given
+        var geocodingIniciado = new CountDownLatch(1);
+        var coordenadas = criarCoordenadasResponse();
+        
+        when(filtroCep.possivelmenteConfirmado("01310100")).thenReturn(true);
+        when(cepService.consultarCep(CEP_VALIDO)).thenAnswer(invocacao -> {
+            assertTrue(geocodingIniciado.await(5, TimeUnit.SECONDS));
+            return criarConsultaCepResponse();
+        });
+        when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenAnswer(invocacao -> {
+            geocodingIniciado.countDown();
+            return coordenadas;
+        });
+        when(googlePlacesService.buscarHoteisProximos(eq(coordenadas), eq(LIMITE_HOTEIS), eq(RAIO_PADRAO),
+                eq(CriterioOrdenacao.DISTANCIA), any()))
+                .thenAnswer(entregarHoteis(criarListaHoteisValida()));
+        
+        // When
+        var resultado = hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS);
+        
+        // Then
+        assertEquals(2, resultado.getTotalEncontrado());
+    }
+    
+    @Test
+    @DisplayName("Deve cancelar o geocoding em paralelo quando a consulta do CEP falha")
+    void deveCancelarGeocodingQuandoConsultaCepFalha() throws InterruptedException {
+        // Given
+        var executorOcupado = Executors.newSingleThreadExecutor();
+        var liberar = new CountDownLatch(1);
+        executorOcupado.submit(() -> {
+            liberar.await();
+            return null;
+        });
+        var servico = new HotelService(cepService, geolocalizacaoService, googlePlacesService, filtroCep, cepCache,
+                executorOcupado);
+        
+        when(cepCache.contem("01310100")).thenReturn(true);
+        when(cepService.consultarCep(CEP_VALIDO)).thenThrow(new CepNaoEncontradoException("01310100"));
+        
+        // When
+        assertThrows(CepNaoEncontradoException.class,
+                () -> servico.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS));
+        liberar.countDown();
+        executorOcupado.shutdown();
+        assertTrue(executorOcupado.awaitTermination(5, TimeUnit.SECONDS));
+        
+        // Then
+        verify(geolocalizacaoService, never()).obterCoordenadasPorCep(anyString());
+    }
+    
+    @Test
+    @DisplayName("Deve notificar as etapas na ordem endereço, coordenadas, hotéis e resumo")
+    void deveNotificarEtapasNaOrdemEnderecoCoordenadasHoteisEResumo() {
+        // Given
+        var coordenadas = criarCoordenadasResponse();
+        var eventos = new ArrayList<EventoBuscaHoteis>();
+        
+        when(cepService.consultarCep(CEP_VALIDO)).thenReturn(criarConsultaCepResponse());
+        when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenReturn(coordenadas);
+        when(googlePlacesService.buscarHoteisProximos(eq(coordenadas), eq(LIMITE_HOTEIS), eq(RAIO_PADRAO),
+                eq(CriterioOrdenacao.DISTANCIA), any()))
+                .thenAnswer(entregarHoteis(criarListaHoteisValida()));
+        
+        // When
+        var resultado = hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS, CriterioOrdenacao.DISTANCIA, eventos::add);
+        
+        // Then
+        assertEquals(List.of(EventoBuscaHoteis.ENDERECO, EventoBuscaHoteis.COORDENADAS,
+                        EventoBuscaHoteis.HOTEL, EventoBuscaHoteis.HOTEL, EventoBuscaHoteis.RESUMO),
+                eventos.stream().map(EventoBuscaHoteis::getTipo).toList());
+        assertSame(coordenadas, eventos.get(1).getDados());
+        assertSame(resultado, eventos.get(4).getDados());
+    }
+    
+    @Test
+    @DisplayName("Não deve notificar o resumo quando nenhum hotel é encontrado")
+    void naoDeveNotificarResumoQuandoNenhumHotelEncontrado() {
+        // Given
+        var coordenadas = criarCoordenadasResponse();
+        var eventos = new ArrayList<EventoBuscaHoteis>();
+        
+        when(cepService.consultarCep(CEP_VALIDO)).thenReturn(criarConsultaCepResponse());
+        when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenReturn(coordenadas);
+        when(googlePlacesService.buscarHoteisProximos(eq(coordenadas), eq(LIMITE_HOTEIS), eq(RAIO_PADRAO),
+                eq(CriterioOrdenacao.DISTANCIA), any()))
+                .thenAnswer(entregarHoteis(new ArrayList<>()));
+        
+        // When & Then
+        assertThrows(HotelNaoEncontradoException.class,
+                () -> hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS, CriterioOrdenacao.DISTANCIA, eventos::add));
+        assertEquals(List.of(EventoBuscaHoteis.ENDERECO, EventoBuscaHoteis.COORDENADAS),
+                eventos.stream().map(EventoBuscaHoteis::getTipo).toList());
+    }
+    
+    @Test
+    @DisplayName("Deve notificar cada hotel assim que é convertido, antes de a busca no Google Places terminar")
+    void deveNotificarCadaHotelAssimQueConvertido() {
+        // Given
+        var coordenadas = criarCoordenadasResponse();
+        var hoteis = criarListaHoteisValida();
+        var eventos = new ArrayList<EventoBuscaHoteis>();
+        var notificadosAntesDoFim = new ArrayList<Object>();
+        
+        when(cepService.consultarCep(CEP_VALIDO)).thenReturn(criarConsultaCepResponse());
+        when(geolocalizacaoService.obterCoordenadasPorCep(CEP_VALIDO)).thenReturn(coordenadas);
+        when(googlePlacesService.buscarHoteisProximos(eq(coordenadas), eq(LIMITE_HOTEIS), eq(RAIO_PADRAO),
+                eq(CriterioOrdenacao.DISTANCIA), any())).thenAnswer(invocacao -> {
+                    Consumer<HotelResponse> aoConverter = invocacao.getArgument(4);
+                    for (HotelResponse hotel : hoteis) {
+                        aoConverter.accept(hotel);
+                        notificadosAntesDoFim.add(eventos.get(eventos.size() - 1).getDados());
+                    }
+                    return hoteis;
+                });
+        
+        // When
+        hotelService.buscarHoteisProximosPorCep(CEP_VALIDO, LIMITE_HOTEIS, CriterioOrdenacao.DISTANCIA, eventos::add);
+        
+        // Then
+        assertEquals(hoteis, notificadosAntesDoFim);
+        assertEquals(2, eventos.stream().filter(e -> EventoBuscaHoteis.HOTEL.equals(e.getTipo())).count());
+    }
 }
@@ -0,0 +1,223 @@
+package com.hotel.guessr.service;
+
+import com.hotel.guessr.dto.GooglePlacesResponse;
+import com.hotel.guessr.model.Hotel;
+import com.hotel.guessr.repository.AreaCobertaHoteisRepository;
+import com.hotel.guessr.repository.HotelRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PersistenciaHoteisTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private AreaCobertaHoteisRepository areaCobertaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executorGravacaoHoteis;
+
+    private PersistenciaHoteis persistenciaHoteis;
+
+    private static final double LATITUDE = -23.561684;
+    private static final double LONGITUDE = -46.656139;
+    private static final int RAIO = 5000;
+
+    @BeforeEach
+    void setUp() {
+        executorGravacaoHoteis = Executors.newSingleThreadExecutor();
+        persistenciaHoteis = new PersistenciaHoteis(hotelRepository, areaCobertaRepository,
+                new TransactionTemplate(transactionManager), executorGravacaoHoteis);
+        ReflectionTestUtils.setField(persistenciaHoteis, "habilitada", true);
+        ReflectionTestUtils.setField(persistenciaHoteis, "maximoCandidatos", 500);
+        ReflectionTestUtils.setField(persistenciaHoteis, "validadeCobertura", Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorGravacaoHoteis.shutdownNow();
+    }
+
+    // ==================== MÉTODOS AUXILIARES ====================
+
+    private Hotel criarHotel(String placeId, String nome) {
+        var fabrica = new GeometryFactory(new PrecisionModel(), 4326);
+        return Hotel.builder()
+                .placeId(placeId)
+                .nome(nome)
+                .endereco("Avenida Paulista, 1000")
+                .avaliacao(4.5)
+                .totalAvaliacoes(1200)
+                .localizacao(fabrica.createPoint(new Coordinate(LONGITUDE, LATITUDE)))
+                .dataAtualizacao(LocalDateTime.now())
+                .build();
+    }
+
+    private GooglePlacesResponse.PlaceResult criarLugar(String placeId, String nome) {
+        GooglePlacesResponse.Location location = new GooglePlacesResponse.Location();
+        location.setLat(LATITUDE);
+        location.setLng(LONGITUDE);
+        GooglePlacesResponse.Geometry geometry = new GooglePlacesResponse.Geometry();
+        geometry.setLocation(location);
+
+        GooglePlacesResponse.PlaceResult place = new GooglePlacesResponse.PlaceResult();
+        place.setPlaceId(placeId);
+        place.setName(nome);
+        place.setGeometry(geometry);
+        return place;
+    }
+
+    private void aguardarGravacoes() throws InterruptedException {
+        executorGravacaoHoteis.shutdown();
+        assertTrue(executorGravacaoHoteis.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static void aguardar(CountDownLatch liberar) {
+        try {
+            liberar.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== TESTES ====================
+
+    @Test
+    @DisplayName("Deve devolver os hotéis mais próximos do banco quando a área está coberta")
+    void deveDevolverHoteisDoBancoQuandoAreaCoberta() {
+        // Given
+        when(areaCobertaRepository.existeAreaCobrindo(eq(LATITUDE), eq(LONGITUDE), eq(RAIO), any(LocalDateTime.class)))
+                .thenReturn(true);
+        when(hotelRepository.buscarMaisProximos(LATITUDE, LONGITUDE, RAIO, 500))
+                .thenReturn(List.of(criarHotel("ChIJ1", "Hotel Paulista")));
+
+        // When
+        var resultado = persistenciaHoteis.buscarSeCoberta(LATITUDE, LONGITUDE, RAIO);
+
+        // Then
+        assertTrue(resultado.isPresent());
+        var lugar = resultado.get().get(0);
+        assertEquals("ChIJ1", lugar.getPlaceId());
+        assertEquals("Hotel Paulista", lugar.getName());
+        assertEquals(LATITUDE, lugar.getGeometry().getLocation().getLat());
+        assertEquals(LONGITUDE, lugar.getGeometry().getLocation().getLng());
+        assertEquals(4.5, lugar.getRating());
+    }
+
+    @Test
+    @DisplayName("Não deve consultar os hotéis quando nenhuma área coberta contém a busca")
+    void naoDeveConsultarHoteisQuandoAreaNaoCoberta() {
+        // Given
+        when(areaCobertaRepository.existeAreaCobrindo(anyDouble(), anyDouble(), anyInt(), any(LocalDateTime.class)))
+                .thenReturn(false);
+
+        // When
+        var resultado = persistenciaHoteis.buscarSeCoberta(LATITUDE, LONGITUDE, RAIO);
+
+        // Then
+        assertTrue(resultado.isEmpty());
+        verifyNoInteractions(hotelRepository);
+    }
+
+    @Test
+    @DisplayName("Deve seguir sem a base quando o banco falha")
+    void deveSeguirSemBaseQuandoBancoFalha() {
+        // Given
+        when(areaCobertaRepository.existeAreaCobrindo(anyDouble(), anyDouble(), anyInt(), any(LocalDateTime.class)))
+                .thenThrow(new DataAccessResourceFailureException("Conexão recusada"));
+
+        // When
+        var resultado = persistenciaHoteis.buscarSeCoberta(LATITUDE, LONGITUDE, RAIO);
+
+        // Then
+        assertTrue(resultado.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve gravar os hotéis, remover os ausentes e registrar a área de uma busca completa")
+    void deveGravarHoteisERegistrarAreaCoberta() throws InterruptedException {
+        // Given
+        var lugares = List.of(criarLugar("ChIJ1", "Hotel 1"), criarLugar("ChIJ2", "Hotel 2"), criarLugar(null, "Sem id"));
+
+        // When
+        persistenciaHoteis.registrarAreaCoberta(LATITUDE, LONGITUDE, RAIO, lugares);
+        aguardarGravacoes();
+
+        // Then
+        verify(hotelRepository, times(2)).salvarOuAtualizar(anyString(), anyString(), any(), any(), any(),
+                eq(LATITUDE), eq(LONGITUDE), any(LocalDateTime.class));
+        verify(hotelRepository).removerAusentesDaArea(LATITUDE, LONGITUDE, RAIO, List.of("ChIJ1", "ChIJ2"));
+        verify(areaCobertaRepository).registrar(eq("-23.561684,-46.656139:5000"), eq(LATITUDE), eq(LONGITUDE),
+                eq(RAIO), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Não deve acessar o banco quando a base de hotéis está desabilitada")
+    void naoDeveAcessarBancoQuandoDesabilitada() throws InterruptedException {
+        // Given
+        ReflectionTestUtils.setField(persistenciaHoteis, "habilitada", false);
+
+        // When
+        var resultado = persistenciaHoteis.buscarSeCoberta(LATITUDE, LONGITUDE, RAIO);
+        persistenciaHoteis.registrar(List.of(criarLugar("ChIJ1", "Hotel 1")));
+        aguardarGravacoes();
+
+        // Then
+        assertTrue(resultado.isEmpty());
+        verifyNoInteractions(hotelRepository, areaCobertaRepository);
+    }
+
+    @Test
+    @DisplayName("Deve gravar na própria thread em vez de descartar quando o pool de gravação está cheio")
+    void deveGravarNaPropriaThreadQuandoPoolDeGravacaoCheio() throws InterruptedException {
+        // Given
+        var liberar = new CountDownLatch(1);
+        var executorCheio = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executorCheio.execute(() -> aguardar(liberar));
+        executorCheio.execute(() -> { });
+        var persistencia = new PersistenciaHoteis(hotelRepository, areaCobertaRepository,
+                new TransactionTemplate(transactionManager), executorCheio);
+        ReflectionTestUtils.setField(persistencia, "habilitada", true);
+
+        // When
+        persistencia.registrar(List.of(criarLugar("ChIJ1", "Hotel 1")));
+
+        // Then
+        verify(hotelRepository).salvarOuAtualizar(eq("ChIJ1"), eq("Hotel 1"), any(), any(), any(),
+                eq(LATITUDE), eq(LONGITUDE), any(LocalDateTime.class));
+        liberar.countDown();
+        executorCheio.shutdown();
+        assertTrue(executorCheio.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}